@@ -7,6 +7,8 @@ import fetchWithAuth from "../util/fetchUtil";
 /**
  *
  * @param {isFollow} 表示対象がフォロー中のユーザかフォロワーかを判断する、trueの場合フォロー中のユーザを表示
+ * @param {hasMore} 一覧に次のページがある場合true
+ * @param {onLoadMore} 一覧の次のページを取得して追加する処理
  * @returns
  */
 export default function FollowListModal({
@@ -15,6 +17,8 @@ export default function FollowListModal({
   setUsersInfo,
   onClose,
   isOthersInfo,
+  hasMore,
+  onLoadMore,
 }) {
   const navigate = useNavigate();
 
@@ -166,6 +170,16 @@ export default function FollowListModal({
               </p>
             </li>
           ))}
+          {hasMore && (
+            <li className="flex justify-center">
+              <button
+                onClick={onLoadMore}
+                className="text-sm text-blue-500 hover:text-blue-700"
+              >
+                もっと見る
+              </button>
+            </li>
+          )}
         </ul>
       </div>
     </div>
@@ -27,6 +27,8 @@ function Dashboard({ isAuthenticated, setIsAuthenticated }) {
 
   // 下書きブログ情報を管理
   const [drafts, setDrafts] = useState([]);
+  // 下書きブログの次のページのカーソル（次のページがない場合はnull）
+  const [draftsNextCursor, setDraftsNextCursor] = useState(null);
 
   const navigate = useNavigate();
 
@@ -88,32 +90,42 @@ function Dashboard({ isAuthenticated, setIsAuthenticated }) {
       stopLoading();
     };
 
-    const fetchDrafts = async () => {
-      try {
-        const response = await fetchWithAuth(
-          `${config.apiBaseUrl}/api/blog/my-drafts`,
-          {
-            method: "GET",
-          }
-        );
-
-        // レスポンスのステータス確認
-        if (response.ok) {
-          const data = await response.json();
-          setDrafts(data); // APIの結果をdraftsにセット
-        } else {
-          console.error("下書きの取得に失敗しました");
-        }
-      } catch (error) {
-        console.error("エラーが発生しました:", error);
-      }
-    };
-
     fetchPosts();
     fetchUsers();
     fetchDrafts();
   }, []);
 
+  /**
+   * ログインユーザの下書きブログ情報を取得します
+   * @param {*} cursor 次のページのカーソル（先頭のページの場合はnull、指定された場合は一覧に追加）
+   */
+  const fetchDrafts = async (cursor = null) => {
+    try {
+      const response = await fetchWithAuth(
+        cursor
+          ? `${config.apiBaseUrl}/api/blog/my-drafts?cursor=${encodeURIComponent(
+              cursor
+            )}`
+          : `${config.apiBaseUrl}/api/blog/my-drafts`,
+        {
+          method: "GET",
+        }
+      );
+
+      // レスポンスのステータス確認
+      if (response.ok) {
+        const data = await response.json();
+        // APIの結果をdraftsにセット（続きの場合は追加）
+        setDrafts((prev) => (cursor ? [...prev, ...data.items] : data.items));
+        setDraftsNextCursor(data.hasMore ? data.nextCursor : null);
+      } else {
+        console.error("下書きの取得に失敗しました");
+      }
+    } catch (error) {
+      console.error("エラーが発生しました:", error);
+    }
+  };
+
   const showMorePosts = () => {
     setVisiblePosts(Math.min(visiblePosts + 7, posts.length));
   };
@@ -306,6 +318,16 @@ function Dashboard({ isAuthenticated, setIsAuthenticated }) {
                   </div>
                 ))}
               </div>
+              {draftsNextCursor && (
+                <div className="flex justify-center mb-8">
+                  <button
+                    onClick={() => fetchDrafts(draftsNextCursor)}
+                    className="bg-blue-500 text-white py-2 px-6 rounded-lg hover:bg-blue-600 transition"
+                  >
+                    もっと見る
+                  </button>
+                </div>
+              )}
             </>
           )}
         </main>
@@ -38,15 +38,27 @@ function User({ isAuthenticated, setIsAuthenticated }) {
   // 下書きブログ情報を管理
   const [drafts, setDrafts] = useState([]);
 
+  // 下書きブログの次のページのカーソル（次のページがない場合はnull）
+  const [draftsNextCursor, setDraftsNextCursor] = useState(null);
+
   // 非公開ブログ情報を管理
   const [archives, setArchives] = useState([]);
 
+  // 非公開ブログの次のページのカーソル（次のページがない場合はnull）
+  const [archivesNextCursor, setArchivesNextCursor] = useState(null);
+
   // 表示されているユーザがフォロー中のユーザリストを管理するstate
   const [followUsers, setFollowUsers] = useState(null);
 
+  // フォロー中のユーザリストの次のページのカーソル（次のページがない場合はnull）
+  const [followUsersNextCursor, setFollowUsersNextCursor] = useState(null);
+
   // 表示されているユーザのフォロワーリストを管理するstate
   const [followers, setFollowers] = useState(null);
 
+  // フォロワーリストの次のページのカーソル（次のページがない場合はnull）
+  const [followersNextCursor, setFollowersNextCursor] = useState(null);
+
   // 編集モード状態を管理するstate
   const [isEditing, setIsEditing] = useState(false);
 
@@ -76,7 +88,20 @@ function User({ isAuthenticated, setIsAuthenticated }) {
   // Headerに渡すプロファイル画像のURLを管理するstate
   const [headerProfileImage, setHeaderProfileImage] = useState(null);
 
-  const handleFollowerLink = async (targetUserId) => {
+  /**
+   * カーソルが指定されている場合、APIのURLに次のページのカーソルを付与します
+   * @param {*} url APIのURL
+   * @param {*} cursor 次のページのカーソル（先頭のページの場合はnull）
+   */
+  const withCursor = (url, cursor) =>
+    cursor ? `${url}?cursor=${encodeURIComponent(cursor)}` : url;
+
+  /**
+   * フォロワー一覧を取得します
+   * @param {*} targetUserId 表示対象のユーザID
+   * @param {*} cursor 次のページのカーソル（先頭のページの場合はnull、指定された場合は一覧に追加）
+   */
+  const handleFollowerLink = async (targetUserId, cursor = null) => {
     try {
       // APIを呼び出してフォロワー一覧を取得
       // targetUserIdが指定されているか確認してURLを切り替え
@@ -85,15 +110,18 @@ function User({ isAuthenticated, setIsAuthenticated }) {
         : `${config.apiBaseUrl}/api/follow/followers`;
 
       // APIを呼び出してフォロワー一覧を取得
-      const response = await fetchWithAuth(url, {
+      const response = await fetchWithAuth(withCursor(url, cursor), {
         method: "GET",
       });
 
       if (response.ok) {
         const data = await response.json();
 
-        // 取得したデータをフォーマットして followers にセット
-        setFollowers(data);
+        // 取得したデータをフォーマットして followers にセット（続きの場合は追加）
+        setFollowers((prev) =>
+          cursor && prev ? [...prev, ...data.items] : data.items
+        );
+        setFollowersNextCursor(data.hasMore ? data.nextCursor : null);
       } else {
         console.error("Failed to fetch followers");
       }
@@ -109,7 +137,12 @@ function User({ isAuthenticated, setIsAuthenticated }) {
     setFollowers(null);
   };
 
-  const handleFollowLink = async (targetUserId) => {
+  /**
+   * フォロー中のユーザ一覧を取得します
+   * @param {*} targetUserId 表示対象のユーザID
+   * @param {*} cursor 次のページのカーソル（先頭のページの場合はnull、指定された場合は一覧に追加）
+   */
+  const handleFollowLink = async (targetUserId, cursor = null) => {
     try {
       // APIを呼び出してフォロワー一覧を取得
       // targetUserIdが指定されているか確認してURLを切り替え
@@ -118,15 +151,18 @@ function User({ isAuthenticated, setIsAuthenticated }) {
         : `${config.apiBaseUrl}/api/follow/followed`;
 
       // APIを呼び出してフォロワー一覧を取得
-      const response = await fetchWithAuth(url, {
+      const response = await fetchWithAuth(withCursor(url, cursor), {
         method: "GET",
       });
 
       if (response.ok) {
         const data = await response.json();
 
-        // 取得したデータをフォーマットして followers にセット
-        setFollowUsers(data);
+        // 取得したデータをフォーマットして followUsers にセット（続きの場合は追加）
+        setFollowUsers((prev) =>
+          cursor && prev ? [...prev, ...data.items] : data.items
+        );
+        setFollowUsersNextCursor(data.hasMore ? data.nextCursor : null);
       } else {
         console.error("Failed to fetch followers");
       }
@@ -148,7 +184,9 @@ function User({ isAuthenticated, setIsAuthenticated }) {
       setIsOthersPage(true);
       // 他ユーザのページでは下書き、非公開のブログは表示しない
       setDrafts([]);
+      setDraftsNextCursor(null);
       setArchives([]);
+      setArchivesNextCursor(null);
       fetchOthersProfile(targetUserId);
     } else {
       setIsOthersPage(false);
@@ -204,11 +242,12 @@ function User({ isAuthenticated, setIsAuthenticated }) {
 
   /**
    * ログインユーザの下書きブログ情報を取得します
+   * @param {*} cursor 次のページのカーソル（先頭のページの場合はnull、指定された場合は一覧に追加）
    */
-  const fetchDrafts = async () => {
+  const fetchDrafts = async (cursor = null) => {
     try {
       const response = await fetchWithAuth(
-        `${config.apiBaseUrl}/api/blog/my-drafts`,
+        withCursor(`${config.apiBaseUrl}/api/blog/my-drafts`, cursor),
         {
           method: "GET",
         }
@@ -217,7 +256,9 @@ function User({ isAuthenticated, setIsAuthenticated }) {
       // レスポンスのステータス確認
       if (response.ok) {
         const data = await response.json();
-        setDrafts(data); // APIの結果をdraftsにセット
+        // APIの結果をdraftsにセット（続きの場合は追加）
+        setDrafts((prev) => (cursor ? [...prev, ...data.items] : data.items));
+        setDraftsNextCursor(data.hasMore ? data.nextCursor : null);
       } else {
         console.error("下書きの取得に失敗しました");
       }
@@ -227,11 +268,12 @@ function User({ isAuthenticated, setIsAuthenticated }) {
   };
   /**
    * ログインユーザの非公開ブログ情報を取得します
+   * @param {*} cursor 次のページのカーソル（先頭のページの場合はnull、指定された場合は一覧に追加）
    */
-  const fetchArchives = async () => {
+  const fetchArchives = async (cursor = null) => {
     try {
       const response = await fetchWithAuth(
-        `${config.apiBaseUrl}/api/blog/my-archives`,
+        withCursor(`${config.apiBaseUrl}/api/blog/my-archives`, cursor),
         {
           method: "GET",
         }
@@ -240,7 +282,11 @@ function User({ isAuthenticated, setIsAuthenticated }) {
       // レスポンスのステータス確認
       if (response.ok) {
         const data = await response.json();
-        setArchives(data); // APIの結果をdraftsにセット
+        // APIの結果をarchivesにセット（続きの場合は追加）
+        setArchives((prev) =>
+          cursor ? [...prev, ...data.items] : data.items
+        );
+        setArchivesNextCursor(data.hasMore ? data.nextCursor : null);
       } else {
         console.error("非公開ブログの取得に失敗しました");
       }
@@ -249,6 +295,37 @@ function User({ isAuthenticated, setIsAuthenticated }) {
     }
   };
 
+  /**
+   * 表示中のユーザの公開ブログの続きを取得し、プロフィールのブログリストに追加します
+   */
+  const fetchMoreCreatedBlogs = async () => {
+    try {
+      const response = await fetchWithAuth(
+        withCursor(
+          `${config.apiBaseUrl}/api/blog/user/${profile.userId}`,
+          profile.createdBlogNextCursor
+        ),
+        {
+          method: "GET",
+        }
+      );
+
+      // レスポンスのステータス確認
+      if (response.ok) {
+        const data = await response.json();
+        setProfile((prev) => ({
+          ...prev,
+          createdBlogList: [...prev.createdBlogList, ...data.items],
+          createdBlogNextCursor: data.hasMore ? data.nextCursor : null,
+        }));
+      } else {
+        console.error("公開ブログの取得に失敗しました");
+      }
+    } catch (error) {
+      console.error("エラーが発生しました:", error);
+    }
+  };
+
   // 編集モードに切り替えた時の処理
   const handleEdit = () => {
     setIsEditing(true);
@@ -695,6 +772,16 @@ function User({ isAuthenticated, setIsAuthenticated }) {
                       </div>
                     ))}
                   </div>
+                  {profile.createdBlogNextCursor && (
+                    <div className="flex justify-center mt-4">
+                      <button
+                        onClick={fetchMoreCreatedBlogs}
+                        className="bg-blue-500 text-white py-2 px-6 rounded-lg hover:bg-blue-600 transition"
+                      >
+                        もっと見る
+                      </button>
+                    </div>
+                  )}
                 </div>
               )}
 
@@ -714,6 +801,16 @@ function User({ isAuthenticated, setIsAuthenticated }) {
                       </div>
                     ))}
                   </div>
+                  {draftsNextCursor && (
+                    <div className="flex justify-center mt-4">
+                      <button
+                        onClick={() => fetchDrafts(draftsNextCursor)}
+                        className="bg-blue-500 text-white py-2 px-6 rounded-lg hover:bg-blue-600 transition"
+                      >
+                        もっと見る
+                      </button>
+                    </div>
+                  )}
                 </div>
               )}
 
@@ -735,6 +832,16 @@ function User({ isAuthenticated, setIsAuthenticated }) {
                       </div>
                     ))}
                   </div>
+                  {archivesNextCursor && (
+                    <div className="flex justify-center mt-4">
+                      <button
+                        onClick={() => fetchArchives(archivesNextCursor)}
+                        className="bg-blue-500 text-white py-2 px-6 rounded-lg hover:bg-blue-600 transition"
+                      >
+                        もっと見る
+                      </button>
+                    </div>
+                  )}
                 </div>
               )}
 
@@ -831,6 +938,10 @@ function User({ isAuthenticated, setIsAuthenticated }) {
           isFollow={true}
           usersInfo={followUsers}
           setUsersInfo={setFollowUsers}
+          hasMore={followUsersNextCursor !== null}
+          onLoadMore={() =>
+            handleFollowLink(targetUserId, followUsersNextCursor)
+          }
           onClose={clearFollowUsers}
           isOthersInfo={isOthersPage ? true : false}
         />
@@ -840,6 +951,10 @@ function User({ isAuthenticated, setIsAuthenticated }) {
           isFollow={false}
           usersInfo={followers}
           setUsersInfo={setFollowers}
+          hasMore={followersNextCursor !== null}
+          onLoadMore={() =>
+            handleFollowerLink(targetUserId, followersNextCursor)
+          }
           onClose={clearFollowers}
           isOthersInfo={isOthersPage ? true : false}
         />
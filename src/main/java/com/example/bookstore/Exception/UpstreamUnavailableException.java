@@ -0,0 +1,14 @@
+package com.example.bookstore.Exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * 外部APIのサーキットブレーカーが開いている、または同時呼び出し数の上限に達しているため呼び出しを行わなかった場合の例外
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class UpstreamUnavailableException extends RuntimeException {
+    public UpstreamUnavailableException(String message) {
+        super(message);
+    }
+}
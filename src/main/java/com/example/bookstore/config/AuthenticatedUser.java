@@ -0,0 +1,54 @@
+package com.example.bookstore.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.security.Principal;
+
+/**
+ * 認証済みユーザを表すPrincipalクラスです。
+ * トークン検証時に解決したユーザ情報を保持し、リクエスト毎にusersテーブルを参照せずにログインユーザを識別できるようにします。
+ */
+@Getter
+@AllArgsConstructor
+public class AuthenticatedUser implements Principal {
+
+    /**
+     * Idpにより提供される一意なキー
+     */
+    private final String subject;
+
+    /**
+     * ユーザID（未登録ユーザの場合はnull）
+     */
+    private final Long userId;
+
+    /**
+     * 表示名
+     */
+    private final String displayName;
+
+    /**
+     * 利用可否 利用可能ユーザの場合true
+     */
+    private final boolean enabled;
+
+    /**
+     * usersテーブルに登録済みのユーザであるかを判定します。
+     *
+     * @return 登録済みの場合true
+     */
+    public boolean isRegistered() {
+        return userId != null;
+    }
+
+    @Override
+    public String getName() {
+        return subject;
+    }
+
+    @Override
+    public String toString() {
+        return subject;
+    }
+}
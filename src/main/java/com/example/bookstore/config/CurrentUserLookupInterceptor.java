@@ -0,0 +1,42 @@
+package com.example.bookstore.config;
+
+import com.example.bookstore.service.util.UserUtilService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * リクエスト完了時に、ログインユーザ情報の再利用によって省略したDB問い合わせ回数を記録するインターセプタです。
+ */
+@Component
+public class CurrentUserLookupInterceptor implements HandlerInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(CurrentUserLookupInterceptor.class);
+
+    private final UserUtilService userUtilService;
+
+    private final DistributionSummary savedLookups;
+
+    public CurrentUserLookupInterceptor(UserUtilService userUtilService, MeterRegistry meterRegistry) {
+        this.userUtilService = userUtilService;
+        this.savedLookups = DistributionSummary.builder("current.user.lookups.saved")
+                .description("Number of current-user lookups served from the request-scoped cache per request")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                @NonNull Object handler, Exception ex) {
+        int saved = userUtilService.getSavedLookupCount();
+        savedLookups.record(saved);
+        if (saved > 0) {
+            logger.debug("{} {}: saved {} current user lookups", request.getMethod(), request.getRequestURI(), saved);
+        }
+    }
+}
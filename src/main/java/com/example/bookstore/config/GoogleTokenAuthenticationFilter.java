@@ -1,5 +1,6 @@
 package com.example.bookstore.config;
 
+import com.example.bookstore.service.common.AuthenticatedUserResolver;
 import com.example.bookstore.service.common.GoogleTokenVerifier;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -17,8 +18,11 @@ public class GoogleTokenAuthenticationFilter extends OncePerRequestFilter {
 
     private final GoogleTokenVerifier tokenVerifier;
 
-    public GoogleTokenAuthenticationFilter(GoogleTokenVerifier tokenVerifier) {
+    private final AuthenticatedUserResolver authenticatedUserResolver;
+
+    public GoogleTokenAuthenticationFilter(GoogleTokenVerifier tokenVerifier, AuthenticatedUserResolver authenticatedUserResolver) {
         this.tokenVerifier = tokenVerifier;
+        this.authenticatedUserResolver = authenticatedUserResolver;
     }
 
     @Override
@@ -31,12 +35,16 @@ public class GoogleTokenAuthenticationFilter extends OncePerRequestFilter {
             // トークンの検証とsubjectの抽出
             String subject = tokenVerifier.verifyToken(token);
             if (subject != null) {
-                // subjectを含むAuthenticationオブジェクトを作成
-                UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
-                        subject, null, List.of(new SimpleGrantedAuthority("ROLE_USER")));
-
-                // SecurityContextに保存
-                SecurityContextHolder.getContext().setAuthentication(auth);
+                // subjectからユーザID等を解決し、Authenticationオブジェクトを作成
+                AuthenticatedUser principal = authenticatedUserResolver.resolve(subject);
+                // 削除（利用不可）されたユーザは認証しない（未登録ユーザは登録のため認証する）
+                if (!principal.isRegistered() || principal.isEnabled()) {
+                    UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
+                            principal, null, List.of(new SimpleGrantedAuthority("ROLE_USER")));
+
+                    // SecurityContextに保存
+                    SecurityContextHolder.getContext().setAuthentication(auth);
+                }
             }
         }
         filterChain.doFilter(request, response);
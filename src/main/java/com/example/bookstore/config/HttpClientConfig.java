@@ -0,0 +1,107 @@
+package com.example.bookstore.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+
+/**
+ * 外部API（Google、Spotify）呼び出し用HTTPクライアントの設定クラス
+ * 接続は接続先ホスト毎にプールして再利用し、タイムアウト、リトライ、メトリクス計測を共通で適用します。
+ */
+@Configuration
+public class HttpClientConfig {
+
+    /**
+     * 接続先ホスト毎にコネクションをプールする接続マネージャを作成します。
+     *
+     * @param maxTotal       全体の最大接続数
+     * @param maxPerRoute    接続先ホスト毎の最大接続数
+     * @param connectTimeout 接続タイムアウト
+     * @param readTimeout    読み取りタイムアウト
+     * @return 接続マネージャ
+     */
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager outboundConnectionManager(
+            @Value("${outbound.http.max-connections:100}") int maxTotal,
+            @Value("${outbound.http.max-connections-per-route:20}") int maxPerRoute,
+            @Value("${outbound.http.connect-timeout:PT2S}") Duration connectTimeout,
+            @Value("${outbound.http.read-timeout:PT5S}") Duration readTimeout) {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(readTimeout))
+                        // 長時間アイドルだった接続は再利用前に検査する
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(10))
+                        .build())
+                .build();
+    }
+
+    /**
+     * プール済みの接続を使用するHTTPクライアントを作成します。
+     *
+     * @param connectionManager       接続マネージャ
+     * @param connectionRequestTimeout プールから接続を取得する際の待機時間
+     * @param idleTimeout             アイドル状態の接続を破棄するまでの時間
+     * @return HTTPクライアント
+     */
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient outboundHttpClient(
+            PoolingHttpClientConnectionManager connectionManager,
+            @Value("${outbound.http.connection-request-timeout:PT1S}") Duration connectionRequestTimeout,
+            @Value("${outbound.http.idle-timeout:PT30S}") Duration idleTimeout) {
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(connectionRequestTimeout))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(idleTimeout))
+                // リトライはRetryClientHttpRequestInterceptorで行う
+                .disableAutomaticRetries()
+                .build();
+    }
+
+    /**
+     * 外部API呼び出し用のRestTemplateを作成します。
+     *
+     * @param builder       RestTemplateビルダー
+     * @param httpClient    HTTPクライアント
+     * @param meterRegistry メトリクスレジストリ
+     * @param maxAttempts   最大試行回数
+     * @param initialBackoff 初回リトライまでの待機時間の上限
+     * @param maxBackoff    リトライまでの待機時間の上限
+     * @return RestTemplate
+     */
+    @Bean
+    public RestTemplate outboundRestTemplate(
+            RestTemplateBuilder builder,
+            CloseableHttpClient httpClient,
+            MeterRegistry meterRegistry,
+            @Value("${outbound.http.retry.max-attempts:3}") int maxAttempts,
+            @Value("${outbound.http.retry.initial-backoff:PT0.1S}") Duration initialBackoff,
+            @Value("${outbound.http.retry.max-backoff:PT1S}") Duration maxBackoff) {
+        return builder
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(httpClient))
+                // 計測はリトライを含めた呼び出し全体に対して行うため、リトライより先に適用する
+                .additionalInterceptors(
+                        new OutboundMetricsInterceptor(meterRegistry),
+                        new RetryClientHttpRequestInterceptor(meterRegistry, maxAttempts, initialBackoff, maxBackoff))
+                .build();
+    }
+}
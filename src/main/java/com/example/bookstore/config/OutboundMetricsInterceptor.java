@@ -0,0 +1,60 @@
+package com.example.bookstore.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.NonNull;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+
+/**
+ * 外部API呼び出しの所要時間を接続先ホスト毎に計測するインターセプタです。
+ * 計測結果は"outbound.http.requests"として、upstream（ホスト名）、method、outcome、statusのタグ付きで記録します。
+ */
+public class OutboundMetricsInterceptor implements ClientHttpRequestInterceptor {
+
+    static final String METRIC_NAME = "outbound.http.requests";
+
+    private final MeterRegistry meterRegistry;
+
+    public OutboundMetricsInterceptor(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    @NonNull
+    public ClientHttpResponse intercept(@NonNull HttpRequest request, @NonNull byte[] body,
+                                        @NonNull ClientHttpRequestExecution execution) throws IOException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String status = "IO_ERROR";
+        String outcome = "UNKNOWN";
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            int statusCode = response.getStatusCode().value();
+            status = String.valueOf(statusCode);
+            outcome = outcomeOf(statusCode);
+            return response;
+        } finally {
+            sample.stop(Timer.builder(METRIC_NAME)
+                    .description("Outbound HTTP requests to external APIs")
+                    .tags("upstream", String.valueOf(request.getURI().getHost()),
+                            "method", request.getMethod().name(),
+                            "outcome", outcome,
+                            "status", status)
+                    .register(meterRegistry));
+        }
+    }
+
+    private static String outcomeOf(int statusCode) {
+        if (statusCode >= 500) {
+            return "SERVER_ERROR";
+        }
+        if (statusCode >= 400) {
+            return "CLIENT_ERROR";
+        }
+        return "SUCCESS";
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.bookstore.config;
+
+import com.example.bookstore.service.common.Bulkhead;
+import com.example.bookstore.service.common.CircuitBreaker;
+import com.example.bookstore.service.common.ResilientUpstream;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * 外部API毎のサーキットブレーカーとバルクヘッドの設定クラス
+ */
+@Configuration
+public class ResilienceConfig {
+
+    /**
+     * Googleのtokeninfoエンドポイント呼び出し用
+     */
+    @Bean
+    public ResilientUpstream googleTokenInfoUpstream(
+            MeterRegistry meterRegistry,
+            @Value("${resilience.google-tokeninfo.max-concurrent-calls:20}") int maxConcurrentCalls,
+            @Value("${resilience.google-tokeninfo.max-wait:PT0.1S}") Duration maxWait,
+            @Value("${resilience.google-tokeninfo.failure-threshold:5}") int failureThreshold,
+            @Value("${resilience.google-tokeninfo.open-duration:PT30S}") Duration openDuration) {
+        return create("googleTokenInfo", meterRegistry, maxConcurrentCalls, maxWait, failureThreshold, openDuration);
+    }
+
+    /**
+     * Spotifyのトークンエンドポイント呼び出し用
+     */
+    @Bean
+    public ResilientUpstream spotifyUpstream(
+            MeterRegistry meterRegistry,
+            @Value("${resilience.spotify.max-concurrent-calls:5}") int maxConcurrentCalls,
+            @Value("${resilience.spotify.max-wait:PT0.1S}") Duration maxWait,
+            @Value("${resilience.spotify.failure-threshold:3}") int failureThreshold,
+            @Value("${resilience.spotify.open-duration:PT30S}") Duration openDuration) {
+        return create("spotify", meterRegistry, maxConcurrentCalls, maxWait, failureThreshold, openDuration);
+    }
+
+    private static ResilientUpstream create(String name, MeterRegistry meterRegistry, int maxConcurrentCalls,
+                                            Duration maxWait, int failureThreshold, Duration openDuration) {
+        return new ResilientUpstream(name,
+                new CircuitBreaker(name, meterRegistry, failureThreshold, openDuration, 1),
+                new Bulkhead(name, meterRegistry, maxConcurrentCalls, maxWait));
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.bookstore.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 冪等なリクエスト（GET、HEAD、OPTIONS、PUT、DELETE）を、I/Oエラーまたは5xx、429の応答時に再試行するインターセプタです。
+ * 待機時間は指数バックオフの上限値から一様乱数で決定（フルジッター）し、同時に失敗したリクエストの再試行が集中しないようにします。
+ * インターセプタの中で最後に適用する必要があります。
+ */
+public class RetryClientHttpRequestInterceptor implements ClientHttpRequestInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(RetryClientHttpRequestInterceptor.class);
+
+    private static final Set<HttpMethod> IDEMPOTENT_METHODS = Set.of(
+            HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS, HttpMethod.PUT, HttpMethod.DELETE);
+
+    private final MeterRegistry meterRegistry;
+
+    private final int maxAttempts;
+
+    private final Duration initialBackoff;
+
+    private final Duration maxBackoff;
+
+    public RetryClientHttpRequestInterceptor(MeterRegistry meterRegistry, int maxAttempts,
+                                             Duration initialBackoff, Duration maxBackoff) {
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+    }
+
+    @Override
+    @NonNull
+    public ClientHttpResponse intercept(@NonNull HttpRequest request, @NonNull byte[] body,
+                                        @NonNull ClientHttpRequestExecution execution) throws IOException {
+        if (!IDEMPOTENT_METHODS.contains(request.getMethod())) {
+            return execution.execute(request, body);
+        }
+        for (int attempt = 1; ; attempt++) {
+            boolean lastAttempt = attempt >= maxAttempts;
+            ClientHttpResponse response;
+            try {
+                response = execution.execute(request, body);
+            } catch (InterruptedIOException e) {
+                // タイムアウトは上流が過負荷の可能性が高く、再試行すると待ち時間が倍増するため再試行しない
+                throw e;
+            } catch (IOException e) {
+                if (lastAttempt) {
+                    throw e;
+                }
+                logger.debug("{} {} failed (attempt {}), retrying", request.getMethod(), request.getURI().getHost(), attempt, e);
+                backoff(request, attempt);
+                continue;
+            }
+            if (lastAttempt || !isRetryable(response.getStatusCode().value())) {
+                return response;
+            }
+            logger.debug("{} {} returned {} (attempt {}), retrying",
+                    request.getMethod(), request.getURI().getHost(), response.getStatusCode().value(), attempt);
+            response.close();
+            backoff(request, attempt);
+        }
+    }
+
+    private static boolean isRetryable(int statusCode) {
+        return statusCode >= 500 || statusCode == HttpStatus.TOO_MANY_REQUESTS.value();
+    }
+
+    /**
+     * 試行回数に応じた時間だけ待機します。
+     *
+     * @param request リクエスト
+     * @param attempt 失敗した試行の回数（1始まり）
+     * @throws InterruptedIOException 待機中に割り込まれた場合
+     */
+    private void backoff(HttpRequest request, int attempt) throws InterruptedIOException {
+        Counter.builder("outbound.http.retries")
+                .description("Retried outbound HTTP requests")
+                .tag("upstream", String.valueOf(request.getURI().getHost()))
+                .register(meterRegistry)
+                .increment();
+        long ceiling = Math.min(maxBackoff.toMillis(), initialBackoff.toMillis() << Math.min(attempt - 1, 20));
+        long delay = ceiling > 0 ? ThreadLocalRandom.current().nextLong(ceiling + 1) : 0;
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to retry " + request.getURI().getHost());
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.bookstore.config;
 
 
+import com.example.bookstore.service.common.AuthenticatedUserResolver;
 import com.example.bookstore.service.common.GoogleTokenVerifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -18,8 +19,11 @@ public class SecurityConfig {
 
     private final GoogleTokenVerifier tokenVerifier;
 
-    public SecurityConfig(GoogleTokenVerifier tokenVerifier) {
+    private final AuthenticatedUserResolver authenticatedUserResolver;
+
+    public SecurityConfig(GoogleTokenVerifier tokenVerifier, AuthenticatedUserResolver authenticatedUserResolver) {
         this.tokenVerifier = tokenVerifier;
+        this.authenticatedUserResolver = authenticatedUserResolver;
     }
 
     @Bean
@@ -43,7 +47,7 @@ public class SecurityConfig {
                         .requestMatchers("/static/**").permitAll()
                         .requestMatchers("/**.ico").permitAll()
                         .anyRequest().authenticated())
-                .addFilterBefore(new GoogleTokenAuthenticationFilter(tokenVerifier),
+                .addFilterBefore(new GoogleTokenAuthenticationFilter(tokenVerifier, authenticatedUserResolver),
                         UsernamePasswordAuthenticationFilter.class);
         return http.build();
     }
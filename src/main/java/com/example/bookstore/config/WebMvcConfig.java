@@ -0,0 +1,24 @@
+package com.example.bookstore.config;
+
+import lombok.NonNull;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Spring MVCの設定クラス
+ */
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final CurrentUserLookupInterceptor currentUserLookupInterceptor;
+
+    public WebMvcConfig(CurrentUserLookupInterceptor currentUserLookupInterceptor) {
+        this.currentUserLookupInterceptor = currentUserLookupInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(@NonNull InterceptorRegistry registry) {
+        registry.addInterceptor(currentUserLookupInterceptor).addPathPatterns("/api/**");
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.bookstore.dto.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * ブログに関連するアーティスト名のリポジトリDTO
+ */
+@Data
+@AllArgsConstructor
+public class BlogArtistNameRepositoryDto {
+
+    /**
+     * ブログID
+     */
+    private Long blogId;
+    /**
+     * アーティスト名
+     */
+    private String artistName;
+
+}
@@ -0,0 +1,71 @@
+package com.example.bookstore.dto.repository;
+
+import com.example.bookstore.entity.User;
+import com.example.bookstore.entity.code.BlogCategory;
+import com.example.bookstore.entity.code.BlogStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * ブログ一覧表示用リポジトリDTO（本文を含まない）
+ */
+@Data
+@AllArgsConstructor
+public class BlogSummaryRepositoryDto {
+
+    /**
+     * ブログID
+     */
+    private Long id;
+    /**
+     * タイトル
+     */
+    private String title;
+    /**
+     * サムネイル画像のURL
+     */
+    private String thumbnailUrl;
+    /**
+     * 抜粋
+     */
+    private String excerpt;
+    /**
+     * タグ
+     */
+    private String tags;
+    /**
+     * カテゴリ
+     */
+    private BlogCategory category;
+    /**
+     * ステータス
+     */
+    private BlogStatus status;
+    /**
+     * 著者
+     */
+    private User author;
+    /**
+     * ブログ作成日時
+     */
+    private LocalDateTime blogCreatedTime;
+    /**
+     * ブログ更新日時
+     */
+    private LocalDateTime blogUpdatedTime;
+    /**
+     * 閲覧数
+     */
+    private int viewCount;
+    /**
+     * いいね数
+     */
+    private int likeCount;
+    /**
+     * コメント数
+     */
+    private int commentCount;
+
+}
@@ -24,6 +24,10 @@ public class DashboardBlogRepositoryDto {
      * サムネイル画像
      */
     private String thumbnailUrl;
+    /**
+     * 抜粋
+     */
+    private String excerpt;
     /**
      * ブログ著者のプロフィール画像
      */
@@ -0,0 +1,28 @@
+package com.example.bookstore.dto.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 探索フィードのブログのリポジトリDTO
+ */
+@Data
+@AllArgsConstructor
+public class ExploreBlogRepositoryDto {
+
+    /**
+     * ブログID
+     */
+    private Long blogId;
+    /**
+     * 著者のユーザID
+     */
+    private Long authorId;
+    /**
+     * ブログ作成日時
+     */
+    private LocalDateTime blogCreatedTime;
+
+}
@@ -5,6 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 
+import java.time.LocalDateTime;
+
 /**
  * フォローリポジトリDTO
  */
@@ -21,4 +23,12 @@ public class FollowRepositoryDto {
      * フォロー状態（userをログインユーザがフォローしているかを保持）
      */
     private Boolean isFollowing;
+    /**
+     * フォローID（一覧のカーソル用）
+     */
+    private Long followId;
+    /**
+     * フォロー開始日時（一覧のカーソル用）
+     */
+    private LocalDateTime followAt;
 }
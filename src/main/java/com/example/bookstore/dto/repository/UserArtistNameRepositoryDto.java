@@ -0,0 +1,26 @@
+package com.example.bookstore.dto.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * ユーザの好きなアーティストのリポジトリDTO
+ */
+@Data
+@AllArgsConstructor
+public class UserArtistNameRepositoryDto {
+
+    /**
+     * ユーザID
+     */
+    private Long userId;
+    /**
+     * アーティストID
+     */
+    private String artistId;
+    /**
+     * アーティスト名
+     */
+    private String artistName;
+
+}
@@ -0,0 +1,26 @@
+package com.example.bookstore.dto.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * おすすめユーザ登録用RepositoryDto
+ */
+@Data
+@AllArgsConstructor
+public class UserRecommendationRepositoryDto {
+    /**
+     * おすすめを表示するユーザID
+     */
+    private Long userId;
+
+    /**
+     * おすすめするユーザID
+     */
+    private Long recommendedUserId;
+
+    /**
+     * 好きなアーティストの重み付きJaccard係数
+     */
+    private double score;
+}
@@ -0,0 +1,30 @@
+package com.example.bookstore.dto.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * ユーザ候補表示用リポジトリDTO
+ */
+@Data
+@AllArgsConstructor
+public class UserSuggestRepositoryDto {
+
+    /**
+     * ユーザID
+     */
+    private Long id;
+    /**
+     * 表示名
+     */
+    private String displayName;
+    /**
+     * プロフィール画像URL
+     */
+    private String profileImageUrl;
+    /**
+     * フォロワー数
+     */
+    private Long followerCount;
+
+}
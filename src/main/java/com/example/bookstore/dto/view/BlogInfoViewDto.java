@@ -27,4 +27,9 @@ public class BlogInfoViewDto {
      * いいね有無（ログインユーザがブログにいいねしている場合true）
      */
     private Boolean isLike;
+
+    /**
+     * ユニーク閲覧ユーザ数（HyperLogLogによる推定値）
+     */
+    private Long uniqueViewerCount;
 }
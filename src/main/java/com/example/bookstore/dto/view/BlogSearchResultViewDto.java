@@ -0,0 +1,33 @@
+package com.example.bookstore.dto.view;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * カーソルによるブログ検索結果のビューDTO
+ */
+@Data
+@Builder
+public class BlogSearchResultViewDto {
+    /**
+     * ブログリスト（本文を含まない）
+     */
+    private List<BlogSummaryViewDto> blogs;
+
+    /**
+     * 次のページのカーソル（次のページがない場合はnull）
+     */
+    private String nextCursor;
+
+    /**
+     * 次のページの有無
+     */
+    private boolean hasMore;
+
+    /**
+     * 検索結果の件数（件数の取得を要求しなかった場合、または取得できない場合はnull）
+     */
+    private Integer resultCount;
+}
@@ -0,0 +1,76 @@
+package com.example.bookstore.dto.view;
+
+import com.example.bookstore.dto.repository.BlogSummaryRepositoryDto;
+import com.example.bookstore.entity.Blog;
+import com.example.bookstore.entity.User;
+import com.example.bookstore.entity.code.BlogCategory;
+import com.example.bookstore.entity.code.BlogStatus;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * ブログ一覧表示用ViewDto
+ * 項目名はブログエンティティと同じで、本文の代わりに抜粋を保持する
+ */
+@Data
+@Builder
+public class BlogSummaryViewDto {
+
+    private Long id;
+    private String title;
+    /**
+     * サムネイル画像
+     */
+    private String thumbnailUrl;
+    /**
+     * 抜粋
+     */
+    private String excerpt;
+    private String tags;
+    private BlogCategory category;
+    private BlogStatus status;
+    private User author;
+    private LocalDateTime blogCreatedTime;
+    private LocalDateTime blogUpdatedTime;
+    private int viewCount;
+    private int likeCount;
+    private int commentCount;
+
+    public static BlogSummaryViewDto build(BlogSummaryRepositoryDto repositoryDto) {
+        return BlogSummaryViewDto.builder()
+                .id(repositoryDto.getId())
+                .title(repositoryDto.getTitle())
+                .thumbnailUrl(repositoryDto.getThumbnailUrl())
+                .excerpt(repositoryDto.getExcerpt())
+                .tags(repositoryDto.getTags())
+                .category(repositoryDto.getCategory())
+                .status(repositoryDto.getStatus())
+                .author(repositoryDto.getAuthor())
+                .blogCreatedTime(repositoryDto.getBlogCreatedTime())
+                .blogUpdatedTime(repositoryDto.getBlogUpdatedTime())
+                .viewCount(repositoryDto.getViewCount())
+                .likeCount(repositoryDto.getLikeCount())
+                .commentCount(repositoryDto.getCommentCount())
+                .build();
+    }
+
+    public static BlogSummaryViewDto build(Blog blog) {
+        return BlogSummaryViewDto.builder()
+                .id(blog.getId())
+                .title(blog.getTitle())
+                .thumbnailUrl(blog.getThumbnailUrl())
+                .excerpt(blog.getExcerpt())
+                .tags(blog.getTags())
+                .category(blog.getCategory())
+                .status(blog.getStatus())
+                .author(blog.getAuthor())
+                .blogCreatedTime(blog.getBlogCreatedTime())
+                .blogUpdatedTime(blog.getBlogUpdatedTime())
+                .viewCount(blog.getViewCount())
+                .likeCount(blog.getLikeCount())
+                .commentCount(blog.getCommentCount())
+                .build();
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.bookstore.dto.view;
+
+import com.example.bookstore.service.common.KeysetCursor;
+import lombok.Builder;
+import lombok.Data;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * カーソルによる一覧取得結果のビューDTO
+ *
+ * @param <T> 一覧の要素の型
+ */
+@Data
+@Builder
+public class CursorPageViewDto<T> {
+    /**
+     * 一覧
+     */
+    private List<T> items;
+
+    /**
+     * 次のページのカーソル（次のページがない場合はnull）
+     */
+    private String nextCursor;
+
+    /**
+     * 次のページの有無
+     */
+    private boolean hasMore;
+
+    /**
+     * 取得結果から一覧と次のページのカーソルを作成します。
+     *
+     * @param slice    取得結果
+     * @param cursorOf 要素から次のページのカーソルを作成する関数
+     * @param <T>      一覧の要素の型
+     * @return ビューDTO
+     */
+    public static <T> CursorPageViewDto<T> build(Slice<T> slice, Function<T, KeysetCursor> cursorOf) {
+        return build(slice, cursorOf, Function.identity());
+    }
+
+    /**
+     * 取得結果から次のページのカーソルを作成し、一覧をビュー用に変換します。
+     *
+     * @param slice     取得結果
+     * @param cursorOf  要素から次のページのカーソルを作成する関数
+     * @param toViewDto 一覧をビュー用に変換する関数
+     * @param <S>       取得結果の要素の型
+     * @param <T>       一覧の要素の型
+     * @return ビューDTO
+     */
+    public static <S, T> CursorPageViewDto<T> build(Slice<S> slice, Function<S, KeysetCursor> cursorOf,
+                                                   Function<List<S>, List<T>> toViewDto) {
+        List<S> content = slice.getContent();
+        String nextCursor = slice.hasNext() && !content.isEmpty()
+                ? cursorOf.apply(content.get(content.size() - 1)).encode() : null;
+        return CursorPageViewDto.<T>builder()
+                .items(toViewDto.apply(content))
+                .nextCursor(nextCursor)
+                .hasMore(nextCursor != null)
+                .build();
+    }
+}
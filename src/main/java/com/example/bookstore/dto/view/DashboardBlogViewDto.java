@@ -21,6 +21,10 @@ public class DashboardBlogViewDto {
      * サムネイル画像
      */
     private String thumbnailUrl;
+    /**
+     * 抜粋
+     */
+    private String excerpt;
     private String profileImageUrl;
     private String authorName;
     private Boolean isFollowAuthor;
@@ -31,6 +35,7 @@ public class DashboardBlogViewDto {
                 .id(repositoryDto.getId())
                 .blogTitle(repositoryDto.getBlogTitle())
                 .thumbnailUrl(repositoryDto.getThumbnailUrl())
+                .excerpt(repositoryDto.getExcerpt())
                 .profileImageUrl(repositoryDto.getProfileImageUrl())
                 .authorName(repositoryDto.getAuthorName())
                 .isFollowAuthor(repositoryDto.getIsFollowAuthor())
@@ -40,10 +40,15 @@ public class ProfileViewDto {
     private List<Artist> favoriteArtistList;
 
     /**
-     * ブログリスト
+     * ブログリスト（先頭のページのみ）
      */
     private List<Blog> createdBlogList;
 
+    /**
+     * ブログリストの次のページのカーソル（次のページがない場合はnull）
+     */
+    private String createdBlogNextCursor;
+
     /**
      * フォロー中のユーザ数
      */
@@ -62,14 +67,15 @@ public class ProfileViewDto {
     /**
      * RepositoryDtoからViewDtoに変換
      */
-    public static ProfileViewDto build(User userInfo, List<Artist> favoriteArtistList, List<Blog> createdBLogList, Long followedCount, Long followerCount, Boolean isFollow) {
+    public static ProfileViewDto build(User userInfo, List<Artist> favoriteArtistList, CursorPageViewDto<Blog> createdBlogs, Long followedCount, Long followerCount, Boolean isFollow) {
         return ProfileViewDto.builder()
                 .userId(userInfo.getId())
                 .displayName(userInfo.getDisplayName())
                 .profileImageUrl(userInfo.getProfileImageUrl())
                 .selfIntroduction(userInfo.getSelfIntroduction())
                 .favoriteArtistList(favoriteArtistList)
-                .createdBlogList(createdBLogList)
+                .createdBlogList(createdBlogs.getItems())
+                .createdBlogNextCursor(createdBlogs.getNextCursor())
                 .followedCount(followedCount)
                 .followerCount(followerCount)
                 .isFollow(isFollow)
@@ -0,0 +1,21 @@
+package com.example.bookstore.dto.view;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * タグViewDto
+ */
+@Data
+@Builder
+public class TagViewDto {
+
+    /**
+     * タグ名
+     */
+    private String name;
+    /**
+     * 使用数（このタグが付いた公開中のブログ数）
+     */
+    private int usageCount;
+}
@@ -0,0 +1,30 @@
+package com.example.bookstore.dto.view;
+
+import com.example.bookstore.dto.repository.UserSuggestRepositoryDto;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * ユーザ候補ViewDto
+ */
+@Data
+@Builder
+public class UserSuggestViewDto {
+
+    private Long id;
+    private String displayName;
+    /**
+     * プロフィール画像
+     */
+    private String profileImageUrl;
+    private long followerCount;
+
+    public static UserSuggestViewDto build(UserSuggestRepositoryDto repositoryDto) {
+        return UserSuggestViewDto.builder()
+                .id(repositoryDto.getId())
+                .displayName(repositoryDto.getDisplayName())
+                .profileImageUrl(repositoryDto.getProfileImageUrl())
+                .followerCount(repositoryDto.getFollowerCount() != null ? repositoryDto.getFollowerCount() : 0)
+                .build();
+    }
+}
@@ -4,6 +4,7 @@ import com.example.bookstore.dto.converter.ContentConverter;
 import com.example.bookstore.dto.converter.SetlistConverter;
 import com.example.bookstore.entity.code.BlogCategory;
 import com.example.bookstore.entity.code.BlogStatus;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
@@ -19,7 +20,11 @@ import java.util.Set;
  */
 @EqualsAndHashCode(callSuper = true)
 @Entity
-@Table(name = "blogs")
+@Table(name = "blogs",
+        indexes = {
+                @Index(name = "idx_blogs_status_created", columnList = "status, is_deleted, blog_created_time"),
+                @Index(name = "idx_blogs_author_status_created", columnList = "author_id, status, is_deleted, blog_created_time")
+        })
 @SuperBuilder
 @Data
 @NoArgsConstructor
@@ -42,6 +47,19 @@ public class Blog extends BaseEntity {
     @Column(nullable = false, columnDefinition = "TEXT")
     private Map<String, Object> content;
 
+    /**
+     * 記事のコンテンツから取り出したプレーンテキスト（検索用）
+     */
+    @JsonIgnore
+    @Column(name = "plain_text", columnDefinition = "TEXT")
+    private String plainText;
+
+    /**
+     * 記事の抜粋（一覧表示用）
+     */
+    @Column(length = 255)
+    private String excerpt;
+
     /**
      * 記事のステータス (下書き、公開済み、アーカイブ)
      */
@@ -0,0 +1,44 @@
+package com.example.bookstore.entity;
+
+import com.example.bookstore.entity.key.BlogTagId;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+import java.time.LocalDateTime;
+
+/**
+ * ブログタグリレーションエンティティ
+ * 公開中のブログとタグを紐付ける
+ * タグ毎に新しい順で取得できるよう、ブログ作成日時を複製して保持する
+ */
+@EqualsAndHashCode(callSuper = true)
+@Entity
+@SuperBuilder
+@Data
+@NoArgsConstructor
+@Table(name = "blog_tags",
+        indexes = @Index(name = "idx_blog_tags_tag_created", columnList = "tag_id, blog_created_time, blog_id"))
+public class BlogTag extends BaseEntity {
+
+    @EmbeddedId
+    private BlogTagId id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @MapsId("blogId")
+    @JoinColumn(name = "blog_id", nullable = false)
+    private Blog blog;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @MapsId("tagId")
+    @JoinColumn(name = "tag_id", nullable = false)
+    private Tag tag;
+
+    /**
+     * ブログ作成日時（ブログエンティティの値の複製）
+     */
+    @Column(name = "blog_created_time", nullable = false)
+    private LocalDateTime blogCreatedTime;
+}
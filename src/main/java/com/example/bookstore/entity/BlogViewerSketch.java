@@ -0,0 +1,31 @@
+package com.example.bookstore.entity;
+
+import com.example.bookstore.entity.key.BlogViewerSketchId;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * ブログ閲覧ユーザスケッチエンティティ
+ * ブログを閲覧したユーザの集合を、集計期間毎にHyperLogLogスケッチとして保持する
+ */
+@EqualsAndHashCode(callSuper = true)
+@Entity
+@SuperBuilder
+@Data
+@NoArgsConstructor
+@Table(name = "blog_viewer_sketches")
+public class BlogViewerSketch extends BaseEntity {
+
+    @EmbeddedId
+    private BlogViewerSketchId id;
+
+    /**
+     * HyperLogLogスケッチ（HyperLogLog#toBytesの形式）
+     */
+    @Lob
+    @Column(nullable = false, columnDefinition = "BLOB")
+    private byte[] registers;
+}
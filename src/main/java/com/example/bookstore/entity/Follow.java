@@ -9,7 +9,11 @@ import lombok.experimental.SuperBuilder;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "follows")
+@Table(name = "follows",
+        indexes = {
+                @Index(name = "idx_follows_follower_follow_at", columnList = "follower_id, follow_at"),
+                @Index(name = "idx_follows_followed_follow_at", columnList = "followed_id, follow_at")
+        })
 @EqualsAndHashCode(callSuper = true)
 @SuperBuilder
 @Data
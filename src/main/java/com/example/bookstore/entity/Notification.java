@@ -14,7 +14,9 @@ import java.time.LocalDateTime;
  */
 @EqualsAndHashCode(callSuper = true)
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications",
+        indexes = @Index(name = "idx_notifications_target_created",
+                columnList = "target_user_id, is_deleted, notification_created_at"))
 @SuperBuilder
 @Data
 @NoArgsConstructor
@@ -0,0 +1,41 @@
+package com.example.bookstore.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * タグエンティティ
+ * ブログに付けられたタグの辞書で、公開中のブログでの使用数を保持する
+ */
+@EqualsAndHashCode(callSuper = true)
+@Entity
+@SuperBuilder
+@Data
+@NoArgsConstructor
+@Table(name = "tags", indexes = @Index(name = "idx_tags_usage_count", columnList = "usage_count"))
+public class Tag extends BaseEntity {
+
+    /**
+     * タグ名の最大文字数
+     */
+    public static final int NAME_LENGTH = 50;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * タグ名
+     */
+    @Column(nullable = false, unique = true, length = NAME_LENGTH)
+    private String name;
+
+    /**
+     * 使用数（このタグが付いた公開中のブログ数）
+     */
+    @Column(name = "usage_count", nullable = false)
+    private int usageCount;
+}
@@ -0,0 +1,55 @@
+package com.example.bookstore.entity;
+
+import com.example.bookstore.entity.key.TimelineEntryId;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+import java.time.LocalDateTime;
+
+/**
+ * タイムラインエンティティ
+ * ユーザがフォロー中のユーザの公開中のブログを、ブログの公開時に書き込んで保持する
+ * ダッシュボードで新しい順に取得できるよう、ブログ作成日時と著者を複製して保持する
+ */
+@EqualsAndHashCode(callSuper = true)
+@Entity
+@SuperBuilder
+@Data
+@NoArgsConstructor
+@Table(name = "timeline_entries", indexes = {
+        @Index(name = "idx_timeline_user_created", columnList = "user_id, blog_created_time, blog_id"),
+        @Index(name = "idx_timeline_user_author", columnList = "user_id, author_id"),
+        @Index(name = "idx_timeline_created", columnList = "blog_created_time")})
+public class TimelineEntry extends BaseEntity {
+
+    @EmbeddedId
+    private TimelineEntryId id;
+
+    /**
+     * タイムラインの所有者
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @MapsId("userId")
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @MapsId("blogId")
+    @JoinColumn(name = "blog_id", nullable = false)
+    private Blog blog;
+
+    /**
+     * ブログの著者のユーザID（ブログエンティティの値の複製）
+     */
+    @Column(name = "author_id", nullable = false)
+    private Long authorId;
+
+    /**
+     * ブログ作成日時（ブログエンティティの値の複製）
+     */
+    @Column(name = "blog_created_time", nullable = false)
+    private LocalDateTime blogCreatedTime;
+}
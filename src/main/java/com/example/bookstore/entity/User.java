@@ -13,7 +13,7 @@ import java.util.Set;
  */
 @EqualsAndHashCode(callSuper = true)
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = @Index(name = "idx_users_subject", columnList = "subject"))
 @SuperBuilder
 @Data
 @NoArgsConstructor
@@ -0,0 +1,47 @@
+package com.example.bookstore.entity;
+
+import com.example.bookstore.entity.key.UserRecommendationId;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * おすすめユーザエンティティ
+ * 好きなアーティストの重み付きJaccard係数が高いユーザを、ユーザ毎に上位の件数まで事前に計算して保持する
+ */
+@EqualsAndHashCode(callSuper = true)
+@Entity
+@SuperBuilder
+@Data
+@NoArgsConstructor
+@Table(name = "user_recommendations", indexes = {
+        @Index(name = "idx_user_recommendation_user_score", columnList = "user_id, score")})
+public class UserRecommendation extends BaseEntity {
+
+    @EmbeddedId
+    private UserRecommendationId id;
+
+    /**
+     * おすすめを表示するユーザ
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @MapsId("userId")
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    /**
+     * おすすめするユーザ
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @MapsId("recommendedUserId")
+    @JoinColumn(name = "recommended_user_id", nullable = false)
+    private User recommendedUser;
+
+    /**
+     * 好きなアーティストの重み付きJaccard係数
+     */
+    @Column(name = "score", nullable = false)
+    private double score;
+}
@@ -0,0 +1,50 @@
+package com.example.bookstore.entity.code;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * 閲覧ユーザスケッチの集計期間Enum
+ */
+@Getter
+@AllArgsConstructor
+public enum SketchPeriod implements BaseEnum<SketchPeriod> {
+    /**
+     * 1時間毎
+     */
+    HOUR(1, "HOUR"),
+    /**
+     * 1日毎
+     */
+    DAY(2, "DAY"),
+    /**
+     * 全期間
+     */
+    TOTAL(3, "TOTAL");
+
+    /**
+     * 全期間のスケッチの期間開始日時
+     */
+    private static final LocalDateTime TOTAL_PERIOD_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final int code;
+
+    private final String description;
+
+    /**
+     * 指定された日時を含む期間の開始日時を取得します。
+     *
+     * @param dateTime 日時
+     * @return 期間の開始日時
+     */
+    public LocalDateTime periodStart(LocalDateTime dateTime) {
+        return switch (this) {
+            case HOUR -> dateTime.truncatedTo(ChronoUnit.HOURS);
+            case DAY -> dateTime.truncatedTo(ChronoUnit.DAYS);
+            case TOTAL -> TOTAL_PERIOD_START;
+        };
+    }
+}
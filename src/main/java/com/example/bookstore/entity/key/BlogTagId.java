@@ -0,0 +1,17 @@
+package com.example.bookstore.entity.key;
+
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+@Data
+@Embeddable
+@AllArgsConstructor
+@NoArgsConstructor
+public class BlogTagId implements Serializable {
+    private Long blogId;
+    private Long tagId;
+}
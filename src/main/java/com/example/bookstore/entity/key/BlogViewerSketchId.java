@@ -0,0 +1,27 @@
+package com.example.bookstore.entity.key;
+
+import com.example.bookstore.entity.code.SketchPeriod;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+@Data
+@Embeddable
+@AllArgsConstructor
+@NoArgsConstructor
+public class BlogViewerSketchId implements Serializable {
+    private Long blogId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 10)
+    private SketchPeriod period;
+
+    private LocalDateTime periodStart;
+}
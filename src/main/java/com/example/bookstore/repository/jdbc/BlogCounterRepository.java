@@ -0,0 +1,47 @@
+package com.example.bookstore.repository.jdbc;
+
+import lombok.NonNull;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * blogsテーブルのカウンタをまとめて更新するリポジトリクラス
+ */
+@Repository
+public class BlogCounterRepository {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * 指定されたカラムに増減値を加算します。
+     * 加算は1つのバッチで実行し、結果が0未満になる場合は0とします。
+     *
+     * @param column  加算対象のカラム名（like_count、comment_count等）
+     * @param blogIds ブログIDリスト
+     * @param deltas  ブログIDリストと同順の増減値リスト
+     */
+    @Transactional
+    public void addCounts(String column, List<Long> blogIds, List<Long> deltas) {
+        String sql = "UPDATE blogs SET " + column + " = GREATEST(" + column + " + ?, 0) WHERE id = ?";
+        jdbcTemplate.batchUpdate(sql, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(@NonNull PreparedStatement ps, int i) throws SQLException {
+                ps.setLong(1, deltas.get(i));
+                ps.setLong(2, blogIds.get(i));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return blogIds.size();
+            }
+        });
+    }
+}
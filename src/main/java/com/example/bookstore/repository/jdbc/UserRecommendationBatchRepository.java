@@ -0,0 +1,74 @@
+package com.example.bookstore.repository.jdbc;
+
+import com.example.bookstore.dto.repository.UserRecommendationRepositoryDto;
+import lombok.NonNull;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * user_recommendationsテーブルをユーザ単位でまとめて置き換えるリポジトリクラス
+ */
+@Repository
+public class UserRecommendationBatchRepository {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * 指定されたユーザのおすすめユーザを削除し、新しいおすすめユーザを登録します。
+     * 削除と登録はそれぞれ1つのバッチで実行します。
+     *
+     * @param userIds         置き換えるユーザIDリスト
+     * @param recommendations 登録するおすすめユーザ（置き換えるユーザのもののみ）
+     * @param updatedBy       登録者
+     */
+    @Transactional
+    public void replace(List<Long> userIds, List<UserRecommendationRepositoryDto> recommendations, String updatedBy) {
+        jdbcTemplate.batchUpdate("DELETE FROM user_recommendations WHERE user_id = ?", new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(@NonNull PreparedStatement ps, int i) throws SQLException {
+                ps.setLong(1, userIds.get(i));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return userIds.size();
+            }
+        });
+        jdbcTemplate.batchUpdate("INSERT INTO user_recommendations " +
+                "(user_id, recommended_user_id, score, created_by, created_at, updated_by, updated_at) " +
+                "VALUES (?, ?, ?, ?, NOW(), ?, NOW())", new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(@NonNull PreparedStatement ps, int i) throws SQLException {
+                UserRecommendationRepositoryDto recommendation = recommendations.get(i);
+                ps.setLong(1, recommendation.getUserId());
+                ps.setLong(2, recommendation.getRecommendedUserId());
+                ps.setDouble(3, recommendation.getScore());
+                ps.setString(4, updatedBy);
+                ps.setString(5, updatedBy);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return recommendations.size();
+            }
+        });
+    }
+
+    /**
+     * おすすめユーザが1件でも登録されているかを判定します。
+     *
+     * @return 登録されている場合true
+     */
+    public boolean exists() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM user_recommendations)", Boolean.class));
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.bookstore.repository.jpa;
 
+import com.example.bookstore.dto.repository.BlogArtistNameRepositoryDto;
 import com.example.bookstore.entity.Artist;
 import com.example.bookstore.entity.BlogArtist;
 import org.springframework.data.jpa.repository.EntityGraph;
@@ -9,6 +10,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -49,6 +51,16 @@ public interface BlogArtistRepository extends JpaRepository<BlogArtist, Long> {
     @Query("SELECT ba.artist FROM BlogArtist ba WHERE ba.blog.id = :blogId")
     List<Artist> findArtistsByBlogId(@Param("blogId") Long blogId);
 
+    /**
+     * 指定されたブログIDリストに関連するアーティスト名を取得します。
+     *
+     * @param blogIds ブログIDリスト
+     * @return ブログIDとアーティスト名のリスト
+     */
+    @Query("SELECT new com.example.bookstore.dto.repository.BlogArtistNameRepositoryDto(ba.blog.id, a.name) " +
+            "FROM BlogArtist ba JOIN ba.artist a WHERE ba.blog.id IN :blogIds")
+    List<BlogArtistNameRepositoryDto> findArtistNamesByBlogIds(@Param("blogIds") Collection<Long> blogIds);
+
     /**
      * 指定されたブログIDとアーティストIDに基づいてBlogArtistエンティティを削除します。
      *
@@ -1,17 +1,21 @@
 package com.example.bookstore.repository.jpa;
 
+import com.example.bookstore.dto.repository.BlogSummaryRepositoryDto;
 import com.example.bookstore.dto.repository.DashboardBlogRepositoryDto;
+import com.example.bookstore.dto.repository.ExploreBlogRepositoryDto;
 import com.example.bookstore.entity.Blog;
-import com.example.bookstore.entity.code.BlogStatus;
 import lombok.NonNull;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,6 +24,16 @@ import java.util.Optional;
  */
 public interface BlogRepository extends JpaRepository<Blog, Long> {
 
+    /**
+     * キーワード検索の条件（タイトル、本文のプレーンテキスト、タグ、関連アーティスト名の部分一致。公開中のもののみ）
+     */
+    String KEYWORD_SEARCH_FROM_WHERE = "FROM Blog b LEFT JOIN b.blogArtists ba LEFT JOIN ba.artist a WHERE " +
+            "(LOWER(b.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+            "LOWER(b.plainText) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+            "LOWER(b.tags) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
+            "LOWER(a.name) LIKE LOWER(CONCAT('%', :keyword, '%'))) " +
+            "AND b.isDeleted = false AND b.status = 'PUBLISHED' ";
+
     /**
      * 指定されたブログ情報を取得します。
      * 関連エンティティの著者情報（author）を即時ロードします。
@@ -31,47 +45,71 @@ public interface BlogRepository extends JpaRepository<Blog, Long> {
     @NonNull Optional<Blog> findById(@NonNull Long id);
 
     /**
-     * 指定されたユーザが作成した公開中のブログ記事を取得します。
-     * 取得結果はブログ作成日時の降順にソートされます。
+     * 指定されたユーザが作成した公開中のブログ記事を、カーソルの位置から新しい順に取得します。
+     * (ブログ作成日時, ブログID)がカーソルより小さいものを取得します。先頭のページの場合はカーソルにnullを指定します。
      *
-     * @param userId ユーザID
-     * @return ブログ記事リスト
+     * @param userId      ユーザID
+     * @param createdTime カーソルのブログ作成日時
+     * @param blogId      カーソルのブログID
+     * @param pageable    取得件数
+     * @return ブログ記事リスト（次のページの有無付き）
      */
     @Query("SELECT b FROM Blog b " +
             "WHERE b.author.id = :userId " +
-            "AND b.status = 'PUBLISHED' " +  // PUBLISHEDステータスを条件に追加
+            "AND b.status = 'PUBLISHED' " +
             "AND b.isDeleted = false " +
-            "ORDER BY b.blogCreatedTime DESC")
-    List<Blog> findPublishedBlogsByUserId(@Param("userId") Long userId);
+            "AND (:createdTime IS NULL OR b.blogCreatedTime < :createdTime " +
+            "OR (b.blogCreatedTime = :createdTime AND b.id < :blogId)) " +
+            "ORDER BY b.blogCreatedTime DESC, b.id DESC")
+    Slice<Blog> findPublishedBlogsByUserId(@Param("userId") Long userId,
+                                          @Param("createdTime") LocalDateTime createdTime,
+                                          @Param("blogId") Long blogId,
+                                          Pageable pageable);
 
 
     /**
-     * 指定されたユーザが作成した下書きのブログ記事を取得します。
-     * 取得結果はブログ作成日時の降順にソートされます。
+     * 指定されたユーザが作成した下書きのブログ記事を、カーソルの位置から新しい順に取得します。
+     * (ブログ作成日時, ブログID)がカーソルより小さいものを取得します。先頭のページの場合はカーソルにnullを指定します。
      *
-     * @param userId ユーザID
-     * @return ブログ記事リスト
+     * @param userId      ユーザID
+     * @param createdTime カーソルのブログ作成日時
+     * @param blogId      カーソルのブログID
+     * @param pageable    取得件数
+     * @return ブログ記事リスト（次のページの有無付き）
      */
     @Query("SELECT b FROM Blog b " +
             "WHERE b.author.id = :userId " +
             "AND b.status = 'DRAFT' " +
             "AND b.isDeleted = false " +
-            "ORDER BY b.blogCreatedTime DESC")
-    List<Blog> findDraftBlogsByUserId(@Param("userId") Long userId);
+            "AND (:createdTime IS NULL OR b.blogCreatedTime < :createdTime " +
+            "OR (b.blogCreatedTime = :createdTime AND b.id < :blogId)) " +
+            "ORDER BY b.blogCreatedTime DESC, b.id DESC")
+    Slice<Blog> findDraftBlogsByUserId(@Param("userId") Long userId,
+                                      @Param("createdTime") LocalDateTime createdTime,
+                                      @Param("blogId") Long blogId,
+                                      Pageable pageable);
 
     /**
-     * 指定されたユーザの非公開状態のブログ記事を取得します。
-     * 取得結果はブログ作成日時の降順にソートされます。
+     * 指定されたユーザの非公開状態のブログ記事を、カーソルの位置から新しい順に取得します。
+     * (ブログ作成日時, ブログID)がカーソルより小さいものを取得します。先頭のページの場合はカーソルにnullを指定します。
      *
-     * @param userId ユーザID
-     * @return ブログ記事リスト
+     * @param userId      ユーザID
+     * @param createdTime カーソルのブログ作成日時
+     * @param blogId      カーソルのブログID
+     * @param pageable    取得件数
+     * @return ブログ記事リスト（次のページの有無付き）
      */
     @Query("SELECT b FROM Blog b " +
             "WHERE b.author.id = :userId " +
             "AND b.status = 'ARCHIVED' " +
             "AND b.isDeleted = false " +
-            "ORDER BY b.blogCreatedTime DESC")
-    List<Blog> findArchiveBlogsByUserId(@Param("userId") Long userId);
+            "AND (:createdTime IS NULL OR b.blogCreatedTime < :createdTime " +
+            "OR (b.blogCreatedTime = :createdTime AND b.id < :blogId)) " +
+            "ORDER BY b.blogCreatedTime DESC, b.id DESC")
+    Slice<Blog> findArchiveBlogsByUserId(@Param("userId") Long userId,
+                                        @Param("createdTime") LocalDateTime createdTime,
+                                        @Param("blogId") Long blogId,
+                                        Pageable pageable);
 
     /**
      * キーワードに合致するブログ記事をページネーションとソートを用いて取得します。
@@ -82,14 +120,143 @@ public interface BlogRepository extends JpaRepository<Blog, Long> {
      * @return キーワードに合致するブログ記事リスト（ページネーション対応）
      */
     @EntityGraph(attributePaths = {"author"})
-    @Query("SELECT DISTINCT b FROM Blog b LEFT JOIN b.blogArtists ba LEFT JOIN ba.artist a WHERE " +
-            "(LOWER(b.title) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-            "LOWER(b.content) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-            "LOWER(b.tags) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-            "LOWER(a.name) LIKE LOWER(CONCAT('%', :keyword, '%'))) " +
-            "AND b.isDeleted = false AND b.status = 'PUBLISHED'")
+    @Query("SELECT DISTINCT b " + KEYWORD_SEARCH_FROM_WHERE)
     Page<Blog> searchBlogsByKeyword(@Param("keyword") String keyword, Pageable pageable);
 
+    /**
+     * キーワードに合致するブログ記事を、指定された位置より後から作成日時の降順に取得します。
+     * 件数の取得は行いません。
+     *
+     * @param keyword     検索キーワード
+     * @param createdTime 前のページの最後のブログ作成日時（先頭のページの場合はnull）
+     * @param id          前のページの最後のブログID
+     * @param pageable    取得件数
+     * @return ブログ記事リスト
+     */
+    @EntityGraph(attributePaths = {"author"})
+    @Query("SELECT DISTINCT b " + KEYWORD_SEARCH_FROM_WHERE +
+            "AND (:createdTime IS NULL OR b.blogCreatedTime < :createdTime " +
+            "OR (b.blogCreatedTime = :createdTime AND b.id < :id)) " +
+            "ORDER BY b.blogCreatedTime DESC, b.id DESC")
+    Slice<Blog> searchNewestBlogsByKeywordAfter(@Param("keyword") String keyword,
+                                                @Param("createdTime") LocalDateTime createdTime,
+                                                @Param("id") Long id,
+                                                Pageable pageable);
+
+    /**
+     * キーワードに合致するブログ記事を、指定された位置より後から作成日時の昇順に取得します。
+     * 件数の取得は行いません。
+     *
+     * @param keyword     検索キーワード
+     * @param createdTime 前のページの最後のブログ作成日時（先頭のページの場合はnull）
+     * @param id          前のページの最後のブログID
+     * @param pageable    取得件数
+     * @return ブログ記事リスト
+     */
+    @EntityGraph(attributePaths = {"author"})
+    @Query("SELECT DISTINCT b " + KEYWORD_SEARCH_FROM_WHERE +
+            "AND (:createdTime IS NULL OR b.blogCreatedTime > :createdTime " +
+            "OR (b.blogCreatedTime = :createdTime AND b.id > :id)) " +
+            "ORDER BY b.blogCreatedTime ASC, b.id ASC")
+    Slice<Blog> searchOldestBlogsByKeywordAfter(@Param("keyword") String keyword,
+                                                @Param("createdTime") LocalDateTime createdTime,
+                                                @Param("id") Long id,
+                                                Pageable pageable);
+
+    /**
+     * キーワードに合致するブログ記事を、指定された位置より後からいいね数の降順に取得します。
+     * 件数の取得は行いません。
+     *
+     * @param keyword   検索キーワード
+     * @param likeCount 前のページの最後のブログのいいね数（先頭のページの場合はnull）
+     * @param id        前のページの最後のブログID
+     * @param pageable  取得件数
+     * @return ブログ記事リスト
+     */
+    @EntityGraph(attributePaths = {"author"})
+    @Query("SELECT DISTINCT b " + KEYWORD_SEARCH_FROM_WHERE +
+            "AND (:likeCount IS NULL OR b.likeCount < :likeCount " +
+            "OR (b.likeCount = :likeCount AND b.id < :id)) " +
+            "ORDER BY b.likeCount DESC, b.id DESC")
+    Slice<Blog> searchMostLikedBlogsByKeywordAfter(@Param("keyword") String keyword,
+                                                   @Param("likeCount") Integer likeCount,
+                                                   @Param("id") Long id,
+                                                   Pageable pageable);
+
+    /**
+     * 指定されたブログIDより後の公開中のブログ記事をブログIDの昇順に取得します（論理削除されていないデータ）。
+     * 検索インデックスの構築時に全件を分割して読み込むために使用します。
+     *
+     * @param afterId  ブログID（このIDを含まない）
+     * @param pageable 取得件数
+     * @return ブログ記事リスト
+     */
+    @Query("SELECT b FROM Blog b " +
+            "WHERE b.id > :afterId " +
+            "AND b.status = 'PUBLISHED' " +
+            "AND b.isDeleted = false " +
+            "ORDER BY b.id ASC")
+    List<Blog> findPublishedBlogsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * タグが付いた公開中のブログ記事が存在するかを確認します（論理削除されていないデータ）。
+     *
+     * @return 存在する場合true
+     */
+    @Query("SELECT CASE WHEN COUNT(b) > 0 THEN true ELSE false END FROM Blog b " +
+            "WHERE b.status = 'PUBLISHED' " +
+            "AND b.isDeleted = false " +
+            "AND b.tags IS NOT NULL AND b.tags <> ''")
+    boolean existsPublishedBlogWithTags();
+
+    /**
+     * 指定されたブログIDのブログ記事の一覧表示用の項目を取得します。
+     * 本文は取得せず、著者情報（author）を即時ロードします。
+     * 取得結果の並び順は保証されません。
+     *
+     * @param ids ブログIDリスト
+     * @return 一覧表示用のブログ記事リスト
+     */
+    @Query("SELECT new com.example.bookstore.dto.repository.BlogSummaryRepositoryDto(" +
+            "b.id, b.title, b.thumbnailUrl, b.excerpt, b.tags, b.category, b.status, a, " +
+            "b.blogCreatedTime, b.blogUpdatedTime, b.viewCount, b.likeCount, b.commentCount) " +
+            "FROM Blog b JOIN b.author a WHERE b.id IN :ids")
+    List<BlogSummaryRepositoryDto> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 指定されたブログIDのうち公開中のブログ記事の一覧表示用の項目を取得します（論理削除されていないデータ）。
+     * 本文は取得せず、著者情報（author）を即時ロードします。
+     * 取得結果の並び順は保証されません。
+     *
+     * @param ids ブログIDリスト
+     * @return 一覧表示用のブログ記事リスト
+     */
+    @Query("SELECT new com.example.bookstore.dto.repository.BlogSummaryRepositoryDto(" +
+            "b.id, b.title, b.thumbnailUrl, b.excerpt, b.tags, b.category, b.status, a, " +
+            "b.blogCreatedTime, b.blogUpdatedTime, b.viewCount, b.likeCount, b.commentCount) " +
+            "FROM Blog b JOIN b.author a WHERE b.id IN :ids " +
+            "AND b.status = 'PUBLISHED' " +
+            "AND b.isDeleted = false")
+    List<BlogSummaryRepositoryDto> findPublishedSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 指定された日時以降に作成された公開中のブログ記事の一覧表示用の項目を新しい順に取得します（論理削除されていないデータ）。
+     * 急上昇ランキングの初期化に使用します。
+     *
+     * @param since    ブログ作成日時の下限
+     * @param pageable 取得件数
+     * @return 一覧表示用のブログ記事リスト
+     */
+    @Query("SELECT new com.example.bookstore.dto.repository.BlogSummaryRepositoryDto(" +
+            "b.id, b.title, b.thumbnailUrl, b.excerpt, b.tags, b.category, b.status, a, " +
+            "b.blogCreatedTime, b.blogUpdatedTime, b.viewCount, b.likeCount, b.commentCount) " +
+            "FROM Blog b JOIN b.author a " +
+            "WHERE b.status = 'PUBLISHED' " +
+            "AND b.isDeleted = false " +
+            "AND b.blogCreatedTime >= :since " +
+            "ORDER BY b.blogCreatedTime DESC, b.id DESC")
+    List<BlogSummaryRepositoryDto> findPublishedSummariesSince(@Param("since") LocalDateTime since, Pageable pageable);
+
     /**
      * 指定したユーザがフォローしているユーザが作成したブログ記事を取得します（論理削除されていないデータ）。
      * 取得結果はブログ作成日時の降順にソートされます。
@@ -104,17 +271,18 @@ public interface BlogRepository extends JpaRepository<Blog, Long> {
     List<Blog> findBlogsByFollowedUsers(@Param("userId") Long userId);
 
     /**
-     * 指定したユーザがフォローしていないユーザが作成したブログ記事を取得します（論理削除されていないデータ）。
-     * 取得結果はブログ作成日時の降順にソートされます。
+     * 公開中のブログ記事のID、著者、作成日時を新しい順に取得します（論理削除されていないデータ）。
+     * 探索フィードの読み込みに使用します。(status, is_deleted, blog_created_time)のインデックスの範囲のみを読み込みます。
      *
-     * @param userId ユーザID
-     * @return ブログ記事リスト
+     * @param pageable 取得件数
+     * @return 探索フィードのブログリスト
      */
-    @Query("SELECT b FROM Blog b " +
-            "WHERE b.author.id NOT IN (SELECT f.followed.id FROM Follow f WHERE f.follower.id = :userId) " +
+    @Query("SELECT new com.example.bookstore.dto.repository.ExploreBlogRepositoryDto(b.id, b.author.id, b.blogCreatedTime) " +
+            "FROM Blog b " +
+            "WHERE b.status = 'PUBLISHED' " +
             "AND b.isDeleted = false " +
-            "ORDER BY b.blogCreatedTime DESC")
-    List<Blog> findOtherBlogs(@Param("userId") Long userId);
+            "ORDER BY b.blogCreatedTime DESC, b.id DESC")
+    List<ExploreBlogRepositoryDto> findExploreBlogs(Pageable pageable);
 
     /**
      * blogsテーブルの指定されたレコードを更新します。
@@ -127,6 +295,8 @@ public interface BlogRepository extends JpaRepository<Blog, Long> {
             "b.blogUpdatedTime = :#{#blog.blogUpdatedTime}, " +
             "b.category = :#{#blog.category}, " +
             "b.content = :#{#blog.content}, " +
+            "b.plainText = :#{#blog.plainText}, " +
+            "b.excerpt = :#{#blog.excerpt}, " +
             "b.slug = :#{#blog.slug}, " +
             "b.status = :#{#blog.status}, " +
             "b.tags = :#{#blog.tags}, " +
@@ -136,6 +306,27 @@ public interface BlogRepository extends JpaRepository<Blog, Long> {
             "WHERE b.id = :id")
     void update(@Param("id") Long id, @Param("blog") Blog blog);
 
+    /**
+     * 指定されたブログIDより後の、本文のプレーンテキストが未作成のブログ記事をブログIDの昇順に取得します。
+     *
+     * @param afterId  ブログID（このIDを含まない）
+     * @param pageable 取得件数
+     * @return ブログ記事リスト
+     */
+    @Query("SELECT b FROM Blog b WHERE b.plainText IS NULL AND b.id > :afterId ORDER BY b.id ASC")
+    List<Blog> findBlogsWithoutPlainTextAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * 指定されたブログの本文のプレーンテキストと抜粋を更新します。
+     *
+     * @param id        ブログID
+     * @param plainText プレーンテキスト
+     * @param excerpt   抜粋
+     */
+    @Modifying
+    @Query("UPDATE Blog b SET b.plainText = :plainText, b.excerpt = :excerpt WHERE b.id = :id")
+    void updateExtractedText(@Param("id") Long id, @Param("plainText") String plainText, @Param("excerpt") String excerpt);
+
     /**
      * 指定されたブログデータを非公開にします。
      *
@@ -164,69 +355,67 @@ public interface BlogRepository extends JpaRepository<Blog, Long> {
 
 
     /**
-     * blogsテーブルの指定されたレコードの閲覧回数を更新します。
+     * 指定されたブログの閲覧数を取得します。
      *
-     * @param id        更新対象のブログID
-     * @param viewCount 閲覧回数
-     * @param userId    更新ユーザID
+     * @param id ブログID
+     * @return 閲覧数（ブログが存在しない場合はnull）
      */
-    @Modifying
-    @Query("UPDATE Blog b SET " +
-            "b.viewCount = :viewCount," +
-            "b.updatedBy = :updatedBy " +
-            "WHERE b.id = :id")
-    void updateViewCount(@Param("id") Long id, @Param("viewCount") int viewCount, @Param("updatedBy") String userId);
+    @Query("SELECT b.viewCount FROM Blog b WHERE b.id = :id")
+    Integer findViewCountById(@Param("id") Long id);
 
     /**
-     * blogsテーブルの指定されたレコードのいいね回数を更新します。
+     * 指定されたブログのいいね数を取得します。
      *
-     * @param id        更新対象のブログID
-     * @param likeCount 閲覧回数
-     * @param userId    更新ユーザID
+     * @param id ブログID
+     * @return いいね数（ブログが存在しない場合はnull）
      */
-    @Modifying
-    @Query("UPDATE Blog b SET " +
-            "b.likeCount = :likeCount, " +
-            "b.updatedBy = :updatedBy, " +
-            "b.updatedAt = CURRENT_TIMESTAMP " +
-            "WHERE b.id = :id")
-    void updateLikeCount(@Param("id") Long id, @Param("likeCount") int likeCount, @Param("updatedBy") String userId);
+    @Query("SELECT b.likeCount FROM Blog b WHERE b.id = :id")
+    Integer findLikeCountById(@Param("id") Long id);
 
     /**
-     * blogsテーブルの指定されたレコードのコメント回数を更新します。
+     * 指定されたブログのコメント数を取得します。
      *
-     * @param id           更新対象のブログID
-     * @param commentCount 閲覧回数
-     * @param userId       更新ユーザID
+     * @param id ブログID
+     * @return コメント数（ブログが存在しない場合はnull）
      */
-    @Modifying
-    @Query("UPDATE Blog b SET " +
-            "b.commentCount = :commentCount," +
-            "b.updatedBy = :updatedBy " +
-            "WHERE b.id = :id")
-    void updateCommentCount(@Param("id") Long id, @Param("commentCount") int commentCount, @Param("updatedBy") String userId);
+    @Query("SELECT b.commentCount FROM Blog b WHERE b.id = :id")
+    Integer findCommentCountById(@Param("id") Long id);
 
     /**
-     * ダッシュボードに表示する興味のあるブログ記事を取得します。
-     * フォロー中のユーザの記事を優先的に取得します。
+     * 公開中のブログ記事を新しい順に取得します（論理削除されていないデータ、指定されたユーザの記事を除く）。
+     * ダッシュボードでタイムラインの件数が足りない場合の補充に使用します。
      *
      * @param userId   現在のユーザID
-     * @param pageable ページネーション情報
+     * @param pageable 取得件数
      * @return ダッシュボード表示用のブログ記事リスト
      */
     @Query("SELECT new com.example.bookstore.dto.repository.DashboardBlogRepositoryDto(" +
-            "b.id, b.title, b.thumbnailUrl, b.author.profileImageUrl, b.author.displayName, " +
-            "CASE WHEN (SELECT COUNT(f) FROM Follow f WHERE f.follower.id = :userId AND f.followed.id = b.author.id) > 0 THEN true ELSE false END, " +
+            "b.id, b.title, b.thumbnailUrl, b.excerpt, a.profileImageUrl, a.displayName, " +
+            "CASE WHEN (SELECT COUNT(f) FROM Follow f WHERE f.follower.id = :userId AND f.followed.id = a.id) > 0 THEN true ELSE false END, " +
             "b.blogCreatedTime) " +
-            "FROM Blog b " +
-            "WHERE b.author.id <> :userId " +
-            "AND b.status = :publishedStatus " +  // 公開済み状態のみ取得
-            "ORDER BY CASE WHEN b.author.id IN " +
-            "(SELECT f.followed.id FROM Follow f WHERE f.follower.id = :userId) THEN 0 ELSE 1 END ASC, " +
-            "b.blogCreatedTime DESC")
-    List<DashboardBlogRepositoryDto> findInterestBlogs(@Param("userId") Long userId,
-                                                       @Param("publishedStatus") BlogStatus publishedStatus,
-                                                       Pageable pageable);
+            "FROM Blog b JOIN b.author a " +
+            "WHERE a.id <> :userId " +
+            "AND b.status = 'PUBLISHED' " +
+            "AND b.isDeleted = false " +
+            "ORDER BY b.blogCreatedTime DESC, b.id DESC")
+    List<DashboardBlogRepositoryDto> findRecentBlogs(@Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * 指定された著者の公開中のブログ記事を新しい順に取得します（論理削除されていないデータ）。
+     * フォロワーのタイムラインに書き込まない著者の記事を、ダッシュボードの表示時に合わせるために使用します。
+     *
+     * @param authorId 著者のユーザID
+     * @param pageable 取得件数
+     * @return ダッシュボード表示用のブログ記事リスト
+     */
+    @Query("SELECT new com.example.bookstore.dto.repository.DashboardBlogRepositoryDto(" +
+            "b.id, b.title, b.thumbnailUrl, b.excerpt, a.profileImageUrl, a.displayName, true, b.blogCreatedTime) " +
+            "FROM Blog b JOIN b.author a " +
+            "WHERE a.id = :authorId " +
+            "AND b.status = 'PUBLISHED' " +
+            "AND b.isDeleted = false " +
+            "ORDER BY b.blogCreatedTime DESC, b.id DESC")
+    List<DashboardBlogRepositoryDto> findRecentBlogsByAuthor(@Param("authorId") Long authorId, Pageable pageable);
 
 
 }
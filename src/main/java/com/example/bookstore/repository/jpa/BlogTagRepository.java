@@ -0,0 +1,79 @@
+package com.example.bookstore.repository.jpa;
+
+import com.example.bookstore.entity.BlogTag;
+import com.example.bookstore.entity.key.BlogTagId;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * ブログタグリポジトリ
+ */
+public interface BlogTagRepository extends JpaRepository<BlogTag, BlogTagId> {
+
+    /**
+     * 指定されたブログに付いているタグのIDを取得します。
+     *
+     * @param blogId ブログID
+     * @return タグIDリスト
+     */
+    @Query("SELECT bt.id.tagId FROM BlogTag bt WHERE bt.id.blogId = :blogId")
+    List<Long> findTagIdsByBlogId(@Param("blogId") Long blogId);
+
+    /**
+     * 指定されたブログにタグを紐付けます。
+     * ブログ作成日時はブログから複製します。紐付け済みのタグは登録を行いません。
+     *
+     * @param blogId    ブログID
+     * @param tagIds    タグIDリスト
+     * @param createdBy 登録者
+     * @return 登録した件数
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO blog_tags (blog_id, tag_id, blog_created_time, created_by, created_at, updated_by, updated_at) " +
+            "SELECT b.id, t.id, b.blog_created_time, :createdBy, NOW(), :createdBy, NOW() " +
+            "FROM blogs b JOIN tags t ON t.id IN (:tagIds) WHERE b.id = :blogId",
+            nativeQuery = true)
+    int insertBlogTags(@Param("blogId") Long blogId,
+                       @Param("tagIds") Collection<Long> tagIds,
+                       @Param("createdBy") String createdBy);
+
+    /**
+     * 指定されたブログとタグの紐付けを削除します。
+     *
+     * @param blogId ブログID
+     * @param tagIds タグIDリスト
+     * @return 削除した件数
+     */
+    @Modifying
+    @Query("DELETE FROM BlogTag bt WHERE bt.id.blogId = :blogId AND bt.id.tagId IN :tagIds")
+    int deleteBlogTags(@Param("blogId") Long blogId, @Param("tagIds") Collection<Long> tagIds);
+
+    /**
+     * 指定されたタグが付いたブログを、カーソルの位置から新しい順に取得します。
+     * (ブログ作成日時, ブログID)がカーソルより小さいものを取得するため、タグ毎のインデックスの範囲のみを読み込みます。
+     * 先頭のページの場合はカーソルにnullを指定します。
+     *
+     * @param tagId       タグID
+     * @param createdTime カーソルのブログ作成日時
+     * @param blogId      カーソルのブログID
+     * @param pageable    取得件数
+     * @return ブログタグリスト（次のページの有無付き）
+     */
+    @Query("SELECT bt FROM BlogTag bt " +
+            "WHERE bt.id.tagId = :tagId " +
+            "AND (:createdTime IS NULL OR bt.blogCreatedTime < :createdTime " +
+            "OR (bt.blogCreatedTime = :createdTime AND bt.id.blogId < :blogId)) " +
+            "ORDER BY bt.blogCreatedTime DESC, bt.id.blogId DESC")
+    Slice<BlogTag> findByTagAfter(@Param("tagId") Long tagId,
+                                  @Param("createdTime") LocalDateTime createdTime,
+                                  @Param("blogId") Long blogId,
+                                  Pageable pageable);
+}
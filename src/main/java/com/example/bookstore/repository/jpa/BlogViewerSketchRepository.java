@@ -0,0 +1,60 @@
+package com.example.bookstore.repository.jpa;
+
+import com.example.bookstore.entity.BlogViewerSketch;
+import com.example.bookstore.entity.code.SketchPeriod;
+import com.example.bookstore.entity.key.BlogViewerSketchId;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * ブログ閲覧ユーザスケッチリポジトリ
+ */
+public interface BlogViewerSketchRepository extends JpaRepository<BlogViewerSketch, BlogViewerSketchId> {
+
+    /**
+     * スケッチを更新用にロックして取得します。
+     * 複数のインスタンスから同じスケッチへ同時にマージした場合に更新が失われないようにします。
+     *
+     * @param id スケッチID
+     * @return スケッチ
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM BlogViewerSketch s WHERE s.id = :id")
+    Optional<BlogViewerSketch> findForUpdate(@Param("id") BlogViewerSketchId id);
+
+    /**
+     * 指定されたブログ、集計期間の、指定された範囲に含まれるスケッチを取得します。
+     *
+     * @param blogId ブログID
+     * @param period 集計期間
+     * @param from   期間開始日時（この日時を含む）
+     * @param to     期間開始日時（この日時を含まない）
+     * @return スケッチのリスト
+     */
+    @Query("SELECT s FROM BlogViewerSketch s " +
+            "WHERE s.id.blogId = :blogId AND s.id.period = :period " +
+            "AND s.id.periodStart >= :from AND s.id.periodStart < :to")
+    List<BlogViewerSketch> findInRange(@Param("blogId") Long blogId,
+                                       @Param("period") SketchPeriod period,
+                                       @Param("from") LocalDateTime from,
+                                       @Param("to") LocalDateTime to);
+
+    /**
+     * 指定された集計期間の、指定された日時より前のスケッチを削除します。
+     *
+     * @param period 集計期間
+     * @param before 期間開始日時（この日時を含まない）
+     * @return 削除された行数
+     */
+    @Modifying
+    @Query("DELETE FROM BlogViewerSketch s WHERE s.id.period = :period AND s.id.periodStart < :before")
+    int deleteOlderThan(@Param("period") SketchPeriod period, @Param("before") LocalDateTime before);
+}
@@ -11,6 +11,7 @@ import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
@@ -68,6 +69,24 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
             , @Param("updatedBy") String userId);
 
 
+    /**
+     * 指定された削除されていないコメントのブログIDを取得します。
+     *
+     * @param id コメントID
+     * @return ブログID（コメントが存在しない、または削除済みの場合は空）
+     */
+    @Query("SELECT c.blog.id FROM Comment c WHERE c.id = :id AND c.isDeleted = false")
+    Optional<Long> findBlogIdById(@Param("id") Long id);
+
+    /**
+     * 指定されたコメントの作成日時を取得します。
+     *
+     * @param id コメントID
+     * @return コメント作成日時（コメントが存在しない場合は空）
+     */
+    @Query("SELECT c.commentCreatedTime FROM Comment c WHERE c.id = :id")
+    Optional<LocalDateTime> findCommentCreatedTimeById(@Param("id") Long id);
+
     /**
      * commentsテーブルの指定されたレコードを削除します。
      *
@@ -3,11 +3,16 @@ package com.example.bookstore.repository.jpa;
 import com.example.bookstore.dto.repository.FollowRepositoryDto;
 import com.example.bookstore.entity.Follow;
 import com.example.bookstore.entity.User;
+import com.example.bookstore.service.common.KeysetCursor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -25,27 +30,44 @@ public interface FollowRepository extends JpaRepository<Follow, Long> {
     List<User> findFollowers(@Param("userId") Long userId);
 
     /**
-     * 指定したユーザがフォロー中のユーザ一覧を取得します。
-     * 戻り値のisFollowingは固定でtrueです。
+     * 指定したユーザがフォロー中のユーザ一覧を、カーソルの位置からフォローの新しい順に取得します。
+     * 戻り値のisFollowingは固定でtrueです。先頭のページの場合はカーソルにnullを指定します。
      *
-     * @param userId ユーザID
-     * @return フォロー中のユーザリストとisFollowingの状態
+     * @param userId   ユーザID
+     * @param followAt カーソルのフォロー開始日時
+     * @param followId カーソルのフォローID
+     * @param pageable 取得件数
+     * @return フォロー中のユーザリストとisFollowingの状態（次のページの有無付き）
      */
-    @Query("SELECT new com.example.bookstore.dto.repository.FollowRepositoryDto(f.followed, true) " +
-            "FROM Follow f WHERE f.follower.id = :userId")
-    List<FollowRepositoryDto> findFollowedUsersInfo(@Param("userId") Long userId);
+    @Query("SELECT new com.example.bookstore.dto.repository.FollowRepositoryDto(f.followed, true, f.id, f.followAt) " +
+            "FROM Follow f WHERE f.follower.id = :userId " +
+            "AND (:followAt IS NULL OR f.followAt < :followAt OR (f.followAt = :followAt AND f.id < :followId)) " +
+            "ORDER BY f.followAt DESC, f.id DESC")
+    Slice<FollowRepositoryDto> findFollowedUsersInfo(@Param("userId") Long userId,
+                                                     @Param("followAt") LocalDateTime followAt,
+                                                     @Param("followId") Long followId,
+                                                     Pageable pageable);
 
     /**
-     * 指定したユーザのフォロワー一覧を取得します。
-     * isFollowingは、指定したユーザがフォロワーをフォローしているかを確認します。
+     * 指定したユーザのフォロワー一覧を、カーソルの位置からフォローの新しい順に取得します。
+     * isFollowingは、指定したユーザがフォロワーをフォローしているかを確認します。先頭のページの場合はカーソルにnullを指定します。
      *
-     * @param userId ユーザID
-     * @return フォロワーリストとisFollowingの状態
+     * @param userId   ユーザID
+     * @param followAt カーソルのフォロー開始日時
+     * @param followId カーソルのフォローID
+     * @param pageable 取得件数
+     * @return フォロワーリストとisFollowingの状態（次のページの有無付き）
      */
     @Query("SELECT new com.example.bookstore.dto.repository.FollowRepositoryDto(f.follower, " +
-            "CASE WHEN (SELECT COUNT(f2) FROM Follow f2 WHERE f2.follower.id = :userId AND f2.followed.id = f.follower.id) > 0 THEN true ELSE false END) " +
-            "FROM Follow f WHERE f.followed.id = :userId")
-    List<FollowRepositoryDto> findFollowersInfo(@Param("userId") Long userId);
+            "CASE WHEN (SELECT COUNT(f2) FROM Follow f2 WHERE f2.follower.id = :userId AND f2.followed.id = f.follower.id) > 0 THEN true ELSE false END, " +
+            "f.id, f.followAt) " +
+            "FROM Follow f WHERE f.followed.id = :userId " +
+            "AND (:followAt IS NULL OR f.followAt < :followAt OR (f.followAt = :followAt AND f.id < :followId)) " +
+            "ORDER BY f.followAt DESC, f.id DESC")
+    Slice<FollowRepositoryDto> findFollowersInfo(@Param("userId") Long userId,
+                                                 @Param("followAt") LocalDateTime followAt,
+                                                 @Param("followId") Long followId,
+                                                 Pageable pageable);
 
     /**
      * 指定した2ユーザのフォロー有無を確認します。
@@ -81,9 +103,56 @@ public interface FollowRepository extends JpaRepository<Follow, Long> {
      *
      * @param followerId フォローしているユーザ
      * @param followedId フォローされているユーザ
+     * @return 削除した件数
      */
     @Modifying
     @Query("DELETE FROM Follow f WHERE f.follower.id = :followerId AND f.followed.id = :followedId")
-    void unfollow(@Param("followerId") Long followerId, @Param("followedId") Long followedId);
+    int unfollow(@Param("followerId") Long followerId, @Param("followedId") Long followedId);
 
+    /**
+     * フォロワー数が指定された数以上のユーザIDを取得します。
+     *
+     * @param threshold フォロワー数
+     * @return ユーザIDリスト
+     */
+    @Query("SELECT f.followed.id FROM Follow f GROUP BY f.followed.id HAVING COUNT(f) >= :threshold")
+    List<Long> findUserIdsWithFollowersAtLeast(@Param("threshold") long threshold);
+
+    /**
+     * 指定されたユーザIDのうち、指定されたユーザがフォローしているユーザIDを取得します。
+     *
+     * @param followerId フォローしているユーザID
+     * @param followedIds 対象のユーザIDリスト
+     * @return フォローしているユーザIDリスト
+     */
+    @Query("SELECT DISTINCT f.followed.id FROM Follow f WHERE f.follower.id = :followerId AND f.followed.id IN :followedIds")
+    List<Long> findFollowedIdsIn(@Param("followerId") Long followerId, @Param("followedIds") Collection<Long> followedIds);
+
+    /**
+     * 指定したユーザがフォロー中のユーザIDを取得します。
+     *
+     * @param followerId フォローしているユーザID
+     * @return フォロー中のユーザIDリスト
+     */
+    @Query("SELECT f.followed.id FROM Follow f WHERE f.follower.id = :followerId")
+    List<Long> findFollowedIds(@Param("followerId") Long followerId);
+
+    /**
+     * 指定されたユーザのフォローの位置（フォロー開始日時、フォローID）を、カーソルの位置から古い順に取得します。
+     * フォロワー全員への処理を一定件数毎に分けて行う際に、各範囲の終端を求めるために使用します。
+     *
+     * @param userId   フォローされているユーザID
+     * @param followAt カーソルのフォロー開始日時（先頭から取得する場合はnull）
+     * @param followId カーソルのフォローID
+     * @param pageable 取得件数
+     * @return フォローの位置のリスト（古い順）
+     */
+    @Query("SELECT new com.example.bookstore.service.common.KeysetCursor(f.followAt, f.id) " +
+            "FROM Follow f WHERE f.followed.id = :userId " +
+            "AND (:followAt IS NULL OR f.followAt > :followAt OR (f.followAt = :followAt AND f.id > :followId)) " +
+            "ORDER BY f.followAt ASC, f.id ASC")
+    List<KeysetCursor> findFollowerKeysAfter(@Param("userId") Long userId,
+                                            @Param("followAt") LocalDateTime followAt,
+                                            @Param("followId") Long followId,
+                                            Pageable pageable);
 }
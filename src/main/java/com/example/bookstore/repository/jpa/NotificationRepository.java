@@ -1,6 +1,8 @@
 package com.example.bookstore.repository.jpa;
 
 import com.example.bookstore.entity.Notification;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
@@ -36,13 +38,24 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     List<Notification> findUnreadNotificationsByUserId(@Param("userId") Long userId);
 
     /**
-     * 指定されたユーザに関連する全ての通知を取得します。
+     * 指定されたユーザに関連する全ての通知を、カーソルの位置から新しい順に取得します。
+     * 先頭のページの場合はカーソルにnullを指定します。
      *
-     * @param userId ユーザID
-     * @return 通知のリスト
+     * @param userId         ユーザID
+     * @param createdAt      カーソルの通知作成日時
+     * @param notificationId カーソルの通知ID
+     * @param pageable       取得件数
+     * @return 通知のリスト（次のページの有無付き）
      */
-    @Query("SELECT n FROM Notification n WHERE n.targetUser.id = :userId AND n.isDeleted = false ORDER BY n.notificationCreatedAt DESC")
-    List<Notification> findAllNotificationsByUserId(@Param("userId") Long userId);
+    @EntityGraph(attributePaths = {"triggerUser", "relatedBlog", "relatedComment"})
+    @Query("SELECT n FROM Notification n WHERE n.targetUser.id = :userId AND n.isDeleted = false " +
+            "AND (:createdAt IS NULL OR n.notificationCreatedAt < :createdAt " +
+            "OR (n.notificationCreatedAt = :createdAt AND n.id < :notificationId)) " +
+            "ORDER BY n.notificationCreatedAt DESC, n.id DESC")
+    Slice<Notification> findAllNotificationsByUserId(@Param("userId") Long userId,
+                                                     @Param("createdAt") LocalDateTime createdAt,
+                                                     @Param("notificationId") Long notificationId,
+                                                     Pageable pageable);
 
     /**
      * 指定されたユーザに関連する未読のフォロー通知を取得します。
@@ -82,6 +95,72 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
             "AND n.notificationType = 'BLOG_CREATED' AND n.isRead = false AND n.isDeleted = false")
     List<Notification> findUnreadBlogCreatedNotificationsByBlogId(@Param("blogId") Long blogId);
 
+    /**
+     * 指定されたユーザの全てのフォロワーに、ブログ作成通知を登録します。
+     * フォロワー数に関わらず1回のSQLで登録します。
+     *
+     * @param blogId        作成されたブログID
+     * @param triggerUserId ブログを作成したユーザID
+     * @param createdBy     登録者
+     * @return 登録した件数
+     */
+    @Modifying
+    @Query(value = "INSERT INTO notifications " +
+            "(target_user_id, trigger_user_id, notification_type, is_read, notification_created_at, blog_id, is_deleted, " +
+            "created_by, created_at, updated_by, updated_at) " +
+            "SELECT DISTINCT f.follower_id, :triggerUserId, 'BLOG_CREATED', false, NOW(), :blogId, false, " +
+            ":createdBy, NOW(), :createdBy, NOW() " +
+            "FROM follows f WHERE f.followed_id = :triggerUserId",
+            nativeQuery = true)
+    int insertBlogCreatedNotifications(@Param("blogId") Long blogId,
+                                       @Param("triggerUserId") Long triggerUserId,
+                                       @Param("createdBy") String createdBy);
+
+    /**
+     * 指定されたユーザのフォロワーのうち、フォローの位置（フォロー開始日時、フォローID）が範囲内のフォロワーにブログ作成通知を登録します。
+     * 範囲はafterを含まず、lastを含みます。ブログが公開中でなくなっていた場合は登録しません。
+     *
+     * @param blogId        作成されたブログID
+     * @param triggerUserId ブログを作成したユーザID
+     * @param afterFollowAt 範囲の開始のフォロー開始日時（先頭から登録する場合はnull）
+     * @param afterFollowId 範囲の開始のフォローID
+     * @param lastFollowAt  範囲の終端のフォロー開始日時
+     * @param lastFollowId  範囲の終端のフォローID
+     * @param createdBy     登録者
+     * @return 登録した件数
+     */
+    @Modifying
+    @Query(value = "INSERT INTO notifications " +
+            "(target_user_id, trigger_user_id, notification_type, is_read, notification_created_at, blog_id, is_deleted, " +
+            "created_by, created_at, updated_by, updated_at) " +
+            "SELECT f.follower_id, :triggerUserId, 'BLOG_CREATED', false, NOW(), b.id, false, " +
+            ":createdBy, NOW(), :createdBy, NOW() " +
+            "FROM follows f JOIN blogs b ON b.id = :blogId AND b.status = 'PUBLISHED' AND b.is_deleted = false " +
+            "WHERE f.followed_id = :triggerUserId " +
+            "AND (:afterFollowAt IS NULL OR f.follow_at > :afterFollowAt OR (f.follow_at = :afterFollowAt AND f.id > :afterFollowId)) " +
+            "AND (f.follow_at < :lastFollowAt OR (f.follow_at = :lastFollowAt AND f.id <= :lastFollowId))",
+            nativeQuery = true)
+    int insertBlogCreatedNotificationsInRange(@Param("blogId") Long blogId,
+                                              @Param("triggerUserId") Long triggerUserId,
+                                              @Param("afterFollowAt") LocalDateTime afterFollowAt,
+                                              @Param("afterFollowId") Long afterFollowId,
+                                              @Param("lastFollowAt") LocalDateTime lastFollowAt,
+                                              @Param("lastFollowId") Long lastFollowId,
+                                              @Param("createdBy") String createdBy);
+
+    /**
+     * ブログIDに合致する未読の「ブログ作成通知」を論理削除します。
+     *
+     * @param blogId    ブログID
+     * @param updatedBy 更新ユーザID
+     * @return 削除した件数
+     */
+    @Modifying
+    @Query("UPDATE Notification n SET n.isDeleted = true, n.updatedBy = :updatedBy " +
+            "WHERE n.relatedBlog.id = :blogId " +
+            "AND n.notificationType = 'BLOG_CREATED' AND n.isRead = false AND n.isDeleted = false")
+    int deleteUnreadBlogCreatedNotifications(@Param("blogId") Long blogId, @Param("updatedBy") String updatedBy);
+
     /**
      * 単一の通知を論理削除します。
      *
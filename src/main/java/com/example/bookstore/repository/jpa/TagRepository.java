@@ -0,0 +1,67 @@
+package com.example.bookstore.repository.jpa;
+
+import com.example.bookstore.entity.Tag;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * タグリポジトリ
+ */
+public interface TagRepository extends JpaRepository<Tag, Long> {
+
+    /**
+     * 指定された名前のタグを取得します。
+     *
+     * @param name タグ名
+     * @return タグ
+     */
+    Optional<Tag> findByName(String name);
+
+    /**
+     * 指定された名前のタグを取得します。
+     *
+     * @param names タグ名リスト
+     * @return タグリスト
+     */
+    List<Tag> findByNameIn(Collection<String> names);
+
+    /**
+     * 使用中のタグを取得します。
+     *
+     * @return 使用数が1以上のタグリスト
+     */
+    @Query("SELECT t FROM Tag t WHERE t.usageCount > 0")
+    List<Tag> findUsedTags();
+
+    /**
+     * タグを登録します。
+     * 同じ名前のタグが登録済みの場合は登録を行いません。
+     * 一意制約の重複を無視して登録するため、同時に実行された場合も登録されるのは1件のみです。
+     *
+     * @param name      タグ名
+     * @param createdBy 登録者
+     * @return 登録した件数（登録しなかった場合は0）
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO tags (name, usage_count, created_by, created_at, updated_by, updated_at) " +
+            "VALUES (:name, 0, :createdBy, NOW(), :createdBy, NOW())",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("name") String name, @Param("createdBy") String createdBy);
+
+    /**
+     * 指定されたタグの使用数を増減します。
+     *
+     * @param ids   タグIDリスト
+     * @param delta 増減値
+     */
+    @Modifying
+    @Query("UPDATE Tag t SET t.usageCount = CASE WHEN t.usageCount + :delta < 0 THEN 0 ELSE t.usageCount + :delta END " +
+            "WHERE t.id IN :ids")
+    void adjustUsageCount(@Param("ids") Collection<Long> ids, @Param("delta") int delta);
+}
@@ -0,0 +1,145 @@
+package com.example.bookstore.repository.jpa;
+
+import com.example.bookstore.dto.repository.DashboardBlogRepositoryDto;
+import com.example.bookstore.entity.TimelineEntry;
+import com.example.bookstore.entity.key.TimelineEntryId;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * タイムラインリポジトリ
+ */
+public interface TimelineEntryRepository extends JpaRepository<TimelineEntry, TimelineEntryId> {
+
+    /**
+     * 指定されたユーザのタイムラインのブログ記事を新しい順に取得します。
+     * タイムラインのブログは全てフォロー中のユーザの記事です。
+     *
+     * @param userId   ユーザID
+     * @param pageable 取得件数
+     * @return ダッシュボード表示用のブログ記事リスト
+     */
+    @Query("SELECT new com.example.bookstore.dto.repository.DashboardBlogRepositoryDto(" +
+            "b.id, b.title, b.thumbnailUrl, b.excerpt, a.profileImageUrl, a.displayName, true, b.blogCreatedTime) " +
+            "FROM TimelineEntry t JOIN t.blog b JOIN b.author a " +
+            "WHERE t.id.userId = :userId " +
+            "ORDER BY t.blogCreatedTime DESC, t.id.blogId DESC")
+    List<DashboardBlogRepositoryDto> findTimeline(@Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * 指定されたブログを、著者の全てのフォロワーのタイムラインに追加します。
+     * 公開中でないブログの場合は追加しません。追加済みのフォロワーには追加しません。
+     *
+     * @param blogId    ブログID
+     * @param createdBy 登録者
+     * @return 追加した件数
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO timeline_entries " +
+            "(user_id, blog_id, author_id, blog_created_time, created_by, created_at, updated_by, updated_at) " +
+            "SELECT f.follower_id, b.id, b.author_id, b.blog_created_time, :createdBy, NOW(), :createdBy, NOW() " +
+            "FROM blogs b JOIN follows f ON f.followed_id = b.author_id " +
+            "WHERE b.id = :blogId AND b.status = 'PUBLISHED' AND b.is_deleted = false",
+            nativeQuery = true)
+    int fanOut(@Param("blogId") Long blogId, @Param("createdBy") String createdBy);
+
+    /**
+     * 指定された著者の公開中のブログ記事のうち新しいものを、指定されたユーザのタイムラインに追加します（フォロー時）。
+     *
+     * @param userId    ユーザID
+     * @param authorId  著者のユーザID
+     * @param since     この日時以降に作成されたブログのみ追加する
+     * @param limit     追加する最大件数
+     * @param createdBy 登録者
+     * @return 追加した件数
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO timeline_entries " +
+            "(user_id, blog_id, author_id, blog_created_time, created_by, created_at, updated_by, updated_at) " +
+            "SELECT :userId, b.id, b.author_id, b.blog_created_time, :createdBy, NOW(), :createdBy, NOW() " +
+            "FROM blogs b " +
+            "WHERE b.author_id = :authorId AND b.status = 'PUBLISHED' AND b.is_deleted = false " +
+            "AND b.blog_created_time >= :since " +
+            "ORDER BY b.blog_created_time DESC LIMIT :limit",
+            nativeQuery = true)
+    int insertAuthorBlogs(@Param("userId") Long userId,
+                          @Param("authorId") Long authorId,
+                          @Param("since") LocalDateTime since,
+                          @Param("limit") int limit,
+                          @Param("createdBy") String createdBy);
+
+    /**
+     * 全てのフォロー関係から、フォロー中のユーザの公開中のブログ記事をタイムラインに追加します。
+     * タイムラインの導入前のデータから作成するために使用します。
+     *
+     * @param since     この日時以降に作成されたブログのみ追加する
+     * @param createdBy 登録者
+     * @return 追加した件数
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO timeline_entries " +
+            "(user_id, blog_id, author_id, blog_created_time, created_by, created_at, updated_by, updated_at) " +
+            "SELECT f.follower_id, b.id, b.author_id, b.blog_created_time, :createdBy, NOW(), :createdBy, NOW() " +
+            "FROM follows f JOIN blogs b ON b.author_id = f.followed_id " +
+            "WHERE b.status = 'PUBLISHED' AND b.is_deleted = false AND b.blog_created_time >= :since",
+            nativeQuery = true)
+    int insertFromFollows(@Param("since") LocalDateTime since, @Param("createdBy") String createdBy);
+
+    /**
+     * 指定された著者の公開中のブログ記事を、著者の全てのフォロワーのタイムラインに追加します。
+     * フォロワー数が閾値を下回り、タイムラインへ書き込む著者に戻った際に、書き込んでいなかった記事を追加するために使用します。
+     *
+     * @param authorId  著者のユーザID
+     * @param since     この日時以降に作成されたブログのみ追加する
+     * @param createdBy 登録者
+     * @return 追加した件数
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO timeline_entries " +
+            "(user_id, blog_id, author_id, blog_created_time, created_by, created_at, updated_by, updated_at) " +
+            "SELECT f.follower_id, b.id, b.author_id, b.blog_created_time, :createdBy, NOW(), :createdBy, NOW() " +
+            "FROM follows f JOIN blogs b ON b.author_id = f.followed_id " +
+            "WHERE f.followed_id = :authorId AND b.status = 'PUBLISHED' AND b.is_deleted = false " +
+            "AND b.blog_created_time >= :since",
+            nativeQuery = true)
+    int insertFromFollowsOfAuthor(@Param("authorId") Long authorId,
+                                  @Param("since") LocalDateTime since,
+                                  @Param("createdBy") String createdBy);
+
+    /**
+     * 指定されたブログを全てのタイムラインから削除します（非公開・削除時）。
+     *
+     * @param blogId ブログID
+     * @return 削除した件数
+     */
+    @Modifying
+    @Query("DELETE FROM TimelineEntry t WHERE t.id.blogId = :blogId")
+    int deleteByBlogId(@Param("blogId") Long blogId);
+
+    /**
+     * 指定された著者のブログ記事を、指定されたユーザのタイムラインから削除します（フォロー解除時）。
+     *
+     * @param userId   ユーザID
+     * @param authorId 著者のユーザID
+     * @return 削除した件数
+     */
+    @Modifying
+    @Query("DELETE FROM TimelineEntry t WHERE t.id.userId = :userId AND t.authorId = :authorId")
+    int deleteByUserIdAndAuthorId(@Param("userId") Long userId, @Param("authorId") Long authorId);
+
+    /**
+     * 保持期間を過ぎたブログ記事をタイムラインから削除します。
+     *
+     * @param threshold この日時より前に作成されたブログを削除する
+     * @return 削除した件数
+     */
+    @Modifying
+    @Query("DELETE FROM TimelineEntry t WHERE t.blogCreatedTime < :threshold")
+    int deleteOlderThan(@Param("threshold") LocalDateTime threshold);
+}
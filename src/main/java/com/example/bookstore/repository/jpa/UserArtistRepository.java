@@ -1,15 +1,17 @@
 package com.example.bookstore.repository.jpa;
 
-import com.example.bookstore.dto.repository.DashboardUserRepositoryDto;
+import com.example.bookstore.dto.repository.UserArtistNameRepositoryDto;
 import com.example.bookstore.entity.Artist;
 import com.example.bookstore.entity.User;
 import com.example.bookstore.entity.UserArtist;
 import com.example.bookstore.entity.key.UserArtistId;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -37,27 +39,6 @@ public interface UserArtistRepository extends JpaRepository<UserArtist, UserArti
     List<User> findUsersByFavoriteArtistId(@Param("artistId") String artistId);
 
 
-    /**
-     * 共通のアーティストを好きなユーザの中から、フォロー状況を含めて取得します。
-     * フォローしていないユーザを上位にし、最大10件を返します。
-     *
-     * @param artistIds アーティストIDリスト
-     * @param userId    ユーザID
-     * @return ユーザのリストとそのフォロー状況
-     */
-    @Query("SELECT new com.example.bookstore.dto.repository.DashboardUserRepositoryDto(u, " +
-            "CASE WHEN (SELECT COUNT(f) FROM Follow f WHERE f.follower.id = :userId AND f.followed.id = u.id) > 0 THEN true ELSE false END) " +
-            "FROM User u " +
-            "JOIN u.userArtists ua " +
-            "WHERE ua.artist.id IN :artistIds " +
-            "AND u.id <> :userId " +
-            "GROUP BY u.id " +
-            "ORDER BY CASE WHEN (SELECT COUNT(f) FROM Follow f WHERE f.follower.id = :userId AND f.followed.id = u.id) > 0 THEN 1 ELSE 0 END ASC")
-    List<DashboardUserRepositoryDto> findRecommendedUsersWithFollowStatus(
-            @Param("artistIds") List<String> artistIds,
-            @Param("userId") Long userId
-    );
-
     /**
      * 指定されたユーザと好きなアーティストが共通しているユーザをアーティスト情報とともに取得します。
      * 取得結果はユーザID及びアーティストIDの昇順にソートされています。また結果には同一ユーザが重複する可能性があります。
@@ -92,5 +73,32 @@ public interface UserArtistRepository extends JpaRepository<UserArtist, UserArti
     @Query("DELETE FROM UserArtist ua WHERE ua.user.id = :userId")
     void deleteAllByUserId(@Param("userId") Long userId);
 
+    /**
+     * 指定されたユーザの好きなアーティストのIDと名前を取得します。
+     *
+     * @param userIds ユーザIDリスト
+     * @return ユーザIDとアーティストのリスト
+     */
+    @Query("SELECT new com.example.bookstore.dto.repository.UserArtistNameRepositoryDto(ua.user.id, a.id, a.name) " +
+            "FROM UserArtist ua JOIN ua.artist a WHERE ua.user.id IN :userIds")
+    List<UserArtistNameRepositoryDto> findArtistNamesByUserIds(@Param("userIds") Collection<Long> userIds);
+
+    /**
+     * 有効なユーザの好きなアーティストのリレーションを、キーの位置からユーザID及びアーティストIDの昇順に取得します。
+     * おすすめユーザの計算でリレーション全体を読み込むために使用します。
+     *
+     * @param userId   前回取得した最後のユーザID（先頭から取得する場合は0）
+     * @param artistId 前回取得した最後のアーティストID（先頭から取得する場合は空文字）
+     * @param pageable 取得件数
+     * @return ユーザIDとアーティストIDのリスト
+     */
+    @Query("SELECT new com.example.bookstore.entity.key.UserArtistId(ua.id.userId, ua.id.artistId) " +
+            "FROM UserArtist ua " +
+            "WHERE ua.user.enabled = true " +
+            "AND (ua.id.userId > :userId OR (ua.id.userId = :userId AND ua.id.artistId > :artistId)) " +
+            "ORDER BY ua.id.userId ASC, ua.id.artistId ASC")
+    List<UserArtistId> findUserArtistIdsAfter(@Param("userId") Long userId,
+                                              @Param("artistId") String artistId,
+                                              Pageable pageable);
 
 }
@@ -7,6 +7,9 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Optional;
+
 /**
  * ユーザブログいいねリポジトリ
  */
@@ -24,14 +27,42 @@ public interface UserBlogLikeRepository extends JpaRepository<UserBlogLike, User
             "WHERE ubl.id.userId = :userId AND ubl.id.blogId = :blogId")
     boolean isLikeBlog(@Param("userId") Long userId, @Param("blogId") Long blogId);
 
+    /**
+     * 指定したユーザが指定したブログにいいねした日時を取得します。
+     *
+     * @param userId ユーザID
+     * @param blogId ブログID
+     * @return いいねの登録日時（いいねしていない場合は空）
+     */
+    @Query("SELECT ubl.createdAt FROM UserBlogLike ubl " +
+            "WHERE ubl.id.userId = :userId AND ubl.id.blogId = :blogId")
+    Optional<LocalDateTime> findLikedAt(@Param("userId") Long userId, @Param("blogId") Long blogId);
+
+    /**
+     * 指定したブログにいいねを登録します。
+     * すでにいいね済みの場合、またはブログが存在しない場合は登録を行いません。
+     * 主キーの重複を無視して登録するため、同時に実行された場合も登録されるのは1件のみです。
+     *
+     * @param userId    いいねするユーザID
+     * @param blogId    いいねするブログID
+     * @param createdBy 登録者
+     * @return 登録した件数（登録しなかった場合は0）
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO user_blog_like (user_id, blog_id, created_by, created_at, updated_by, updated_at) " +
+            "SELECT :userId, b.id, :createdBy, NOW(), :createdBy, NOW() FROM blogs b WHERE b.id = :blogId",
+            nativeQuery = true)
+    int insertLikeIfAbsent(@Param("userId") Long userId, @Param("blogId") Long blogId, @Param("createdBy") String createdBy);
+
     /**
      * 指定したブログのいいねを取り消します。
      *
      * @param userId いいねを取り消すユーザID
      * @param blogId いいねを取り消すブログID
+     * @return 削除した件数（いいねしていなかった場合は0）
      */
     @Modifying
     @Query("DELETE FROM UserBlogLike ubl " +
             "WHERE ubl.id.userId = :userId AND ubl.id.blogId = :blogId")
-    void clearLikeBlog(@Param("userId") Long userId, @Param("blogId") Long blogId);
-}
\ No newline at end of file
+    int clearLikeBlog(@Param("userId") Long userId, @Param("blogId") Long blogId);
+}
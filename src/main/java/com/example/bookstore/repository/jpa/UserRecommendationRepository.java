@@ -0,0 +1,44 @@
+package com.example.bookstore.repository.jpa;
+
+import com.example.bookstore.dto.repository.DashboardUserRepositoryDto;
+import com.example.bookstore.entity.UserRecommendation;
+import com.example.bookstore.entity.key.UserRecommendationId;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+/**
+ * おすすめユーザリポジトリ
+ */
+public interface UserRecommendationRepository extends JpaRepository<UserRecommendation, UserRecommendationId> {
+
+    /**
+     * 指定されたユーザのおすすめユーザを、フォロー状況を含めて取得します。
+     * フォローしていないユーザを上位にし、同じフォロー状況の中では類似度の高い順とします。
+     * 対象は事前に計算したユーザ毎の上位の件数のみのため、フォロー状況の判定は取得件数分に限られます。
+     *
+     * @param userId   ユーザID
+     * @param pageable 取得件数
+     * @return ユーザのリストとそのフォロー状況
+     */
+    @Query("SELECT new com.example.bookstore.dto.repository.DashboardUserRepositoryDto(u, " +
+            "CASE WHEN (SELECT COUNT(f) FROM Follow f WHERE f.follower.id = :userId AND f.followed.id = u.id) > 0 THEN true ELSE false END) " +
+            "FROM UserRecommendation r JOIN r.recommendedUser u " +
+            "WHERE r.id.userId = :userId AND u.enabled = true " +
+            "ORDER BY CASE WHEN (SELECT COUNT(f) FROM Follow f WHERE f.follower.id = :userId AND f.followed.id = u.id) > 0 THEN 1 ELSE 0 END ASC, " +
+            "r.score DESC, u.id ASC")
+    List<DashboardUserRepositoryDto> findRecommendedUsers(@Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * 好きなアーティストが登録されていないユーザのおすすめユーザを削除します。
+     *
+     * @return 削除した件数
+     */
+    @Modifying
+    @Query("DELETE FROM UserRecommendation r WHERE r.id.userId NOT IN (SELECT ua.id.userId FROM UserArtist ua)")
+    int deleteForUsersWithoutArtists();
+}
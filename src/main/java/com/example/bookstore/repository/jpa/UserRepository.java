@@ -1,7 +1,9 @@
 package com.example.bookstore.repository.jpa;
 
 import com.example.bookstore.dto.repository.ProfileRepositoryDto;
+import com.example.bookstore.dto.repository.UserSuggestRepositoryDto;
 import com.example.bookstore.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
@@ -98,4 +100,37 @@ public interface UserRepository extends JpaRepository<User, Long> {
             "WHERE (u.displayName LIKE %:keyword% OR a.name LIKE %:keyword%) " +
             "AND u.id != :currentUserId")
     List<User> searchUser(@Param("keyword") String keyword, @Param("currentUserId") String currentUserId);
+
+    /**
+     * 指定されたユーザIDより後の有効なユーザを、フォロワー数とともにユーザIDの昇順に取得します。
+     * ユーザ候補のインデックスの構築に使用します。
+     *
+     * @param afterId  このユーザIDより後のユーザを取得する
+     * @param pageable 取得件数
+     * @return ユーザリスト
+     */
+    @Query("SELECT new com.example.bookstore.dto.repository.UserSuggestRepositoryDto(u.id, u.displayName, u.profileImageUrl, " +
+            "(SELECT COUNT(f) FROM Follow f WHERE f.followed.id = u.id)) " +
+            "FROM User u WHERE u.enabled = true AND u.id > :afterId ORDER BY u.id ASC")
+    List<UserSuggestRepositoryDto> findSuggestUsersAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * 表示名、または好きなアーティスト名がキーワードで始まるユーザを、フォロワー数の多い順に取得します。
+     * ユーザ候補のインデックスの構築中に使用します。
+     *
+     * @param keyword       検索キーワード
+     * @param currentUserId ログインユーザID（結果に含めない）
+     * @param pageable      取得件数
+     * @return ユーザリスト
+     */
+    @Query("SELECT new com.example.bookstore.dto.repository.UserSuggestRepositoryDto(u.id, u.displayName, u.profileImageUrl, " +
+            "(SELECT COUNT(f) FROM Follow f WHERE f.followed.id = u.id)) " +
+            "FROM User u " +
+            "WHERE u.enabled = true AND u.id <> :currentUserId " +
+            "AND (u.displayName LIKE CONCAT(:keyword, '%') " +
+            "OR EXISTS (SELECT ua FROM UserArtist ua WHERE ua.user.id = u.id AND ua.artist.name LIKE CONCAT(:keyword, '%'))) " +
+            "ORDER BY (SELECT COUNT(f2) FROM Follow f2 WHERE f2.followed.id = u.id) DESC, u.id ASC")
+    List<UserSuggestRepositoryDto> suggestUsers(@Param("keyword") String keyword,
+                                                @Param("currentUserId") Long currentUserId,
+                                                Pageable pageable);
 }
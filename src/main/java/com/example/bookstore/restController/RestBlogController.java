@@ -4,11 +4,17 @@ import com.example.bookstore.dto.form.blog.BlogCountUpdateForm;
 import com.example.bookstore.dto.form.blog.BlogRegistrationForm;
 import com.example.bookstore.dto.form.blog.BlogUpdateForm;
 import com.example.bookstore.dto.view.BlogInfoViewDto;
+import com.example.bookstore.dto.view.BlogSearchResultViewDto;
+import com.example.bookstore.dto.view.BlogSummaryViewDto;
+import com.example.bookstore.dto.view.CursorPageViewDto;
 import com.example.bookstore.dto.view.DashboardBlogViewDto;
+import com.example.bookstore.dto.view.TagViewDto;
 import com.example.bookstore.entity.Blog;
 import com.example.bookstore.entity.Setlist;
 import com.example.bookstore.entity.User;
 import com.example.bookstore.service.BlogService;
+import com.example.bookstore.service.BlogTagService;
+import com.example.bookstore.service.search.BlogSearchIndex;
 import com.example.bookstore.service.util.UserUtilService;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
@@ -46,6 +52,12 @@ public class RestBlogController {
     @Autowired
     BlogService blogService;
 
+    /**
+     * ブログタグサービス
+     */
+    @Autowired
+    BlogTagService blogTagService;
+
 //    /**
 //     * 検索リクエストを受け取るメソッド。
 //     * キーワードに基づいてブログ記事を検索し、検索結果を返します。
@@ -59,17 +71,43 @@ public class RestBlogController {
 //        return blogService.searchBlogs(keyword);
 //    }
 
+    /**
+     * キーワードに合致するブログ記事を検索します。
+     * ページ番号を指定しない場合はカーソルによる検索を行い、次のページはレスポンスのnextCursorを指定して取得します。
+     * カーソルによる検索では、countにtrueを指定した場合のみ検索結果の件数を返します。
+     *
+     * @param keyword 検索キーワード
+     * @param sort    並び順（newest、oldest、mostLiked）
+     * @param page    ページ番号（カーソルによる検索の場合は指定しない）
+     * @param cursor  前のページのカーソル
+     * @param count   検索結果の件数を取得する場合true
+     * @return 検索結果
+     */
     @GetMapping("/blog/search")
     public ResponseEntity<Map<String, Object>> searchBlogs(
             @RequestParam("keyword") String keyword,
-            @RequestParam("sort") String sort,
-            @RequestParam("page") int page) {
+            @RequestParam(value = "sort", defaultValue = "newest") String sort,
+            @RequestParam(value = "page", required = false) Integer page,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "count", defaultValue = "false") boolean count) {
+
+        if (page == null) {
+            BlogSearchResultViewDto result = blogService.searchBlogAfter(keyword, getSortOrder(sort), cursor, 10, count);
+            Map<String, Object> response = new HashMap<>();
+            response.put("blogs", result.getBlogs());
+            response.put("hasMore", result.isHasMore());
+            response.put("nextCursor", result.getNextCursor());
+            if (result.getResultCount() != null) {
+                response.put("resultCount", result.getResultCount());
+            }
+            return ResponseEntity.ok(response);
+        }
 
         // ページネーションとソート条件を設定
         Pageable pageable = PageRequest.of(page, 10, getSort(sort));
 
         // 検索処理
-        Page<Blog> blogs = blogService.searchBlog(keyword, pageable);
+        Page<BlogSummaryViewDto> blogs = blogService.searchBlog(keyword, pageable);
 
         // 次のページがあるかどうかを判定
         boolean hasMore = blogs.hasNext();
@@ -83,6 +121,48 @@ public class RestBlogController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * 指定されたタグが付いたブログ記事を新しい順に取得します。
+     * 次のページはレスポンスのnextCursorを指定して取得します。
+     *
+     * @param tag    タグ名
+     * @param cursor 前のページのカーソル
+     * @return ブログ記事リストとタグの使用数
+     */
+    @GetMapping("/blog/tag/{tag}")
+    public ResponseEntity<Map<String, Object>> getBlogsByTag(
+            @PathVariable String tag,
+            @RequestParam(value = "cursor", required = false) String cursor) {
+
+        BlogSearchResultViewDto result = blogService.findBlogsByTag(tag, cursor, 10);
+        Map<String, Object> response = new HashMap<>();
+        response.put("blogs", result.getBlogs());
+        response.put("hasMore", result.isHasMore());
+        response.put("nextCursor", result.getNextCursor());
+        response.put("resultCount", result.getResultCount());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * 使用数の多いタグを取得します。
+     *
+     * @param limit 取得件数（最大50件）
+     * @return タグリスト
+     */
+    @GetMapping("/blog/tags/popular")
+    public ResponseEntity<List<TagViewDto>> getPopularTags(
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        return ResponseEntity.ok(blogTagService.getPopularTags(limit));
+    }
+
+    private BlogSearchIndex.SortOrder getSortOrder(String sort) {
+        return switch (sort) {
+            case "oldest" -> BlogSearchIndex.SortOrder.OLDEST;
+            case "mostLiked" -> BlogSearchIndex.SortOrder.MOST_LIKED;
+            default -> BlogSearchIndex.SortOrder.NEWEST;
+        };
+    }
+
     private Sort getSort(String sort) {
         return switch (sort) {
             case "oldest" -> Sort.by(Sort.Direction.ASC, "blogCreatedTime");
@@ -104,27 +184,81 @@ public class RestBlogController {
     }
 
     /**
-     * ログインユーザが作成した下書きリストを取得します。
+     * ログインユーザが作成した下書きリストを新しい順に取得します。
+     * 次のページはレスポンスのnextCursorを指定して取得します。
      *
+     * @param cursor 前のページのカーソル
+     * @param limit  取得件数（最大100件）
      * @return ブログ情報（下書き）
      */
     @GetMapping("/blog/my-drafts")
-    public ResponseEntity<List<Blog>> getDrafts() {
-        List<Blog> draftList = blogService.findDraftBlog(userUtilService.getCurrentUser().getId());
+    public ResponseEntity<CursorPageViewDto<Blog>> getDrafts(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        CursorPageViewDto<Blog> draftList = blogService.findDraftBlog(userUtilService.getCurrentUserIdAsLong(), cursor, limit);
         return ResponseEntity.ok(draftList);
     }
 
     /**
-     * ログインユーザが非公開ブログリストを取得します。
+     * ログインユーザが非公開ブログリストを新しい順に取得します。
+     * 次のページはレスポンスのnextCursorを指定して取得します。
      *
+     * @param cursor 前のページのカーソル
+     * @param limit  取得件数（最大100件）
      * @return ブログ情報（非公開）
      */
     @GetMapping("/blog/my-archives")
-    public ResponseEntity<List<Blog>> getArchives() {
-        List<Blog> archiveList = blogService.findArchiveBlog(userUtilService.getCurrentUser().getId());
+    public ResponseEntity<CursorPageViewDto<Blog>> getArchives(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        CursorPageViewDto<Blog> archiveList = blogService.findArchiveBlog(userUtilService.getCurrentUserIdAsLong(), cursor, limit);
         return ResponseEntity.ok(archiveList);
     }
 
+    /**
+     * 指定されたユーザが作成した公開中のブログリストを新しい順に取得します。
+     * プロフィールのブログリストの続きは、プロフィールのcreatedBlogNextCursorを指定して取得します。
+     *
+     * @param targetUserId ユーザID
+     * @param cursor       前のページのカーソル
+     * @param limit        取得件数（最大100件）
+     * @return ブログ情報（公開中）
+     */
+    @GetMapping("/blog/user/{targetUserId}")
+    public ResponseEntity<CursorPageViewDto<Blog>> getPublishedBlogs(
+            @PathVariable Long targetUserId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        return ResponseEntity.ok(blogService.findPublishedBlog(targetUserId, cursor, limit));
+    }
+
+
+    /**
+     * いいね・閲覧・コメントが最近多く集まっているブログを取得します。
+     *
+     * @param limit 取得件数（最大100件）
+     * @return ブログのリスト（スコアの高い順）
+     */
+    @GetMapping("/blog/trending")
+    public ResponseEntity<List<BlogSummaryViewDto>> getTrendingBlogs(
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        return ResponseEntity.ok(blogService.findTrendingBlogs(limit));
+    }
+
+    /**
+     * ログインユーザがフォローしていないユーザの新しいブログを取得します。
+     * 次のページはレスポンスのnextCursorを指定して取得します。
+     *
+     * @param cursor 前のページのカーソル
+     * @param limit  取得件数（最大100件）
+     * @return ブログのリスト
+     */
+    @GetMapping("/blog/explore")
+    public ResponseEntity<CursorPageViewDto<BlogSummaryViewDto>> getExploreBlogs(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        return ResponseEntity.ok(blogService.findExploreBlogs(userUtilService.getCurrentUserIdAsLong(), cursor, limit));
+    }
 
     /**
      * ログインユーザが興味のありそうなブログを取得します（自身のブログは取得対象外）
@@ -134,7 +268,7 @@ public class RestBlogController {
     @GetMapping("/blog/interest")
     public ResponseEntity<List<DashboardBlogViewDto>> getBlogsOfInterest() {
         // サービスメソッドを呼び出して、ブログデータを取得
-        List<DashboardBlogViewDto> viewDtoList = blogService.findInterestBlogs(userUtilService.getCurrentUser().getId());
+        List<DashboardBlogViewDto> viewDtoList = blogService.findInterestBlogs(userUtilService.getCurrentUserIdAsLong());
 
         // ブログリストをレスポンスとして返す
         return ResponseEntity.ok(viewDtoList);
@@ -289,7 +423,7 @@ public class RestBlogController {
      */
     @PostMapping("/blog/like/{blogId}")
     public ResponseEntity<Integer> likeBlog(@PathVariable Long blogId) {
-        Integer updatedLikeCount = blogService.likeBlog(userUtilService.getCurrentUser().getId(), blogId);
+        Integer updatedLikeCount = blogService.likeBlog(userUtilService.getCurrentUserIdAsLong(), blogId);
         return ResponseEntity.ok(updatedLikeCount);
     }
 
@@ -301,7 +435,7 @@ public class RestBlogController {
      */
     @PostMapping("/blog/unlike/{blogId}")
     public ResponseEntity<Integer> clearLikeBlog(@PathVariable Long blogId) {
-        Integer updatedLikeCount = blogService.clearLikeBlog(userUtilService.getCurrentUser().getId(), blogId);
+        Integer updatedLikeCount = blogService.clearLikeBlog(userUtilService.getCurrentUserIdAsLong(), blogId);
         return ResponseEntity.ok(updatedLikeCount);
     }
 }
@@ -5,6 +5,7 @@ import com.example.bookstore.dto.form.comment.CommentRegistrationForm;
 import com.example.bookstore.dto.form.comment.CommentUpdateForm;
 import com.example.bookstore.dto.view.ParentCommentViewDto;
 import com.example.bookstore.entity.Comment;
+import com.example.bookstore.entity.User;
 import com.example.bookstore.repository.jpa.BlogRepository;
 import com.example.bookstore.service.CommentService;
 import com.example.bookstore.service.util.UserUtilService;
@@ -73,15 +74,17 @@ public class RestCommentController {
      */
     @PostMapping("/comment/create")
     public ResponseEntity<Comment> registerComment(@RequestBody CommentRegistrationForm form) {
+        User currentUser = userUtilService.getCurrentUser();
+        String currentUserId = currentUser.getId().toString();
         Comment input = Comment.builder()
                 .content(form.getContent())
                 .blog(blogRepository.findById(form.getBlogId()).orElseThrow())
-                .author(userUtilService.getCurrentUser())
+                .author(currentUser)
                 .commentCreatedTime(LocalDateTime.now())
                 .commentUpdatedTime(LocalDateTime.now())
                 .isDeleted(false)
-                .createdBy(userUtilService.getCurrentUserId())
-                .updatedBy(userUtilService.getCurrentUserId())
+                .createdBy(currentUserId)
+                .updatedBy(currentUserId)
                 .build();
         Comment createdComment = commentService.registerComment(input);
         return ResponseEntity.status(HttpStatus.CREATED).body(createdComment);
@@ -95,15 +98,17 @@ public class RestCommentController {
      */
     @PostMapping("/comment/reply")
     public ResponseEntity<Comment> replyComment(@RequestBody CommentRegistrationForm form) {
+        User currentUser = userUtilService.getCurrentUser();
+        String currentUserId = currentUser.getId().toString();
         Comment input = Comment.builder()
                 .content(form.getContent())
                 .blog(blogRepository.findById(form.getBlogId()).orElseThrow())
-                .author(userUtilService.getCurrentUser())
+                .author(currentUser)
                 .commentCreatedTime(LocalDateTime.now())
                 .commentUpdatedTime(LocalDateTime.now())
                 .isDeleted(false)
-                .createdBy(userUtilService.getCurrentUserId())
-                .updatedBy(userUtilService.getCurrentUserId())
+                .createdBy(currentUserId)
+                .updatedBy(currentUserId)
                 .build();
         Comment createdComment = commentService.registerReplyComment(form.getParentCommentId(), input);
         return ResponseEntity.status(HttpStatus.CREATED).body(createdComment);
@@ -1,5 +1,6 @@
 package com.example.bookstore.restController;
 
+import com.example.bookstore.dto.view.CursorPageViewDto;
 import com.example.bookstore.dto.view.FollowViewDto;
 import com.example.bookstore.service.FollowService;
 import com.example.bookstore.service.util.UserUtilService;
@@ -7,8 +8,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 /**
  * Restフォローコントローラ
  */
@@ -54,12 +53,17 @@ public class RestFollowController {
 
     /**
      * ログインユーザがフォロー中のユーザを取得します。
+     * 次のページはレスポンスのnextCursorを指定して取得します。
      *
+     * @param cursor 前のページのカーソル
+     * @param limit  取得件数（最大100件）
      * @return フォローしているユーザのリスト
      */
     @GetMapping("/follow/followed")
-    public ResponseEntity<List<FollowViewDto>> getFollowedUsers() {
-        List<FollowViewDto> followedUsers = followService.getFollowedUsersInfo(userUtilService.getCurrentUser().getId());
+    public ResponseEntity<CursorPageViewDto<FollowViewDto>> getFollowedUsers(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        CursorPageViewDto<FollowViewDto> followedUsers = followService.getFollowedUsersInfo(userUtilService.getCurrentUserIdAsLong(), cursor, limit);
         return ResponseEntity.ok(followedUsers);
     }
 
@@ -68,22 +72,32 @@ public class RestFollowController {
      * 指定されたユーザがフォローしているユーザを取得します。
      *
      * @param targetUserId ユーザID
+     * @param cursor       前のページのカーソル
+     * @param limit        取得件数（最大100件）
      * @return フォローしているユーザのリスト
      */
     @GetMapping("/follow/followed/{targetUserId}")
-    public ResponseEntity<List<FollowViewDto>> getFollowedUsersByUserId(@PathVariable Long targetUserId) {
-        List<FollowViewDto> followedUsers = followService.getFollowedUsersInfo(targetUserId);
+    public ResponseEntity<CursorPageViewDto<FollowViewDto>> getFollowedUsersByUserId(
+            @PathVariable Long targetUserId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        CursorPageViewDto<FollowViewDto> followedUsers = followService.getFollowedUsersInfo(targetUserId, cursor, limit);
         return ResponseEntity.ok(followedUsers);
     }
 
     /**
      * ログインユーザをフォローしているユーザを取得します。
+     * 次のページはレスポンスのnextCursorを指定して取得します。
      *
+     * @param cursor 前のページのカーソル
+     * @param limit  取得件数（最大100件）
      * @return フォロワーのリスト
      */
     @GetMapping("/follow/followers")
-    public ResponseEntity<List<FollowViewDto>> getFollowers() {
-        List<FollowViewDto> followers = followService.getFollowersInfo(userUtilService.getCurrentUser().getId());
+    public ResponseEntity<CursorPageViewDto<FollowViewDto>> getFollowers(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        CursorPageViewDto<FollowViewDto> followers = followService.getFollowersInfo(userUtilService.getCurrentUserIdAsLong(), cursor, limit);
         return ResponseEntity.ok(followers);
     }
 
@@ -91,11 +105,16 @@ public class RestFollowController {
      * 指定されたユーザをフォローしているユーザを取得します。
      *
      * @param targetUserId ユーザID
+     * @param cursor       前のページのカーソル
+     * @param limit        取得件数（最大100件）
      * @return フォロワーのリスト
      */
     @GetMapping("/follow/followers/{targetUserId}")
-    public ResponseEntity<List<FollowViewDto>> getFollowersByUserId(@PathVariable Long targetUserId) {
-        List<FollowViewDto> followers = followService.getFollowersInfo(targetUserId);
+    public ResponseEntity<CursorPageViewDto<FollowViewDto>> getFollowersByUserId(
+            @PathVariable Long targetUserId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        CursorPageViewDto<FollowViewDto> followers = followService.getFollowersInfo(targetUserId, cursor, limit);
         return ResponseEntity.ok(followers);
     }
 }
@@ -1,6 +1,7 @@
 package com.example.bookstore.restController;
 
 import com.example.bookstore.dto.form.notification.NotificationRegistrationForm;
+import com.example.bookstore.dto.view.CursorPageViewDto;
 import com.example.bookstore.entity.Blog;
 import com.example.bookstore.entity.Notification;
 import com.example.bookstore.entity.User;
@@ -71,13 +72,18 @@ public class RestNotificationController {
     }
 
     /**
-     * ログインユーザの全通知を取得します。
+     * ログインユーザの全通知を新しい順に取得します。
+     * 次のページはレスポンスのnextCursorを指定して取得します。
      *
+     * @param cursor 前のページのカーソル
+     * @param limit  取得件数（最大100件）
      * @return 全通知リスト
      */
     @GetMapping("/notification/all")
-    public ResponseEntity<List<Notification>> getAllNotifications() {
-        List<Notification> allNotifications = notificationService.getAllNotificationsForCurrentUser();
+    public ResponseEntity<CursorPageViewDto<Notification>> getAllNotifications(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        CursorPageViewDto<Notification> allNotifications = notificationService.getAllNotificationsForCurrentUser(cursor, limit);
         return ResponseEntity.ok(allNotifications);
     }
 
@@ -100,7 +106,7 @@ public class RestNotificationController {
      */
     @PostMapping("/notification/mark-all-read")
     public ResponseEntity<String> markAllUnreadNotificationsAsRead() {
-        notificationService.markAllUnreadNotificationsAsRead(userUtilService.getCurrentUser().getId());
+        notificationService.markAllUnreadNotificationsAsRead(userUtilService.getCurrentUserIdAsLong());
         return ResponseEntity.ok("未読の通知がすべて既読になりました。");
     }
 
@@ -1,5 +1,6 @@
 package com.example.bookstore.restController;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -27,12 +28,14 @@ public class RestOAuthController {
     @Value(("${oauth.redirect.uri}"))
     private String redirectUri;
 
+    @Autowired
+    private RestTemplate restTemplate;
+
     @PostMapping("/api/oauth/callback")
     public ResponseEntity<?> handleGoogleCallback(@RequestBody Map<String, String> body) {
         String code = body.get("code");
 
         // Googleのトークンサーバーにリクエストを送る
-        RestTemplate restTemplate = new RestTemplate();
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
 
@@ -61,8 +64,6 @@ public class RestOAuthController {
         }
 
         try {
-            RestTemplate restTemplate = new RestTemplate();
-
             Map<String, String> params = new HashMap<>();
             params.put("refresh_token", refreshToken);
             params.put("grant_type", "refresh_token");
@@ -72,7 +72,7 @@ public class RestUserArtistController {
      */
     @GetMapping("/user/recommended-users")
     public ResponseEntity<List<DashboardUserViewDto>> getRecommendedUsers() {
-        List<DashboardUserViewDto> recommendedUsers = userArtistService.getRecommendedUsers(userUtilService.getCurrentUser().getId());
+        List<DashboardUserViewDto> recommendedUsers = userArtistService.getRecommendedUsers(userUtilService.getCurrentUserIdAsLong());
 
         return ResponseEntity.ok(recommendedUsers);
     }
@@ -7,6 +7,7 @@ import com.example.bookstore.dto.form.user.UserRegistrationForm;
 import com.example.bookstore.dto.form.user.UserUpdateForm;
 import com.example.bookstore.dto.form.user.UsersDeleteForm;
 import com.example.bookstore.dto.view.ProfileViewDto;
+import com.example.bookstore.dto.view.UserSuggestViewDto;
 import com.example.bookstore.entity.User;
 import com.example.bookstore.service.GoogleService;
 import com.example.bookstore.service.UserService;
@@ -99,7 +100,7 @@ public class RestUserController {
             @RequestParam(value = "profileImage", required = false) MultipartFile profileImage
     ) {
         User updatedUser = userService.initialUpdate(formData, profileImage);
-//        User updatedUser = userService.getUserInfo(userUtilService.getCurrentUser().getId());
+//        User updatedUser = userService.getUserInfo(userUtilService.getCurrentUserIdAsLong());
         return ResponseEntity.ok(updatedUser);
     }
 
@@ -126,8 +127,7 @@ public class RestUserController {
     @GetMapping("/user/my")
     public ResponseEntity<User> getUser() {
         try {
-            User currentUser = userService.findBySubject(
-                    SecurityContextHolder.getContext().getAuthentication().getPrincipal().toString());
+            User currentUser = userService.findBySubject(userUtilService.getCurrentPrincipal().getSubject());
             return ResponseEntity.ok(currentUser);
         } catch (UserNotFoundException e) {
             return ResponseEntity.notFound().build();
@@ -160,7 +160,7 @@ public class RestUserController {
      */
     @GetMapping("/user/profile")
     public ResponseEntity<ProfileViewDto> getUserProfile() {
-        ProfileViewDto profile = userService.getUserProfile(userUtilService.getCurrentUser().getId(), false);
+        ProfileViewDto profile = userService.getUserProfile(userUtilService.getCurrentUserIdAsLong(), false);
         return ResponseEntity.ok(profile);
     }
 
@@ -172,7 +172,7 @@ public class RestUserController {
      */
     @GetMapping("/user/profile/{targetUserId}")
     public ResponseEntity<ProfileViewDto> getOthersProfile(@PathVariable Long targetUserId) {
-        boolean isOthersInfo = !targetUserId.equals(userUtilService.getCurrentUser().getId());
+        boolean isOthersInfo = !targetUserId.equals(userUtilService.getCurrentUserIdAsLong());
         ProfileViewDto profile = userService.getUserProfile(targetUserId, isOthersInfo);
         return ResponseEntity.ok(profile);
     }
@@ -190,6 +190,22 @@ public class RestUserController {
         return ResponseEntity.ok(users);
     }
 
+    /**
+     * 表示名、または好きなアーティスト名がキーワードで始まるユーザを、フォロワー数の多い順に取得します。
+     * 入力補完用のため、ログインユーザは含めません。
+     *
+     * @param keyword 検索キーワード
+     * @param limit   取得件数（最大20件）
+     * @return ユーザ候補リスト
+     */
+    @GetMapping("/user/suggest")
+    public ResponseEntity<List<UserSuggestViewDto>> suggestUsers(
+            @RequestParam("keyword") String keyword,
+            @RequestParam(value = "limit", defaultValue = "10") int limit) {
+
+        return ResponseEntity.ok(userService.suggestUsers(keyword, limit));
+    }
+
     // ソート条件の指定にも対応できるためのメソッド（現状はソート指定は行わない）
     private Sort getSort() {
         return Sort.by(Sort.Direction.DESC, "createdUt");
@@ -209,7 +225,7 @@ public class RestUserController {
             @RequestParam(value = "profileImage", required = false) MultipartFile profileImage) {
 
         User updatedUser = userService.updateUserProfile(form, profileImage);
-        ProfileViewDto profile = userService.getUserProfile(userUtilService.getCurrentUser().getId(), false);
+        ProfileViewDto profile = userService.getUserProfile(userUtilService.getCurrentUserIdAsLong(), false);
 
         return ResponseEntity.ok(profile);
     }
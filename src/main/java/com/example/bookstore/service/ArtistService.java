@@ -2,6 +2,7 @@ package com.example.bookstore.service;
 
 import com.example.bookstore.entity.Artist;
 import com.example.bookstore.repository.jpa.ArtistRepository;
+import com.example.bookstore.service.search.UserSuggestIndex;
 import com.example.bookstore.service.util.UserUtilService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -26,6 +27,12 @@ public class ArtistService {
     @Autowired
     UserUtilService userUtilService;
 
+    /**
+     * ユーザ候補インデックス
+     */
+    @Autowired
+    UserSuggestIndex userSuggestIndex;
+
     /**
      * idに合致するartist情報を取得します。
      *
@@ -45,12 +52,14 @@ public class ArtistService {
      */
     public Artist saveArtist(Artist input) {
         Artist artist = artistRepository.findById(input.getId()).orElse(null);
-        String currentUserId = userUtilService.getCurrentUser().getId().toString();
+        String currentUserId = userUtilService.getCurrentUserId();
         input.setCreatedBy(currentUserId);
         input.setUpdatedBy(currentUserId);
 
         //inputされたartistが未登録の場合DBへ登録する
-        return Objects.requireNonNullElseGet(artist, () -> artistRepository.save(input));
+        Artist registered = Objects.requireNonNullElseGet(artist, () -> artistRepository.save(input));
+        userSuggestIndex.indexArtist(registered);
+        return registered;
     }
 
 
@@ -0,0 +1,66 @@
+package com.example.bookstore.service;
+
+import com.example.bookstore.entity.Blog;
+import com.example.bookstore.repository.jpa.BlogRepository;
+import com.example.bookstore.service.common.BlogContentExtractor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * 本文のプレーンテキスト・抜粋が未作成のブログ（作成処理の導入前のデータ）に対して、起動時にまとめて作成するサービスクラスです。
+ */
+@Service
+public class BlogContentBackfillService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BlogContentBackfillService.class);
+
+    /**
+     * ブログリポジトリ
+     */
+    @Autowired
+    private BlogRepository blogRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * 1度に更新するブログ数
+     */
+    @Value("${blog.content-backfill.batch-size:200}")
+    private int batchSize;
+
+    /**
+     * 未作成のブログのプレーンテキスト・抜粋を作成します。
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        long afterId = 0;
+        int updated = 0;
+        while (true) {
+            List<Blog> batch = blogRepository.findBlogsWithoutPlainTextAfter(afterId, PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) {
+                break;
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                for (Blog blog : batch) {
+                    String plainText = BlogContentExtractor.extractPlainText(blog.getContent());
+                    blogRepository.updateExtractedText(blog.getId(), plainText, BlogContentExtractor.excerpt(plainText));
+                }
+            });
+            updated += batch.size();
+            afterId = batch.get(batch.size() - 1).getId();
+        }
+        if (updated > 0) {
+            logger.info("Extracted plain text for {} blogs", updated);
+        }
+    }
+}
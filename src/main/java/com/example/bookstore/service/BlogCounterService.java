@@ -0,0 +1,196 @@
+package com.example.bookstore.service;
+
+import com.example.bookstore.entity.Blog;
+import com.example.bookstore.repository.jdbc.BlogCounterRepository;
+import com.example.bookstore.service.common.AfterCommit;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * ブログのいいね数・コメント数・閲覧数を集計するサービスクラスです。
+ * 増減はブログ毎にメモリ上で集計し、一定間隔でまとめてDBに加算します。
+ * 集計中の増減は読み取り時にDBの値へ加算して返します。
+ */
+@Service
+public class BlogCounterService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BlogCounterService.class);
+
+    /**
+     * 集計対象のカウンタ
+     */
+    public enum CounterType {
+        /**
+         * いいね数
+         */
+        LIKE("like_count"),
+        /**
+         * コメント数
+         */
+        COMMENT("comment_count"),
+        /**
+         * 閲覧数
+         */
+        VIEW("view_count");
+
+        /**
+         * blogsテーブルのカラム名
+         */
+        private final String column;
+
+        CounterType(String column) {
+            this.column = column;
+        }
+
+        public String getColumn() {
+            return column;
+        }
+    }
+
+    /**
+     * カウンタ用リポジトリ
+     */
+    @Autowired
+    private BlogCounterRepository blogCounterRepository;
+
+    /**
+     * エンティティマネージャ
+     */
+    @Autowired
+    private EntityManager entityManager;
+
+    /**
+     * DBに未反映の増減（カウンタ種別毎、ブログID毎）
+     * 増減はエントリ単位でアトミックに加算し、合計が0になったエントリとDBに反映したエントリは削除する
+     */
+    private final Map<CounterType, ConcurrentMap<Long, Long>> pendingDeltas = new EnumMap<>(CounterType.class);
+
+    public BlogCounterService() {
+        for (CounterType type : CounterType.values()) {
+            pendingDeltas.put(type, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * カウンタを増減します。
+     * トランザクション内で呼び出された場合は、コミット後に集計へ反映します。
+     *
+     * @param type   カウンタ種別
+     * @param blogId ブログID
+     * @param delta  増減値
+     */
+    public void add(CounterType type, Long blogId, long delta) {
+        AfterCommit.run(() -> addPending(type, blogId, delta));
+    }
+
+    /**
+     * DBに未反映の増減を取得します。
+     *
+     * @param type   カウンタ種別
+     * @param blogId ブログID
+     * @return 未反映の増減値
+     */
+    public long getPending(CounterType type, Long blogId) {
+        return pendingDeltas.get(type).getOrDefault(blogId, 0L);
+    }
+
+    /**
+     * ブログ情報のカウンタにDBに未反映の増減を加算します。
+     * 加算した値がDBに書き込まれないよう、ブログ情報は永続化コンテキストから切り離します。
+     *
+     * @param blog ブログ情報
+     * @return 加算後のブログ情報
+     */
+    public Blog applyPending(Blog blog) {
+        long likeDelta = getPending(CounterType.LIKE, blog.getId());
+        long commentDelta = getPending(CounterType.COMMENT, blog.getId());
+        long viewDelta = getPending(CounterType.VIEW, blog.getId());
+        if (likeDelta == 0 && commentDelta == 0 && viewDelta == 0) {
+            return blog;
+        }
+        if (entityManager.contains(blog)) {
+            entityManager.detach(blog);
+        }
+        blog.setLikeCount(clamp(blog.getLikeCount() + likeDelta));
+        blog.setCommentCount(clamp(blog.getCommentCount() + commentDelta));
+        blog.setViewCount(clamp(blog.getViewCount() + viewDelta));
+        return blog;
+    }
+
+    /**
+     * DBの値にDBに未反映の増減を加算した値を返します。
+     *
+     * @param type      カウンタ種別
+     * @param blogId    ブログID
+     * @param persisted DBの値
+     * @return 加算後の値
+     */
+    public int withPending(CounterType type, Long blogId, long persisted) {
+        return clamp(persisted + getPending(type, blogId));
+    }
+
+    /**
+     * 集計した増減をDBに反映します。
+     */
+    @Scheduled(fixedDelayString = "${blog.counter.flush-interval:PT5S}")
+    public void flush() {
+        for (CounterType type : CounterType.values()) {
+            flush(type);
+        }
+    }
+
+    /**
+     * アプリケーション終了時に未反映の増減をDBに反映します。
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void flush(CounterType type) {
+        ConcurrentMap<Long, Long> pending = pendingDeltas.get(type);
+        List<Long> blogIds = new ArrayList<>();
+        List<Long> deltas = new ArrayList<>();
+        for (Long blogId : new ArrayList<>(pending.keySet())) {
+            // エントリを取り除いて読み取るため、以降の加算は新しいエントリに集計される
+            Long delta = pending.remove(blogId);
+            if (delta != null && delta != 0) {
+                blogIds.add(blogId);
+                deltas.add(delta);
+            }
+        }
+        if (blogIds.isEmpty()) {
+            return;
+        }
+        try {
+            blogCounterRepository.addCounts(type.getColumn(), blogIds, deltas);
+        } catch (RuntimeException e) {
+            // 反映に失敗した増減は次回の反映対象に戻す
+            for (int i = 0; i < blogIds.size(); i++) {
+                addPending(type, blogIds.get(i), deltas.get(i));
+            }
+            logger.warn("Failed to flush {} deltas for {} blogs", type, blogIds.size(), e);
+        }
+    }
+
+    private void addPending(CounterType type, Long blogId, long delta) {
+        // 合計が0になった場合はエントリを削除する
+        pendingDeltas.get(type).merge(blogId, delta, (current, added) -> current + added != 0 ? current + added : null);
+    }
+
+    private static int clamp(long value) {
+        return (int) Math.max(0, Math.min(Integer.MAX_VALUE, value));
+    }
+}
@@ -1,30 +1,43 @@
 package com.example.bookstore.service;
 
-import com.example.bookstore.dto.repository.DashboardBlogRepositoryDto;
+import com.example.bookstore.dto.repository.BlogSummaryRepositoryDto;
 import com.example.bookstore.dto.view.BlogInfoViewDto;
+import com.example.bookstore.dto.view.BlogSearchResultViewDto;
+import com.example.bookstore.dto.view.BlogSummaryViewDto;
+import com.example.bookstore.dto.view.CursorPageViewDto;
 import com.example.bookstore.dto.view.DashboardBlogViewDto;
 import com.example.bookstore.entity.*;
 import com.example.bookstore.entity.code.BlogStatus;
-import com.example.bookstore.entity.code.NotificationType;
-import com.example.bookstore.entity.key.UserBlogLikeId;
 import com.example.bookstore.repository.jpa.BlogRepository;
 import com.example.bookstore.repository.jpa.UserBlogLikeRepository;
-import com.example.bookstore.repository.jpa.UserRepository;
+import com.example.bookstore.service.common.BlogContentExtractor;
+import com.example.bookstore.service.common.KeysetCursor;
+import com.example.bookstore.service.search.BlogSearchIndex;
+import com.example.bookstore.service.search.BlogSearchResultCache;
+import com.example.bookstore.service.search.SearchCursor;
+import com.example.bookstore.service.search.TrendingIndex;
 import com.example.bookstore.service.util.StorageService;
 import com.example.bookstore.service.util.UserUtilService;
 import jakarta.persistence.EntityManager;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -51,12 +64,6 @@ public class BlogService {
     @Autowired
     private NotificationService notificationService;
 
-    /**
-     * フォローサービス
-     */
-    @Autowired
-    private FollowService followService;
-
     /**
      * ブログアーティストサービス
      */
@@ -69,14 +76,62 @@ public class BlogService {
     @Autowired
     private UserBlogLikeRepository userBlogLikeRepository;
 
+    @Autowired
+    private StorageService storageService;
+
     /**
-     * ユーザリポジトリ
+     * ブログカウンタサービス
      */
     @Autowired
-    private UserRepository userRepository;
+    private BlogCounterService blogCounterService;
 
+    /**
+     * ブログ閲覧サービス
+     */
     @Autowired
-    private StorageService storageService;
+    private BlogViewService blogViewService;
+
+    /**
+     * ユニーク閲覧ユーザ数サービス
+     */
+    @Autowired
+    private BlogUniqueViewerService blogUniqueViewerService;
+
+    /**
+     * ブログ検索インデックス
+     */
+    @Autowired
+    private BlogSearchIndex blogSearchIndex;
+
+    /**
+     * ブログ検索結果キャッシュ
+     */
+    @Autowired
+    private BlogSearchResultCache blogSearchResultCache;
+
+    /**
+     * ブログタグサービス
+     */
+    @Autowired
+    private BlogTagService blogTagService;
+
+    /**
+     * タイムラインサービス
+     */
+    @Autowired
+    private TimelineService timelineService;
+
+    /**
+     * 探索フィードサービス
+     */
+    @Autowired
+    private ExploreFeedService exploreFeedService;
+
+    /**
+     * 急上昇ランキング
+     */
+    @Autowired
+    private TrendingIndex trendingIndex;
 
     /**
      * エンティティマネージャ
@@ -110,8 +165,147 @@ public class BlogService {
      * @param pageable ページネーションとソート情報
      * @return 検索結果（ページネーション付き）
      */
-    public Page<Blog> searchBlog(String keyword, Pageable pageable) {
-        return blogRepository.searchBlogsByKeyword(keyword, pageable);
+    public Page<BlogSummaryViewDto> searchBlog(String keyword, Pageable pageable) {
+        BlogSearchIndex.SortOrder sort = toSortOrder(pageable.getSort());
+        int offset = (int) pageable.getOffset();
+        BlogSearchResultCache.CachedResult result = blogSearchResultCache.get(keyword, sort,
+                "page:" + pageable.getPageNumber() + ":" + pageable.getPageSize(),
+                () -> blogSearchIndex.search(keyword, sort, offset, pageable.getPageSize())
+                        .map(found -> new BlogSearchResultCache.CachedResult(found.blogIds(), null,
+                                offset + found.blogIds().size() < found.totalCount(), found.totalCount()))
+                        .orElse(null));
+        if (result == null) {
+            // 検索インデックスの構築中はDBで検索する
+            return blogRepository.searchBlogsByKeyword(keyword, pageable)
+                    .map(blog -> BlogSummaryViewDto.build(blogCounterService.applyPending(blog)));
+        }
+        return new PageImpl<>(findSummariesInOrder(result.blogIds()), pageable, result.totalCount());
+    }
+
+    /**
+     * キーワードに合致するブログ情報を、カーソルの位置から取得します。
+     * 件数の取得は要求された場合のみ行い、検索インデックスの構築中は取得しません。
+     *
+     * @param keyword   検索キーワード
+     * @param sort      並び順
+     * @param cursor    前のページのカーソル（先頭のページの場合はnull）
+     * @param size      取得件数
+     * @param withCount 検索結果の件数を取得する場合true
+     * @return 検索結果
+     */
+    public BlogSearchResultViewDto searchBlogAfter(String keyword, BlogSearchIndex.SortOrder sort, String cursor,
+                                                   int size, boolean withCount) {
+        SearchCursor after = cursor == null || cursor.isEmpty() ? null : SearchCursor.decode(cursor, sort);
+        BlogSearchResultCache.CachedResult result = blogSearchResultCache.get(keyword, sort,
+                "cursor:" + (after != null ? after.encode() : "") + ":" + size,
+                () -> blogSearchIndex.searchAfter(keyword, sort, after, size)
+                        .map(found -> new BlogSearchResultCache.CachedResult(found.blogIds(),
+                                found.nextCursor() != null ? found.nextCursor().encode() : null,
+                                found.nextCursor() != null, found.totalCount()))
+                        .orElse(null));
+        if (result != null) {
+            return BlogSearchResultViewDto.builder()
+                    .blogs(findSummariesInOrder(result.blogIds()))
+                    .nextCursor(result.nextCursor())
+                    .hasMore(result.hasMore())
+                    .resultCount(withCount ? result.totalCount() : null)
+                    .build();
+        }
+
+        // 検索インデックスの構築中はDBで検索する
+        Pageable limit = PageRequest.ofSize(size);
+        Slice<Blog> slice = switch (sort) {
+            case OLDEST -> blogRepository.searchOldestBlogsByKeywordAfter(keyword,
+                    after != null ? after.createdTime() : null, after != null ? after.id() : null, limit);
+            case MOST_LIKED -> blogRepository.searchMostLikedBlogsByKeywordAfter(keyword,
+                    after != null ? (int) after.likeCount() : null, after != null ? after.id() : null, limit);
+            default -> blogRepository.searchNewestBlogsByKeywordAfter(keyword,
+                    after != null ? after.createdTime() : null, after != null ? after.id() : null, limit);
+        };
+        String nextCursor = null;
+        if (slice.hasNext()) {
+            // 未反映のいいね数を加算する前のDBの値でカーソルを作成する
+            Blog last = slice.getContent().get(slice.getNumberOfElements() - 1);
+            nextCursor = SearchCursor.of(sort, last.getBlogCreatedTime(), last.getLikeCount(), last.getId()).encode();
+        }
+        return BlogSearchResultViewDto.builder()
+                .blogs(slice.getContent().stream()
+                        .map(blog -> BlogSummaryViewDto.build(blogCounterService.applyPending(blog)))
+                        .toList())
+                .nextCursor(nextCursor)
+                .hasMore(slice.hasNext())
+                .build();
+    }
+
+    /**
+     * 指定されたタグが付いた公開中のブログ情報を、カーソルの位置から新しい順に取得します。
+     *
+     * @param tag    タグ名
+     * @param cursor 前のページのカーソル（先頭のページの場合はnull）
+     * @param size   取得件数
+     * @return ブログ情報リスト（件数はタグの使用数）
+     */
+    public BlogSearchResultViewDto findBlogsByTag(String tag, String cursor, int size) {
+        return blogTagService.findBlogIdsByTag(tag, KeysetCursor.decode(cursor), size)
+                .map(result -> BlogSearchResultViewDto.builder()
+                        .blogs(findSummariesInOrder(result.blogIds().getItems()))
+                        .nextCursor(result.blogIds().getNextCursor())
+                        .hasMore(result.blogIds().isHasMore())
+                        .resultCount(result.usageCount())
+                        .build())
+                .orElseGet(() -> BlogSearchResultViewDto.builder()
+                        .blogs(List.of())
+                        .hasMore(false)
+                        .resultCount(0)
+                        .build());
+    }
+
+    /**
+     * 指定されたブログIDのブログ情報を、一覧表示用の項目のみブログIDリストの順に取得します。
+     * 本文は取得しません。
+     *
+     * @param blogIds ブログIDリスト
+     * @return ブログ情報リスト（存在しないブログは含まない）
+     */
+    private List<BlogSummaryViewDto> findSummariesInOrder(List<Long> blogIds) {
+        if (blogIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, BlogSummaryRepositoryDto> blogsById = blogRepository.findSummariesByIdIn(blogIds).stream()
+                .collect(Collectors.toMap(BlogSummaryRepositoryDto::getId, Function.identity()));
+        return blogIds.stream()
+                .map(blogsById::get)
+                .filter(Objects::nonNull)
+                .map(this::toSummaryViewDto)
+                .toList();
+    }
+
+    private BlogSummaryViewDto toSummaryViewDto(BlogSummaryRepositoryDto repositoryDto) {
+        BlogSummaryViewDto viewDto = BlogSummaryViewDto.build(repositoryDto);
+        viewDto.setLikeCount(blogCounterService.withPending(
+                BlogCounterService.CounterType.LIKE, viewDto.getId(), viewDto.getLikeCount()));
+        viewDto.setCommentCount(blogCounterService.withPending(
+                BlogCounterService.CounterType.COMMENT, viewDto.getId(), viewDto.getCommentCount()));
+        viewDto.setViewCount(blogCounterService.withPending(
+                BlogCounterService.CounterType.VIEW, viewDto.getId(), viewDto.getViewCount()));
+        return viewDto;
+    }
+
+    /**
+     * ソート条件を検索インデックスの並び順に変換します。
+     *
+     * @param sort ソート条件
+     * @return 並び順
+     */
+    private static BlogSearchIndex.SortOrder toSortOrder(Sort sort) {
+        if (sort.getOrderFor("likeCount") != null) {
+            return BlogSearchIndex.SortOrder.MOST_LIKED;
+        }
+        Sort.Order createdTime = sort.getOrderFor("blogCreatedTime");
+        if (createdTime != null && createdTime.isAscending()) {
+            return BlogSearchIndex.SortOrder.OLDEST;
+        }
+        return BlogSearchIndex.SortOrder.NEWEST;
     }
 
     /**
@@ -131,40 +325,104 @@ public class BlogService {
      * @return ブログ情報
      */
     public BlogInfoViewDto findBlogInfo(Long blogId) {
-        Blog blog = blogRepository.findById(blogId).orElseThrow();
+        Blog blog = blogCounterService.applyPending(blogRepository.findById(blogId).orElseThrow());
         List<Artist> artistList = blogArtistService.findArtistsByBlogId(blogId);
-        Boolean isLike = userBlogLikeRepository.isLikeBlog(userUtilService.getCurrentUser().getId(), blogId);
+        Boolean isLike = userBlogLikeRepository.isLikeBlog(userUtilService.getCurrentUserIdAsLong(), blogId);
 
         return BlogInfoViewDto.builder()
                 .blog(blog)
                 .artistList(artistList)
                 .isLike(isLike)
+                .uniqueViewerCount(blogUniqueViewerService.countUniqueViewers(blogId))
                 .build();
     }
 
     /**
-     * 指定されたユーザが作成した下書き状態のブログ情報を取得します。
+     * 指定されたユーザが作成した公開中のブログ情報を、カーソルの位置から新しい順に取得します。
      *
      * @param userId ユーザID
-     * @return ブログ情報
+     * @param cursor 前のページのカーソル（先頭のページの場合はnull）
+     * @param limit  取得件数（最大100件）
+     * @return ブログ情報と次のページのカーソル
      */
-    public List<Blog> findDraftBlog(Long userId) {
-        return blogRepository.findDraftBlogsByUserId(userId);
+    public CursorPageViewDto<Blog> findPublishedBlog(Long userId, String cursor, int limit) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        return CursorPageViewDto.build(blogRepository.findPublishedBlogsByUserId(userId,
+                KeysetCursor.timeOf(after), KeysetCursor.idOf(after), KeysetCursor.pageOf(limit)), BlogService::cursorOf);
     }
 
     /**
-     * 指定されたユーザの非公開状態のブログ情報を取得します。
+     * 指定されたユーザが作成した下書き状態のブログ情報を、カーソルの位置から新しい順に取得します。
      *
      * @param userId ユーザID
-     * @return ブログ情報
+     * @param cursor 前のページのカーソル（先頭のページの場合はnull）
+     * @param limit  取得件数（最大100件）
+     * @return ブログ情報と次のページのカーソル
      */
-    public List<Blog> findArchiveBlog(Long userId) {
-        return blogRepository.findArchiveBlogsByUserId(userId);
+    public CursorPageViewDto<Blog> findDraftBlog(Long userId, String cursor, int limit) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        return CursorPageViewDto.build(blogRepository.findDraftBlogsByUserId(userId,
+                KeysetCursor.timeOf(after), KeysetCursor.idOf(after), KeysetCursor.pageOf(limit)), BlogService::cursorOf);
+    }
+
+    /**
+     * 指定されたユーザの非公開状態のブログ情報を、カーソルの位置から新しい順に取得します。
+     *
+     * @param userId ユーザID
+     * @param cursor 前のページのカーソル（先頭のページの場合はnull）
+     * @param limit  取得件数（最大100件）
+     * @return ブログ情報と次のページのカーソル
+     */
+    public CursorPageViewDto<Blog> findArchiveBlog(Long userId, String cursor, int limit) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        return CursorPageViewDto.build(blogRepository.findArchiveBlogsByUserId(userId,
+                KeysetCursor.timeOf(after), KeysetCursor.idOf(after), KeysetCursor.pageOf(limit)), BlogService::cursorOf);
+    }
+
+    /**
+     * ブログ一覧の次のページのカーソルを作成します。
+     *
+     * @param blog ページの最後のブログ
+     * @return カーソル
+     */
+    static KeysetCursor cursorOf(Blog blog) {
+        return new KeysetCursor(blog.getBlogCreatedTime(), blog.getId());
+    }
+
+    /**
+     * 指定されたユーザがフォローしていない著者の公開中のブログ情報を、カーソルの位置から新しい順に取得します。
+     * 探索フィードに保持している新しいブログのみを対象とします。
+     *
+     * @param userId ユーザID
+     * @param cursor 前のページのカーソル（先頭のページの場合はnull）
+     * @param limit  取得件数（最大100件）
+     * @return ブログ情報（本文を含まない）と次のページのカーソル
+     */
+    public CursorPageViewDto<BlogSummaryViewDto> findExploreBlogs(Long userId, String cursor, int limit) {
+        ExploreFeedService.ExplorePage page = exploreFeedService.findBlogIds(userId, KeysetCursor.decode(cursor),
+                KeysetCursor.pageOf(limit).getPageSize());
+        return CursorPageViewDto.<BlogSummaryViewDto>builder()
+                .items(findSummariesInOrder(page.blogIds()))
+                .nextCursor(page.nextCursor() != null ? page.nextCursor().encode() : null)
+                .hasMore(page.nextCursor() != null)
+                .build();
+    }
+
+    /**
+     * いいね・閲覧・コメントが最近多く集まっているブログ情報を取得します。
+     * DBへは問い合わせず、急上昇ランキングが保持している項目を返します。
+     *
+     * @param limit 取得件数（最大100件）
+     * @return ブログ情報（本文を含まない、スコアの高い順）
+     */
+    public List<BlogSummaryViewDto> findTrendingBlogs(int limit) {
+        return trendingIndex.top(limit).stream()
+                .map(this::toSummaryViewDto)
+                .toList();
     }
 
     public List<DashboardBlogViewDto> findInterestBlogs(Long userId) {
-        List<DashboardBlogRepositoryDto> repositoryDtoList = blogRepository.findInterestBlogs(userId, BlogStatus.PUBLISHED, PageRequest.of(0, 10));
-        return DashboardBlogViewDto.toViewDto(repositoryDtoList);
+        return timelineService.findInterestBlogs(userId, 10);
     }
 
     /**
@@ -189,11 +447,23 @@ public class BlogService {
             input.setThumbnailUrl(filePath);
         }
 
+        // 本文から検索・一覧表示用のテキストを作成
+        applyExtractedText(input);
+
         // DBへの登録
         // ブログデータの登録
         Blog createdBlog = blogRepository.save(input);
         // ブログアーティスト関連データの登録
-        blogArtistService.saveBlogArtist(input, artistIdList);
+        List<BlogArtist> blogArtists = blogArtistService.saveBlogArtist(input, artistIdList);
+        // 検索インデックスへの登録（下書きの場合は登録しない）
+        blogSearchIndex.index(createdBlog, artistNames(blogArtists));
+        // タグのリレーションを登録（下書きの場合は登録しない）
+        blogTagService.syncTags(createdBlog, userUtilService.getCurrentUserId());
+        // フォロワーのタイムラインと探索フィードへの追加（下書きの場合は追加しない）
+        if (createdBlog.getStatus() == BlogStatus.PUBLISHED) {
+            timelineService.fanOut(createdBlog.getId(), createdBlog.getAuthor().getId(), userUtilService.getCurrentUserId());
+            exploreFeedService.publish(createdBlog);
+        }
 
 
         // Elasticsearchのインデックスを登録
@@ -220,13 +490,16 @@ public class BlogService {
         boolean isCreateNotification = false;
         Blog beforeUpdateBlog = blogRepository.findById(blogId).orElseThrow();
         // 更新対象のブログの著者が他ユーザである場合エラー
-        if (!Objects.equals(beforeUpdateBlog.getAuthor().getId(), userUtilService.getCurrentUser().getId())) {
+        if (!Objects.equals(beforeUpdateBlog.getAuthor().getId(), userUtilService.getCurrentUserIdAsLong())) {
             throw new IllegalStateException("他ユーザのブログを編集することはできません");
         }
         // 下書き状態のブログを公開する場合はブログ作成通知を登録する
         if (beforeUpdateBlog.getStatus().equals(BlogStatus.DRAFT) && input.getStatus().equals(BlogStatus.PUBLISHED)) {
             isCreateNotification = true;
         }
+        // 公開中でなかったブログを公開する場合のみタイムラインと探索フィードへ追加する
+        // （更新後のエンティティはbeforeUpdateBlogと同じインスタンスのため、更新前に判定しておく）
+        boolean isPublishing = beforeUpdateBlog.getStatus() != BlogStatus.PUBLISHED;
 
         String filePath = beforeUpdateBlog.getThumbnailUrl();
 
@@ -242,11 +515,14 @@ public class BlogService {
         input.setThumbnailUrl(filePath);
 
 
+        // 本文から検索・一覧表示用のテキストを作成
+        applyExtractedText(input);
+
         //DBを更新
         blogRepository.update(blogId, input);
 
         // 関連アーティスト情報を保存
-        blogArtistService.saveBlogArtist(input, artistIdList);
+        List<BlogArtist> blogArtists = blogArtistService.saveBlogArtist(input, artistIdList);
 
         Blog updatedBlog = blogRepository.findById(blogId).orElseThrow();
 
@@ -257,6 +533,22 @@ public class BlogService {
         entityManager.flush();
         entityManager.refresh(updatedBlog);
 
+        // 検索インデックスの更新（公開中でなくなった場合は削除）
+        blogSearchIndex.index(updatedBlog, artistNames(blogArtists));
+        // タグのリレーションを更新（公開中でなくなった場合は削除）
+        blogTagService.syncTags(updatedBlog, userUtilService.getCurrentUserId());
+        // フォロワーのタイムラインと探索フィードへの追加（公開時のみ。公開中でなくなった場合は急上昇ランキングと合わせて削除）
+        if (updatedBlog.getStatus() == BlogStatus.PUBLISHED && !Boolean.TRUE.equals(updatedBlog.getIsDeleted())) {
+            if (isPublishing) {
+                timelineService.fanOut(blogId, updatedBlog.getAuthor().getId(), userUtilService.getCurrentUserId());
+                exploreFeedService.publish(updatedBlog);
+            }
+        } else {
+            timelineService.removeBlog(blogId, updatedBlog.getAuthor().getId());
+            exploreFeedService.remove(blogId);
+            trendingIndex.remove(blogId);
+        }
+
         // ブログ作成通知の登録
         if (isCreateNotification) {
             saveNotificationOfBlogCreated(updatedBlog);
@@ -267,52 +559,67 @@ public class BlogService {
 
     /**
      * ブログのいいね回数を更新します。
+     * いいね数はBlogCounterServiceで集計し、DBへはまとめて反映します。
      *
      * @param blogId   更新対象のブログID
      * @param isCansel いいね取り消しフラグ
      * @return 更新後のいいね数
      */
     public Integer updatedLikeCount(Long blogId, Boolean isCansel) {
-        Blog blog = blogRepository.findById(blogId).orElseThrow();
-        int updatedLikeCount;
-        if (isCansel) {
-            updatedLikeCount = blog.getLikeCount() > 0 ? blog.getLikeCount() - 1 : 0;
-        } else {
-            updatedLikeCount = blog.getLikeCount() + 1;
-        }
-        blogRepository.updateLikeCount(blogId, updatedLikeCount, userUtilService.getCurrentUserId());
-
-        return updatedLikeCount;
+        return updateCounter(BlogCounterService.CounterType.LIKE, blogId, isCansel ? -1 : 1,
+                blogRepository.findLikeCountById(blogId));
     }
 
     /**
      * ブログの閲覧回数を更新します。
+     * 同じユーザによる一定期間内の再閲覧は数えず、閲覧数はまとめてDBへ反映します。
      *
      * @param blogId 更新対象のブログID
+     * @return 更新後の閲覧回数
      */
     public int updatedViewCount(Long blogId) {
-        int updatedViewCount = blogRepository.findById(blogId).orElseThrow().getViewCount();
-        blogRepository.updateViewCount(blogId, updatedViewCount, userUtilService.getCurrentUserId());
-        return updatedViewCount;
+        return blogViewService.recordView(userUtilService.getCurrentUserIdAsLong(), blogId);
     }
 
     /**
      * ブログのコメント数を更新します。
+     * コメント数はBlogCounterServiceで集計し、DBへはまとめて反映します。
      *
      * @param blogId   更新対象のブログID
      * @param isCansel コメント取り消しフラグ
      * @return 更新後のコメント数
      */
     public int updatedCommentCount(Long blogId, Boolean isCansel) {
-        Blog blog = blogRepository.findById(blogId).orElseThrow();
-        int updatedCommentCount;
-        if (isCansel) {
-            updatedCommentCount = blog.getCommentCount() - 1;
-        } else {
-            updatedCommentCount = blog.getCommentCount() + 1;
+        return updateCounter(BlogCounterService.CounterType.COMMENT, blogId, isCansel ? -1 : 1,
+                blogRepository.findCommentCountById(blogId));
+    }
+
+    /**
+     * カウンタを増減し、増減後の値を返します。
+     * 増減はトランザクションのコミット後に集計へ反映されるため、戻り値には今回の増減を加算します。
+     *
+     * @param type      カウンタ種別
+     * @param blogId    ブログID
+     * @param delta     増減値
+     * @param persisted DBの値
+     * @return 増減後の値
+     */
+    private int updateCounter(BlogCounterService.CounterType type, Long blogId, int delta, Integer persisted) {
+        if (persisted == null) {
+            throw new NoSuchElementException("指定されたブログが見つかりません: ID=" + blogId);
+        }
+        if (delta == 0) {
+            return blogCounterService.withPending(type, blogId, persisted);
         }
-        blogRepository.updateCommentCount(blogId, updatedCommentCount, userUtilService.getCurrentUserId());
-        return updatedCommentCount;
+        blogCounterService.add(type, blogId, delta);
+        if (type == BlogCounterService.CounterType.LIKE) {
+            // いいねが多い順の検索結果と急上昇ランキングに反映する（取り消しは取り消したいいねの日時で急上昇ランキングに反映する）
+            blogSearchIndex.adjustLikeCount(blogId, delta);
+            if (delta > 0) {
+                trendingIndex.recordLike(blogId);
+            }
+        }
+        return blogCounterService.withPending(type, blogId, (long) persisted + delta);
     }
 
     /**
@@ -326,7 +633,7 @@ public class BlogService {
     public void unpublishBlog(Long blogId, String updatedBy) {
         Blog targetBlog = blogRepository.findById(blogId).orElseThrow();
         // 更新対象のブログの著者が他ユーザである場合エラー
-        if (!Objects.equals(targetBlog.getAuthor().getId(), userUtilService.getCurrentUser().getId())) {
+        if (!Objects.equals(targetBlog.getAuthor().getId(), userUtilService.getCurrentUserIdAsLong())) {
             throw new IllegalStateException("他ユーザのブログを編集することはできません");
         }
 
@@ -334,6 +641,14 @@ public class BlogService {
         if (updatedRows == 0) {
             throw new IllegalArgumentException("指定されたブログが見つかりません: ID=" + blogId);
         }
+        // 検索インデックスから削除
+        blogSearchIndex.remove(blogId);
+        // タグのリレーションを削除
+        blogTagService.removeTags(blogId);
+        // タイムラインと探索フィード、急上昇ランキングから削除
+        timelineService.removeBlog(blogId, targetBlog.getAuthor().getId());
+        exploreFeedService.remove(blogId);
+        trendingIndex.remove(blogId);
     }
 
     /**
@@ -344,43 +659,33 @@ public class BlogService {
     @Transactional
     public void deleteBlog(Long blogId) {
         Blog targetBlog = blogRepository.findById(blogId).orElseThrow();
-        if (!targetBlog.getAuthor().equals(userUtilService.getCurrentUser())) {
+        if (!targetBlog.getAuthor().getId().equals(userUtilService.getCurrentUserIdAsLong())) {
             throw new IllegalStateException();
         }
         // DBのデータを削除
-        blogRepository.delete(blogId, userUtilService.getCurrentUser().getId().toString());
+        blogRepository.delete(blogId, userUtilService.getCurrentUserId());
         // Elasticsearchのインデックス削除
 //        blogSearchRepository.deleteById(blogId);
+        // 検索インデックスから削除
+        blogSearchIndex.remove(blogId);
+        // タグのリレーションを削除
+        blogTagService.removeTags(blogId);
+        // タイムラインと探索フィード、急上昇ランキングから削除
+        timelineService.removeBlog(blogId, targetBlog.getAuthor().getId());
+        exploreFeedService.remove(blogId);
+        trendingIndex.remove(blogId);
         // 関連する未読通知の削除
         deleteNotificationOfBlogCreated(blogId);
     }
 
     /**
      * 指定されたブログ作成の通知を作成します。
+     * 1回のSQLで全てのフォロワーの通知を登録します（フォロワー数が閾値以上の著者の場合はコミット後に一定件数毎に登録します）。
      *
      * @param blog 通知の対象となるブログ
      */
     private void saveNotificationOfBlogCreated(Blog blog) {
-        User triggerUser = userUtilService.getCurrentUser();
-
-        // ログインユーザのフォロワーを取得する
-        List<User> followedList = followService.getFollowers();
-        // 各フォロワーに対して通知データを作成する。
-        for (User user : followedList) {
-            Notification notification = Notification.builder()
-                    .targetUser(user)
-                    .notificationType(NotificationType.BLOG_CREATED)
-                    .relatedBlog(blog)
-                    .notificationCreatedAt(LocalDateTime.now())
-                    .isRead(false)
-                    .triggerUser(triggerUser)
-                    .isDeleted(false)
-                    .createdBy(triggerUser.getId().toString())
-                    .updatedBy(triggerUser.getId().toString())
-                    .build();
-
-            notificationService.saveNotification(notification);
-        }
+        notificationService.saveBlogCreatedNotifications(blog.getId(), userUtilService.getCurrentUserIdAsLong());
     }
 
     /**
@@ -389,39 +694,24 @@ public class BlogService {
      * @param blogId ブログID
      */
     private void deleteNotificationOfBlogCreated(Long blogId) {
-        //削除されたブログに関する通知を検索し未読の場合削除する
-        List<Notification> notifications = notificationService.getUnreadBlogCreatedNotificationsByBlogId(blogId);
-        if (!notifications.isEmpty()) {
-            notificationService.deleteNotifications(
-                    notifications.stream().map(Notification::getId).collect(Collectors.toList()));
-        }
+        //削除されたブログに関する通知のうち未読のものを削除する
+        notificationService.deleteUnreadBlogCreatedNotifications(blogId);
     }
 
     /**
      * ユーザとブログを指定していいねを登録するメソッド
-     * すでにいいね済みの場合は登録を行わない
+     * すでにいいね済みの場合は登録を行わず、いいね数も変更しない
      *
      * @param userId ユーザID
      * @param blogId ブログID
+     * @return 更新後のいいね数
      */
     @Transactional
     public Integer likeBlog(Long userId, Long blogId) {
-        // すでにいいね済みか確認
-        if (!userBlogLikeRepository.isLikeBlog(userId, blogId)) {
-            // いいねを新規登録
-            User currentUser = userRepository.findById(userId).orElseThrow();
-            UserBlogLike userBlogLike = UserBlogLike.builder()
-                    .id(new UserBlogLikeId(userId, blogId))
-                    .user(currentUser)
-                    .blog(blogRepository.findById(blogId).orElseThrow())
-                    .createdBy(currentUser.getId().toString())
-                    .updatedBy(currentUser.getId().toString())
-                    .build();
-            userBlogLikeRepository.save(userBlogLike);
-            // いいね数を更新
-            return updatedLikeCount(blogId, false);
-        }
-        return blogRepository.findById(blogId).orElseThrow().getLikeCount();
+        // 未登録の場合のみ登録し、実際に登録された場合のみいいね数を加算する
+        int inserted = userBlogLikeRepository.insertLikeIfAbsent(userId, blogId, userId.toString());
+        return updateCounter(BlogCounterService.CounterType.LIKE, blogId, inserted,
+                blogRepository.findLikeCountById(blogId));
     }
 
     /**
@@ -437,16 +727,43 @@ public class BlogService {
 
     /**
      * 指定したユーザとブログに対するいいねを削除します。
+     * いいねしていなかった場合はいいね数を変更しない
      *
      * @param userId ユーザID
      * @param blogId ブログID
+     * @return 更新後のいいね数
      */
     @Transactional
     public Integer clearLikeBlog(Long userId, Long blogId) {
-        // いいね削除
-        userBlogLikeRepository.clearLikeBlog(userId, blogId);
-        // ブログデータのいいね数更新
-        return updatedLikeCount(blogId, true);
+        // 実際に削除された場合のみいいね数を減算する
+        Optional<LocalDateTime> likedAt = userBlogLikeRepository.findLikedAt(userId, blogId);
+        int deleted = userBlogLikeRepository.clearLikeBlog(userId, blogId);
+        if (deleted > 0) {
+            likedAt.ifPresent(time -> trendingIndex.retractLike(blogId, time));
+        }
+        return updateCounter(BlogCounterService.CounterType.LIKE, blogId, -deleted,
+                blogRepository.findLikeCountById(blogId));
+    }
+
+    /**
+     * ブログ本文からプレーンテキストと抜粋を作成し、ブログ情報に設定します。
+     *
+     * @param blog ブログ情報
+     */
+    private static void applyExtractedText(Blog blog) {
+        String plainText = BlogContentExtractor.extractPlainText(blog.getContent());
+        blog.setPlainText(plainText);
+        blog.setExcerpt(BlogContentExtractor.excerpt(plainText));
+    }
+
+    /**
+     * ブログアーティストリストからアーティスト名を取得します。
+     *
+     * @param blogArtists ブログアーティストリスト
+     * @return アーティスト名リスト
+     */
+    private static List<String> artistNames(List<BlogArtist> blogArtists) {
+        return blogArtists.stream().map(blogArtist -> blogArtist.getArtist().getName()).toList();
     }
 
 
@@ -0,0 +1,328 @@
+package com.example.bookstore.service;
+
+import com.example.bookstore.dto.view.CursorPageViewDto;
+import com.example.bookstore.dto.view.TagViewDto;
+import com.example.bookstore.entity.Blog;
+import com.example.bookstore.entity.BlogTag;
+import com.example.bookstore.entity.Tag;
+import com.example.bookstore.entity.code.BlogStatus;
+import com.example.bookstore.repository.jpa.BlogRepository;
+import com.example.bookstore.repository.jpa.BlogTagRepository;
+import com.example.bookstore.repository.jpa.TagRepository;
+import com.example.bookstore.service.common.AfterCommit;
+import com.example.bookstore.service.common.KeysetCursor;
+import com.example.bookstore.service.search.TextAnalyzer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * ブログタグサービス
+ * ブログのタグ（カンマ区切りの文字列）をタグ辞書とブログタグリレーションに展開して保持します。
+ * リレーションは公開中のブログのみ保持し、タグの使用数は公開中のブログ数とします。
+ * 使用数の多いタグの一覧はメモリ上で保持し、リレーションの増減に合わせて更新します。
+ */
+@Service
+public class BlogTagService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BlogTagService.class);
+
+    /**
+     * タグの区切り文字（NFKC正規化後）
+     */
+    private static final String SEPARATORS = "[,、]";
+
+    /**
+     * 人気のタグの最大取得件数
+     */
+    private static final int POPULAR_MAX_LIMIT = 50;
+
+    /**
+     * 使用数の多い順（同数の場合はタグ名の順）
+     */
+    private static final Comparator<TagViewDto> RANKING = Comparator.comparingInt(TagViewDto::getUsageCount)
+            .reversed()
+            .thenComparing(TagViewDto::getName);
+
+    /**
+     * タグリポジトリ
+     */
+    @Autowired
+    private TagRepository tagRepository;
+
+    /**
+     * ブログタグリポジトリ
+     */
+    @Autowired
+    private BlogTagRepository blogTagRepository;
+
+    /**
+     * ブログリポジトリ
+     */
+    @Autowired
+    private BlogRepository blogRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * 既存のブログからリレーションを作成する際に1度に読み込むブログ数
+     */
+    @Value("${blog.tag.backfill-batch-size:200}")
+    private int backfillBatchSize;
+
+    /**
+     * 使用中のタグ（タグID毎）
+     */
+    private final Map<Long, TagViewDto> usedTags = new HashMap<>();
+
+    /**
+     * 使用中のタグ（使用数の多い順）
+     */
+    private final NavigableSet<TagViewDto> ranking = new TreeSet<>(RANKING);
+
+    /**
+     * ブログのタグ文字列をタグ名に分割します。
+     * 全角・半角を統一し、先頭の#と前後の空白を除きます。
+     * 大文字・小文字、カタカナ・ひらがなの違いのみのタグは最初のもののみとし、最大文字数を超えるタグは除きます。
+     *
+     * @param tags タグ文字列（カンマ区切り）
+     * @return タグ名リスト
+     */
+    public static List<String> parseTags(String tags) {
+        if (tags == null || tags.isBlank()) {
+            return List.of();
+        }
+        Map<String, String> names = new LinkedHashMap<>();
+        for (String tag : Normalizer.normalize(tags, Normalizer.Form.NFKC).split(SEPARATORS)) {
+            String name = normalizeName(tag);
+            if (!name.isEmpty() && name.length() <= Tag.NAME_LENGTH) {
+                names.putIfAbsent(TextAnalyzer.normalize(name), name);
+            }
+        }
+        return List.copyOf(names.values());
+    }
+
+    /**
+     * ブログのタグをリレーションに反映します。
+     * 公開中でないブログの場合はリレーションを削除します。
+     *
+     * @param blog      ブログ
+     * @param updatedBy 更新者
+     */
+    @Transactional
+    public void syncTags(Blog blog, String updatedBy) {
+        boolean listed = blog.getStatus() == BlogStatus.PUBLISHED && !Boolean.TRUE.equals(blog.getIsDeleted());
+        replaceTags(blog.getId(), listed ? parseTags(blog.getTags()) : List.of(), updatedBy);
+    }
+
+    /**
+     * ブログのタグのリレーションを削除します（非公開・削除時）。
+     *
+     * @param blogId ブログID
+     */
+    @Transactional
+    public void removeTags(Long blogId) {
+        replaceTags(blogId, List.of(), null);
+    }
+
+    /**
+     * タグが付いたブログIDの一覧とタグの使用数
+     *
+     * @param blogIds    ブログIDリストと次のページのカーソル
+     * @param usageCount タグの使用数
+     */
+    public record TaggedBlogPage(CursorPageViewDto<Long> blogIds, int usageCount) {
+    }
+
+    /**
+     * 指定されたタグが付いた公開中のブログIDを、カーソルの位置から新しい順に取得します。
+     *
+     * @param tag   タグ名
+     * @param after 前のページのカーソル（先頭のページの場合はnull）
+     * @param limit 取得件数（最大100件）
+     * @return ブログIDリストと次のページのカーソル、タグの使用数（タグが存在しない場合は空）
+     */
+    public Optional<TaggedBlogPage> findBlogIdsByTag(String tag, KeysetCursor after, int limit) {
+        String name = normalizeName(Normalizer.normalize(tag, Normalizer.Form.NFKC));
+        if (name.isEmpty()) {
+            return Optional.empty();
+        }
+        return tagRepository.findByName(name).map(found -> {
+            Slice<BlogTag> slice = blogTagRepository.findByTagAfter(found.getId(),
+                    KeysetCursor.timeOf(after), KeysetCursor.idOf(after), KeysetCursor.pageOf(limit));
+            CursorPageViewDto<Long> blogIds = CursorPageViewDto.build(slice,
+                    blogTag -> new KeysetCursor(blogTag.getBlogCreatedTime(), blogTag.getId().getBlogId()),
+                    blogTags -> blogTags.stream().map(blogTag -> blogTag.getId().getBlogId()).toList());
+            return new TaggedBlogPage(blogIds, found.getUsageCount());
+        });
+    }
+
+    /**
+     * 使用数の多いタグを取得します。
+     *
+     * @param limit 取得件数（最大50件）
+     * @return タグリスト（使用数の多い順）
+     */
+    public List<TagViewDto> getPopularTags(int limit) {
+        int size = Math.max(1, Math.min(limit, POPULAR_MAX_LIMIT));
+        synchronized (ranking) {
+            return ranking.stream()
+                    .limit(size)
+                    .map(tag -> TagViewDto.builder().name(tag.getName()).usageCount(tag.getUsageCount()).build())
+                    .toList();
+        }
+    }
+
+    /**
+     * リレーションが未作成の場合（導入前のデータ）は公開中のブログから作成し、人気のタグの一覧を読み込みます。
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (tagRepository.count() == 0 && blogRepository.existsPublishedBlogWithTags()) {
+            backfill();
+        }
+        reloadPopularTags();
+    }
+
+    /**
+     * 人気のタグの一覧をDBの使用数から読み込み直します。
+     * 他のアプリケーションサーバで行われた更新を反映するため、定期的に実行します。
+     */
+    @Scheduled(fixedDelayString = "${blog.tag.popular-reload-interval:PT1H}",
+            initialDelayString = "${blog.tag.popular-reload-interval:PT1H}")
+    public void reloadPopularTags() {
+        List<Tag> tags = tagRepository.findUsedTags();
+        synchronized (ranking) {
+            usedTags.clear();
+            ranking.clear();
+            for (Tag tag : tags) {
+                TagViewDto entry = TagViewDto.builder().name(tag.getName()).usageCount(tag.getUsageCount()).build();
+                usedTags.put(tag.getId(), entry);
+                ranking.add(entry);
+            }
+        }
+    }
+
+    private void backfill() {
+        long afterId = 0;
+        int updated = 0;
+        while (true) {
+            List<Blog> batch = blogRepository.findPublishedBlogsAfter(afterId, PageRequest.of(0, backfillBatchSize));
+            if (batch.isEmpty()) {
+                break;
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                for (Blog blog : batch) {
+                    replaceTags(blog.getId(), parseTags(blog.getTags()), "System");
+                }
+            });
+            updated += batch.size();
+            afterId = batch.get(batch.size() - 1).getId();
+        }
+        logger.info("Created tag relations for {} blogs", updated);
+    }
+
+    /**
+     * ブログのリレーションを指定されたタグに置き換え、増減したタグの使用数を更新します。
+     * 同じブログの更新が同時に行われても使用数がずれないよう、リレーションはタグ毎に登録・削除し、
+     * 実際に登録・削除した行のタグのみ使用数を増減します。
+     */
+    private void replaceTags(Long blogId, List<String> names, String updatedBy) {
+        Map<Long, String> desired = names.isEmpty() ? Map.of() : findOrCreateTags(names, updatedBy);
+        Set<Long> current = new HashSet<>(blogTagRepository.findTagIdsByBlogId(blogId));
+
+        List<Long> removed = new ArrayList<>();
+        for (Long tagId : current) {
+            if (!desired.containsKey(tagId) && blogTagRepository.deleteBlogTags(blogId, List.of(tagId)) == 1) {
+                removed.add(tagId);
+            }
+        }
+        List<Long> added = new ArrayList<>();
+        for (Long tagId : desired.keySet()) {
+            if (!current.contains(tagId) && blogTagRepository.insertBlogTags(blogId, List.of(tagId), updatedBy) == 1) {
+                added.add(tagId);
+            }
+        }
+
+        if (!removed.isEmpty()) {
+            tagRepository.adjustUsageCount(removed, -1);
+        }
+        if (!added.isEmpty()) {
+            tagRepository.adjustUsageCount(added, 1);
+        }
+        if (!removed.isEmpty() || !added.isEmpty()) {
+            List<Long> changed = new ArrayList<>(removed);
+            changed.addAll(added);
+            AfterCommit.run(() -> adjustRanking(changed));
+        }
+    }
+
+    /**
+     * 指定された名前のタグを取得し、未登録のタグは登録します。
+     *
+     * @return タグ名（タグID毎）
+     */
+    private Map<Long, String> findOrCreateTags(List<String> names, String createdBy) {
+        List<Tag> tags = tagRepository.findByNameIn(names);
+        Set<String> registered = tags.stream()
+                .map(tag -> TextAnalyzer.normalize(tag.getName()))
+                .collect(Collectors.toSet());
+        List<String> missing = names.stream()
+                .filter(name -> !registered.contains(TextAnalyzer.normalize(name)))
+                .toList();
+        if (!missing.isEmpty()) {
+            for (String name : missing) {
+                tagRepository.insertIfAbsent(name, createdBy);
+            }
+            tags = tagRepository.findByNameIn(names);
+        }
+        return tags.stream().collect(Collectors.toMap(Tag::getId, Tag::getName, (first, second) -> first));
+    }
+
+    /**
+     * 使用数が増減したタグの一覧の使用数を、コミット後のDBの使用数に置き換えます。
+     * 一覧にないタグを1件から数え始めないよう、増減値ではなくDBの値を反映します。
+     */
+    private void adjustRanking(Collection<Long> changedTagIds) {
+        List<Tag> tags = tagRepository.findAllById(changedTagIds);
+        synchronized (ranking) {
+            for (Tag tag : tags) {
+                TagViewDto entry = usedTags.remove(tag.getId());
+                if (entry != null) {
+                    ranking.remove(entry);
+                }
+                if (tag.getUsageCount() > 0) {
+                    putRanking(tag.getId(), tag.getName(), tag.getUsageCount());
+                }
+            }
+        }
+    }
+
+    private void putRanking(Long tagId, String name, int usageCount) {
+        TagViewDto entry = TagViewDto.builder().name(name).usageCount(usageCount).build();
+        usedTags.put(tagId, entry);
+        ranking.add(entry);
+    }
+
+    private static String normalizeName(String tag) {
+        String name = tag.strip();
+        while (name.startsWith("#")) {
+            name = name.substring(1).strip();
+        }
+        return name;
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.bookstore.service;
+
+import com.example.bookstore.entity.BlogViewerSketch;
+import com.example.bookstore.entity.code.SketchPeriod;
+import com.example.bookstore.entity.key.BlogViewerSketchId;
+import com.example.bookstore.repository.jpa.BlogViewerSketchRepository;
+import com.example.bookstore.service.common.HyperLogLog;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * ブログのユニーク閲覧ユーザ数を推定するサービスクラスです。
+ * 閲覧したユーザをブログ・時間帯毎のHyperLogLogスケッチに追加し、一定間隔で時間毎・日毎・全期間のスケッチへマージしてDBに保存します。
+ * 閲覧毎の行は保存しないため、閲覧数に関わらずブログ毎の保存サイズは数KBに収まります。
+ */
+@Service
+public class BlogUniqueViewerService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BlogUniqueViewerService.class);
+
+    private static final String SYSTEM_USER = "System";
+
+    private final BlogViewerSketchRepository blogViewerSketchRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * 時間毎のスケッチを保持する期間
+     */
+    private final Duration hourlyRetention;
+
+    /**
+     * DBに未反映のスケッチ（ブログID毎に、時間帯の開始日時毎のスケッチを保持する）
+     * 時間帯毎のマップはスレッドセーフではないため、ブログIDのエントリ単位のロック内で参照・更新する
+     */
+    private final ConcurrentMap<Long, Map<LocalDateTime, HyperLogLog>> pendingSketches = new ConcurrentHashMap<>();
+
+    public BlogUniqueViewerService(BlogViewerSketchRepository blogViewerSketchRepository,
+                                   TransactionTemplate transactionTemplate,
+                                   @Value("${blog.unique-viewer.hourly-retention:P7D}") Duration hourlyRetention) {
+        this.blogViewerSketchRepository = blogViewerSketchRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.hourlyRetention = hourlyRetention;
+    }
+
+    /**
+     * ブログを閲覧したユーザを記録します。
+     * DBへの書き込みは行いません。
+     *
+     * @param userId 閲覧したユーザID
+     * @param blogId 閲覧されたブログID
+     */
+    public void recordViewer(Long userId, Long blogId) {
+        LocalDateTime hourStart = SketchPeriod.HOUR.periodStart(LocalDateTime.now());
+        // スケッチはスレッドセーフではないため、マップのエントリ単位のロック内で更新する
+        pendingSketches.compute(blogId, (k, hours) -> {
+            Map<LocalDateTime, HyperLogLog> updated = hours != null ? hours : new HashMap<>();
+            updated.computeIfAbsent(hourStart, hour -> new HyperLogLog()).add(userId);
+            return updated;
+        });
+    }
+
+    /**
+     * ブログの全期間のユニーク閲覧ユーザ数の推定値を取得します。
+     *
+     * @param blogId ブログID
+     * @return ユニーク閲覧ユーザ数の推定値（DBに未反映の閲覧を含む）
+     */
+    public long countUniqueViewers(Long blogId) {
+        HyperLogLog sketch = blogViewerSketchRepository
+                .findById(new BlogViewerSketchId(blogId, SketchPeriod.TOTAL, SketchPeriod.TOTAL.periodStart(LocalDateTime.now())))
+                .map(row -> HyperLogLog.fromBytes(row.getRegisters()))
+                .orElseGet(HyperLogLog::new);
+        mergePending(sketch, blogId, LocalDateTime.MIN, LocalDateTime.MAX);
+        return sketch.estimate();
+    }
+
+    /**
+     * 指定された期間のブログのユニーク閲覧ユーザ数の推定値を取得します。
+     * 時間毎のスケッチをマージして求めるため、時間毎のスケッチの保持期間より前の閲覧は含まれません。
+     *
+     * @param blogId ブログID
+     * @param from   期間開始日時（この日時を含む）
+     * @param to     期間終了日時（この日時を含まない）
+     * @return ユニーク閲覧ユーザ数の推定値（DBに未反映の閲覧を含む）
+     */
+    public long countUniqueViewers(Long blogId, LocalDateTime from, LocalDateTime to) {
+        LocalDateTime hourFrom = SketchPeriod.HOUR.periodStart(from);
+        HyperLogLog sketch = new HyperLogLog();
+        for (BlogViewerSketch row : blogViewerSketchRepository.findInRange(blogId, SketchPeriod.HOUR, hourFrom, to)) {
+            sketch.merge(HyperLogLog.fromBytes(row.getRegisters()));
+        }
+        mergePending(sketch, blogId, hourFrom, to);
+        return sketch.estimate();
+    }
+
+    /**
+     * 集計したスケッチをDBに反映します。
+     */
+    @Scheduled(fixedDelayString = "${blog.unique-viewer.flush-interval:PT1M}")
+    public void flush() {
+        for (Long blogId : new ArrayList<>(pendingSketches.keySet())) {
+            Map<LocalDateTime, HyperLogLog> hours = pendingSketches.remove(blogId);
+            if (hours == null) {
+                continue;
+            }
+            hours.forEach((hourStart, sketch) -> {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        for (SketchPeriod period : SketchPeriod.values()) {
+                            mergeInto(new BlogViewerSketchId(blogId, period, period.periodStart(hourStart)), sketch);
+                        }
+                    });
+                } catch (RuntimeException e) {
+                    // 反映に失敗したスケッチは次回の反映対象に戻す（マージは冪等なため重複して反映されても結果は変わらない）
+                    pendingSketches.compute(blogId, (k, current) -> {
+                        Map<LocalDateTime, HyperLogLog> restored = current != null ? current : new HashMap<>();
+                        restored.merge(hourStart, sketch, (pending, failed) -> {
+                            pending.merge(failed);
+                            return pending;
+                        });
+                        return restored;
+                    });
+                    logger.warn("Failed to flush viewer sketch for blog {}", blogId, e);
+                }
+            });
+        }
+    }
+
+    /**
+     * アプリケーション終了時に未反映のスケッチをDBに反映します。
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * 保持期間を過ぎた時間毎のスケッチを削除します。
+     * 日毎・全期間のスケッチは削除しません。
+     */
+    @Scheduled(cron = "${blog.unique-viewer.prune-cron:0 15 * * * *}")
+    public void pruneHourlySketches() {
+        LocalDateTime before = SketchPeriod.HOUR.periodStart(LocalDateTime.now().minus(hourlyRetention));
+        Integer deleted = transactionTemplate.execute(status ->
+                blogViewerSketchRepository.deleteOlderThan(SketchPeriod.HOUR, before));
+        logger.debug("Pruned {} hourly viewer sketches before {}", deleted, before);
+    }
+
+    private void mergeInto(BlogViewerSketchId id, HyperLogLog sketch) {
+        LocalDateTime now = LocalDateTime.now();
+        BlogViewerSketch row = blogViewerSketchRepository.findForUpdate(id).orElse(null);
+        if (row == null) {
+            blogViewerSketchRepository.save(BlogViewerSketch.builder()
+                    .id(id)
+                    .registers(sketch.toBytes())
+                    .createdBy(SYSTEM_USER)
+                    .updatedBy(SYSTEM_USER)
+                    .build());
+            return;
+        }
+        HyperLogLog merged = HyperLogLog.fromBytes(row.getRegisters());
+        merged.merge(sketch);
+        row.setRegisters(merged.toBytes());
+        row.setUpdatedBy(SYSTEM_USER);
+        row.setUpdatedAt(now);
+    }
+
+    private void mergePending(HyperLogLog target, Long blogId, LocalDateTime from, LocalDateTime to) {
+        // 更新中のスケッチを読まないよう、エントリ単位のロック内でマージする
+        pendingSketches.computeIfPresent(blogId, (k, hours) -> {
+            hours.forEach((hourStart, sketch) -> {
+                if (!hourStart.isBefore(from) && hourStart.isBefore(to)) {
+                    target.merge(sketch);
+                }
+            });
+            return hours;
+        });
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.bookstore.service;
+
+import com.example.bookstore.repository.jpa.BlogRepository;
+import com.example.bookstore.service.search.TrendingIndex;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.NoSuchElementException;
+
+/**
+ * ブログの閲覧を記録するサービスクラスです。
+ * 同じユーザによる同じブログの閲覧は一定期間内であれば1回として数え、閲覧数はBlogCounterServiceで集計してDBへまとめて反映します。
+ * 閲覧したユーザはBlogUniqueViewerServiceに記録し、ユニーク閲覧ユーザ数の推定に使用します。
+ */
+@Service
+public class BlogViewService {
+
+    private final BlogRepository blogRepository;
+
+    private final BlogCounterService blogCounterService;
+
+    private final BlogUniqueViewerService blogUniqueViewerService;
+
+    private final TrendingIndex trendingIndex;
+
+    /**
+     * 閲覧済みの（ユーザID、ブログID）の組
+     */
+    private final Cache<ViewKey, Boolean> recentViews;
+
+    private final Counter countedViews;
+
+    private final Counter duplicateViews;
+
+    public BlogViewService(BlogRepository blogRepository,
+                           BlogCounterService blogCounterService,
+                           BlogUniqueViewerService blogUniqueViewerService,
+                           TrendingIndex trendingIndex,
+                           MeterRegistry meterRegistry,
+                           @Value("${blog.view.dedup-window:PT30M}") Duration dedupWindow,
+                           @Value("${blog.view.dedup-maximum-size:100000}") long maximumSize) {
+        this.blogRepository = blogRepository;
+        this.blogCounterService = blogCounterService;
+        this.blogUniqueViewerService = blogUniqueViewerService;
+        this.trendingIndex = trendingIndex;
+        this.recentViews = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(dedupWindow)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, recentViews, "blogRecentViews");
+        this.countedViews = Counter.builder("blog.views")
+                .description("Blog views received")
+                .tag("outcome", "counted")
+                .register(meterRegistry);
+        this.duplicateViews = Counter.builder("blog.views")
+                .description("Blog views received")
+                .tag("outcome", "duplicate")
+                .register(meterRegistry);
+    }
+
+    /**
+     * ブログの閲覧を記録し、閲覧数を返します。
+     * DBへの書き込みは行いません。
+     *
+     * @param userId 閲覧したユーザID
+     * @param blogId 閲覧されたブログID
+     * @return 閲覧数（DBに未反映の閲覧を含む）
+     */
+    public int recordView(Long userId, Long blogId) {
+        Integer persisted = blogRepository.findViewCountById(blogId);
+        if (persisted == null) {
+            throw new NoSuchElementException("指定されたブログが見つかりません: ID=" + blogId);
+        }
+        if (recentViews.asMap().putIfAbsent(new ViewKey(userId, blogId), Boolean.TRUE) == null) {
+            blogCounterService.add(BlogCounterService.CounterType.VIEW, blogId, 1);
+            trendingIndex.recordView(blogId);
+            countedViews.increment();
+        } else {
+            duplicateViews.increment();
+        }
+        // 重複判定の期間が時間帯を跨ぐ場合も時間毎のユニーク数に含めるため、重複した閲覧も記録する
+        blogUniqueViewerService.recordViewer(userId, blogId);
+        return blogCounterService.withPending(BlogCounterService.CounterType.VIEW, blogId, persisted);
+    }
+
+    /**
+     * 閲覧の重複判定に使用するキー
+     *
+     * @param userId ユーザID
+     * @param blogId ブログID
+     */
+    private record ViewKey(Long userId, Long blogId) {
+    }
+}
@@ -10,6 +10,7 @@ import com.example.bookstore.entity.code.NotificationType;
 import com.example.bookstore.entity.key.CommentTreeId;
 import com.example.bookstore.repository.jpa.CommentRepository;
 import com.example.bookstore.repository.jpa.CommentTreeRepository;
+import com.example.bookstore.service.search.TrendingIndex;
 import com.example.bookstore.service.util.UserUtilService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -17,6 +18,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
@@ -49,6 +51,12 @@ public class CommentService {
     @Autowired
     private NotificationService notificationService;
 
+    /**
+     * 急上昇ランキング
+     */
+    @Autowired
+    private TrendingIndex trendingIndex;
+
     /**
      * 指定されたブログに対する親コメントを全件取得します。
      * コメントは親コメントIDおよび返信順の昇順にソートされます。
@@ -84,6 +92,8 @@ public class CommentService {
         Comment createdComment = commentRepository.save(comment);
         //コメント作成通知の登録
         saveNotificationOfComment(comment);
+        //急上昇ランキングへの反映
+        trendingIndex.recordComment(createdComment.getBlog().getId());
 
         return createdComment;
     }
@@ -139,8 +149,14 @@ public class CommentService {
      */
     @Transactional
     public Boolean deleteComment(Long id) {
+        Optional<Long> blogId = commentRepository.findBlogIdById(id);
         //コメントの削除処理
         int deletedRows = commentRepository.deleteCommentById(id, userUtilService.getCurrentUserId());
+        //急上昇ランキングへの反映（削除済みのコメントの場合は反映しない、コメントの作成日時の寄与のみを差し引く）
+        if (deletedRows > 0) {
+            blogId.ifPresent(targetBlogId -> commentRepository.findCommentCreatedTimeById(id)
+                    .ifPresent(commentedAt -> trendingIndex.retractComment(targetBlogId, commentedAt)));
+        }
         //削除されたコメントに関する通知の削除
         deleteNotificationOfComment(id);
 
@@ -0,0 +1,188 @@
+package com.example.bookstore.service;
+
+import com.example.bookstore.dto.repository.ExploreBlogRepositoryDto;
+import com.example.bookstore.entity.Blog;
+import com.example.bookstore.repository.jpa.BlogRepository;
+import com.example.bookstore.repository.jpa.FollowRepository;
+import com.example.bookstore.service.common.AfterCommit;
+import com.example.bookstore.service.common.KeysetCursor;
+import com.example.bookstore.service.common.LongHashSet;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 探索フィードサービス
+ * 公開中の新しいブログ（ID、著者、作成日時）を上限件数までメモリ上に新しい順で保持し、公開・非公開・削除に合わせて更新します。
+ * 探索フィードはこの中からログインユーザがフォローしていない著者のブログを返すため、表示時にブログテーブルを走査しません。
+ * 探索フィードの取得は読み取りロックで行うため、複数のユーザの取得を同時に実行できます。
+ */
+@Service
+public class ExploreFeedService {
+
+    /**
+     * 新しい順（同じ作成日時の場合はブログIDの大きい順）
+     */
+    private static final Comparator<ExploreBlogRepositoryDto> NEWEST =
+            Comparator.comparing(ExploreBlogRepositoryDto::getBlogCreatedTime)
+                    .thenComparing(ExploreBlogRepositoryDto::getBlogId)
+                    .reversed();
+
+    /**
+     * ブログリポジトリ
+     */
+    @Autowired
+    private BlogRepository blogRepository;
+
+    /**
+     * フォローリポジトリ
+     */
+    @Autowired
+    private FollowRepository followRepository;
+
+    /**
+     * 保持するブログの最大件数
+     */
+    @Value("${blog.explore.capacity:2000}")
+    private int capacity;
+
+    /**
+     * 探索フィードの取得は読み取りロック、公開・削除・読み込み直しは書き込みロックで行う
+     */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * 保持しているブログ（新しい順）
+     */
+    private final NavigableSet<ExploreBlogRepositoryDto> feed = new TreeSet<>(NEWEST);
+
+    /**
+     * 保持しているブログ（ブログID毎）
+     */
+    private final Map<Long, ExploreBlogRepositoryDto> feedByBlogId = new HashMap<>();
+
+    /**
+     * 探索フィードのブログIDと次のページのカーソル
+     *
+     * @param blogIds    ブログIDリスト（新しい順）
+     * @param nextCursor 次のページのカーソル（次のページがない場合はnull）
+     */
+    public record ExplorePage(List<Long> blogIds, KeysetCursor nextCursor) {
+    }
+
+    /**
+     * 公開中のブログを探索フィードに追加します（公開・更新時）。
+     * 保持しているブログより古く、上限件数に達している場合は追加しません。
+     *
+     * @param blog ブログ
+     */
+    public void publish(Blog blog) {
+        ExploreBlogRepositoryDto entry = new ExploreBlogRepositoryDto(
+                blog.getId(), blog.getAuthor().getId(), blog.getBlogCreatedTime());
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                removeEntry(entry.getBlogId());
+                if (feed.size() >= capacity && NEWEST.compare(entry, feed.last()) > 0) {
+                    return;
+                }
+                feed.add(entry);
+                feedByBlogId.put(entry.getBlogId(), entry);
+                while (feed.size() > capacity) {
+                    feedByBlogId.remove(feed.pollLast().getBlogId());
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * ブログを探索フィードから削除します（非公開・削除時）。
+     *
+     * @param blogId ブログID
+     */
+    public void remove(Long blogId) {
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                removeEntry(blogId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * 指定されたユーザがフォローしていない著者のブログIDを、カーソルの位置から新しい順に取得します。
+     * フォロー中のユーザIDはプリミティブのハッシュセットで保持し、探索フィードを先頭から判定します。
+     *
+     * @param userId ユーザID
+     * @param after  前のページのカーソル（先頭のページの場合はnull）
+     * @param limit  取得件数
+     * @return ブログIDリストと次のページのカーソル
+     */
+    public ExplorePage findBlogIds(Long userId, KeysetCursor after, int limit) {
+        LongHashSet followed = LongHashSet.of(followRepository.findFollowedIds(userId));
+        List<Long> blogIds = new ArrayList<>(limit);
+        ExploreBlogRepositoryDto last = null;
+        boolean hasMore = false;
+        lock.readLock().lock();
+        try {
+            SortedSet<ExploreBlogRepositoryDto> candidates = after == null ? feed
+                    : feed.tailSet(new ExploreBlogRepositoryDto(after.id(), null, after.time()), false);
+            for (ExploreBlogRepositoryDto entry : candidates) {
+                if (followed.contains(entry.getAuthorId())) {
+                    continue;
+                }
+                if (blogIds.size() == limit) {
+                    hasMore = true;
+                    break;
+                }
+                blogIds.add(entry.getBlogId());
+                last = entry;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        KeysetCursor nextCursor = hasMore ? new KeysetCursor(last.getBlogCreatedTime(), last.getBlogId()) : null;
+        return new ExplorePage(blogIds, nextCursor);
+    }
+
+    /**
+     * 探索フィードをDBの公開中のブログから読み込み直します。
+     * 起動時と、他のアプリケーションサーバで行われた更新を反映するため定期的に実行します。
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${blog.explore.reload-interval:PT10M}",
+            initialDelayString = "${blog.explore.reload-interval:PT10M}")
+    public void reload() {
+        List<ExploreBlogRepositoryDto> recent = blogRepository.findExploreBlogs(PageRequest.of(0, capacity));
+        lock.writeLock().lock();
+        try {
+            feed.clear();
+            feedByBlogId.clear();
+            for (ExploreBlogRepositoryDto entry : recent) {
+                feed.add(entry);
+                feedByBlogId.put(entry.getBlogId(), entry);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeEntry(Long blogId) {
+        ExploreBlogRepositoryDto existing = feedByBlogId.remove(blogId);
+        if (existing != null) {
+            feed.remove(existing);
+        }
+    }
+}
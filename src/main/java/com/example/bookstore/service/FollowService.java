@@ -1,6 +1,7 @@
 package com.example.bookstore.service;
 
 import com.example.bookstore.dto.repository.FollowRepositoryDto;
+import com.example.bookstore.dto.view.CursorPageViewDto;
 import com.example.bookstore.dto.view.FollowViewDto;
 import com.example.bookstore.entity.Follow;
 import com.example.bookstore.entity.Notification;
@@ -8,8 +9,11 @@ import com.example.bookstore.entity.User;
 import com.example.bookstore.entity.code.NotificationType;
 import com.example.bookstore.repository.jpa.FollowRepository;
 import com.example.bookstore.repository.jpa.UserRepository;
+import com.example.bookstore.service.common.KeysetCursor;
+import com.example.bookstore.service.search.UserSuggestIndex;
 import com.example.bookstore.service.util.UserUtilService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -47,6 +51,18 @@ public class FollowService {
     @Autowired
     private UserRepository userRepository;
 
+    /**
+     * ユーザ候補インデックス
+     */
+    @Autowired
+    private UserSuggestIndex userSuggestIndex;
+
+    /**
+     * タイムラインサービス
+     */
+    @Autowired
+    private TimelineService timelineService;
+
     /**
      * ユーザ間のフォロー関係を登録します。
      *
@@ -65,6 +81,9 @@ public class FollowService {
                 .build();
 
         followRepository.save(follow);
+        userSuggestIndex.adjustFollowerCount(targetId, 1);
+        // フォローしたユーザの新しいブログをタイムラインに追加
+        timelineService.addAuthor(currentUser.getId(), targetId);
 
         //通知データの登録
         saveNotificationOfFollow(targetId);
@@ -80,7 +99,11 @@ public class FollowService {
     @Transactional
     public void unfollowUser(Long targetId) {
         //フォロー関係の削除
-        followRepository.unfollow(userUtilService.getCurrentUser().getId(), targetId);
+        Long currentUserId = userUtilService.getCurrentUserIdAsLong();
+        int deleted = followRepository.unfollow(currentUserId, targetId);
+        userSuggestIndex.adjustFollowerCount(targetId, -deleted);
+        // フォロー解除したユーザのブログをタイムラインから削除
+        timelineService.removeAuthor(currentUserId, targetId);
         //通知データの削除（対象通知が未読の場合）
         deleteNotificationOfFollow(targetId);
     }
@@ -91,31 +114,43 @@ public class FollowService {
      * @return ログインユーザのフォロワー
      */
     public List<User> getFollowers() {
-        return followRepository.findFollowers(userUtilService.getCurrentUser().getId());
+        return followRepository.findFollowers(userUtilService.getCurrentUserIdAsLong());
     }
 
     /**
-     * 指定されたユーザがフォロー中のユーザを取得します。
+     * 指定されたユーザがフォロー中のユーザを、カーソルの位置からフォローの新しい順に取得します。
      *
      * @param userId ユーザID
-     * @return 指定されたユーザがフォローされているユーザ
+     * @param cursor 前のページのカーソル（先頭のページの場合はnull）
+     * @param limit  取得件数（最大100件）
+     * @return 指定されたユーザがフォローしているユーザと次のページのカーソル
      */
-    public List<FollowViewDto> getFollowedUsersInfo(Long userId) {
-        List<FollowRepositoryDto> repositoryDtoList = followRepository.findFollowedUsersInfo(userId);
+    public CursorPageViewDto<FollowViewDto> getFollowedUsersInfo(Long userId, String cursor, int limit) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        Slice<FollowRepositoryDto> repositoryDtoSlice = followRepository.findFollowedUsersInfo(userId,
+                KeysetCursor.timeOf(after), KeysetCursor.idOf(after), KeysetCursor.pageOf(limit));
 
-        return FollowViewDto.build(repositoryDtoList);
+        return CursorPageViewDto.build(repositoryDtoSlice, FollowService::cursorOf, FollowViewDto::build);
     }
 
     /**
-     * 指定したユーザのフォロワー情報を取得します。
+     * 指定したユーザのフォロワー情報を、カーソルの位置からフォローの新しい順に取得します。
      *
      * @param userId ユーザID
-     * @return 指定したユーザがフォローしているユーザ
+     * @param cursor 前のページのカーソル（先頭のページの場合はnull）
+     * @param limit  取得件数（最大100件）
+     * @return 指定したユーザをフォローしているユーザと次のページのカーソル
      */
-    public List<FollowViewDto> getFollowersInfo(Long userId) {
-        List<FollowRepositoryDto> repositoryDtoList = followRepository.findFollowersInfo(userId);
+    public CursorPageViewDto<FollowViewDto> getFollowersInfo(Long userId, String cursor, int limit) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        Slice<FollowRepositoryDto> repositoryDtoSlice = followRepository.findFollowersInfo(userId,
+                KeysetCursor.timeOf(after), KeysetCursor.idOf(after), KeysetCursor.pageOf(limit));
 
-        return FollowViewDto.build(repositoryDtoList);
+        return CursorPageViewDto.build(repositoryDtoSlice, FollowService::cursorOf, FollowViewDto::build);
+    }
+
+    private static KeysetCursor cursorOf(FollowRepositoryDto repositoryDto) {
+        return new KeysetCursor(repositoryDto.getFollowAt(), repositoryDto.getFollowId());
     }
 
     /**
@@ -147,9 +182,8 @@ public class FollowService {
      * @param targetId 通知対象ユーザ
      */
     private void deleteNotificationOfFollow(Long targetId) {
-        User currentUser = userUtilService.getCurrentUser();
         //削除されたフォローに関する通知を検索し未読なら削除する
-        List<Notification> notifications = notificationService.getUnreadFollowNotifications(targetId, currentUser.getId());
+        List<Notification> notifications = notificationService.getUnreadFollowNotifications(targetId, userUtilService.getCurrentUserIdAsLong());
         if (!notifications.isEmpty()) {
             notificationService.deleteNotifications(
                     notifications.stream().map(Notification::getId).collect(Collectors.toList())
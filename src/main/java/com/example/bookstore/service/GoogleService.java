@@ -1,6 +1,7 @@
 package com.example.bookstore.service;
 
 import com.example.bookstore.dto.GoogleUserInfo;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
@@ -11,6 +12,12 @@ import org.springframework.web.client.RestTemplate;
 @Service
 public class GoogleService {
 
+    /**
+     * 外部API呼び出し用RestTemplate
+     */
+    @Autowired
+    RestTemplate restTemplate;
+
     /**
      * アクセストークンに紐づくGoogleユーザ情報を取得します。
      *
@@ -18,7 +25,6 @@ public class GoogleService {
      * @return Googleユーザ情報
      */
     public GoogleUserInfo getUserInfo(String accessToken) throws Exception {
-        RestTemplate restTemplate = new RestTemplate();
         HttpHeaders headers = new HttpHeaders();
         headers.setBearerAuth(accessToken);
 
@@ -1,14 +1,27 @@
 package com.example.bookstore.service;
 
+import com.example.bookstore.dto.view.CursorPageViewDto;
 import com.example.bookstore.entity.Notification;
+import com.example.bookstore.repository.jpa.FollowRepository;
 import com.example.bookstore.repository.jpa.NotificationRepository;
+import com.example.bookstore.service.common.AfterCommit;
+import com.example.bookstore.service.common.KeysetCursor;
 import com.example.bookstore.service.util.UserUtilService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 通知サービス
@@ -16,12 +29,40 @@ import java.util.List;
 @Service
 public class NotificationService {
 
+    private static final Logger logger = LoggerFactory.getLogger(NotificationService.class);
+
     /**
      * 通知リポジトリ
      */
     @Autowired
     private NotificationRepository notificationRepository;
 
+    /**
+     * フォローリポジトリ
+     */
+    @Autowired
+    private FollowRepository followRepository;
+
+    /**
+     * タイムラインサービス（フォロワー数が閾値以上の著者の判定に使用する）
+     */
+    @Autowired
+    private TimelineService timelineService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * フォロワー数が閾値以上の著者のブログ作成通知を、1回のトランザクションで登録するフォロワー数
+     */
+    @Value("${blog.notification.blog-created-chunk-size:1000}")
+    private int blogCreatedChunkSize;
+
+    /**
+     * フォロワー数が閾値以上の著者のブログ作成通知を、公開のトランザクションとは別に登録するスレッド
+     */
+    private final ExecutorService blogCreatedNotificationExecutor = Executors.newSingleThreadExecutor();
+
     /**
      * ユーザユーティルサービス
      */
@@ -34,7 +75,7 @@ public class NotificationService {
      * @return 未読の通知件数
      */
     public Long countUnreadNotifications() {
-        return notificationRepository.countUnreadNotifications(userUtilService.getCurrentUser().getId());
+        return notificationRepository.countUnreadNotifications(userUtilService.getCurrentUserIdAsLong());
     }
 
 
@@ -44,16 +85,22 @@ public class NotificationService {
      * @return 未読通知リスト
      */
     public List<Notification> getNotificationsForCurrentUser() {
-        return notificationRepository.findUnreadNotificationsByUserId(userUtilService.getCurrentUser().getId());
+        return notificationRepository.findUnreadNotificationsByUserId(userUtilService.getCurrentUserIdAsLong());
     }
 
     /**
-     * ログインユーザの全通知を取得します。
+     * ログインユーザの全通知を、カーソルの位置から新しい順に取得します。
      *
-     * @return 全通知リスト
+     * @param cursor 前のページのカーソル（先頭のページの場合はnull）
+     * @param limit  取得件数（最大100件）
+     * @return 通知リストと次のページのカーソル
      */
-    public List<Notification> getAllNotificationsForCurrentUser() {
-        return notificationRepository.findAllNotificationsByUserId(userUtilService.getCurrentUser().getId());
+    public CursorPageViewDto<Notification> getAllNotificationsForCurrentUser(String cursor, int limit) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        return CursorPageViewDto.build(notificationRepository.findAllNotificationsByUserId(
+                        userUtilService.getCurrentUserIdAsLong(),
+                        KeysetCursor.timeOf(after), KeysetCursor.idOf(after), KeysetCursor.pageOf(limit)),
+                notification -> new KeysetCursor(notification.getNotificationCreatedAt(), notification.getId()));
     }
 
 
@@ -109,6 +156,78 @@ public class NotificationService {
         return notificationRepository.save(notification);
     }
 
+    /**
+     * 指定されたユーザの全てのフォロワーに、ブログ作成通知を登録します。
+     * フォロワー数が閾値以上のユーザの場合は、公開にかかる時間がフォロワー数に依存しないよう、
+     * コミット後に別スレッドで一定件数毎に登録します（この場合は0を返します）。
+     *
+     * @param blogId        作成されたブログID
+     * @param triggerUserId ブログを作成したユーザID
+     * @return 公開のトランザクション内で登録した件数
+     */
+    @Transactional
+    public int saveBlogCreatedNotifications(Long blogId, Long triggerUserId) {
+        if (timelineService.isCelebrityAuthor(triggerUserId)) {
+            AfterCommit.run(() -> blogCreatedNotificationExecutor.execute(
+                    () -> saveBlogCreatedNotificationsInChunks(blogId, triggerUserId)));
+            return 0;
+        }
+        return notificationRepository.insertBlogCreatedNotifications(blogId, triggerUserId, triggerUserId.toString());
+    }
+
+    /**
+     * アプリケーション終了時に、登録中のブログ作成通知の完了を待ちます。
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        blogCreatedNotificationExecutor.shutdown();
+        if (!blogCreatedNotificationExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+            logger.warn("Blog created notifications were still being saved at shutdown");
+        }
+    }
+
+    /**
+     * フォロワーをフォローの古い順に一定件数毎の範囲に分け、範囲毎のトランザクションでブログ作成通知を登録します。
+     * 途中でブログが公開中でなくなった場合、以降の範囲には登録しません。
+     */
+    private void saveBlogCreatedNotificationsInChunks(Long blogId, Long triggerUserId) {
+        KeysetCursor after = null;
+        int saved = 0;
+        try {
+            while (true) {
+                List<KeysetCursor> keys = followRepository.findFollowerKeysAfter(triggerUserId,
+                        KeysetCursor.timeOf(after), KeysetCursor.idOf(after), PageRequest.of(0, blogCreatedChunkSize));
+                if (keys.isEmpty()) {
+                    break;
+                }
+                KeysetCursor from = after;
+                KeysetCursor last = keys.get(keys.size() - 1);
+                Integer inserted = transactionTemplate.execute(status ->
+                        notificationRepository.insertBlogCreatedNotificationsInRange(blogId, triggerUserId,
+                                KeysetCursor.timeOf(from), KeysetCursor.idOf(from), last.time(), last.id(),
+                                triggerUserId.toString()));
+                saved += inserted != null ? inserted : 0;
+                if (keys.size() < blogCreatedChunkSize) {
+                    break;
+                }
+                after = last;
+            }
+            logger.debug("Saved {} blog created notifications for blog {}", saved, blogId);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to save blog created notifications for blog {} after {} followers", blogId, saved, e);
+        }
+    }
+
+    /**
+     * 指定されたブログの未読の「ブログ作成通知」を論理削除します。
+     *
+     * @param blogId ブログID
+     */
+    @Transactional
+    public void deleteUnreadBlogCreatedNotifications(Long blogId) {
+        notificationRepository.deleteUnreadBlogCreatedNotifications(blogId, userUtilService.getCurrentUserId());
+    }
+
     /**
      * 単一の通知を論理削除します。
      *
@@ -1,23 +1,32 @@
 package com.example.bookstore.service;
 
+import com.example.bookstore.service.common.ResilientUpstream;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.Data;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Service
 public class SpotifyService {
@@ -29,9 +38,125 @@ public class SpotifyService {
     @Value("${spotify.client-secret}")
     private String clientSecret;
 
+    /**
+     * クライアントに返すトークンに最低限残っている必要がある有効期間
+     */
+    private static final Duration MIN_REMAINING_VALIDITY = Duration.ofMinutes(1);
+
+    /**
+     * 有効期限のこの時間前になったらバックグラウンドでトークンを更新する
+     */
+    @Value("${spotify.token.refresh-before-expiry:PT5M}")
+    private Duration refreshBeforeExpiry;
+
+    @Autowired
+    private RestTemplate restTemplate;
+
+    /**
+     * Spotify呼び出し用のサーキットブレーカー・バルクヘッド
+     */
+    @Autowired
+    @Qualifier("spotifyUpstream")
+    private ResilientUpstream spotifyUpstream;
+
+    /**
+     * 取得済みのアクセストークン
+     */
+    private volatile CachedToken cachedToken;
+
+    /**
+     * 実行中のトークン取得処理（同時に呼び出された場合はこの結果を共有する）
+     */
+    private final AtomicReference<CompletableFuture<CachedToken>> inFlight = new AtomicReference<>();
+
+    /**
+     * Spotifyのアクセストークンを取得します。
+     * 取得済みのトークンが有効な間はSpotifyへ問い合わせず、保持しているトークンを返します。
+     * Spotifyに問い合わせできない場合は、有効期限内であれば保持しているトークンを返します。
+     *
+     * @return アクセストークン
+     */
     public Map<String, String> getAccessToken() throws JsonProcessingException {
-        RestTemplate restTemplate = new RestTemplate();
+        CachedToken token = cachedToken;
+        if (token == null || token.expiresWithin(MIN_REMAINING_VALIDITY)) {
+            try {
+                token = refreshToken();
+            } catch (RuntimeException e) {
+                if (token == null || token.expiresWithin(Duration.ZERO)) {
+                    throw e;
+                }
+                logger.warn("Failed to refresh Spotify access token, using current token until it expires", e);
+            }
+        }
+        Map<String, String> responseMap = new HashMap<>();
+        responseMap.put("accessToken", token.accessToken());
+        return responseMap;
+    }
+
+    /**
+     * 有効期限が近づいたトークンをバックグラウンドで更新します。
+     * 一度もトークンが要求されていない場合は何もしません。
+     */
+    @Scheduled(fixedDelayString = "${spotify.token.refresh-check-interval:PT30S}")
+    public void refreshTokenIfExpiring() {
+        CachedToken token = cachedToken;
+        if (token == null || !token.expiresWithin(refreshBeforeExpiry)) {
+            return;
+        }
+        try {
+            refreshToken();
+        } catch (Exception e) {
+            // 有効期限までは既存のトークンを使い続け、次回のチェックで再試行する
+            logger.warn("Failed to refresh Spotify access token in background", e);
+        }
+    }
 
+    /**
+     * トークンを再取得します。
+     * 既に他のスレッドが取得中の場合はSpotifyへ問い合わせず、その結果を待ちます。
+     *
+     * @return 取得したトークン
+     */
+    private CachedToken refreshToken() throws JsonProcessingException {
+        CompletableFuture<CachedToken> future = new CompletableFuture<>();
+        CompletableFuture<CachedToken> existing = inFlight.compareAndExchange(null, future);
+        if (existing != null) {
+            return await(existing);
+        }
+        try {
+            CachedToken current = cachedToken;
+            if (current != null && !current.expiresWithin(refreshBeforeExpiry)) {
+                // 直前に他のスレッドが更新済み
+                future.complete(current);
+                return current;
+            }
+            CachedToken token = fetchToken();
+            cachedToken = token;
+            future.complete(token);
+            return token;
+        } catch (JsonProcessingException | RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.set(null);
+        }
+    }
+
+    private CachedToken await(CompletableFuture<CachedToken> future) throws JsonProcessingException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof JsonProcessingException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private CachedToken fetchToken() throws JsonProcessingException {
         HttpHeaders headers = new HttpHeaders();
         headers.setBasicAuth(clientId, clientSecret);
         headers.add("Content-Type", "application/x-www-form-urlencoded");
@@ -41,27 +166,40 @@ public class SpotifyService {
 
         HttpEntity<MultiValueMap<String, String>> request = new HttpEntity<>(body, headers);
 
-        ResponseEntity<String> response = restTemplate.exchange(
+        Instant requestedAt = Instant.now();
+        ResponseEntity<String> response = spotifyUpstream.call(() -> restTemplate.exchange(
                 tokenUrl,
                 HttpMethod.POST,
                 request,
                 String.class
-        );
+        ));
 
-        logger.debug("Response: {}", response.getBody());
+        logger.debug("Spotify token refreshed, status: {}", response.getStatusCode());
 
         // Deserialize response body to SpotifyTokenResponse
         SpotifyTokenResponse tokenResponse = new ObjectMapper().readValue(response.getBody(), SpotifyTokenResponse.class);
 
-        if (tokenResponse != null) {
-            Map<String, String> responseMap = new HashMap<>();
-            responseMap.put("accessToken", tokenResponse.getAccessToken());
-            return responseMap;
+        if (tokenResponse != null && tokenResponse.getAccessToken() != null) {
+            // 有効期限はリクエスト送信時点から数える
+            return new CachedToken(tokenResponse.getAccessToken(), requestedAt.plusSeconds(tokenResponse.getExpiresIn()));
         } else {
             throw new RuntimeException("Failed to get access token");
         }
     }
 
+    /**
+     * 取得済みのアクセストークン
+     *
+     * @param accessToken アクセストークン
+     * @param expiresAt   有効期限
+     */
+    private record CachedToken(String accessToken, Instant expiresAt) {
+
+        boolean expiresWithin(Duration duration) {
+            return !Instant.now().plus(duration).isBefore(expiresAt);
+        }
+    }
+
     @Data
     static class SpotifyTokenResponse {
         @JsonProperty("access_token")
@@ -73,4 +211,4 @@ public class SpotifyService {
         @JsonProperty("expires_in")
         private int expiresIn;
     }
-}
\ No newline at end of file
+}
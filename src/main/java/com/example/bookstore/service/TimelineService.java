@@ -0,0 +1,339 @@
+package com.example.bookstore.service;
+
+import com.example.bookstore.dto.repository.DashboardBlogRepositoryDto;
+import com.example.bookstore.dto.view.DashboardBlogViewDto;
+import com.example.bookstore.repository.jpa.BlogRepository;
+import com.example.bookstore.repository.jpa.FollowRepository;
+import com.example.bookstore.repository.jpa.TimelineEntryRepository;
+import com.example.bookstore.service.common.AfterCommit;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * タイムラインサービス
+ * ブログの公開時に著者のフォロワーのタイムラインへ書き込み、ダッシュボードはタイムラインから取得します。
+ * タイムラインは保持期間内のブログのみ保持します。
+ * フォロワー数が閾値以上の著者のブログはタイムラインへ書き込まず、著者毎の新しいブログのキャッシュから表示時に合わせます。
+ * これにより、ブログの公開にかかる時間は著者のフォロワー数に依存しません。
+ * 閾値付近でフォロー・フォロー解除が繰り返されても切り替わり続けないよう、閾値を下回った著者は下位の閾値を下回るまで対象のままとし、
+ * 対象外に戻す際は保持期間内のブログをフォロワーのタイムラインへ書き込みます。
+ */
+@Service
+public class TimelineService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TimelineService.class);
+
+    /**
+     * タイムラインリポジトリ
+     */
+    @Autowired
+    private TimelineEntryRepository timelineEntryRepository;
+
+    /**
+     * ブログリポジトリ
+     */
+    @Autowired
+    private BlogRepository blogRepository;
+
+    /**
+     * フォローリポジトリ
+     */
+    @Autowired
+    private FollowRepository followRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * タイムラインの保持期間
+     */
+    @Value("${blog.timeline.retention:P30D}")
+    private Duration retention;
+
+    /**
+     * フォロー時にタイムラインに追加する著者のブログの最大件数
+     */
+    @Value("${blog.timeline.follow-backfill-size:20}")
+    private int followBackfillSize;
+
+    /**
+     * タイムラインへ書き込まない著者のフォロワー数の閾値
+     */
+    @Value("${blog.timeline.celebrity-follower-threshold:5000}")
+    private long celebrityFollowerThreshold;
+
+    /**
+     * タイムラインへ書き込まない著者から外すフォロワー数の閾値（この数未満になった場合に外す）
+     */
+    @Value("${blog.timeline.celebrity-demotion-threshold:4000}")
+    private long celebrityDemotionThreshold;
+
+    /**
+     * 著者毎にキャッシュする新しいブログの件数（ダッシュボードの表示件数以上とする）
+     */
+    @Value("${blog.timeline.author-recent-size:10}")
+    private int authorRecentSize;
+
+    @Value("${blog.timeline.author-recent-expire-after-write:PT10M}")
+    private Duration authorRecentExpireAfterWrite;
+
+    /**
+     * フォロワー数が閾値以上の著者のユーザID（変更時は全体を置き換える）
+     */
+    private volatile Set<Long> celebrityAuthors = Set.of();
+
+    /**
+     * 閾値以上の著者を1度でも読み込んだか（reloadCelebrityAuthorsの排他内で参照する）
+     */
+    private boolean celebrityAuthorsLoaded;
+
+    /**
+     * 著者毎の新しい公開中のブログ（フォロワー数が閾値以上の著者のみ）
+     */
+    private Cache<Long, List<DashboardBlogRepositoryDto>> authorRecentBlogs;
+
+    /**
+     * 対象から外した著者のブログを再度書き込むトランザクション（コミット後に実行するため、新しいトランザクションとする）
+     */
+    private TransactionTemplate requiresNewTransaction;
+
+    @PostConstruct
+    void init() {
+        requiresNewTransaction = new TransactionTemplate(transactionManager);
+        requiresNewTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        authorRecentBlogs = Caffeine.newBuilder()
+                .maximumSize(1000)
+                .expireAfterWrite(authorRecentExpireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, authorRecentBlogs, "authorRecentBlogs");
+    }
+
+    /**
+     * ブログを著者のフォロワーのタイムラインに追加します（公開時）。
+     * フォロワー数が閾値以上の著者の場合は追加せず、著者の新しいブログのキャッシュを破棄します。
+     *
+     * @param blogId    ブログID
+     * @param authorId  著者のユーザID
+     * @param createdBy 登録者
+     */
+    @Transactional
+    public void fanOut(Long blogId, Long authorId, String createdBy) {
+        if (celebrityAuthors.contains(authorId)) {
+            AfterCommit.run(() -> authorRecentBlogs.invalidate(authorId));
+            return;
+        }
+        timelineEntryRepository.fanOut(blogId, createdBy);
+    }
+
+    /**
+     * フォロワー数が閾値以上の著者（ブログをタイムラインへ書き込まない著者）かを判定します。
+     *
+     * @param authorId 著者のユーザID
+     * @return 閾値以上の著者の場合true
+     */
+    public boolean isCelebrityAuthor(Long authorId) {
+        return celebrityAuthors.contains(authorId);
+    }
+
+    /**
+     * ブログを全てのタイムラインから削除します（非公開・削除時）。
+     *
+     * @param blogId   ブログID
+     * @param authorId 著者のユーザID
+     */
+    @Transactional
+    public void removeBlog(Long blogId, Long authorId) {
+        timelineEntryRepository.deleteByBlogId(blogId);
+        AfterCommit.run(() -> authorRecentBlogs.invalidate(authorId));
+    }
+
+    /**
+     * フォローしたユーザの新しいブログをタイムラインに追加します。
+     * フォロワー数が閾値以上になった場合は、以降そのユーザのブログはタイムラインへ書き込みません。
+     *
+     * @param userId   フォローしたユーザID
+     * @param authorId フォローされたユーザID
+     */
+    @Transactional
+    public void addAuthor(Long userId, Long authorId) {
+        if (celebrityAuthors.contains(authorId)) {
+            return;
+        }
+        if (followRepository.countFollowers(authorId) >= celebrityFollowerThreshold) {
+            // フォローがロールバックされた場合に対象としないよう、コミット後に対象とする
+            AfterCommit.run(() -> addCelebrityAuthor(authorId));
+            return;
+        }
+        timelineEntryRepository.insertAuthorBlogs(userId, authorId, LocalDateTime.now().minus(retention),
+                followBackfillSize, userId.toString());
+    }
+
+    /**
+     * フォロー解除したユーザのブログをタイムラインから削除します。
+     *
+     * @param userId   フォロー解除したユーザID
+     * @param authorId フォロー解除されたユーザID
+     */
+    @Transactional
+    public void removeAuthor(Long userId, Long authorId) {
+        timelineEntryRepository.deleteByUserIdAndAuthorId(userId, authorId);
+    }
+
+    /**
+     * ダッシュボードに表示する興味のあるブログ記事を取得します。
+     * タイムライン（フォロー中のユーザの記事）とフォロー中のフォロワー数が閾値以上の著者の新しい記事を合わせて新しい順に取得し、
+     * 件数が足りない場合は公開中の新しい記事で補充します。
+     *
+     * @param userId ユーザID
+     * @param size   取得件数
+     * @return ダッシュボード表示用のブログ記事リスト
+     */
+    public List<DashboardBlogViewDto> findInterestBlogs(Long userId, int size) {
+        List<DashboardBlogRepositoryDto> blogs = new ArrayList<>(
+                timelineEntryRepository.findTimeline(userId, PageRequest.of(0, size)));
+        Set<Long> celebrities = celebrityAuthors;
+        if (!celebrities.isEmpty()) {
+            List<Long> followedCelebrities = followRepository.findFollowedIdsIn(userId, celebrities);
+            if (!followedCelebrities.isEmpty()) {
+                for (Long authorId : followedCelebrities) {
+                    blogs.addAll(authorRecentBlogs.get(authorId, id ->
+                            blogRepository.findRecentBlogsByAuthor(id, PageRequest.of(0, authorRecentSize))));
+                }
+                blogs = mergeNewest(blogs, size);
+            }
+        }
+        if (blogs.size() < size) {
+            // 補充する記事にはタイムラインの記事が含まれる可能性があるため、取得件数分を取得して除外する
+            Set<Long> included = new HashSet<>();
+            blogs.forEach(blog -> included.add(blog.getId()));
+            for (DashboardBlogRepositoryDto recent : blogRepository.findRecentBlogs(userId, PageRequest.of(0, size))) {
+                if (blogs.size() >= size) {
+                    break;
+                }
+                if (included.add(recent.getId())) {
+                    blogs.add(recent);
+                }
+            }
+        }
+        return DashboardBlogViewDto.toViewDto(blogs);
+    }
+
+    /**
+     * フォロワー数が閾値以上の著者を読み込み直します。
+     * フォロー解除で下位の閾値を下回った著者と、他のアプリケーションサーバで閾値以上になった著者を反映するため、定期的に実行します。
+     * 対象から外す著者の保持期間内のブログはフォロワーのタイムラインへ書き込み、コミット後に対象から外します。
+     * 対象から外すまでに公開されたブログはタイムラインへ書き込まれないため、対象から外した後に再度書き込みます。
+     * 起動時は以前の対象が分からないため、下位の閾値以上・閾値未満の著者のブログも書き込みます（書き込み済みの記事は重複しない）。
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${blog.timeline.celebrity-reload-interval:PT10M}",
+            initialDelayString = "${blog.timeline.celebrity-reload-interval:PT10M}")
+    @Transactional
+    public synchronized void reloadCelebrityAuthors() {
+        Set<Long> promoted = new HashSet<>(followRepository.findUserIdsWithFollowersAtLeast(celebrityFollowerThreshold));
+        Set<Long> retained = new HashSet<>(followRepository.findUserIdsWithFollowersAtLeast(
+                Math.min(celebrityDemotionThreshold, celebrityFollowerThreshold)));
+        Set<Long> celebrities = new HashSet<>(promoted);
+        Set<Long> demoted = new HashSet<>();
+        for (Long authorId : celebrityAuthors) {
+            if (retained.contains(authorId)) {
+                celebrities.add(authorId);
+            } else {
+                demoted.add(authorId);
+            }
+        }
+        if (!celebrityAuthorsLoaded) {
+            retained.stream().filter(authorId -> !promoted.contains(authorId)).forEach(demoted::add);
+            celebrityAuthorsLoaded = true;
+        }
+
+        LocalDateTime since = LocalDateTime.now().minus(retention);
+        for (Long authorId : demoted) {
+            int inserted = timelineEntryRepository.insertFromFollowsOfAuthor(authorId, since, "System");
+            logger.info("Fanned out {} timeline entries for author {} below the follower threshold", inserted, authorId);
+        }
+        // タイムラインへの書き込みがコミットされるまでは、表示時に著者の新しいブログを合わせる
+        Set<Long> reloaded = Set.copyOf(celebrities);
+        AfterCommit.run(() -> {
+            celebrityAuthors = reloaded;
+            demoted.forEach(authorRecentBlogs::invalidate);
+            if (!demoted.isEmpty()) {
+                // 対象から外すまでの間に公開され、タイムラインへ書き込まれなかったブログを書き込む（書き込み済みの記事は重複しない）
+                requiresNewTransaction.executeWithoutResult(status -> demoted.forEach(authorId ->
+                        timelineEntryRepository.insertFromFollowsOfAuthor(authorId, since, "System")));
+            }
+        });
+    }
+
+    /**
+     * タイムラインが未作成の場合（導入前のデータ）は、フォロー関係から作成します。
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfill() {
+        if (timelineEntryRepository.count() > 0) {
+            return;
+        }
+        int inserted = timelineEntryRepository.insertFromFollows(LocalDateTime.now().minus(retention), "System");
+        if (inserted > 0) {
+            logger.info("Created {} timeline entries from existing follows", inserted);
+        }
+    }
+
+    /**
+     * 保持期間を過ぎたブログをタイムラインから削除します。
+     */
+    @Scheduled(cron = "${blog.timeline.prune-cron:0 30 3 * * *}")
+    @Transactional
+    public void prune() {
+        int deleted = timelineEntryRepository.deleteOlderThan(LocalDateTime.now().minus(retention));
+        if (deleted > 0) {
+            logger.info("Pruned {} timeline entries older than {}", deleted, retention);
+        }
+    }
+
+    private synchronized void addCelebrityAuthor(Long authorId) {
+        Set<Long> celebrities = new HashSet<>(celebrityAuthors);
+        celebrities.add(authorId);
+        celebrityAuthors = Set.copyOf(celebrities);
+    }
+
+    /**
+     * ブログ記事を重複を除いて新しい順に並べ、先頭から指定された件数を返します。
+     */
+    private static List<DashboardBlogRepositoryDto> mergeNewest(List<DashboardBlogRepositoryDto> blogs, int size) {
+        Map<Long, DashboardBlogRepositoryDto> unique = new LinkedHashMap<>();
+        blogs.forEach(blog -> unique.putIfAbsent(blog.getId(), blog));
+        return unique.values().stream()
+                .sorted(Comparator.comparing(DashboardBlogRepositoryDto::getBlogCreatedTime)
+                        .thenComparing(DashboardBlogRepositoryDto::getId)
+                        .reversed())
+                .limit(size)
+                .collect(Collectors.toCollection(ArrayList::new));
+    }
+}
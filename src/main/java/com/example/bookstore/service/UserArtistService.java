@@ -11,7 +11,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 public class UserArtistService {
@@ -22,6 +21,9 @@ public class UserArtistService {
     @Autowired
     private UserUtilService userUtilService;
 
+    @Autowired
+    private UserRecommendationService userRecommendationService;
+
     /**
      * 指定されたユーザの好きなアーティスト一覧を取得します。
      *
@@ -38,7 +40,7 @@ public class UserArtistService {
      * @return アーティスト一覧
      */
     public List<Artist> getCurrentUserFavorite() {
-        return getFavoriteArtistsByUserId(userUtilService.getCurrentUser().getId());
+        return getFavoriteArtistsByUserId(userUtilService.getCurrentUserIdAsLong());
     }
 
     /**
@@ -67,7 +69,7 @@ public class UserArtistService {
      * @return 同じアーティストが好きな他のユーザとアーティストのリスト
      */
     public List<UserArtist> getUserSameFavoriteWithCurrentUser() {
-        return getUserSameFavorite(userUtilService.getCurrentUser().getId());
+        return getUserSameFavorite(userUtilService.getCurrentUserIdAsLong());
     }
 
     /**
@@ -77,15 +79,8 @@ public class UserArtistService {
      * @return おすすめユーザリスト
      */
     public List<DashboardUserViewDto> getRecommendedUsers(Long userId) {
-        // ユーザの好きなアーティストIDリストを取得
-        List<Artist> favoriteArtists = userArtistRepository.findFavoriteArtistsByUserId(userId);
-        List<String> artistIds = favoriteArtists.stream()
-                .map(Artist::getId)
-                .collect(Collectors.toList());
-
-        // 共通アーティストを持つ他のユーザリストをフォロー状況込みで取得
-        List<DashboardUserRepositoryDto> repositoryDtoList = userArtistRepository
-                .findRecommendedUsersWithFollowStatus(artistIds, userId);
+        // 事前に計算したおすすめユーザをフォロー状況込みで取得
+        List<DashboardUserRepositoryDto> repositoryDtoList = userRecommendationService.findRecommendedUsers(userId);
 
         return DashboardUserViewDto.build(repositoryDtoList);
     }
@@ -0,0 +1,333 @@
+package com.example.bookstore.service;
+
+import com.example.bookstore.dto.repository.DashboardUserRepositoryDto;
+import com.example.bookstore.dto.repository.UserRecommendationRepositoryDto;
+import com.example.bookstore.entity.key.UserArtistId;
+import com.example.bookstore.repository.jdbc.UserRecommendationBatchRepository;
+import com.example.bookstore.repository.jpa.UserArtistRepository;
+import com.example.bookstore.repository.jpa.UserRecommendationRepository;
+import com.example.bookstore.service.common.AfterCommit;
+import com.example.bookstore.service.common.UserArtistMatrix;
+import com.example.bookstore.service.common.UserArtistMatrix.Similarity;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * おすすめユーザサービス
+ * 好きなアーティストのリレーションからユーザ×アーティストの疎行列を作成し、重み付きJaccard係数の高い上位のユーザを
+ * ユーザ毎に計算してuser_recommendationsテーブルに保持します。おすすめユーザの表示時はこのテーブルのみを参照します。
+ * 全ユーザの計算は定期的なバッチでフォーク・ジョインにより並列に行い、好きなアーティストを変更したユーザは変更時にそのユーザの分のみ計算し直します
+ * （変更したユーザが他のユーザのおすすめに加わる・外れる分は次のバッチで反映する）。
+ */
+@Service
+public class UserRecommendationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserRecommendationService.class);
+
+    private static final String SYSTEM_USER = "System";
+
+    /**
+     * 1つのタスクで計算するユーザ数（これを超える範囲は分割する）
+     */
+    private static final int TASK_THRESHOLD = 64;
+
+    /**
+     * ユーザアーティストリポジトリ
+     */
+    @Autowired
+    private UserArtistRepository userArtistRepository;
+
+    /**
+     * おすすめユーザリポジトリ
+     */
+    @Autowired
+    private UserRecommendationRepository userRecommendationRepository;
+
+    /**
+     * おすすめユーザ一括更新リポジトリ
+     */
+    @Autowired
+    private UserRecommendationBatchRepository userRecommendationBatchRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * ユーザ毎に保持するおすすめユーザ数
+     */
+    @Value("${user.recommendation.top-k:20}")
+    private int topK;
+
+    /**
+     * 表示するおすすめユーザ数
+     */
+    @Value("${user.recommendation.display-size:10}")
+    private int displaySize;
+
+    /**
+     * アーティスト毎に候補として辿るユーザ数の上限
+     */
+    @Value("${user.recommendation.max-scan-per-artist:2000}")
+    private int maxScanPerArtist;
+
+    /**
+     * リレーションの読み込みと、おすすめユーザの計算・書き込みを行うユーザ数の単位
+     */
+    @Value("${user.recommendation.batch-size:1000}")
+    private int batchSize;
+
+    /**
+     * バッチの並列数（0以下の場合はCPU数）
+     */
+    @Value("${user.recommendation.parallelism:0}")
+    private int parallelism;
+
+    /**
+     * 変更時の計算結果を書き込むトランザクション（変更のトランザクションのコミット後に実行するため、新しいトランザクションとする）
+     */
+    private TransactionTemplate requiresNewTransaction;
+
+    /**
+     * 好きなアーティストの変更を反映済みの疎行列（lockで排他する）
+     */
+    private UserArtistMatrix matrix = new UserArtistMatrix();
+
+    private final Object lock = new Object();
+
+    /**
+     * バッチの実行中か（lockで排他する）
+     */
+    private boolean rebuilding;
+
+    /**
+     * バッチの実行中に変更された好きなアーティスト（ユーザID毎、lockで排他する）
+     * バッチで読み込んだ疎行列に反映してから入れ替える
+     */
+    private final Map<Long, List<String>> updatedDuringRebuild = new HashMap<>();
+
+    @PostConstruct
+    void init() {
+        requiresNewTransaction = new TransactionTemplate(transactionManager);
+        requiresNewTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * 指定されたユーザのおすすめユーザを、フォロー状況を含めて取得します。
+     *
+     * @param userId ユーザID
+     * @return ユーザのリストとそのフォロー状況（フォローしていないユーザ、類似度の高い順）
+     */
+    public List<DashboardUserRepositoryDto> findRecommendedUsers(Long userId) {
+        return userRecommendationRepository.findRecommendedUsers(userId, PageRequest.of(0, displaySize));
+    }
+
+    /**
+     * ユーザの好きなアーティストの変更を疎行列に反映し、そのユーザのおすすめユーザを計算し直します。
+     * 変更のトランザクションのコミット後に実行します。
+     *
+     * @param userId    ユーザID
+     * @param artistIds 変更後のアーティストIDリスト
+     */
+    public void refreshUser(Long userId, List<String> artistIds) {
+        List<String> updated = List.copyOf(artistIds);
+        AfterCommit.run(() -> {
+            List<Similarity> similar;
+            synchronized (lock) {
+                matrix.put(userId, updated);
+                if (rebuilding) {
+                    updatedDuringRebuild.put(userId, updated);
+                }
+                similar = matrix.topSimilar(userId, topK, maxScanPerArtist);
+            }
+            requiresNewTransaction.executeWithoutResult(status -> save(List.of(userId), List.of(similar)));
+        });
+    }
+
+    /**
+     * ユーザを疎行列から除き、他のユーザのおすすめの候補にしないようにします（退会時）。
+     * 他のユーザに保持済みのおすすめは表示時に除き、次のバッチで置き換えます。
+     *
+     * @param userId ユーザID
+     */
+    public void removeUser(Long userId) {
+        AfterCommit.run(() -> {
+            synchronized (lock) {
+                matrix.remove(userId);
+                if (rebuilding) {
+                    updatedDuringRebuild.put(userId, List.of());
+                }
+            }
+        });
+    }
+
+    /**
+     * 起動時に疎行列を読み込みます。
+     * おすすめユーザが1件も保持されていない場合は、全ユーザのおすすめユーザも計算します。
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        reload(!userRecommendationBatchRepository.exists());
+    }
+
+    /**
+     * 疎行列を読み込み直し、全ユーザのおすすめユーザを計算し直します。
+     */
+    @Scheduled(cron = "${user.recommendation.rebuild-cron:0 30 4 * * *}")
+    public void rebuild() {
+        reload(true);
+    }
+
+    private void reload(boolean recompute) {
+        synchronized (lock) {
+            if (rebuilding) {
+                return;
+            }
+            rebuilding = true;
+            updatedDuringRebuild.clear();
+        }
+        Map<Long, List<String>> updated;
+        try {
+            long started = System.currentTimeMillis();
+            UserArtistMatrix loaded = load();
+            if (recompute) {
+                recomputeAll(loaded);
+                requiresNewTransaction.executeWithoutResult(
+                        status -> userRecommendationRepository.deleteForUsersWithoutArtists());
+                logger.info("Rebuilt user recommendations for {} users in {} ms",
+                        loaded.size(), System.currentTimeMillis() - started);
+            }
+            synchronized (lock) {
+                updated = new HashMap<>(updatedDuringRebuild);
+                updated.forEach(loaded::put);
+                matrix = loaded;
+            }
+        } finally {
+            synchronized (lock) {
+                rebuilding = false;
+                updatedDuringRebuild.clear();
+            }
+        }
+        // バッチの実行中に変更されたユーザは、変更を反映した疎行列で計算し直す
+        updated.forEach(this::refreshUser);
+    }
+
+    /**
+     * 有効なユーザの好きなアーティストのリレーションをキーの順に読み込み、疎行列を作成します。
+     */
+    private UserArtistMatrix load() {
+        UserArtistMatrix loaded = new UserArtistMatrix();
+        int pageSize = batchSize * 10;
+        Long currentUserId = null;
+        List<String> artistIds = new ArrayList<>();
+        UserArtistId last = new UserArtistId(0L, "");
+        while (true) {
+            List<UserArtistId> page = userArtistRepository.findUserArtistIdsAfter(
+                    last.getUserId(), last.getArtistId(), PageRequest.of(0, pageSize));
+            for (UserArtistId id : page) {
+                if (!id.getUserId().equals(currentUserId)) {
+                    if (currentUserId != null) {
+                        loaded.put(currentUserId, artistIds);
+                    }
+                    currentUserId = id.getUserId();
+                    artistIds = new ArrayList<>();
+                }
+                artistIds.add(id.getArtistId());
+            }
+            if (page.size() < pageSize) {
+                break;
+            }
+            last = page.get(page.size() - 1);
+        }
+        if (currentUserId != null) {
+            loaded.put(currentUserId, artistIds);
+        }
+        return loaded;
+    }
+
+    /**
+     * 全ユーザのおすすめユーザを単位のユーザ数毎に並列に計算し、計算した単位毎に書き込みます。
+     */
+    private void recomputeAll(UserArtistMatrix loaded) {
+        long[] userIds = loaded.userIds();
+        ForkJoinPool pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        try {
+            for (int from = 0; from < userIds.length; from += batchSize) {
+                long[] chunk = Arrays.copyOfRange(userIds, from, Math.min(from + batchSize, userIds.length));
+                List<Similarity>[] results = newResults(chunk.length);
+                pool.invoke(new SimilarityTask(loaded, chunk, 0, chunk.length, results));
+                save(Arrays.stream(chunk).boxed().toList(), Arrays.asList(results));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private void save(List<Long> userIds, List<List<Similarity>> results) {
+        List<UserRecommendationRepositoryDto> recommendations = new ArrayList<>();
+        for (int i = 0; i < userIds.size(); i++) {
+            for (Similarity similarity : results.get(i)) {
+                recommendations.add(new UserRecommendationRepositoryDto(
+                        userIds.get(i), similarity.userId(), similarity.score()));
+            }
+        }
+        userRecommendationBatchRepository.replace(userIds, recommendations, SYSTEM_USER);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Similarity>[] newResults(int size) {
+        return (List<Similarity>[]) new List[size];
+    }
+
+    /**
+     * ユーザIDの範囲を分割しながら、ユーザ毎のおすすめユーザを計算するタスク
+     * 疎行列は読み取りのみのため、複数のタスクから同時に参照します。
+     */
+    private final class SimilarityTask extends RecursiveAction {
+
+        private final UserArtistMatrix loaded;
+
+        private final long[] userIds;
+
+        private final int from;
+
+        private final int to;
+
+        private final List<Similarity>[] results;
+
+        private SimilarityTask(UserArtistMatrix loaded, long[] userIds, int from, int to, List<Similarity>[] results) {
+            this.loaded = loaded;
+            this.userIds = userIds;
+            this.from = from;
+            this.to = to;
+            this.results = results;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= TASK_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    results[i] = loaded.topSimilar(userIds[i], topK, maxScanPerArtist);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new SimilarityTask(loaded, userIds, from, middle, results),
+                    new SimilarityTask(loaded, userIds, middle, to, results));
+        }
+    }
+}
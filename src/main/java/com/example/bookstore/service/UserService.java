@@ -3,7 +3,9 @@ package com.example.bookstore.service;
 import com.example.bookstore.Exception.UserNotFoundException;
 import com.example.bookstore.dto.form.user.UserRegistrationForm;
 import com.example.bookstore.dto.form.user.UserUpdateForm;
+import com.example.bookstore.dto.view.CursorPageViewDto;
 import com.example.bookstore.dto.view.ProfileViewDto;
+import com.example.bookstore.dto.view.UserSuggestViewDto;
 import com.example.bookstore.entity.Artist;
 import com.example.bookstore.entity.Blog;
 import com.example.bookstore.entity.User;
@@ -13,16 +15,22 @@ import com.example.bookstore.repository.jpa.BlogRepository;
 import com.example.bookstore.repository.jpa.FollowRepository;
 import com.example.bookstore.repository.jpa.UserArtistRepository;
 import com.example.bookstore.repository.jpa.UserRepository;
+import com.example.bookstore.service.common.AfterCommit;
+import com.example.bookstore.service.common.AuthenticatedUserResolver;
+import com.example.bookstore.service.common.KeysetCursor;
+import com.example.bookstore.service.search.UserSuggestIndex;
 import com.example.bookstore.service.util.StorageService;
 import com.example.bookstore.service.util.UserUtilService;
 import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.oauth2.core.oidc.user.OidcUser;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -68,6 +76,18 @@ public class UserService {
     @Autowired
     FollowRepository followRepository;
 
+    /**
+     * おすすめユーザサービス
+     */
+    @Autowired
+    UserRecommendationService userRecommendationService;
+
+    /**
+     * 認証済みユーザ情報解決サービス
+     */
+    @Autowired
+    AuthenticatedUserResolver authenticatedUserResolver;
+
     /**
      * ストレージサービス
      */
@@ -80,6 +100,17 @@ public class UserService {
     @Autowired
     private EntityManager entityManager;
 
+    /**
+     * ユーザ候補インデックス
+     */
+    @Autowired
+    UserSuggestIndex userSuggestIndex;
+
+    /**
+     * ユーザ候補の最大取得件数
+     */
+    private static final int SUGGEST_MAX_LIMIT = 20;
+
 
     /**
      * 指定されたユーザ情報を取得します。
@@ -125,7 +156,9 @@ public class UserService {
     public ProfileViewDto getUserProfile(Long userId, Boolean isOthersInfo) {
         User userInfo = userRepository.findById(userId).orElseThrow();
         List<Artist> favoriteArtistList = userArtistRepository.findFavoriteArtistsByUserId(userInfo.getId());
-        List<Blog> createdBlogList = blogRepository.findPublishedBlogsByUserId(userInfo.getId());
+        // ブログは先頭のページのみ取得し、続きはカーソルを指定して取得する
+        CursorPageViewDto<Blog> createdBlogs = CursorPageViewDto.build(blogRepository.findPublishedBlogsByUserId(
+                userInfo.getId(), null, null, KeysetCursor.pageOf(KeysetCursor.DEFAULT_LIMIT)), BlogService::cursorOf);
         // 指定ユーザがフォロー中のユーザ数をカウント
         Long followedCount = followRepository.countFollowedUsers(userInfo.getId());
         // 指定ユーザのフォロワーのユーザ数をカウント
@@ -134,9 +167,9 @@ public class UserService {
         Boolean isFollow = null;
         if (isOthersInfo) {
             // ログインユーザの対象ユーザフォロー有無を取得
-            isFollow = followRepository.isFollowing(userUtilService.getCurrentUser().getId(), userId);
+            isFollow = followRepository.isFollowing(userUtilService.getCurrentUserIdAsLong(), userId);
         }
-        return ProfileViewDto.build(userInfo, favoriteArtistList, createdBlogList, followedCount, followerCount, isFollow);
+        return ProfileViewDto.build(userInfo, favoriteArtistList, createdBlogs, followedCount, followerCount, isFollow);
     }
 
     /**
@@ -149,6 +182,25 @@ public class UserService {
         return userRepository.searchUser(keyword, userUtilService.getCurrentUserId());
     }
 
+    /**
+     * 表示名、または好きなアーティスト名がキーワードで始まるユーザを、フォロワー数の多い順に取得します。
+     * 入力補完用のため、ログインユーザは含めず、取得件数は最大20件とします。
+     *
+     * @param keyword 検索キーワード
+     * @param limit   取得件数
+     * @return ユーザ候補リスト
+     */
+    public List<UserSuggestViewDto> suggestUsers(String keyword, int limit) {
+        int size = Math.max(1, Math.min(limit, SUGGEST_MAX_LIMIT));
+        Long currentUserId = userUtilService.getCurrentUserIdAsLong();
+        // インデックスの構築中はDBで検索する
+        return userSuggestIndex.suggest(keyword, currentUserId, size)
+                .orElseGet(() -> userRepository.suggestUsers(keyword.strip(), currentUserId, PageRequest.of(0, size))
+                        .stream()
+                        .map(UserSuggestViewDto::build)
+                        .toList());
+    }
+
     /**
      * ユーザを新規登録します。
      *
@@ -163,7 +215,11 @@ public class UserService {
                 .createdBy("System")
                 .updatedBy("System")
                 .build();
-        return userRepository.save(user);
+        User registered = userRepository.save(user);
+        // 未登録として保持されている認証情報を破棄する（コミット前に再度読み込まれないようコミット後に破棄する）
+        AfterCommit.run(() -> authenticatedUserResolver.evict(registered.getSubject()));
+        userSuggestIndex.indexUser(registered, List.of());
+        return registered;
     }
 
     /**
@@ -173,7 +229,10 @@ public class UserService {
      * @return 登録されたユーザ情報
      */
     public User register(User input) {
-        return userRepository.save(input);
+        User registered = userRepository.save(input);
+        AfterCommit.run(() -> authenticatedUserResolver.evict(registered.getSubject()));
+        userSuggestIndex.indexUser(registered, List.of());
+        return registered;
     }
 
 
@@ -199,6 +258,9 @@ public class UserService {
 
     public void deleteUser(Long id) {
         userRepository.deleteUser(id);
+        AfterCommit.run(() -> authenticatedUserResolver.evictByUserId(id));
+        userSuggestIndex.removeUser(id);
+        userRecommendationService.removeUser(id);
     }
 
     private User updateUser(String userName, String selfIntroduction, MultipartFile profileImage, List<Artist> artistList) {
@@ -218,16 +280,21 @@ public class UserService {
         User currentUser = userUtilService.getCurrentUser();
         LocalDateTime now = LocalDateTime.now();
         userRepository.updateUserProfile(currentUser.getId(), userName, selfIntroduction, filePath);
+        // 表示名が変更されるため認証情報を破棄する（コミット前に変更前の表示名で再度読み込まれないようコミット後に破棄する）
+        String subject = currentUser.getSubject();
+        AfterCommit.run(() -> authenticatedUserResolver.evict(subject));
 
         User updatedUser = userRepository.findById(currentUser.getId()).orElse(currentUser);
 
         // ユーザ、アーティストリレーション情報のリセット(リレーションの全削除)
         userArtistRepository.deleteAllByUserId(currentUser.getId());
 
+        List<Artist> favoriteArtists = new ArrayList<>();
         if (artistList != null && !artistList.isEmpty()) {
             // アーティスト情報、ユーザ、アーティストリレーション情報の登録
             for (Artist artist : artistList) {
                 Artist registered = artistService.saveArtist(artist);
+                favoriteArtists.add(registered);
 
                 UserArtist userArtist = UserArtist.builder()
                         .id(new UserArtistId())
@@ -243,6 +310,9 @@ public class UserService {
         }
         entityManager.flush();
         entityManager.refresh(updatedUser);
+        userSuggestIndex.indexUser(updatedUser, favoriteArtists);
+        userRecommendationService.refreshUser(updatedUser.getId(),
+                favoriteArtists.stream().map(Artist::getId).toList());
         return updatedUser;
 
     }
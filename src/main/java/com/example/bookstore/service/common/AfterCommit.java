@@ -0,0 +1,33 @@
+package com.example.bookstore.service.common;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * トランザクションのコミット後に処理を実行するユーティリティです。
+ * メモリ上のインデックスやキャッシュに、ロールバックされた更新を反映しないために使用します。
+ */
+public final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    /**
+     * トランザクション内で呼び出された場合はコミット後に、それ以外の場合は直ちに処理を実行します。
+     * コミット後の処理からDBを更新する場合は、新しいトランザクション（PROPAGATION_REQUIRES_NEW）で実行してください。
+     *
+     * @param action 実行する処理
+     */
+    public static void run(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
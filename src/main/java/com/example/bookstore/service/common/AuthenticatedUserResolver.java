@@ -0,0 +1,83 @@
+package com.example.bookstore.service.common;
+
+import com.example.bookstore.config.AuthenticatedUser;
+import com.example.bookstore.entity.User;
+import com.example.bookstore.repository.jpa.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Idpのsubjectから認証済みユーザ情報（ユーザID、表示名、利用可否）を解決するサービスクラスです。
+ * 解決結果はサイズ上限付きのキャッシュに保持し、ユーザ登録・更新・削除時に破棄します。
+ */
+@Service
+public class AuthenticatedUserResolver {
+
+    private final UserRepository userRepository;
+
+    /**
+     * subjectをキーとする認証済みユーザ情報のキャッシュ
+     */
+    private final Cache<String, AuthenticatedUser> principalCache;
+
+    public AuthenticatedUserResolver(UserRepository userRepository,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${auth.principal-cache.maximum-size:10000}") long maximumSize,
+                                     @Value("${auth.principal-cache.expire-after-write:PT30M}") Duration expireAfterWrite) {
+        this.userRepository = userRepository;
+        this.principalCache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, principalCache, "authenticatedUser");
+    }
+
+    /**
+     * subjectに紐づく認証済みユーザ情報を取得します。
+     * 未登録ユーザの場合はユーザIDがnullの情報を返します。
+     *
+     * @param subject Idpにより提供される一意なキー
+     * @return 認証済みユーザ情報
+     */
+    public AuthenticatedUser resolve(String subject) {
+        return principalCache.get(subject, this::load);
+    }
+
+    /**
+     * 指定されたsubjectのキャッシュを破棄します。
+     *
+     * @param subject Idpにより提供される一意なキー
+     */
+    public void evict(String subject) {
+        if (subject != null) {
+            principalCache.invalidate(subject);
+        }
+    }
+
+    /**
+     * 指定されたユーザIDのキャッシュを破棄します。
+     *
+     * @param userId ユーザID
+     */
+    public void evictByUserId(Long userId) {
+        principalCache.asMap().values().removeIf(principal -> Objects.equals(principal.getUserId(), userId));
+    }
+
+    private AuthenticatedUser load(String subject) {
+        return userRepository.findBySubject(subject)
+                .map(user -> toPrincipal(subject, user))
+                .orElseGet(() -> new AuthenticatedUser(subject, null, null, false));
+    }
+
+    private static AuthenticatedUser toPrincipal(String subject, User user) {
+        return new AuthenticatedUser(subject, user.getId(), user.getDisplayName(), Boolean.TRUE.equals(user.getEnabled()));
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.bookstore.service.common;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * ブログ本文（Tiptapのリッチテキスト（JSON））からプレーンテキストと抜粋を取り出すクラスです。
+ * ブログの登録・更新時に1度だけ実行し、結果をblogsテーブルに保存します。
+ */
+public final class BlogContentExtractor {
+
+    /**
+     * 抜粋の最大文字数
+     */
+    public static final int EXCERPT_LENGTH = 120;
+
+    /**
+     * 後ろで改行するノードの種類
+     */
+    private static final Set<String> BLOCK_TYPES = Set.of(
+            "paragraph", "heading", "blockquote", "codeBlock", "listItem", "hardBreak", "horizontalRule");
+
+    private BlogContentExtractor() {
+    }
+
+    /**
+     * 本文からテキストノードの文字列のみを取り出します。
+     * 段落等のブロックの区切りは改行とし、ノードの種類や属性（画像のURL等）は含めません。
+     *
+     * @param content 本文
+     * @return プレーンテキスト（本文がnullの場合は空文字）
+     */
+    public static String extractPlainText(Map<String, Object> content) {
+        StringBuilder text = new StringBuilder();
+        appendText(content, text);
+        return text.toString().strip();
+    }
+
+    /**
+     * プレーンテキストから一覧表示用の抜粋を作成します。
+     * 改行・連続する空白は1つの空白にまとめ、最大文字数を超える場合は末尾を省略します。
+     *
+     * @param plainText プレーンテキスト
+     * @return 抜粋
+     */
+    public static String excerpt(String plainText) {
+        if (plainText == null) {
+            return "";
+        }
+        String collapsed = plainText.replaceAll("\\s+", " ").strip();
+        if (collapsed.codePointCount(0, collapsed.length()) <= EXCERPT_LENGTH) {
+            return collapsed;
+        }
+        return collapsed.substring(0, collapsed.offsetByCodePoints(0, EXCERPT_LENGTH - 1)) + "…";
+    }
+
+    private static void appendText(Object node, StringBuilder text) {
+        if (!(node instanceof Map<?, ?> map)) {
+            return;
+        }
+        if (map.get("text") instanceof String value) {
+            text.append(value);
+        }
+        if (map.get("content") instanceof List<?> children) {
+            for (Object child : children) {
+                appendText(child, text);
+            }
+        }
+        if (map.get("type") instanceof String type && BLOCK_TYPES.contains(type)) {
+            text.append('\n');
+        }
+    }
+}
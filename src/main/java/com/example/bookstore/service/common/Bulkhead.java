@@ -0,0 +1,63 @@
+package com.example.bookstore.service.common;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 外部API毎の同時呼び出し数を制限するバルクヘッドです。
+ * 外部APIが遅延した場合でも、待ち状態になるリクエスト処理スレッドの数を上限までに抑えます。
+ */
+public class Bulkhead {
+
+    private final Semaphore permits;
+
+    /**
+     * 空きを待つ最大時間
+     */
+    private final long maxWaitNanos;
+
+    private final Counter rejectedCounter;
+
+    public Bulkhead(String name, MeterRegistry meterRegistry, int maxConcurrentCalls, Duration maxWait) {
+        this.permits = new Semaphore(maxConcurrentCalls);
+        this.maxWaitNanos = maxWait.toNanos();
+        this.rejectedCounter = Counter.builder("resilience.bulkhead.rejected")
+                .description("Calls rejected because the bulkhead was full")
+                .tag("name", name)
+                .register(meterRegistry);
+        Gauge.builder("resilience.bulkhead.available", permits, Semaphore::availablePermits)
+                .description("Available concurrent call permits")
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 呼び出し枠を取得します。
+     * 取得できた場合、呼び出し後にreleaseを必ず呼び出す必要があります。
+     *
+     * @return 取得できた場合true
+     */
+    public boolean tryAcquire() {
+        try {
+            if (permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        rejectedCounter.increment();
+        return false;
+    }
+
+    /**
+     * 呼び出し枠を返却します。
+     */
+    public void release() {
+        permits.release();
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.bookstore.service.common;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+
+/**
+ * 外部API呼び出し用のサーキットブレーカーです。
+ * 連続した失敗回数がしきい値に達すると一定時間呼び出しを遮断（OPEN）し、
+ * 遮断時間の経過後は試行呼び出し（HALF_OPEN）の結果によって復旧（CLOSED）または再遮断を判断します。
+ */
+public class CircuitBreaker {
+
+    private static final Logger logger = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    /**
+     * サーキットブレーカーの状態
+     */
+    public enum State {
+        /**
+         * 通常状態（呼び出しを許可する）
+         */
+        CLOSED,
+        /**
+         * 遮断状態（呼び出しを許可しない）
+         */
+        OPEN,
+        /**
+         * 試行状態（限られた数の呼び出しのみ許可する）
+         */
+        HALF_OPEN
+    }
+
+    private final String name;
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 遮断する連続失敗回数
+     */
+    private final int failureThreshold;
+
+    /**
+     * 遮断時間
+     */
+    private final long openDurationNanos;
+
+    /**
+     * 試行状態で同時に許可する呼び出し数
+     */
+    private final int halfOpenMaxCalls;
+
+    private State state = State.CLOSED;
+
+    private int consecutiveFailures;
+
+    private long openedAtNanos;
+
+    private int halfOpenCalls;
+
+    public CircuitBreaker(String name, MeterRegistry meterRegistry, int failureThreshold, Duration openDuration,
+                          int halfOpenMaxCalls) {
+        this.name = name;
+        this.meterRegistry = meterRegistry;
+        this.failureThreshold = failureThreshold;
+        this.openDurationNanos = openDuration.toNanos();
+        this.halfOpenMaxCalls = halfOpenMaxCalls;
+        Gauge.builder("resilience.circuitbreaker.state", this, circuitBreaker -> circuitBreaker.getState().ordinal())
+                .description("Circuit breaker state (0=closed, 1=open, 2=half-open)")
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 呼び出しを許可するかを判定します。
+     * 許可された場合、呼び出し後にonSuccess、onFailure、releaseのいずれかを必ず呼び出す必要があります。
+     *
+     * @return 許可する場合true
+     */
+    public synchronized boolean tryAcquirePermission() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (System.nanoTime() - openedAtNanos < openDurationNanos) {
+                    return false;
+                }
+                transitionTo(State.HALF_OPEN);
+                halfOpenCalls = 1;
+                return true;
+            default:
+                if (halfOpenCalls >= halfOpenMaxCalls) {
+                    return false;
+                }
+                halfOpenCalls++;
+                return true;
+        }
+    }
+
+    /**
+     * 呼び出しが成功したことを記録します。
+     */
+    public synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        if (state == State.HALF_OPEN) {
+            transitionTo(State.CLOSED);
+        }
+    }
+
+    /**
+     * 呼び出しが失敗したことを記録します。
+     */
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+        } else if (state == State.CLOSED && ++consecutiveFailures >= failureThreshold) {
+            open();
+        }
+    }
+
+    /**
+     * 成否を判定せずに許可を返却します（呼び出し自体を行わなかった場合）。
+     */
+    public synchronized void release() {
+        if (state == State.HALF_OPEN && halfOpenCalls > 0) {
+            halfOpenCalls--;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    private void open() {
+        openedAtNanos = System.nanoTime();
+        consecutiveFailures = 0;
+        halfOpenCalls = 0;
+        transitionTo(State.OPEN);
+    }
+
+    private void transitionTo(State next) {
+        if (state == next) {
+            return;
+        }
+        logger.warn("Circuit breaker '{}' changed from {} to {}", name, state, next);
+        Counter.builder("resilience.circuitbreaker.transitions")
+                .description("Circuit breaker state transitions")
+                .tags("name", name, "from", state.name(), "to", next.name())
+                .register(meterRegistry)
+                .increment();
+        state = next;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.bookstore.service.common;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
+import org.springframework.security.oauth2.jwt.*;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * GoogleのIDトークン（JWT）をローカルで検証するサービスクラスです。
+ * 署名、発行者（iss）、対象者（aud）、有効期限をGoogleへ問い合わせることなく検証します。
+ */
+@Service
+public class GoogleIdTokenVerifier {
+
+    /**
+     * GoogleのIDトークンの発行者として許容する値
+     */
+    private static final Set<String> GOOGLE_ISSUERS = Set.of("https://accounts.google.com", "accounts.google.com");
+
+    private final JwtDecoder jwtDecoder;
+
+    @Autowired
+    public GoogleIdTokenVerifier(RestTemplate restTemplate,
+                                 @Value("${google.jwk-set-uri:https://www.googleapis.com/oauth2/v3/certs}") String jwkSetUri,
+                                 @Value("${spring.security.oauth2.client.registration.google.clientId}") String clientId) {
+        this(new GoogleJwkSetSource(restTemplate, jwkSetUri), clientId);
+    }
+
+    GoogleIdTokenVerifier(JWKSource<SecurityContext> jwkSource, String clientId) {
+        DefaultJWTProcessor<SecurityContext> jwtProcessor = new DefaultJWTProcessor<>();
+        jwtProcessor.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.RS256, jwkSource));
+        // クレームの検証はSpring Securityのバリデータで行う
+        jwtProcessor.setJWTClaimsSetVerifier((claims, context) -> {
+        });
+
+        NimbusJwtDecoder decoder = new NimbusJwtDecoder(jwtProcessor);
+        decoder.setJwtValidator(new DelegatingOAuth2TokenValidator<>(
+                new JwtTimestampValidator(),
+                new JwtClaimValidator<Object>(JwtClaimNames.ISS,
+                        iss -> iss != null && GOOGLE_ISSUERS.contains(iss.toString())),
+                new JwtClaimValidator<Object>(JwtClaimNames.AUD,
+                        aud -> aud instanceof Collection<?> audiences ? audiences.contains(clientId) : clientId.equals(aud))));
+        this.jwtDecoder = decoder;
+    }
+
+    /**
+     * IDトークンを検証し、GoogleのユーザID（sub）を返します。
+     *
+     * @param idToken Google IDトークン
+     * @return GoogleのユーザID（sub） or null（無効なトークンの場合）
+     */
+    public String verifyToken(String idToken) {
+        try {
+            return jwtDecoder.decode(idToken).getSubject();
+        } catch (JwtException e) {
+            // 署名不正、期限切れ、発行者・対象者の不一致、公開鍵の取得失敗
+            return null;
+        }
+    }
+
+    /**
+     * 文字列がJWT形式（ヘッダ.ペイロード.署名）であるかを判定します。
+     * Googleのアクセストークンは不透明な文字列のため、この判定でIDトークンと区別します。
+     *
+     * @param token トークン
+     * @return JWT形式の場合true
+     */
+    public static boolean isJwt(String token) {
+        return token.startsWith("eyJ") && token.chars().filter(c -> c == '.').count() == 2;
+    }
+}
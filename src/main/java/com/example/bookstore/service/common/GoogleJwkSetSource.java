@@ -0,0 +1,136 @@
+package com.example.bookstore.service.common;
+
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Googleの公開鍵セット（JWKS）を取得・キャッシュするJWKSource実装です。
+ * 公開鍵はレスポンスのCache-Control（max-age）に従ってキャッシュされ、期限切れの場合のみ再取得します。
+ */
+public class GoogleJwkSetSource implements JWKSource<SecurityContext> {
+
+    private static final Logger logger = LoggerFactory.getLogger(GoogleJwkSetSource.class);
+
+    /**
+     * Cache-Controlにmax-ageが含まれない場合のキャッシュ期間
+     */
+    private static final Duration DEFAULT_MAX_AGE = Duration.ofHours(1);
+
+    /**
+     * 期限前の再取得（未知のkid受信時）および取得失敗後の再試行の最短間隔
+     */
+    private static final Duration MIN_REFRESH_INTERVAL = Duration.ofSeconds(30);
+
+    private static final Pattern MAX_AGE_PATTERN = Pattern.compile("max-age=(\\d+)");
+
+    private final RestTemplate restTemplate;
+
+    private final String jwkSetUri;
+
+    private final Object refreshLock = new Object();
+
+    private volatile CachedJwkSet cached;
+
+    public GoogleJwkSetSource(RestTemplate restTemplate, String jwkSetUri) {
+        this.restTemplate = restTemplate;
+        this.jwkSetUri = jwkSetUri;
+    }
+
+    @Override
+    public List<JWK> get(JWKSelector jwkSelector, SecurityContext context) throws KeySourceException {
+        CachedJwkSet current = cached;
+        if (current == null || current.isExpired()) {
+            current = refresh(current);
+        }
+        List<JWK> matches = jwkSelector.select(current.jwkSet());
+        if (matches.isEmpty() && current.isRefreshable()) {
+            // 鍵のローテーション直後は未知のkidが届くため、期限前でも一度だけ再取得する
+            current = refresh(current);
+            matches = jwkSelector.select(current.jwkSet());
+        }
+        return matches;
+    }
+
+    /**
+     * 公開鍵セットを再取得します。
+     * 同時に複数のスレッドが呼び出した場合でも、Googleへの問い合わせは1回に抑えます。
+     *
+     * @param stale 呼び出し元が参照していたキャッシュ
+     * @return 最新のキャッシュ
+     * @throws KeySourceException 公開鍵セットが取得できず、利用可能なキャッシュも存在しない場合
+     */
+    private CachedJwkSet refresh(CachedJwkSet stale) throws KeySourceException {
+        synchronized (refreshLock) {
+            if (cached != stale) {
+                // 他のスレッドが再取得済み
+                return cached;
+            }
+            Instant now = Instant.now();
+            try {
+                ResponseEntity<String> response = restTemplate.getForEntity(jwkSetUri, String.class);
+                JWKSet jwkSet = JWKSet.parse(response.getBody());
+                Duration maxAge = parseMaxAge(response.getHeaders().getCacheControl());
+                cached = new CachedJwkSet(jwkSet, now, now.plus(maxAge));
+                return cached;
+            } catch (RestClientException | ParseException e) {
+                if (stale == null) {
+                    throw new KeySourceException("Failed to fetch JWK set from " + jwkSetUri, e);
+                }
+                // 取得に失敗した場合は既存の鍵を使い続け、しばらくしてから再試行する
+                logger.warn("Failed to refresh JWK set from {}, keeping cached keys", jwkSetUri, e);
+                cached = new CachedJwkSet(stale.jwkSet(), now, now.plus(MIN_REFRESH_INTERVAL));
+                return cached;
+            }
+        }
+    }
+
+    /**
+     * Cache-Controlヘッダからmax-ageを取得します。
+     *
+     * @param cacheControl Cache-Controlヘッダの値
+     * @return キャッシュ期間
+     */
+    static Duration parseMaxAge(String cacheControl) {
+        if (cacheControl != null) {
+            Matcher matcher = MAX_AGE_PATTERN.matcher(cacheControl);
+            if (matcher.find()) {
+                return Duration.ofSeconds(Long.parseLong(matcher.group(1)));
+            }
+        }
+        return DEFAULT_MAX_AGE;
+    }
+
+    /**
+     * キャッシュされた公開鍵セット
+     *
+     * @param jwkSet    公開鍵セット
+     * @param fetchedAt 取得日時
+     * @param expiresAt キャッシュの有効期限
+     */
+    private record CachedJwkSet(JWKSet jwkSet, Instant fetchedAt, Instant expiresAt) {
+
+        boolean isExpired() {
+            return Instant.now().isAfter(expiresAt);
+        }
+
+        boolean isRefreshable() {
+            return Instant.now().isAfter(fetchedAt.plus(MIN_REFRESH_INTERVAL));
+        }
+    }
+}
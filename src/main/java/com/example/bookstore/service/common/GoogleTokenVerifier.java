@@ -1,44 +1,372 @@
 package com.example.bookstore.service.common;
 
+import com.example.bookstore.Exception.UpstreamUnavailableException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
 import java.util.Map;
 
 @Service
 public class GoogleTokenVerifier {
 
-    private static final String GOOGLE_TOKEN_URL = "https://oauth2.googleapis.com/tokeninfo?access_token=";
+    private static final Logger logger = LoggerFactory.getLogger(GoogleTokenVerifier.class);
+
+    /**
+     * IDトークン検証サービス
+     */
+    private final GoogleIdTokenVerifier idTokenVerifier;
+
+    /**
+     * 外部API呼び出し用RestTemplate
+     */
+    private final RestTemplate restTemplate;
+
+    /**
+     * tokeninfoエンドポイント呼び出し用のサーキットブレーカー・バルクヘッド
+     */
+    private final ResilientUpstream tokenInfoUpstream;
+
+    /**
+     * tokeninfoエンドポイントのURL
+     */
+    private final String tokenInfoUri;
+
+    /**
+     * トークンの検証方式
+     */
+    private final VerificationMode verificationMode;
+
+    /**
+     * 検証済みトークンのキャッシュ（キーはトークンのSHA-256ハッシュ）
+     */
+    private final Cache<String, VerifiedToken> verifiedTokenCache;
+
+    /**
+     * Googleに無効と判定されたトークンのキャッシュ（キーはトークンのSHA-256ハッシュ）
+     * 無効なトークンでの再試行がGoogleへの問い合わせを増幅しないよう、短時間だけ保持する
+     */
+    private final Cache<String, Boolean> rejectedTokenCache;
+
+    /**
+     * 同一トークンに対する同時検証を1回の問い合わせにまとめる
+     */
+    private final SingleFlight<String, VerificationResult> inFlightVerifications;
+
+    /**
+     * 検証結果を再検証なしで使用する期間
+     * この期間を過ぎたら再度Googleに問い合わせ、問い合わせできない場合のみトークンの有効期限まで検証結果を使用する
+     */
+    private final Duration maxTtl;
+
+    /**
+     * 再検証できずに期限切れの検証結果を使用した回数
+     */
+    private final Counter staleFallbackCounter;
+
+    public GoogleTokenVerifier(GoogleIdTokenVerifier idTokenVerifier,
+                               RestTemplate restTemplate,
+                               @Qualifier("googleTokenInfoUpstream") ResilientUpstream tokenInfoUpstream,
+                               MeterRegistry meterRegistry,
+                               @Value("${google.tokeninfo-uri:https://oauth2.googleapis.com/tokeninfo}") String tokenInfoUri,
+                               @Value("${google.token.verification-mode:auto}") VerificationMode verificationMode,
+                               @Value("${google.token-cache.maximum-size:10000}") long maximumSize,
+                               @Value("${google.token-cache.max-ttl:PT5M}") Duration maxTtl,
+                               @Value("${google.token-cache.negative-ttl:PT30S}") Duration negativeTtl) {
+        this.idTokenVerifier = idTokenVerifier;
+        this.restTemplate = restTemplate;
+        this.tokenInfoUpstream = tokenInfoUpstream;
+        this.tokenInfoUri = tokenInfoUri;
+        this.verificationMode = verificationMode;
+        this.maxTtl = maxTtl;
+        this.verifiedTokenCache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+        // ヒット・ミス・退避件数をメトリクスとして公開する
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokenCache, "googleTokenVerification");
+        this.rejectedTokenCache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(negativeTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, rejectedTokenCache, "googleTokenRejection");
+        this.inFlightVerifications = new SingleFlight<>(meterRegistry, "googleTokenVerification");
+        this.staleFallbackCounter = Counter.builder("google.token.verification.stale")
+                .description("Access token verifications served from a stale cache entry because tokeninfo was unavailable")
+                .register(meterRegistry);
+    }
 
     /**
      * トークンを検証し、GoogleのユーザID（sub）を返すメソッド
+     * IDトークン（JWT）はローカルで署名を検証し、アクセストークンはtokeninfoエンドポイントで検証します。
      *
-     * @param token Google OAuth アクセストークン
+     * @param token Google OAuth アクセストークン or IDトークン
      * @return GoogleのユーザID（sub） or null（無効なトークンの場合）
      */
     public String verifyToken(String token) {
-        RestTemplate restTemplate = new RestTemplate();
+        return switch (verificationMode) {
+            case ID_TOKEN -> idTokenVerifier.verifyToken(token);
+            case ACCESS_TOKEN -> verifyAccessToken(token);
+            case AUTO -> GoogleIdTokenVerifier.isJwt(token)
+                    ? idTokenVerifier.verifyToken(token)
+                    : verifyAccessToken(token);
+        };
+    }
+
+    /**
+     * アクセストークンを検証し、GoogleのユーザID（sub）を返します。
+     * 検証済みのトークンは有効期限まで、無効と判定されたトークンは短時間キャッシュされ、キャッシュミスの場合のみGoogleに問い合わせます。
+     * 同じトークンの検証が同時に要求された場合、Googleへの問い合わせは1回にまとめます。
+     * Googleに問い合わせできない場合（サーキットブレーカーが開いている場合等）は、有効期限内であれば以前の検証結果を使用します。
+     *
+     * @param token Google OAuth アクセストークン
+     * @return GoogleのユーザID（sub） or null（無効なトークンの場合）
+     */
+    private String verifyAccessToken(String token) {
+        String cacheKey = hash(token);
+        VerifiedToken cached = verifiedTokenCache.getIfPresent(cacheKey);
+        if (cached != null && cached.isFresh(maxTtl)) {
+            return cached.subject();
+        }
+        if (cached == null && rejectedTokenCache.getIfPresent(cacheKey) != null) {
+            return null;
+        }
+        VerificationResult result = inFlightVerifications.execute(cacheKey, () -> verifyAndCache(cacheKey, token));
+        if (result.status() == VerificationStatus.ERROR && cached != null) {
+            staleFallbackCounter.increment();
+            return cached.subject();
+        }
+        return result.subject();
+    }
+
+    /**
+     * Googleに問い合わせてトークンを検証し、結果をキャッシュします。
+     *
+     * @param cacheKey キャッシュキー
+     * @param token    Google OAuth アクセストークン
+     * @return 検証結果
+     */
+    private VerificationResult verifyAndCache(String cacheKey, String token) {
+        // 直前に完了した検証の結果が既にキャッシュされている場合は問い合わせない
+        VerifiedToken cached = verifiedTokenCache.getIfPresent(cacheKey);
+        if (cached != null && cached.isFresh(maxTtl)) {
+            return VerificationResult.valid(cached);
+        }
+
+        VerificationResult result = fetchTokenInfo(token);
+        switch (result.status()) {
+            case VALID -> {
+                if (result.token().expiresAt() != null) {
+                    verifiedTokenCache.put(cacheKey, result.token());
+                }
+            }
+            // Googleが無効と判定した場合のみ記録し、通信エラー等の一時的な失敗は記録しない
+            case INVALID -> {
+                verifiedTokenCache.invalidate(cacheKey);
+                rejectedTokenCache.put(cacheKey, Boolean.TRUE);
+            }
+            case ERROR -> {
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Googleのtokeninfoエンドポイントに問い合わせてトークンを検証します。
+     * 呼び出しはサーキットブレーカーとバルクヘッドを経由して行います。
+     *
+     * @param token Google OAuth アクセストークン
+     * @return 検証結果
+     */
+    private VerificationResult fetchTokenInfo(String token) {
+        try {
+            return tokenInfoUpstream.call(() -> callTokenInfo(token));
+        } catch (UpstreamUnavailableException e) {
+            logger.debug("Skipped token verification: {}", e.getMessage());
+            return VerificationResult.ERROR;
+        } catch (RestClientException e) {
+            logger.warn("Failed to verify access token with tokeninfo: {}", e.getMessage());
+            return VerificationResult.ERROR;
+        }
+    }
+
+    /**
+     * tokeninfoエンドポイントを呼び出します。
+     * トークンが無効であるとの応答は正常な結果として返し、通信エラーやサーバエラー、レート制限は例外として送出します。
+     *
+     * @param token Google OAuth アクセストークン
+     * @return 検証結果
+     */
+    private VerificationResult callTokenInfo(String token) {
         try {
-            String url = GOOGLE_TOKEN_URL + token;
+            String url = tokenInfoUri + "?access_token=" + token;
 
             // Google APIからレスポンスを取得
             Map<String, Object> response = restTemplate.getForObject(url, Map.class);
 
             // "sub"プロパティ（GoogleのユーザID）を返す
             if (response != null && response.containsKey("sub")) {
-                return response.get("sub").toString();
+                return VerificationResult.valid(new VerifiedToken(response.get("sub").toString(), resolveExpiresAt(response), Instant.now()));
             } else {
-                return null;  // "sub"が含まれない場合
+                return VerificationResult.INVALID;  // "sub"が含まれない場合
             }
-
         } catch (HttpClientErrorException e) {
+            if (e instanceof HttpClientErrorException.TooManyRequests) {
+                // レート制限はトークンの有効性とは無関係
+                throw e;
+            }
             // トークンが無効な場合、例外が発生
+            return VerificationResult.INVALID;
+        }
+    }
+
+    /**
+     * tokeninfoのレスポンスからトークンの有効期限を求めます。
+     * "exp"（エポック秒）を優先し、存在しない場合は"expires_in"（残り秒数）を使用します。
+     *
+     * @param response tokeninfoのレスポンス
+     * @return 有効期限 or null（レスポンスに含まれない場合）
+     */
+    private Instant resolveExpiresAt(Map<String, Object> response) {
+        try {
+            if (response.get("exp") != null) {
+                return Instant.ofEpochSecond(Long.parseLong(response.get("exp").toString()));
+            }
+            if (response.get("expires_in") != null) {
+                return Instant.now().plusSeconds(Long.parseLong(response.get("expires_in").toString()));
+            }
+        } catch (NumberFormatException e) {
             return null;
-        } catch (Exception e) {
-            // その他の例外発生時にもnullを返す
-            e.printStackTrace();
-            return null;
+        }
+        return null;
+    }
+
+    /**
+     * トークンをキャッシュキーとして使用するためにSHA-256でハッシュ化します。
+     * トークン文字列そのものはメモリ上に保持しません。
+     *
+     * @param token トークン
+     * @return ハッシュ値（16進文字列）
+     */
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * トークンの検証方式
+     */
+    public enum VerificationMode {
+        /**
+         * アクセストークンとしてtokeninfoエンドポイントで検証する
+         */
+        ACCESS_TOKEN,
+        /**
+         * IDトークンとしてローカルで署名を検証する
+         */
+        ID_TOKEN,
+        /**
+         * トークンの形式（JWTかどうか）で検証方式を切り替える
+         */
+        AUTO
+    }
+
+    /**
+     * tokeninfoによる検証結果の種別
+     */
+    private enum VerificationStatus {
+        /**
+         * 有効なトークン
+         */
+        VALID,
+        /**
+         * Googleにより無効と判定されたトークン
+         */
+        INVALID,
+        /**
+         * 通信エラー等により判定できなかった
+         */
+        ERROR
+    }
+
+    /**
+     * tokeninfoによる検証結果
+     *
+     * @param status 検証結果の種別
+     * @param token  検証済みトークン情報（有効なトークンの場合のみ）
+     */
+    private record VerificationResult(VerificationStatus status, VerifiedToken token) {
+
+        static final VerificationResult INVALID = new VerificationResult(VerificationStatus.INVALID, null);
+
+        static final VerificationResult ERROR = new VerificationResult(VerificationStatus.ERROR, null);
+
+        static VerificationResult valid(VerifiedToken token) {
+            return new VerificationResult(VerificationStatus.VALID, token);
+        }
+
+        String subject() {
+            return token != null ? token.subject() : null;
+        }
+    }
+
+    /**
+     * 検証済みトークン情報
+     *
+     * @param subject    GoogleのユーザID（sub）
+     * @param expiresAt  トークンの有効期限
+     * @param verifiedAt Googleに問い合わせて検証した日時
+     */
+    private record VerifiedToken(String subject, Instant expiresAt, Instant verifiedAt) {
+
+        boolean isFresh(Duration maxTtl) {
+            return Instant.now().isBefore(verifiedAt.plus(maxTtl));
+        }
+    }
+
+    /**
+     * キャッシュエントリの有効期間をトークン毎の有効期限に合わせるためのExpiry実装
+     * maxTtlを過ぎたエントリも、Googleに問い合わせできない場合に使用するためトークンの有効期限まで保持します。
+     */
+    private static class TokenExpiry implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            Duration remaining = Duration.between(Instant.now(), value.expiresAt());
+            return remaining.isNegative() ? 0 : remaining.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
         }
     }
 }
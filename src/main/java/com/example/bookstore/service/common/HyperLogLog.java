@@ -0,0 +1,168 @@
+package com.example.bookstore.service.common;
+
+import java.nio.ByteBuffer;
+
+/**
+ * 異なり数（ユニーク数）を推定するHyperLogLogスケッチです。
+ * 2^precision個の1バイトのレジスタのみを保持するため、要素数に関わらずメモリ使用量は一定です（precision=12で4KB、標準誤差約1.6%）。
+ * スケッチ同士はレジスタ毎の最大値を取ることでマージでき、時間帯毎のスケッチから日単位・全期間の推定値を求められます。
+ * スレッドセーフではありません。
+ */
+public class HyperLogLog {
+
+    /**
+     * 既定の精度
+     */
+    public static final int DEFAULT_PRECISION = 12;
+
+    /**
+     * シリアライズ形式：全レジスタをそのまま格納
+     */
+    private static final byte DENSE = 0;
+
+    /**
+     * シリアライズ形式：0でないレジスタのみ（インデックス2バイト、値1バイト）を格納
+     */
+    private static final byte SPARSE = 1;
+
+    private final int precision;
+
+    private final byte[] registers;
+
+    public HyperLogLog() {
+        this(DEFAULT_PRECISION);
+    }
+
+    public HyperLogLog(int precision) {
+        if (precision < 4 || precision > 16) {
+            throw new IllegalArgumentException("precision must be between 4 and 16: " + precision);
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    /**
+     * 要素を追加します。
+     *
+     * @param value 要素（ユーザID等）
+     */
+    public void add(long value) {
+        long hash = mix(value);
+        int index = (int) (hash >>> (64 - precision));
+        // 残りのビットの先頭から連続する0の数+1（番兵ビットで上限を64-precision+1に抑える）
+        long remaining = (hash << precision) | (1L << (precision - 1));
+        byte rank = (byte) (Long.numberOfLeadingZeros(remaining) + 1);
+        if (rank > registers[index]) {
+            registers[index] = rank;
+        }
+    }
+
+    /**
+     * 他のスケッチをマージします。
+     *
+     * @param other マージするスケッチ（精度が同じである必要があります）
+     */
+    public void merge(HyperLogLog other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("Cannot merge sketches with different precision");
+        }
+        for (int i = 0; i < registers.length; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+    }
+
+    /**
+     * 異なり数の推定値を取得します。
+     *
+     * @return 推定値
+     */
+    public long estimate() {
+        int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double estimate = alpha(m) * m * m / sum;
+        if (estimate <= 2.5 * m && zeros > 0) {
+            // 要素数が少ない場合は線形カウンティングで補正する
+            estimate = m * Math.log((double) m / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    /**
+     * スケッチをバイト列に変換します。
+     * 0でないレジスタが少ない場合は疎な形式で格納します。
+     *
+     * @return バイト列
+     */
+    public byte[] toBytes() {
+        int nonZero = 0;
+        for (byte register : registers) {
+            if (register != 0) {
+                nonZero++;
+            }
+        }
+        if (nonZero * 3 < registers.length) {
+            ByteBuffer buffer = ByteBuffer.allocate(2 + nonZero * 3);
+            buffer.put((byte) precision).put(SPARSE);
+            for (int i = 0; i < registers.length; i++) {
+                if (registers[i] != 0) {
+                    buffer.putShort((short) i).put(registers[i]);
+                }
+            }
+            return buffer.array();
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(2 + registers.length);
+        buffer.put((byte) precision).put(DENSE).put(registers);
+        return buffer.array();
+    }
+
+    /**
+     * バイト列からスケッチを復元します。
+     *
+     * @param bytes toBytesで変換したバイト列
+     * @return スケッチ
+     */
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        HyperLogLog sketch = new HyperLogLog(buffer.get());
+        byte format = buffer.get();
+        if (format == DENSE) {
+            buffer.get(sketch.registers);
+        } else if (format == SPARSE) {
+            while (buffer.remaining() >= 3) {
+                int index = Short.toUnsignedInt(buffer.getShort());
+                sketch.registers[index] = buffer.get();
+            }
+        } else {
+            throw new IllegalArgumentException("Unknown sketch format: " + format);
+        }
+        return sketch;
+    }
+
+    private static double alpha(int m) {
+        return switch (m) {
+            case 16 -> 0.673;
+            case 32 -> 0.697;
+            case 64 -> 0.709;
+            default -> 0.7213 / (1 + 1.079 / m);
+        };
+    }
+
+    /**
+     * 連番のIDでもビットが偏らないよう64ビットのハッシュ値に変換します（SplitMix64の最終化関数）。
+     */
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
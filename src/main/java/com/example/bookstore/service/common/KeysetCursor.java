@@ -0,0 +1,94 @@
+package com.example.bookstore.service.common;
+
+import com.example.bookstore.Exception.InvalidCursorException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 日時の新しい順（同じ日時の場合はIDの大きい順）の一覧の続きを取得するためのカーソルです。
+ * 前のページの最後の行の日時とIDを保持し、クライアントには不透明な文字列として渡します。
+ *
+ * @param time 日時
+ * @param id   ID
+ */
+public record KeysetCursor(LocalDateTime time, long id) {
+
+    /**
+     * 取得件数を指定しない場合の件数
+     */
+    public static final int DEFAULT_LIMIT = 20;
+
+    /**
+     * 取得件数の最大値
+     */
+    public static final int MAX_LIMIT = 100;
+
+    private static final String SEPARATOR = "\n";
+
+    /**
+     * 取得件数を1件以上、最大値以下に丸めたページ指定を作成します。
+     *
+     * @param limit 取得件数
+     * @return ページ指定
+     */
+    public static Pageable pageOf(int limit) {
+        return PageRequest.ofSize(Math.max(1, Math.min(limit, MAX_LIMIT)));
+    }
+
+    /**
+     * カーソルの日時を取得します（カーソルがnullの場合はnull）。
+     *
+     * @param cursor カーソル
+     * @return 日時
+     */
+    public static LocalDateTime timeOf(KeysetCursor cursor) {
+        return cursor != null ? cursor.time() : null;
+    }
+
+    /**
+     * カーソルのIDを取得します（カーソルがnullの場合はnull）。
+     *
+     * @param cursor カーソル
+     * @return ID
+     */
+    public static Long idOf(KeysetCursor cursor) {
+        return cursor != null ? cursor.id() : null;
+    }
+
+    /**
+     * クライアントに渡す文字列に変換します。
+     *
+     * @return カーソル文字列
+     */
+    public String encode() {
+        String raw = time + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * カーソル文字列を復元します。
+     *
+     * @param encoded カーソル文字列（先頭のページの場合はnullまたは空文字）
+     * @return カーソル（先頭のページの場合はnull）
+     * @throws InvalidCursorException カーソル文字列が不正な場合
+     */
+    public static KeysetCursor decode(String encoded) {
+        if (encoded == null || encoded.isEmpty()) {
+            return null;
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8).split(SEPARATOR);
+            if (parts.length != 2) {
+                throw new InvalidCursorException("Invalid cursor");
+            }
+            return new KeysetCursor(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
+    }
+}
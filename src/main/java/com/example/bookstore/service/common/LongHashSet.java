@@ -0,0 +1,137 @@
+package com.example.bookstore.service.common;
+
+import java.util.Collection;
+
+/**
+ * long値のハッシュセットです（オープンアドレス法）。
+ * 値をボクシングせずにプリミティブ配列で保持するため、ID集合の包含判定をメモリ効率よく行えます。
+ * 要素の追加と判定のみ対応し、削除はできません。スレッドセーフではありません。
+ */
+public final class LongHashSet {
+
+    private static final int MIN_CAPACITY = 8;
+
+    /**
+     * 空きスロットを表す値（0自体はcontainsZeroで保持する）
+     */
+    private static final long EMPTY = 0L;
+
+    private long[] slots;
+
+    private int size;
+
+    private boolean containsZero;
+
+    /**
+     * 指定された要素数を再配置なしで保持できるセットを作成します。
+     *
+     * @param expectedSize 想定する要素数
+     */
+    public LongHashSet(int expectedSize) {
+        slots = new long[capacityFor(expectedSize)];
+    }
+
+    /**
+     * 指定された値を保持するセットを作成します。
+     *
+     * @param values 値
+     * @return セット
+     */
+    public static LongHashSet of(Collection<Long> values) {
+        LongHashSet set = new LongHashSet(values.size());
+        values.forEach(set::add);
+        return set;
+    }
+
+    /**
+     * 値を追加します。
+     *
+     * @param value 値
+     * @return 追加した場合true（既に含まれていた場合false）
+     */
+    public boolean add(long value) {
+        if (value == EMPTY) {
+            boolean added = !containsZero;
+            containsZero = true;
+            return added;
+        }
+        int mask = slots.length - 1;
+        int index = mix(value) & mask;
+        while (slots[index] != EMPTY) {
+            if (slots[index] == value) {
+                return false;
+            }
+            index = (index + 1) & mask;
+        }
+        slots[index] = value;
+        if (++size * 2 > slots.length) {
+            rehash(slots.length * 2);
+        }
+        return true;
+    }
+
+    /**
+     * 値が含まれるかを判定します。
+     *
+     * @param value 値
+     * @return 含まれる場合true
+     */
+    public boolean contains(long value) {
+        if (value == EMPTY) {
+            return containsZero;
+        }
+        int mask = slots.length - 1;
+        int index = mix(value) & mask;
+        while (slots[index] != EMPTY) {
+            if (slots[index] == value) {
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * 要素数を取得します。
+     *
+     * @return 要素数
+     */
+    public int size() {
+        return size + (containsZero ? 1 : 0);
+    }
+
+    private void rehash(int capacity) {
+        long[] old = slots;
+        slots = new long[capacity];
+        int mask = capacity - 1;
+        for (long value : old) {
+            if (value == EMPTY) {
+                continue;
+            }
+            int index = mix(value) & mask;
+            while (slots[index] != EMPTY) {
+                index = (index + 1) & mask;
+            }
+            slots[index] = value;
+        }
+    }
+
+    /**
+     * 負荷率を0.5以下に保つ2のべき乗の容量を求めます。
+     */
+    private static int capacityFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity < expectedSize * 2L) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    /**
+     * 連番のIDが同じスロットに偏らないよう、上位ビットを混ぜます。
+     */
+    private static int mix(long value) {
+        long hash = value * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.bookstore.service.common;
+
+import com.example.bookstore.Exception.UpstreamUnavailableException;
+
+import java.util.function.Supplier;
+
+/**
+ * サーキットブレーカーとバルクヘッドを組み合わせて外部APIを呼び出すクラスです。
+ * 呼び出し処理が例外を送出した場合を失敗として扱うため、トークンの無効等の正常な応答は例外にせず結果として返してください。
+ */
+public class ResilientUpstream {
+
+    private final String name;
+
+    private final CircuitBreaker circuitBreaker;
+
+    private final Bulkhead bulkhead;
+
+    public ResilientUpstream(String name, CircuitBreaker circuitBreaker, Bulkhead bulkhead) {
+        this.name = name;
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead;
+    }
+
+    /**
+     * 外部APIを呼び出します。
+     *
+     * @param call 呼び出し処理
+     * @param <T>  呼び出し結果の型
+     * @return 呼び出し結果
+     * @throws UpstreamUnavailableException サーキットブレーカーが開いている、または同時呼び出し数の上限に達している場合
+     */
+    public <T> T call(Supplier<T> call) {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            throw new UpstreamUnavailableException(name + " is unavailable (circuit open)");
+        }
+        if (!bulkhead.tryAcquire()) {
+            circuitBreaker.release();
+            throw new UpstreamUnavailableException(name + " is unavailable (too many concurrent calls)");
+        }
+        try {
+            T result = call.get();
+            circuitBreaker.onSuccess();
+            return result;
+        } catch (RuntimeException e) {
+            circuitBreaker.onFailure();
+            throw e;
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    public CircuitBreaker.State getState() {
+        return circuitBreaker.getState();
+    }
+}
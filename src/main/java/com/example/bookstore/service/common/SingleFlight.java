@@ -0,0 +1,76 @@
+package com.example.bookstore.service.common;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * 同じキーに対する同時実行中の処理を1回にまとめるクラスです。
+ * 最初の呼び出し元のみが処理を実行し、実行中に同じキーで呼び出した他のスレッドはその結果を共有します。
+ * 処理の完了後はキーを破棄するため、結果は保持しません（結果の保持はキャッシュで行います）。
+ *
+ * @param <K> キーの型
+ * @param <V> 結果の型
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * 他のスレッドの実行結果を共有した回数
+     */
+    private final Counter sharedCounter;
+
+    public SingleFlight(MeterRegistry meterRegistry, String name) {
+        this.sharedCounter = Counter.builder("singleflight.shared")
+                .description("Calls that shared the result of an in-flight call with the same key")
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 指定されたキーの処理を実行します。
+     * 同じキーの処理が実行中の場合は、新たに実行せずその結果を待ちます。
+     *
+     * @param key    キー
+     * @param loader 処理
+     * @return 処理結果
+     */
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            sharedCounter.increment();
+            return await(existing);
+        }
+        try {
+            V value = loader.get();
+            future.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    private V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
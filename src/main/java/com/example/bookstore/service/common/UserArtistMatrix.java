@@ -0,0 +1,183 @@
+package com.example.bookstore.service.common;
+
+import java.util.*;
+
+/**
+ * ユーザ×アーティストの疎行列です（好きなアーティストの有無のみを保持する）。
+ * ユーザ毎の行（アーティスト番号の昇順の配列）と、アーティスト毎の列（好きなユーザIDの集合）を保持し、
+ * 共通のアーティストを持つユーザを列から辿って、重み付きJaccard係数の高いユーザを求めます。
+ * アーティストの重みは好きなユーザの少ないアーティストほど大きくします（ln(1 + ユーザ数 / アーティストを好きなユーザ数)）。
+ * 更新と読み取りを同時に行う場合は呼び出し側で排他してください（読み取りのみであれば複数スレッドから実行できます）。
+ */
+public final class UserArtistMatrix {
+
+    /**
+     * 類似度の高い順（同じ類似度の場合はユーザIDの昇順）
+     */
+    private static final Comparator<Similarity> MOST_SIMILAR = Comparator.comparingDouble(Similarity::score)
+            .reversed()
+            .thenComparingLong(Similarity::userId);
+
+    private static final int[] EMPTY_ROW = new int[0];
+
+    /**
+     * アーティストIDとアーティスト番号の対応
+     */
+    private final Map<String, Integer> artistIndexes = new HashMap<>();
+
+    /**
+     * ユーザ毎の好きなアーティスト番号（昇順）
+     */
+    private final Map<Long, int[]> rows = new HashMap<>();
+
+    /**
+     * アーティスト番号毎の好きなユーザID
+     */
+    private final List<Set<Long>> columns = new ArrayList<>();
+
+    /**
+     * 類似ユーザ
+     *
+     * @param userId ユーザID
+     * @param score  重み付きJaccard係数（0より大きく1以下）
+     */
+    public record Similarity(long userId, double score) {
+    }
+
+    /**
+     * ユーザの好きなアーティストを置き換えます。
+     * アーティストが空の場合はユーザを行列から除きます。
+     *
+     * @param userId    ユーザID
+     * @param artistIds アーティストIDリスト
+     */
+    public void put(long userId, Collection<String> artistIds) {
+        remove(userId);
+        if (artistIds.isEmpty()) {
+            return;
+        }
+        int[] row = artistIds.stream()
+                .mapToInt(this::artistIndex)
+                .distinct()
+                .sorted()
+                .toArray();
+        for (int artist : row) {
+            columns.get(artist).add(userId);
+        }
+        rows.put(userId, row);
+    }
+
+    /**
+     * ユーザを行列から除きます。
+     *
+     * @param userId ユーザID
+     */
+    public void remove(long userId) {
+        int[] row = rows.remove(userId);
+        if (row != null) {
+            for (int artist : row) {
+                columns.get(artist).remove(userId);
+            }
+        }
+    }
+
+    /**
+     * 行列に含まれるユーザIDを取得します。
+     *
+     * @return ユーザID配列
+     */
+    public long[] userIds() {
+        return rows.keySet().stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * 行列に含まれるユーザ数を取得します。
+     *
+     * @return ユーザ数
+     */
+    public int size() {
+        return rows.size();
+    }
+
+    /**
+     * 指定されたユーザと重み付きJaccard係数の高い他のユーザを取得します。
+     * 係数は共通のアーティストの重みの合計を、どちらかが好きなアーティストの重みの合計で割った値です。
+     * 好きなユーザの多いアーティストは、候補として辿るユーザ数を上限までとします（係数の計算には全てのアーティストを含める）。
+     *
+     * @param userId           ユーザID
+     * @param limit            取得件数
+     * @param maxScanPerArtist アーティスト毎に候補として辿るユーザ数の上限
+     * @return 類似ユーザリスト（類似度の高い順）
+     */
+    public List<Similarity> topSimilar(long userId, int limit, int maxScanPerArtist) {
+        int[] row = rows.getOrDefault(userId, EMPTY_ROW);
+        if (row.length == 0 || limit <= 0) {
+            return List.of();
+        }
+        double rowWeight = weightOf(row);
+        LongHashSet visited = new LongHashSet((int) Math.min((long) row.length * maxScanPerArtist, 1 << 16));
+        visited.add(userId);
+        PriorityQueue<Similarity> top = new PriorityQueue<>(limit + 1, MOST_SIMILAR.reversed());
+        for (int artist : row) {
+            int scanned = 0;
+            for (Long candidate : columns.get(artist)) {
+                if (scanned++ == maxScanPerArtist) {
+                    break;
+                }
+                if (!visited.add(candidate)) {
+                    continue;
+                }
+                int[] other = rows.get(candidate);
+                double shared = sharedWeight(row, other);
+                Similarity similarity = new Similarity(candidate, shared / (rowWeight + weightOf(other) - shared));
+                top.add(similarity);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+        }
+        List<Similarity> result = new ArrayList<>(top);
+        result.sort(MOST_SIMILAR);
+        return result;
+    }
+
+    private int artistIndex(String artistId) {
+        return artistIndexes.computeIfAbsent(artistId, id -> {
+            columns.add(new HashSet<>());
+            return columns.size() - 1;
+        });
+    }
+
+    private double weightOf(int[] row) {
+        double weight = 0;
+        for (int artist : row) {
+            weight += weight(artist);
+        }
+        return weight;
+    }
+
+    /**
+     * 昇順のアーティスト番号の配列を併合し、共通のアーティストの重みの合計を求めます。
+     */
+    private double sharedWeight(int[] row, int[] other) {
+        double weight = 0;
+        int i = 0;
+        int j = 0;
+        while (i < row.length && j < other.length) {
+            if (row[i] < other[j]) {
+                i++;
+            } else if (row[i] > other[j]) {
+                j++;
+            } else {
+                weight += weight(row[i]);
+                i++;
+                j++;
+            }
+        }
+        return weight;
+    }
+
+    private double weight(int artist) {
+        return Math.log1p((double) rows.size() / columns.get(artist).size());
+    }
+}
@@ -0,0 +1,486 @@
+package com.example.bookstore.service.search;
+
+import com.example.bookstore.dto.repository.BlogArtistNameRepositoryDto;
+import com.example.bookstore.entity.Blog;
+import com.example.bookstore.entity.code.BlogStatus;
+import com.example.bookstore.repository.jpa.BlogArtistRepository;
+import com.example.bookstore.repository.jpa.BlogRepository;
+import com.example.bookstore.service.common.AfterCommit;
+import com.example.bookstore.service.common.BlogContentExtractor;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * ブログのキーワード検索用の転置インデックスです。
+ * 公開中のブログのタイトル、本文、タグ、関連アーティスト名をTextAnalyzerで語に分割し、語毎にブログIDのポスティングリストを保持します。
+ * 起動時にDBから構築し、以降はBlogServiceによるブログの登録・更新・非公開・削除に合わせて更新します。
+ * 検索はポスティングリストの共通部分を求めるだけのため、ブログ数が増えても全件走査は発生しません。
+ */
+@Service
+public class BlogSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(BlogSearchIndex.class);
+
+    /**
+     * 検索結果の並び順
+     */
+    public enum SortOrder {
+        /**
+         * 新しい順
+         */
+        NEWEST,
+        /**
+         * 古い順
+         */
+        OLDEST,
+        /**
+         * いいねが多い順
+         */
+        MOST_LIKED
+    }
+
+    /**
+     * 検索結果
+     *
+     * @param blogIds    指定された範囲のブログIDリスト（並び順の通り）
+     * @param totalCount キーワードに合致したブログの総数
+     */
+    public record SearchResult(List<Long> blogIds, int totalCount) {
+    }
+
+    /**
+     * カーソルによる検索結果
+     *
+     * @param blogIds    ブログIDリスト（並び順の通り）
+     * @param nextCursor 次のページのカーソル（次のページがない場合はnull）
+     * @param totalCount キーワードに合致したブログの総数
+     */
+    public record CursorResult(List<Long> blogIds, SearchCursor nextCursor, int totalCount) {
+    }
+
+    private final BlogRepository blogRepository;
+
+    private final BlogArtistRepository blogArtistRepository;
+
+    private final BlogSearchResultCache resultCache;
+
+    /**
+     * 起動時の構築で1度に読み込むブログ数
+     */
+    private final int rebuildBatchSize;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * 語毎のポスティングリスト（前方一致で検索できるよう語の順に保持する）
+     */
+    private final NavigableMap<String, PostingList> postings = new TreeMap<>();
+
+    /**
+     * インデックス済みのブログ（ブログID毎）
+     */
+    private final Map<Long, IndexedBlog> blogs = new HashMap<>();
+
+    /**
+     * 構築中に更新されたブログID（構築処理で古い内容に上書きしないよう記録する）
+     */
+    private final Set<Long> updatedDuringRebuild = new HashSet<>();
+
+    private boolean rebuilding;
+
+    private volatile boolean ready;
+
+    public BlogSearchIndex(BlogRepository blogRepository,
+                           BlogArtistRepository blogArtistRepository,
+                           BlogSearchResultCache resultCache,
+                           MeterRegistry meterRegistry,
+                           @Value("${blog.search-index.rebuild-batch-size:500}") int rebuildBatchSize) {
+        this.blogRepository = blogRepository;
+        this.blogArtistRepository = blogArtistRepository;
+        this.resultCache = resultCache;
+        this.rebuildBatchSize = rebuildBatchSize;
+        Gauge.builder("blog.search.index.blogs", blogs, Map::size)
+                .description("Blogs held in the search index")
+                .register(meterRegistry);
+        Gauge.builder("blog.search.index.terms", postings, Map::size)
+                .description("Distinct terms held in the search index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * インデックスの構築が完了しているかを取得します。
+     *
+     * @return 構築済みの場合true
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 公開中のブログからインデックスを構築します。
+     * 構築中の検索はDBで行うため、アプリケーションの起動完了後に構築します。
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long startedAt = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            blogs.clear();
+            updatedDuringRebuild.clear();
+            rebuilding = true;
+            ready = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        long afterId = 0;
+        int loaded = 0;
+        try {
+            while (true) {
+                List<Blog> batch = blogRepository.findPublishedBlogsAfter(afterId, PageRequest.of(0, rebuildBatchSize));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                Map<Long, List<String>> artistNames = blogArtistRepository
+                        .findArtistNamesByBlogIds(batch.stream().map(Blog::getId).toList()).stream()
+                        .collect(Collectors.groupingBy(BlogArtistNameRepositoryDto::getBlogId,
+                                Collectors.mapping(BlogArtistNameRepositoryDto::getArtistName, Collectors.toList())));
+                // 語への分割はロックの外で行う
+                List<IndexedBlog> documents = batch.stream()
+                        .map(blog -> toIndexedBlog(blog, artistNames.getOrDefault(blog.getId(), List.of())))
+                        .toList();
+                lock.writeLock().lock();
+                try {
+                    for (IndexedBlog document : documents) {
+                        if (!updatedDuringRebuild.contains(document.id)) {
+                            put(document);
+                        }
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                loaded += batch.size();
+                afterId = batch.get(batch.size() - 1).getId();
+            }
+        } finally {
+            lock.writeLock().lock();
+            try {
+                rebuilding = false;
+                updatedDuringRebuild.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        ready = true;
+        resultCache.invalidateAll();
+        logger.info("Blog search index built: {} blogs, {} terms in {} ms",
+                loaded, postings.size(), System.currentTimeMillis() - startedAt);
+    }
+
+    /**
+     * キーワードに合致するブログIDを取得します。
+     * キーワードをTextAnalyzerで語に分割し、全ての語を含むブログを合致とします。
+     *
+     * @param keyword 検索キーワード
+     * @param sort    並び順
+     * @param offset  取得開始位置
+     * @param limit   取得件数
+     * @return 検索結果（インデックスの構築が完了していない場合は空）
+     */
+    public Optional<SearchResult> search(String keyword, SortOrder sort, int offset, int limit) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            long[] candidates = findCandidates(keyword);
+            List<Long> blogIds = topK(candidates, comparator(sort), document -> true, offset, limit).stream()
+                    .map(document -> document.id)
+                    .toList();
+            return Optional.of(new SearchResult(blogIds, candidates.length));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * キーワードに合致するブログIDを、カーソルの位置から取得します。
+     * カーソルより後のブログのみを対象に上位を求めるため、後ろのページでも先頭のページと同じコストで取得できます。
+     *
+     * @param keyword 検索キーワード
+     * @param sort    並び順
+     * @param after   前のページのカーソル（先頭のページの場合はnull）
+     * @param limit   取得件数
+     * @return 検索結果（インデックスの構築が完了していない場合は空）
+     */
+    public Optional<CursorResult> searchAfter(String keyword, SortOrder sort, SearchCursor after, int limit) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            long[] candidates = findCandidates(keyword);
+            Comparator<IndexedBlog> comparator = comparator(sort);
+            Predicate<IndexedBlog> filter = after == null ? document -> true : afterCursor(comparator, after);
+            // 次のページの有無を判定するため1件多く取得する
+            List<IndexedBlog> ranked = topK(candidates, comparator, filter, 0, limit + 1);
+            boolean hasMore = ranked.size() > limit;
+            List<IndexedBlog> page = hasMore ? ranked.subList(0, limit) : ranked;
+            SearchCursor nextCursor = null;
+            if (hasMore) {
+                IndexedBlog last = page.get(page.size() - 1);
+                nextCursor = SearchCursor.of(sort, last.createdTime, last.likeCount, last.id);
+            }
+            return Optional.of(new CursorResult(page.stream().map(document -> document.id).toList(),
+                    nextCursor, candidates.length));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * ブログをインデックスに登録します。
+     * 公開中でないブログの場合はインデックスから削除します。
+     * トランザクション内で呼び出された場合は、コミット後に反映します。
+     *
+     * @param blog        ブログ
+     * @param artistNames 関連アーティスト名リスト
+     */
+    public void index(Blog blog, Collection<String> artistNames) {
+        if (blog.getStatus() != BlogStatus.PUBLISHED || Boolean.TRUE.equals(blog.getIsDeleted())) {
+            remove(blog.getId());
+            return;
+        }
+        // エンティティはコミット後に変更される可能性があるため、この時点の内容で語に分割する
+        IndexedBlog document = toIndexedBlog(blog, artistNames);
+        AfterCommit.run(() -> {
+            IndexedBlog previous;
+            lock.writeLock().lock();
+            try {
+                markUpdated(document.id);
+                previous = blogs.get(document.id);
+                put(document);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            // 更新前後のいずれかの内容が合致する検索結果のキャッシュを削除する
+            Set<String> affectedTerms = new HashSet<>(Arrays.asList(document.terms));
+            if (previous != null) {
+                affectedTerms.addAll(Arrays.asList(previous.terms));
+            }
+            resultCache.invalidate(affectedTerms);
+        });
+    }
+
+    /**
+     * ブログをインデックスから削除します。
+     * トランザクション内で呼び出された場合は、コミット後に反映します。
+     *
+     * @param blogId ブログID
+     */
+    public void remove(Long blogId) {
+        AfterCommit.run(() -> {
+            IndexedBlog previous;
+            lock.writeLock().lock();
+            try {
+                markUpdated(blogId);
+                previous = blogs.get(blogId);
+                delete(blogId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            if (previous != null) {
+                resultCache.invalidate(Arrays.asList(previous.terms));
+            }
+        });
+    }
+
+    /**
+     * インデックスが保持するブログのいいね数を増減します。
+     * トランザクション内で呼び出された場合は、コミット後に反映します。
+     *
+     * @param blogId ブログID
+     * @param delta  増減値
+     */
+    public void adjustLikeCount(Long blogId, long delta) {
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                IndexedBlog document = blogs.get(blogId);
+                if (document != null) {
+                    document.likeCount = Math.max(0, document.likeCount + delta);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    private long[] findCandidates(String keyword) {
+        List<TextAnalyzer.QueryTerm> terms = TextAnalyzer.analyzeQuery(keyword);
+        if (terms.isEmpty()) {
+            // キーワードが空の場合は全件を対象とする
+            return blogs.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+        }
+        List<long[]> lists = new ArrayList<>(terms.size());
+        for (TextAnalyzer.QueryTerm term : terms) {
+            long[] ids = term.prefix() ? idsWithPrefix(term.term()) : idsOf(term.term());
+            if (ids.length == 0) {
+                return ids;
+            }
+            lists.add(ids);
+        }
+        // 件数の少ないリストから共通部分を求める
+        lists.sort(Comparator.comparingInt(ids -> ids.length));
+        long[] result = lists.get(0);
+        for (int i = 1; i < lists.size() && result.length > 0; i++) {
+            result = PostingList.intersect(result, lists.get(i));
+        }
+        return result;
+    }
+
+    private long[] idsOf(String term) {
+        PostingList list = postings.get(term);
+        return list != null ? list.toArray() : new long[0];
+    }
+
+    /**
+     * 指定された文字列で始まる全ての語のポスティングリストの和集合を取得します。
+     */
+    private long[] idsWithPrefix(String prefix) {
+        SortedMap<String, PostingList> matches = postings.subMap(prefix, prefix + Character.MAX_VALUE);
+        if (matches.size() == 1) {
+            return matches.values().iterator().next().toArray();
+        }
+        return matches.values().stream()
+                .flatMapToLong(list -> Arrays.stream(list.toArray()))
+                .distinct()
+                .sorted()
+                .toArray();
+    }
+
+    private List<IndexedBlog> topK(long[] candidates, Comparator<IndexedBlog> comparator,
+                                   Predicate<IndexedBlog> filter, int offset, int limit) {
+        int k = offset + limit;
+        if (offset >= candidates.length || limit <= 0) {
+            return List.of();
+        }
+        // 上位k件のみを保持するため、逆順のヒープで最も順位の低い要素を入れ替える
+        PriorityQueue<IndexedBlog> heap = new PriorityQueue<>(Math.min(k, candidates.length) + 1, comparator.reversed());
+        for (long id : candidates) {
+            IndexedBlog document = blogs.get(id);
+            if (!filter.test(document)) {
+                continue;
+            }
+            heap.offer(document);
+            if (heap.size() > k) {
+                heap.poll();
+            }
+        }
+        List<IndexedBlog> ranked = new ArrayList<>(heap);
+        ranked.sort(comparator);
+        return ranked.subList(Math.min(offset, ranked.size()), ranked.size());
+    }
+
+    private static Predicate<IndexedBlog> afterCursor(Comparator<IndexedBlog> comparator, SearchCursor cursor) {
+        IndexedBlog position = cursor.sort() == SortOrder.MOST_LIKED
+                ? new IndexedBlog(cursor.id(), null, cursor.likeCount(), new String[0])
+                : new IndexedBlog(cursor.id(), cursor.createdTime(), 0, new String[0]);
+        return document -> comparator.compare(document, position) > 0;
+    }
+
+    private static Comparator<IndexedBlog> comparator(SortOrder sort) {
+        Comparator<IndexedBlog> newest = Comparator.<IndexedBlog, LocalDateTime>comparing(document -> document.createdTime)
+                .thenComparingLong(document -> document.id)
+                .reversed();
+        return switch (sort) {
+            case OLDEST -> newest.reversed();
+            case MOST_LIKED -> Comparator.<IndexedBlog>comparingLong(document -> document.likeCount)
+                    .thenComparingLong(document -> document.id)
+                    .reversed();
+            default -> newest;
+        };
+    }
+
+    private void put(IndexedBlog document) {
+        delete(document.id);
+        blogs.put(document.id, document);
+        for (String term : document.terms) {
+            postings.computeIfAbsent(term, t -> new PostingList()).add(document.id);
+        }
+    }
+
+    private void delete(Long blogId) {
+        IndexedBlog previous = blogs.remove(blogId);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous.terms) {
+            PostingList list = postings.get(term);
+            if (list != null) {
+                list.remove(blogId);
+                if (list.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private void markUpdated(Long blogId) {
+        if (rebuilding) {
+            updatedDuringRebuild.add(blogId);
+        }
+    }
+
+    private static IndexedBlog toIndexedBlog(Blog blog, Collection<String> artistNames) {
+        StringBuilder text = new StringBuilder();
+        text.append(blog.getTitle()).append('\n');
+        // プレーンテキストが未作成のブログ（作成処理の導入前のデータ）は本文から取り出す
+        text.append(blog.getPlainText() != null
+                ? blog.getPlainText() : BlogContentExtractor.extractPlainText(blog.getContent())).append('\n');
+        if (blog.getTags() != null) {
+            text.append(blog.getTags()).append('\n');
+        }
+        for (String artistName : artistNames) {
+            text.append(artistName).append('\n');
+        }
+        return new IndexedBlog(blog.getId(), blog.getBlogCreatedTime(), blog.getLikeCount(),
+                TextAnalyzer.analyze(text.toString()).toArray(String[]::new));
+    }
+
+    /**
+     * インデックス済みのブログ
+     */
+    private static final class IndexedBlog {
+
+        private final long id;
+
+        private final LocalDateTime createdTime;
+
+        private final String[] terms;
+
+        private long likeCount;
+
+        private IndexedBlog(long id, LocalDateTime createdTime, long likeCount, String[] terms) {
+            this.id = id;
+            this.createdTime = createdTime;
+            this.likeCount = likeCount;
+            this.terms = terms;
+        }
+    }
+}
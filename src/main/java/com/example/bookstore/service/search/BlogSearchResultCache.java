@@ -0,0 +1,126 @@
+package com.example.bookstore.service.search;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * ブログのキーワード検索結果のキャッシュです。
+ * 正規化したキーワード、並び順、ページ位置毎に検索結果のブログIDを保持します。
+ * ブログの登録・更新・非公開・削除時は、そのブログが合致する（合致していた）キーワードのエントリのみを削除します。
+ * いいね数の変化では削除しないため、いいねが多い順の並びは最大で有効期間だけ古くなる場合があります。
+ */
+@Service
+public class BlogSearchResultCache {
+
+    /**
+     * キャッシュする検索結果
+     *
+     * @param blogIds    ブログIDリスト（並び順の通り）
+     * @param nextCursor 次のページのカーソル（ページ番号による検索、または次のページがない場合はnull）
+     * @param hasMore    次のページの有無
+     * @param totalCount キーワードに合致したブログの総数
+     */
+    public record CachedResult(List<Long> blogIds, String nextCursor, boolean hasMore, int totalCount) {
+    }
+
+    /**
+     * キャッシュのキー
+     *
+     * @param terms    検索キーワードを分割した語
+     * @param sort     並び順
+     * @param position ページ位置（ページ番号またはカーソルと取得件数）
+     */
+    private record CacheKey(List<TextAnalyzer.QueryTerm> terms, BlogSearchIndex.SortOrder sort, String position) {
+    }
+
+    private final Cache<CacheKey, CachedResult> cache;
+
+    /**
+     * 削除の実行回数（検索中に削除が行われたかの判定に使用する）
+     */
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private final Counter invalidatedEntries;
+
+    public BlogSearchResultCache(MeterRegistry meterRegistry,
+                                 @Value("${blog.search-cache.maximum-size:10000}") long maximumSize,
+                                 @Value("${blog.search-cache.expire-after-write:PT5M}") Duration expireAfterWrite) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "blogSearchResults");
+        this.invalidatedEntries = Counter.builder("blog.search.cache.invalidated")
+                .description("Search result cache entries invalidated by blog changes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 検索結果を取得します。
+     * キャッシュにない場合は検索を行い、結果をキャッシュします。
+     *
+     * @param keyword  検索キーワード
+     * @param sort     並び順
+     * @param position ページ位置
+     * @param loader   検索処理（キャッシュしない場合はnullを返す）
+     * @return 検索結果（検索処理がnullを返した場合はnull）
+     */
+    public CachedResult get(String keyword, BlogSearchIndex.SortOrder sort, String position,
+                            Supplier<CachedResult> loader) {
+        CacheKey key = new CacheKey(TextAnalyzer.analyzeQuery(keyword), sort, position);
+        long invalidationsBefore = invalidations.get();
+        CachedResult result = cache.get(key, k -> loader.get());
+        if (invalidations.get() != invalidationsBefore) {
+            // 検索中に更新されたブログが反映されていない可能性があるため保持しない
+            cache.invalidate(key);
+        }
+        return result;
+    }
+
+    /**
+     * 指定された語を含むブログが合致するキーワードのエントリを削除します。
+     *
+     * @param documentTerms ブログの語（TextAnalyzer#analyzeの結果）
+     */
+    public void invalidate(Collection<String> documentTerms) {
+        invalidations.incrementAndGet();
+        NavigableSet<String> terms = new TreeSet<>(documentTerms);
+        cache.asMap().keySet().removeIf(key -> {
+            boolean matches = key.terms().stream().allMatch(term -> contains(terms, term));
+            if (matches) {
+                invalidatedEntries.increment();
+            }
+            return matches;
+        });
+    }
+
+    /**
+     * 全てのエントリを削除します。
+     */
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    private static boolean contains(NavigableSet<String> terms, TextAnalyzer.QueryTerm term) {
+        if (!term.prefix()) {
+            return terms.contains(term.term());
+        }
+        String candidate = terms.ceiling(term.term());
+        return candidate != null && candidate.startsWith(term.term());
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.bookstore.service.search;
+
+import com.example.bookstore.Exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * キーワード検索の続きを取得するためのカーソルです。
+ * 前のページの最後のブログの並び順の値とブログIDを保持し、クライアントには不透明な文字列として渡します。
+ *
+ * @param sort 並び順
+ * @param key  並び順の値（新しい順・古い順の場合はブログ作成日時、いいねが多い順の場合はいいね数）
+ * @param id   ブログID
+ */
+public record SearchCursor(BlogSearchIndex.SortOrder sort, String key, long id) {
+
+    private static final String SEPARATOR = "\n";
+
+    /**
+     * ブログの並び順の値からカーソルを作成します。
+     *
+     * @param sort        並び順
+     * @param createdTime ブログ作成日時
+     * @param likeCount   いいね数
+     * @param id          ブログID
+     * @return カーソル
+     */
+    public static SearchCursor of(BlogSearchIndex.SortOrder sort, LocalDateTime createdTime, long likeCount, long id) {
+        return new SearchCursor(sort,
+                sort == BlogSearchIndex.SortOrder.MOST_LIKED ? Long.toString(likeCount) : createdTime.toString(), id);
+    }
+
+    /**
+     * カーソルのブログ作成日時を取得します。
+     *
+     * @return ブログ作成日時
+     */
+    public LocalDateTime createdTime() {
+        return LocalDateTime.parse(key);
+    }
+
+    /**
+     * カーソルのいいね数を取得します。
+     *
+     * @return いいね数
+     */
+    public long likeCount() {
+        return Long.parseLong(key);
+    }
+
+    /**
+     * クライアントに渡す文字列に変換します。
+     *
+     * @return カーソル文字列
+     */
+    public String encode() {
+        String raw = sort.name() + SEPARATOR + key + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * カーソル文字列を復元します。
+     *
+     * @param encoded カーソル文字列
+     * @param sort    要求された並び順
+     * @return カーソル
+     * @throws InvalidCursorException カーソル文字列が不正、または並び順が一致しない場合
+     */
+    public static SearchCursor decode(String encoded, BlogSearchIndex.SortOrder sort) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8).split(SEPARATOR);
+            if (parts.length != 3 || !sort.name().equals(parts[0])) {
+                throw new InvalidCursorException("Invalid search cursor");
+            }
+            SearchCursor cursor = new SearchCursor(sort, parts[1], Long.parseLong(parts[2]));
+            // 値の形式を検証する
+            if (sort == BlogSearchIndex.SortOrder.MOST_LIKED) {
+                cursor.likeCount();
+            } else {
+                cursor.createdTime();
+            }
+            return cursor;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException("Invalid search cursor");
+        }
+    }
+}
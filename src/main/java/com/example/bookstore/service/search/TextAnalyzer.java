@@ -0,0 +1,137 @@
+package com.example.bookstore.service.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 検索用に文字列を正規化し、語に分割するクラスです。
+ * インデックス登録時と検索時で同じ処理を行うことで、表記揺れがあっても一致するようにします。
+ * <ol>
+ *     <li>NFKC正規化（全角英数字・半角カナ等を統一）</li>
+ *     <li>小文字化</li>
+ *     <li>カタカナをひらがなに変換</li>
+ *     <li>日本語（漢字・かな）は2文字ずつ、英数字は単語単位で分割</li>
+ * </ol>
+ */
+public final class TextAnalyzer {
+
+    /**
+     * 検索時の語
+     *
+     * @param term   語
+     * @param prefix 前方一致で検索する場合true
+     */
+    public record QueryTerm(String term, boolean prefix) {
+    }
+
+    private static final int KATAKANA_START = 0x30A1;
+
+    private static final int KATAKANA_END = 0x30F6;
+
+    private static final int KATAKANA_TO_HIRAGANA = 0x60;
+
+    private TextAnalyzer() {
+    }
+
+    /**
+     * 文字列を正規化します。
+     *
+     * @param text 文字列
+     * @return 正規化した文字列（nullの場合は空文字）
+     */
+    public static String normalize(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        StringBuilder folded = new StringBuilder(normalized.length());
+        normalized.codePoints().forEach(codePoint -> folded.appendCodePoint(
+                codePoint >= KATAKANA_START && codePoint <= KATAKANA_END ? codePoint - KATAKANA_TO_HIRAGANA : codePoint));
+        return folded.toString();
+    }
+
+    /**
+     * インデックスに登録する語に分割します。
+     * 日本語の連続は2文字ずつずらして切り出し、末尾の1文字も語とします。
+     * これにより1文字での検索も語の前方一致で行えます。
+     *
+     * @param text 文字列
+     * @return 語のリスト（重複を含まない）
+     */
+    public static List<String> analyze(String text) {
+        Set<String> terms = new LinkedHashSet<>();
+        forEachRun(normalize(text), (codePoints, start, end, cjk) -> {
+            if (!cjk) {
+                terms.add(new String(codePoints, start, end - start));
+                return;
+            }
+            for (int i = start; i + 1 < end; i++) {
+                terms.add(new String(codePoints, i, 2));
+            }
+            terms.add(new String(codePoints, end - 1, 1));
+        });
+        return new ArrayList<>(terms);
+    }
+
+    /**
+     * 検索キーワードを語に分割します。
+     * 英数字の単語と日本語の1文字は前方一致、日本語の2文字は完全一致で検索します。
+     *
+     * @param keyword 検索キーワード
+     * @return 語のリスト（重複を含まない）
+     */
+    public static List<QueryTerm> analyzeQuery(String keyword) {
+        Set<QueryTerm> terms = new LinkedHashSet<>();
+        forEachRun(normalize(keyword), (codePoints, start, end, cjk) -> {
+            if (!cjk || end - start == 1) {
+                terms.add(new QueryTerm(new String(codePoints, start, end - start), true));
+                return;
+            }
+            for (int i = start; i + 1 < end; i++) {
+                terms.add(new QueryTerm(new String(codePoints, i, 2), false));
+            }
+        });
+        return new ArrayList<>(terms);
+    }
+
+    /**
+     * 正規化済みの文字列を、日本語の連続と英数字の連続に分けて処理します。
+     * それ以外の文字（空白・記号）は区切りとして扱います。
+     */
+    private static void forEachRun(String normalized, RunConsumer consumer) {
+        int[] codePoints = normalized.codePoints().toArray();
+        int runStart = -1;
+        boolean runCjk = false;
+        for (int i = 0; i <= codePoints.length; i++) {
+            boolean cjk = i < codePoints.length && isCjk(codePoints[i]);
+            boolean word = cjk || i < codePoints.length && Character.isLetterOrDigit(codePoints[i]);
+            if (runStart >= 0 && (!word || cjk != runCjk)) {
+                consumer.accept(codePoints, runStart, i, runCjk);
+                runStart = -1;
+            }
+            if (word && runStart < 0) {
+                runStart = i;
+                runCjk = cjk;
+            }
+        }
+    }
+
+    private static boolean isCjk(int codePoint) {
+        if (codePoint == 'ー' || codePoint == '々') {
+            return true;
+        }
+        Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+        return script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA;
+    }
+
+    @FunctionalInterface
+    private interface RunConsumer {
+        void accept(int[] codePoints, int start, int end, boolean cjk);
+    }
+}
@@ -0,0 +1,270 @@
+package com.example.bookstore.service.search;
+
+import com.example.bookstore.dto.repository.BlogSummaryRepositoryDto;
+import com.example.bookstore.repository.jpa.BlogRepository;
+import com.example.bookstore.service.common.AfterCommit;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 急上昇ブログのランキングです。
+ * いいね・閲覧・コメントのイベント毎に重みを加算し、半減期で指数関数的に減衰するスコアの高い順にブログを保持します。
+ * スコアはSQLで再計算せず、BlogService・BlogViewService・CommentServiceからのイベントで差分更新します。
+ * いいね・コメントの取り消しは元のイベントの時刻で差し引くため、古いイベントの取り消しは減衰後の寄与のみを減らします。
+ * 上位のブログの一覧表示用の項目は定期的にまとめて読み込んで保持するため、ランキングの取得時にDBへ問い合わせません。
+ */
+@Service
+public class TrendingIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrendingIndex.class);
+
+    /**
+     * 取得件数の最大値
+     */
+    public static final int MAX_LIMIT = 100;
+
+    private final BlogRepository blogRepository;
+
+    private final double likeWeight;
+
+    private final double viewWeight;
+
+    private final double commentWeight;
+
+    /**
+     * ランキングに保持するブログの最大件数
+     */
+    private final int capacity;
+
+    /**
+     * 一覧表示用の項目を保持する上位のブログ数（取得件数の最大値より多くし、公開中でなくなったブログを除いても足りるようにする）
+     */
+    private final int summarySize;
+
+    /**
+     * 基準時刻の移動時にランキングから除くスコア（現在時刻の値）の下限
+     */
+    private final double minScore;
+
+    /**
+     * 起動時に読み込むブログの作成日時の範囲
+     */
+    private final Duration seedWindow;
+
+    private final TrendingRanking ranking;
+
+    /**
+     * 上位のブログの一覧表示用の項目（ブログID毎、読み込み時に全体を置き換える）
+     */
+    private volatile Map<Long, BlogSummaryRepositoryDto> summaries = Map.of();
+
+    public TrendingIndex(BlogRepository blogRepository,
+                         MeterRegistry meterRegistry,
+                         @Value("${blog.trending.half-life:PT6H}") Duration halfLife,
+                         @Value("${blog.trending.like-weight:3}") double likeWeight,
+                         @Value("${blog.trending.view-weight:1}") double viewWeight,
+                         @Value("${blog.trending.comment-weight:5}") double commentWeight,
+                         @Value("${blog.trending.capacity:500000}") int capacity,
+                         @Value("${blog.trending.summary-size:200}") int summarySize,
+                         @Value("${blog.trending.min-score:0.05}") double minScore,
+                         @Value("${blog.trending.seed-window:P3D}") Duration seedWindow) {
+        this.blogRepository = blogRepository;
+        this.likeWeight = likeWeight;
+        this.viewWeight = viewWeight;
+        this.commentWeight = commentWeight;
+        this.capacity = capacity;
+        this.summarySize = Math.max(summarySize, MAX_LIMIT);
+        this.minScore = minScore;
+        this.seedWindow = seedWindow;
+        this.ranking = new TrendingRanking(Math.log(2) / halfLife.toSeconds(), now());
+        Gauge.builder("blog.trending.blogs", this, TrendingIndex::size)
+                .description("Blogs held in the trending ranking")
+                .register(meterRegistry);
+    }
+
+    /**
+     * いいねを加算します。
+     *
+     * @param blogId ブログID
+     */
+    public void recordLike(Long blogId) {
+        record(blogId, likeWeight, now());
+    }
+
+    /**
+     * いいねの取り消しを反映します。
+     *
+     * @param blogId  ブログID
+     * @param likedAt 取り消したいいねの登録日時
+     */
+    public void retractLike(Long blogId, LocalDateTime likedAt) {
+        record(blogId, -likeWeight, toEpochSecond(likedAt));
+    }
+
+    /**
+     * 閲覧を加算します。
+     *
+     * @param blogId ブログID
+     */
+    public void recordView(Long blogId) {
+        record(blogId, viewWeight, now());
+    }
+
+    /**
+     * コメントを加算します。
+     *
+     * @param blogId ブログID
+     */
+    public void recordComment(Long blogId) {
+        record(blogId, commentWeight, now());
+    }
+
+    /**
+     * コメントの削除を反映します。
+     *
+     * @param blogId      ブログID
+     * @param commentedAt 削除したコメントの作成日時
+     */
+    public void retractComment(Long blogId, LocalDateTime commentedAt) {
+        record(blogId, -commentWeight, toEpochSecond(commentedAt));
+    }
+
+    /**
+     * ブログをランキングから除きます（非公開・削除時）。
+     *
+     * @param blogId ブログID
+     */
+    public void remove(Long blogId) {
+        AfterCommit.run(() -> {
+            synchronized (ranking) {
+                ranking.remove(blogId);
+            }
+        });
+    }
+
+    /**
+     * スコアの高いブログの一覧表示用の項目を取得します。
+     * 一覧表示用の項目を読み込む前にランキングに入ったブログは、次の読み込みまで含めません。
+     * 一覧表示用の項目を読み込んだブログのみを現在のスコアで並べ替えるため、ランキング全体は走査しません。
+     *
+     * @param limit 取得件数（最大100件）
+     * @return 一覧表示用のブログ記事リスト（スコアの高い順）
+     */
+    public List<BlogSummaryRepositoryDto> top(int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_LIMIT));
+        Map<Long, BlogSummaryRepositoryDto> loaded = summaries;
+        if (loaded.isEmpty()) {
+            return List.of();
+        }
+        List<Long> blogIds;
+        synchronized (ranking) {
+            blogIds = ranking.top(size, loaded.keySet());
+        }
+        return blogIds.stream().map(loaded::get).toList();
+    }
+
+    /**
+     * 上位のブログの一覧表示用の項目を読み込み直します。
+     * 公開中でなくなったブログ（他のアプリケーションサーバで非公開・削除されたブログ、下書きへのイベント）はランキングから除きます。
+     */
+    @Scheduled(fixedDelayString = "${blog.trending.refresh-interval:PT1M}",
+            initialDelayString = "${blog.trending.refresh-interval:PT1M}")
+    public void refreshSummaries() {
+        List<Long> blogIds;
+        synchronized (ranking) {
+            blogIds = ranking.top(summarySize);
+        }
+        if (blogIds.isEmpty()) {
+            summaries = Map.of();
+            return;
+        }
+        Map<Long, BlogSummaryRepositoryDto> loaded = blogRepository.findPublishedSummariesByIdIn(blogIds).stream()
+                .collect(Collectors.toMap(BlogSummaryRepositoryDto::getId, Function.identity()));
+        synchronized (ranking) {
+            for (Long blogId : blogIds) {
+                if (!loaded.containsKey(blogId)) {
+                    ranking.remove(blogId);
+                }
+            }
+        }
+        summaries = Map.copyOf(loaded);
+    }
+
+    /**
+     * 基準時刻を現在時刻に移し、スコアが下限未満になったブログと最大件数を超えたブログをランキングから除きます。
+     */
+    @Scheduled(fixedDelayString = "${blog.trending.rescale-interval:PT1H}",
+            initialDelayString = "${blog.trending.rescale-interval:PT1H}")
+    public void rescale() {
+        int dropped;
+        synchronized (ranking) {
+            dropped = ranking.rescale(now(), minScore);
+            ranking.trimTo(capacity);
+        }
+        if (dropped > 0) {
+            logger.debug("Dropped {} blogs from the trending ranking", dropped);
+        }
+    }
+
+    /**
+     * 最近作成された公開中のブログの累計のいいね・閲覧・コメント数から、ランキングを初期化します。
+     * 累計の数はブログの作成時刻のイベントとして加算します。
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        List<BlogSummaryRepositoryDto> recent = blogRepository.findPublishedSummariesSince(
+                LocalDateTime.now().minus(seedWindow), PageRequest.of(0, capacity));
+        synchronized (ranking) {
+            for (BlogSummaryRepositoryDto blog : recent) {
+                double weight = likeWeight * blog.getLikeCount() + viewWeight * blog.getViewCount()
+                        + commentWeight * blog.getCommentCount();
+                if (weight > 0) {
+                    ranking.add(blog.getId(), weight, toEpochSecond(blog.getBlogCreatedTime()));
+                }
+            }
+            ranking.rescale(now(), minScore);
+        }
+        logger.info("Seeded the trending ranking with {} blogs", size());
+        refreshSummaries();
+    }
+
+    private void record(Long blogId, double weight, long time) {
+        AfterCommit.run(() -> {
+            synchronized (ranking) {
+                ranking.add(blogId, weight, time);
+                if (ranking.size() > capacity) {
+                    ranking.trimTo(capacity);
+                }
+            }
+        });
+    }
+
+    private int size() {
+        synchronized (ranking) {
+            return ranking.size();
+        }
+    }
+
+    private static long toEpochSecond(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toEpochSecond();
+    }
+
+    private static long now() {
+        return System.currentTimeMillis() / 1000;
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.bookstore.service.search;
+
+import java.util.*;
+
+/**
+ * 時間減衰するスコアによるブログのランキングです。
+ * スコアは各イベントの重みを指数関数的に減衰させた合計とします。
+ * 現在時刻に合わせて全てのスコアを減衰させる代わりに、基準時刻からの経過時間に応じて新しいイベントの重みを増幅して加算します
+ * （全てのブログに同じ係数が掛かるため順位は変わらない）。
+ * 増幅した値が大きくなり過ぎないよう、定期的に基準時刻を現在時刻に移してスコアを縮小します。
+ * ブログはスコアの高い順に保持するため、上位K件をO(K)で取得できます。
+ * イベントの取り消しは、取り消すイベントの時刻で負の重みを加算することで、そのイベントの減衰後の寄与のみを差し引きます。
+ * スレッドセーフではありません。
+ */
+final class TrendingRanking {
+
+    /**
+     * 増幅の指数の上限（超える場合は加算前に基準時刻を移す）
+     */
+    private static final double MAX_EXPONENT = 50;
+
+    /**
+     * スコアの高い順（同じスコアの場合はブログIDの昇順）
+     */
+    private static final Comparator<Entry> RANKING = Comparator.comparingDouble(Entry::score)
+            .reversed()
+            .thenComparingLong(Entry::blogId);
+
+    /**
+     * 1秒あたりの減衰率
+     */
+    private final double decayRate;
+
+    /**
+     * 基準時刻（エポック秒）
+     */
+    private long landmark;
+
+    private final Map<Long, Entry> entries = new HashMap<>();
+
+    private final NavigableSet<Entry> ranking = new TreeSet<>(RANKING);
+
+    /**
+     * @param decayRate 1秒あたりの減衰率（半減期の秒数をhとするとln2/h）
+     * @param landmark  基準時刻（エポック秒）
+     */
+    TrendingRanking(double decayRate, long landmark) {
+        this.decayRate = decayRate;
+        this.landmark = landmark;
+    }
+
+    /**
+     * ブログのイベントを加算します。
+     * 加算後のスコアが0以下になった場合はランキングから除きます。
+     *
+     * @param blogId ブログID
+     * @param weight イベントの重み（取り消しの場合は負の値）
+     * @param time   イベントの時刻（エポック秒、取り消しの場合は取り消すイベントの時刻）
+     */
+    void add(long blogId, double weight, long time) {
+        if (decayRate * (time - landmark) > MAX_EXPONENT) {
+            rescale(time, 0);
+        }
+        Entry current = entries.remove(blogId);
+        double score = weight * Math.exp(decayRate * (time - landmark));
+        if (current != null) {
+            ranking.remove(current);
+            score += current.score();
+        }
+        if (score > 0) {
+            Entry updated = new Entry(blogId, score);
+            entries.put(blogId, updated);
+            ranking.add(updated);
+        }
+    }
+
+    /**
+     * ブログをランキングから除きます。
+     *
+     * @param blogId ブログID
+     */
+    void remove(long blogId) {
+        Entry current = entries.remove(blogId);
+        if (current != null) {
+            ranking.remove(current);
+        }
+    }
+
+    /**
+     * スコアの高いブログのIDを取得します。
+     *
+     * @param limit 取得件数
+     * @return ブログIDリスト（スコアの高い順）
+     */
+    List<Long> top(int limit) {
+        List<Long> blogIds = new ArrayList<>(Math.min(limit, ranking.size()));
+        for (Entry entry : ranking) {
+            if (blogIds.size() == limit) {
+                break;
+            }
+            blogIds.add(entry.blogId());
+        }
+        return blogIds;
+    }
+
+    /**
+     * 指定されたブログのうち、スコアの高いブログのIDを取得します。
+     * ランキング全体ではなく指定されたブログのみを並べ替えるため、計算量は指定されたブログ数に比例します。
+     *
+     * @param limit      取得件数
+     * @param candidates 対象とするブログID
+     * @return ブログIDリスト（スコアの高い順、ランキングにないブログは除く）
+     */
+    List<Long> top(int limit, Collection<Long> candidates) {
+        List<Entry> found = new ArrayList<>(candidates.size());
+        for (Long blogId : candidates) {
+            Entry entry = entries.get(blogId);
+            if (entry != null) {
+                found.add(entry);
+            }
+        }
+        found.sort(RANKING);
+        return found.stream().limit(limit).map(Entry::blogId).toList();
+    }
+
+    /**
+     * 指定された時刻におけるブログのスコアを取得します。
+     *
+     * @param blogId ブログID
+     * @param time   時刻（エポック秒）
+     * @return スコア（ランキングにない場合は0）
+     */
+    double score(long blogId, long time) {
+        Entry entry = entries.get(blogId);
+        return entry != null ? entry.score() * Math.exp(-decayRate * (time - landmark)) : 0;
+    }
+
+    /**
+     * 基準時刻を指定された時刻に移し、全てのスコアをその時刻の値に縮小します。
+     * 縮小後のスコアが下限未満のブログはランキングから除きます。
+     *
+     * @param time     新しい基準時刻（エポック秒）
+     * @param minScore スコアの下限
+     * @return 除いたブログ数
+     */
+    int rescale(long time, double minScore) {
+        double factor = Math.exp(-decayRate * (time - landmark));
+        List<Entry> rescaled = new ArrayList<>(ranking.size());
+        for (Entry entry : ranking) {
+            double score = entry.score() * factor;
+            if (score >= minScore && score > 0) {
+                rescaled.add(new Entry(entry.blogId(), score));
+            }
+        }
+        int dropped = ranking.size() - rescaled.size();
+        entries.clear();
+        ranking.clear();
+        for (Entry entry : rescaled) {
+            entries.put(entry.blogId(), entry);
+            ranking.add(entry);
+        }
+        landmark = time;
+        return dropped;
+    }
+
+    /**
+     * スコアの低いブログを除き、指定された件数以下にします。
+     *
+     * @param capacity 保持する最大件数
+     */
+    void trimTo(int capacity) {
+        while (ranking.size() > capacity) {
+            entries.remove(ranking.pollLast().blogId());
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private record Entry(long blogId, double score) {
+    }
+}
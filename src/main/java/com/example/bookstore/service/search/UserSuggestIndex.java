@@ -0,0 +1,545 @@
+package com.example.bookstore.service.search;
+
+import com.example.bookstore.dto.repository.UserArtistNameRepositoryDto;
+import com.example.bookstore.dto.repository.UserSuggestRepositoryDto;
+import com.example.bookstore.dto.view.UserSuggestViewDto;
+import com.example.bookstore.entity.Artist;
+import com.example.bookstore.entity.User;
+import com.example.bookstore.repository.jpa.UserArtistRepository;
+import com.example.bookstore.repository.jpa.UserRepository;
+import com.example.bookstore.service.common.AfterCommit;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * ユーザ検索の入力補完用のインデックスです。
+ * ユーザの表示名とアーティスト名を正規化した文字列の順に保持し、前方一致する範囲を取り出して候補とします。
+ * アーティスト名に合致した場合は、そのアーティストを好きなユーザのうちフォロワー数の多い上位のユーザを候補とします
+ * （アーティスト毎に好きなユーザをフォロワー数の多い順で保持するため、短いキーワードでもファン数に比例した処理になりません）。
+ * 表示名も同様に、短いキーワード（3文字以下）は接頭辞毎にフォロワー数の多い順で保持したユーザの上位のみを候補とします。
+ * 候補はフォロワー数の多い順に並べ、上位のみを返します。
+ * 起動時にDBから構築し、以降はUserService・ArtistService・FollowServiceによる更新に合わせて更新します。
+ */
+@Service
+public class UserSuggestIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserSuggestIndex.class);
+
+    /**
+     * フォロワー数の多い順（同数の場合はユーザIDの昇順）
+     */
+    private static final Comparator<IndexedUser> RANKING = Comparator.<IndexedUser>comparingLong(user -> user.followerCount)
+            .reversed()
+            .thenComparingLong(user -> user.id);
+
+    /**
+     * 接頭辞毎にユーザをフォロワー数の多い順で保持する、接頭辞の最大文字数
+     * これより長いキーワードは表示名のキーの範囲から候補を集める（一致するユーザが十分に少ないため）
+     */
+    private static final int RANKED_PREFIX_LENGTH = 3;
+
+    private final UserRepository userRepository;
+
+    private final UserArtistRepository userArtistRepository;
+
+    /**
+     * 起動時の構築で1度に読み込むユーザ数
+     */
+    private final int rebuildBatchSize;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * 表示名のキー毎のユーザID（前方一致で検索できるようキーの順に保持する）
+     */
+    private final NavigableMap<String, Set<Long>> userKeys = new TreeMap<>();
+
+    /**
+     * 表示名のキーの接頭辞（RANKED_PREFIX_LENGTH文字以下）毎のユーザ（フォロワー数の多い順）
+     */
+    private final Map<String, NavigableSet<IndexedUser>> rankedPrefixes = new HashMap<>();
+
+    /**
+     * アーティスト名のキー毎のアーティストID（前方一致で検索できるようキーの順に保持する）
+     */
+    private final NavigableMap<String, Set<String>> artistKeys = new TreeMap<>();
+
+    /**
+     * インデックス済みのユーザ（ユーザID毎）
+     */
+    private final Map<Long, IndexedUser> users = new HashMap<>();
+
+    /**
+     * インデックス済みのアーティスト（アーティストID毎）
+     */
+    private final Map<String, IndexedArtist> artists = new HashMap<>();
+
+    /**
+     * 構築中に更新されたユーザID（構築処理で古い内容に上書きしないよう記録する）
+     */
+    private final Set<Long> updatedDuringRebuild = new HashSet<>();
+
+    private boolean rebuilding;
+
+    private volatile boolean ready;
+
+    public UserSuggestIndex(UserRepository userRepository,
+                            UserArtistRepository userArtistRepository,
+                            MeterRegistry meterRegistry,
+                            @Value("${user.suggest-index.rebuild-batch-size:1000}") int rebuildBatchSize) {
+        this.userRepository = userRepository;
+        this.userArtistRepository = userArtistRepository;
+        this.rebuildBatchSize = rebuildBatchSize;
+        Gauge.builder("user.suggest.index.users", users, Map::size)
+                .description("Users held in the suggest index")
+                .register(meterRegistry);
+        Gauge.builder("user.suggest.index.artists", artists, Map::size)
+                .description("Artists held in the suggest index")
+                .register(meterRegistry);
+    }
+
+    /**
+     * インデックスの構築が完了しているかを取得します。
+     *
+     * @return 構築済みの場合true
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 有効なユーザとその好きなアーティストからインデックスを構築します。
+     * 構築中の検索はDBで行うため、アプリケーションの起動完了後に構築します。
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long startedAt = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            userKeys.clear();
+            rankedPrefixes.clear();
+            artistKeys.clear();
+            users.clear();
+            artists.clear();
+            updatedDuringRebuild.clear();
+            rebuilding = true;
+            ready = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        long afterId = 0;
+        int loaded = 0;
+        try {
+            while (true) {
+                List<UserSuggestRepositoryDto> batch = userRepository.findSuggestUsersAfter(afterId,
+                        PageRequest.of(0, rebuildBatchSize));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                Map<Long, List<UserArtistNameRepositoryDto>> favorites = userArtistRepository
+                        .findArtistNamesByUserIds(batch.stream().map(UserSuggestRepositoryDto::getId).toList()).stream()
+                        .collect(Collectors.groupingBy(UserArtistNameRepositoryDto::getUserId));
+                lock.writeLock().lock();
+                try {
+                    for (UserSuggestRepositoryDto user : batch) {
+                        if (updatedDuringRebuild.contains(user.getId())) {
+                            continue;
+                        }
+                        List<UserArtistNameRepositoryDto> artistList = favorites.getOrDefault(user.getId(), List.of());
+                        for (UserArtistNameRepositoryDto artist : artistList) {
+                            putArtist(artist.getArtistId(), artist.getArtistName());
+                        }
+                        putUser(new IndexedUser(user.getId(), user.getDisplayName(), user.getProfileImageUrl(),
+                                        user.getFollowerCount() != null ? user.getFollowerCount() : 0,
+                                        keys(user.getDisplayName())),
+                                artistList.stream().map(UserArtistNameRepositoryDto::getArtistId).toList());
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                loaded += batch.size();
+                afterId = batch.get(batch.size() - 1).getId();
+            }
+        } finally {
+            lock.writeLock().lock();
+            try {
+                rebuilding = false;
+                updatedDuringRebuild.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        ready = true;
+        logger.info("User suggest index built: {} users, {} artists in {} ms",
+                loaded, artists.size(), System.currentTimeMillis() - startedAt);
+    }
+
+    /**
+     * 表示名、または好きなアーティスト名がキーワードで始まるユーザを、フォロワー数の多い順に取得します。
+     * 表示名は空白で区切られた各語の先頭からも一致します。
+     *
+     * @param keyword       検索キーワード
+     * @param excludeUserId 結果に含めないユーザID（ログインユーザ）
+     * @param limit         取得件数
+     * @return ユーザ候補リスト（インデックスの構築が完了していない場合は空）
+     */
+    public Optional<List<UserSuggestViewDto>> suggest(String keyword, Long excludeUserId, int limit) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        String prefix = TextAnalyzer.normalize(keyword).strip();
+        if (prefix.isEmpty() || limit <= 0) {
+            return Optional.of(List.of());
+        }
+        lock.readLock().lock();
+        try {
+            Set<Long> candidates = new HashSet<>();
+            if (prefix.length() <= RANKED_PREFIX_LENGTH) {
+                // 全体の上位limit件に入り得るのは接頭辞の上位limit件（除外するユーザの分を加える）のみ
+                addTop(candidates, rankedPrefixes.get(prefix), limit + 1);
+            } else {
+                for (Set<Long> userIds : withPrefix(userKeys, prefix).values()) {
+                    candidates.addAll(userIds);
+                }
+            }
+            for (Set<String> artistIds : withPrefix(artistKeys, prefix).values()) {
+                for (String artistId : artistIds) {
+                    // 全体の上位limit件に入り得るのは各アーティストの上位limit件（除外するユーザの分を加える）のみ
+                    addTop(candidates, artists.get(artistId).fans, limit + 1);
+                }
+            }
+            candidates.remove(excludeUserId);
+
+            // 上位limit件のみを保持するため、逆順のヒープで最も順位の低い要素を入れ替える
+            PriorityQueue<IndexedUser> heap = new PriorityQueue<>(Math.min(limit, candidates.size()) + 1,
+                    RANKING.reversed());
+            for (Long userId : candidates) {
+                heap.offer(users.get(userId));
+                if (heap.size() > limit) {
+                    heap.poll();
+                }
+            }
+            List<IndexedUser> ranked = new ArrayList<>(heap);
+            ranked.sort(RANKING);
+            return Optional.of(ranked.stream()
+                    .map(user -> UserSuggestViewDto.builder()
+                            .id(user.id)
+                            .displayName(user.displayName)
+                            .profileImageUrl(user.profileImageUrl)
+                            .followerCount(user.followerCount)
+                            .build())
+                    .toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * ユーザをインデックスに登録します。
+     * 無効なユーザの場合はインデックスから削除します。
+     * トランザクション内で呼び出された場合は、コミット後に反映します。
+     *
+     * @param user            ユーザ
+     * @param favoriteArtists 好きなアーティストリスト
+     */
+    public void indexUser(User user, Collection<Artist> favoriteArtists) {
+        if (!Boolean.TRUE.equals(user.getEnabled())) {
+            removeUser(user.getId());
+            return;
+        }
+        // エンティティはコミット後に変更される可能性があるため、この時点の内容でキーを作成する
+        long userId = user.getId();
+        String displayName = user.getDisplayName();
+        String profileImageUrl = user.getProfileImageUrl();
+        String[] keys = keys(displayName);
+        List<Artist> artistList = List.copyOf(favoriteArtists);
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                markUpdated(userId);
+                IndexedUser previous = users.get(userId);
+                for (Artist artist : artistList) {
+                    putArtist(artist.getId(), artist.getName());
+                }
+                // フォロワー数はユーザ情報の更新では変わらないため引き継ぐ
+                putUser(new IndexedUser(userId, displayName, profileImageUrl,
+                                previous != null ? previous.followerCount : 0, keys),
+                        artistList.stream().map(Artist::getId).toList());
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * ユーザをインデックスから削除します。
+     * トランザクション内で呼び出された場合は、コミット後に反映します。
+     *
+     * @param userId ユーザID
+     */
+    public void removeUser(Long userId) {
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                markUpdated(userId);
+                deleteUser(userId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * アーティストをインデックスに登録します。
+     * 登録済みのアーティストの場合は名前を更新します。
+     * トランザクション内で呼び出された場合は、コミット後に反映します。
+     *
+     * @param artist アーティスト
+     */
+    public void indexArtist(Artist artist) {
+        String artistId = artist.getId();
+        String name = artist.getName();
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                putArtist(artistId, name);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * インデックスが保持するユーザのフォロワー数を増減します。
+     * トランザクション内で呼び出された場合は、コミット後に反映します。
+     *
+     * @param userId ユーザID
+     * @param delta  増減値
+     */
+    public void adjustFollowerCount(Long userId, long delta) {
+        AfterCommit.run(() -> {
+            lock.writeLock().lock();
+            try {
+                IndexedUser user = users.get(userId);
+                if (user != null) {
+                    // 接頭辞毎・アーティスト毎の並び順がフォロワー数に依存するため、変更前に除いて変更後に戻す
+                    unrank(user);
+                    user.followerCount = Math.max(0, user.followerCount + delta);
+                    rank(user);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * 名前から検索用のキーを作成します。
+     * 正規化した名前全体に加え、空白で区切られた2語目以降から始まる部分もキーとします。
+     *
+     * @param name 名前
+     * @return キーの配列（重複を含まない）
+     */
+    static String[] keys(String name) {
+        String normalized = TextAnalyzer.normalize(name).strip();
+        if (normalized.isEmpty()) {
+            return new String[0];
+        }
+        Set<String> keys = new LinkedHashSet<>();
+        keys.add(normalized);
+        for (int i = 1; i < normalized.length(); i++) {
+            if (Character.isWhitespace(normalized.charAt(i - 1)) && !Character.isWhitespace(normalized.charAt(i))) {
+                keys.add(normalized.substring(i));
+            }
+        }
+        return keys.toArray(String[]::new);
+    }
+
+    private static void addTop(Set<Long> candidates, NavigableSet<IndexedUser> ranked, int count) {
+        if (ranked == null) {
+            return;
+        }
+        int taken = 0;
+        for (IndexedUser user : ranked) {
+            if (taken++ == count) {
+                break;
+            }
+            candidates.add(user.id);
+        }
+    }
+
+    /**
+     * 表示名のキーから、ユーザをフォロワー数の多い順で保持する接頭辞を作成します。
+     */
+    private static Set<String> prefixesOf(String[] keys) {
+        Set<String> prefixes = new HashSet<>();
+        for (String key : keys) {
+            for (int length = 1; length <= Math.min(RANKED_PREFIX_LENGTH, key.length()); length++) {
+                prefixes.add(key.substring(0, length));
+            }
+        }
+        return prefixes;
+    }
+
+    /**
+     * フォロワー数の多い順で保持する接頭辞毎・アーティスト毎の集合にユーザを加えます。
+     */
+    private void rank(IndexedUser user) {
+        for (String prefix : user.prefixes) {
+            rankedPrefixes.computeIfAbsent(prefix, k -> new TreeSet<>(RANKING)).add(user);
+        }
+        for (String artistId : user.artistIds) {
+            IndexedArtist artist = artists.get(artistId);
+            if (artist != null) {
+                artist.fans.add(user);
+            }
+        }
+    }
+
+    /**
+     * フォロワー数の多い順で保持する接頭辞毎・アーティスト毎の集合からユーザを除きます。
+     */
+    private void unrank(IndexedUser user) {
+        for (String prefix : user.prefixes) {
+            NavigableSet<IndexedUser> ranked = rankedPrefixes.get(prefix);
+            if (ranked != null) {
+                ranked.remove(user);
+                if (ranked.isEmpty()) {
+                    rankedPrefixes.remove(prefix);
+                }
+            }
+        }
+        for (String artistId : user.artistIds) {
+            IndexedArtist artist = artists.get(artistId);
+            if (artist != null) {
+                artist.fans.remove(user);
+            }
+        }
+    }
+
+    private static <V> SortedMap<String, V> withPrefix(NavigableMap<String, V> keys, String prefix) {
+        return keys.subMap(prefix, prefix + Character.MAX_VALUE);
+    }
+
+    private void putUser(IndexedUser user, Collection<String> artistIds) {
+        deleteUser(user.id);
+        users.put(user.id, user);
+        for (String key : user.keys) {
+            userKeys.computeIfAbsent(key, k -> new HashSet<>()).add(user.id);
+        }
+        for (String artistId : artistIds) {
+            if (artists.containsKey(artistId)) {
+                user.artistIds.add(artistId);
+            }
+        }
+        rank(user);
+    }
+
+    private void deleteUser(Long userId) {
+        IndexedUser previous = users.remove(userId);
+        if (previous == null) {
+            return;
+        }
+        for (String key : previous.keys) {
+            removeFrom(userKeys, key, userId);
+        }
+        unrank(previous);
+    }
+
+    private void putArtist(String artistId, String name) {
+        IndexedArtist artist = artists.get(artistId);
+        String[] keys = keys(name);
+        if (artist == null) {
+            artist = new IndexedArtist(keys);
+            artists.put(artistId, artist);
+        } else if (!Arrays.equals(artist.keys, keys)) {
+            for (String key : artist.keys) {
+                removeFrom(artistKeys, key, artistId);
+            }
+            artist.keys = keys;
+        } else {
+            return;
+        }
+        for (String key : keys) {
+            artistKeys.computeIfAbsent(key, k -> new HashSet<>()).add(artistId);
+        }
+    }
+
+    private static <T> void removeFrom(Map<String, Set<T>> keys, String key, T value) {
+        Set<T> values = keys.get(key);
+        if (values != null) {
+            values.remove(value);
+            if (values.isEmpty()) {
+                keys.remove(key);
+            }
+        }
+    }
+
+    private void markUpdated(Long userId) {
+        if (rebuilding) {
+            updatedDuringRebuild.add(userId);
+        }
+    }
+
+    /**
+     * インデックス済みのユーザ
+     */
+    private static final class IndexedUser {
+
+        private final long id;
+
+        private final String displayName;
+
+        private final String profileImageUrl;
+
+        private final String[] keys;
+
+        /**
+         * フォロワー数の多い順で保持する接頭辞
+         */
+        private final Set<String> prefixes;
+
+        private final Set<String> artistIds = new HashSet<>();
+
+        private long followerCount;
+
+        private IndexedUser(long id, String displayName, String profileImageUrl, long followerCount, String[] keys) {
+            this.id = id;
+            this.displayName = displayName;
+            this.profileImageUrl = profileImageUrl;
+            this.followerCount = followerCount;
+            this.keys = keys;
+            this.prefixes = prefixesOf(keys);
+        }
+    }
+
+    /**
+     * インデックス済みのアーティスト
+     */
+    private static final class IndexedArtist {
+
+        /**
+         * このアーティストを好きなユーザ（フォロワー数の多い順）
+         */
+        private final NavigableSet<IndexedUser> fans = new TreeSet<>(RANKING);
+
+        private String[] keys;
+
+        private IndexedArtist(String[] keys) {
+            this.keys = keys;
+        }
+    }
+}
@@ -1,15 +1,29 @@
 package com.example.bookstore.service.util;
 
+import com.example.bookstore.config.AuthenticatedUser;
 import com.example.bookstore.entity.User;
+import com.example.bookstore.Exception.UserNotFoundException;
 import com.example.bookstore.repository.jpa.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 @Service
 public class UserUtilService {
 
+    /**
+     * リクエスト属性に保持するログインユーザ情報のキー
+     */
+    private static final String CURRENT_USER_ATTRIBUTE = UserUtilService.class.getName() + ".CURRENT_USER";
+
+    /**
+     * リクエスト属性に保持する省略したユーザ検索回数のキー
+     */
+    private static final String SAVED_LOOKUPS_ATTRIBUTE = UserUtilService.class.getName() + ".SAVED_LOOKUPS";
+
     @Autowired
     UserRepository userRepository;
 
@@ -31,20 +45,63 @@ public class UserUtilService {
 
     /**
      * ログイン中のユーザ情報を取得します。
+     * 一度取得したユーザ情報はリクエストの間保持し、同一リクエスト内ではDBへの問い合わせを行いません。
      *
-     * @return ログイン中のユーザ情報
+     * @return ログイン中のユーザ情報（未登録ユーザの場合はnull）
      */
     public User getCurrentUser() {
+        AuthenticatedUser principal = getCurrentPrincipal();
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes != null
+                && requestAttributes.getAttribute(CURRENT_USER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof User user
+                && principal.getSubject().equals(user.getSubject())) {
+            incrementSavedLookups(requestAttributes);
+            return user;
+        }
+
+        // Principalに解決済みのユーザIDがあれば主キーで検索し、未登録時のみsubjectで検索する
+        User user = principal.isRegistered()
+                ? userRepository.findById(principal.getUserId()).orElse(null)
+                : userRepository.findBySubject(principal.getSubject()).orElse(null);
+        // 未登録ユーザ（null）は初回ログイン時に登録されるため保持しない
+        if (user != null && requestAttributes != null) {
+            requestAttributes.setAttribute(CURRENT_USER_ATTRIBUTE, user, RequestAttributes.SCOPE_REQUEST);
+        }
+        return user;
+    }
+
+    /**
+     * ログイン中のユーザの認証情報を取得します。
+     *
+     * @return 認証済みユーザ情報
+     */
+    public AuthenticatedUser getCurrentPrincipal() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        if (authentication != null && authentication.isAuthenticated()) {
-            if (authentication.getPrincipal() instanceof String subject) {
-                // トークンにsubjectが文字列で含まれている場合（カスタムフィルター等の利用時）
-                return userRepository.findBySubject(subject).orElse(null);
-            }
+        if (authentication != null && authentication.isAuthenticated()
+                && authentication.getPrincipal() instanceof AuthenticatedUser principal) {
+            return principal;
         }
         throw new RuntimeException("User is not authenticated");
     }
 
+    /**
+     * ログイン中のユーザのIDを取得します。
+     * ユーザIDは認証時にPrincipalへ格納されているため、DBへの問い合わせは行いません。
+     *
+     * @return ログイン中のユーザID
+     */
+    public Long getCurrentUserIdAsLong() {
+        AuthenticatedUser principal = getCurrentPrincipal();
+        if (principal.isRegistered()) {
+            return principal.getUserId();
+        }
+        // 認証後に登録されたユーザの場合はDBから取得する
+        User user = getCurrentUser();
+        if (user == null) {
+            throw new UserNotFoundException("Current user not found");
+        }
+        return user.getId();
+    }
 
     /**
      * ログイン中のユーザのIDを文字列型で取得します。
@@ -52,7 +109,27 @@ public class UserUtilService {
      * @return ログイン中のユーザID
      */
     public String getCurrentUserId() {
-        return getCurrentUser().getId().toString();
+        return getCurrentUserIdAsLong().toString();
+    }
+
+    /**
+     * 現在のリクエスト内でユーザ情報の再利用によって省略したDB問い合わせの回数を取得します。
+     *
+     * @return 省略した問い合わせ回数（リクエスト外から呼び出された場合は0）
+     */
+    public int getSavedLookupCount() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes != null
+                && requestAttributes.getAttribute(SAVED_LOOKUPS_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof Integer count) {
+            return count;
+        }
+        return 0;
+    }
+
+    private void incrementSavedLookups(RequestAttributes requestAttributes) {
+        int count = requestAttributes.getAttribute(SAVED_LOOKUPS_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof Integer current
+                ? current : 0;
+        requestAttributes.setAttribute(SAVED_LOOKUPS_ATTRIBUTE, count + 1, RequestAttributes.SCOPE_REQUEST);
     }
 
 }
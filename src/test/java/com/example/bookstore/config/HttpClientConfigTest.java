@@ -0,0 +1,140 @@
+package com.example.bookstore.config;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ローカルのスタブサーバを使用して外部API呼び出し用RestTemplateのリトライ、タイムアウト、メトリクスを確認するテスト
+ */
+class HttpClientConfigTest {
+
+    private HttpServer server;
+
+    private final AtomicInteger flakyRequests = new AtomicInteger();
+
+    private final AtomicInteger failingRequests = new AtomicInteger();
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private PoolingHttpClientConnectionManager connectionManager;
+
+    private CloseableHttpClient httpClient;
+
+    private RestTemplate restTemplate;
+
+    private String baseUrl;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/ok", exchange -> respond(exchange, 200, "ok"));
+        server.createContext("/flaky", exchange -> {
+            // 最初の2回は503を返し、3回目で成功する
+            if (flakyRequests.incrementAndGet() <= 2) {
+                respond(exchange, 503, "unavailable");
+            } else {
+                respond(exchange, 200, "recovered");
+            }
+        });
+        server.createContext("/failing", exchange -> {
+            failingRequests.incrementAndGet();
+            respond(exchange, 503, "unavailable");
+        });
+        server.createContext("/slow", exchange -> {
+            try {
+                Thread.sleep(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, 200, "slow");
+        });
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+
+        HttpClientConfig config = new HttpClientConfig();
+        meterRegistry = new SimpleMeterRegistry();
+        connectionManager = config.outboundConnectionManager(10, 5, Duration.ofMillis(500), Duration.ofMillis(200));
+        httpClient = config.outboundHttpClient(connectionManager, Duration.ofMillis(500), Duration.ofSeconds(30));
+        restTemplate = config.outboundRestTemplate(new RestTemplateBuilder(), httpClient, meterRegistry,
+                3, Duration.ofMillis(10), Duration.ofMillis(50));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        httpClient.close();
+        connectionManager.close();
+        server.stop(0);
+    }
+
+    @Test
+    void idempotentRequestIsRetriedOnServerError() {
+        assertEquals("recovered", restTemplate.getForObject(baseUrl + "/flaky", String.class));
+        assertEquals(3, flakyRequests.get());
+
+        Counter retries = meterRegistry.find("outbound.http.retries").tag("upstream", "127.0.0.1").counter();
+        assertNotNull(retries);
+        assertEquals(2.0, retries.count());
+    }
+
+    @Test
+    void retriesStopAfterMaxAttempts() {
+        assertThrows(HttpServerErrorException.class, () -> restTemplate.getForObject(baseUrl + "/failing", String.class));
+        assertEquals(3, failingRequests.get());
+    }
+
+    @Test
+    void nonIdempotentRequestIsNotRetried() {
+        assertThrows(HttpServerErrorException.class, () -> restTemplate.postForObject(baseUrl + "/failing", "body", String.class));
+        assertEquals(1, failingRequests.get());
+    }
+
+    @Test
+    void readTimeoutIsApplied() {
+        long start = System.nanoTime();
+        assertThrows(ResourceAccessException.class, () -> restTemplate.getForObject(baseUrl + "/slow", String.class));
+        // タイムアウトは再試行しないため、待ち時間は読み取りタイムアウト1回分に収まる
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofMillis(900)) < 0);
+    }
+
+    @Test
+    void requestsAreTimedPerUpstream() {
+        restTemplate.getForObject(baseUrl + "/ok", String.class);
+        restTemplate.getForObject(baseUrl + "/ok", String.class);
+
+        Timer timer = meterRegistry.find("outbound.http.requests")
+                .tags("upstream", "127.0.0.1", "method", "GET", "outcome", "SUCCESS", "status", "200")
+                .timer();
+        assertNotNull(timer);
+        assertEquals(2, timer.count());
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "text/plain");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.bookstore.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ブログのタグ文字列の分割を確認するテスト
+ */
+class BlogTagServiceTest {
+
+    @Test
+    void splitsOnCommasAndStripsHash() {
+        assertEquals(List.of("ライブ", "J-POP", "フェス"), BlogTagService.parseTags(" #ライブ, J-POP ,、フェス"));
+    }
+
+    @Test
+    void normalizesWidthAndFullWidthSeparators() {
+        assertEquals(List.of("ROCK", "ライブ"), BlogTagService.parseTags("ＲＯＣＫ，ﾗｲﾌﾞ"));
+    }
+
+    @Test
+    void dropsDuplicatesThatDifferOnlyInCaseOrKana() {
+        assertEquals(List.of("Rock", "らいぶ"), BlogTagService.parseTags("Rock,rock,らいぶ,ライブ"));
+    }
+
+    @Test
+    void dropsEmptyAndTooLongTags() {
+        assertEquals(List.of("ok"), BlogTagService.parseTags("ok,,#, " + "x".repeat(51)));
+        assertEquals(List.of(), BlogTagService.parseTags(null));
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.bookstore.service;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 閲覧ユーザの記録（BlogUniqueViewerService.recordViewer）のスループットを計測するベンチマーク
+ * 複数スレッドから同時に記録し、閲覧が1件のブログに集中する場合と多数のブログに分散する場合を計測します。
+ * 記録はDBに書き込まないため、リポジトリとトランザクションは使用しません。mainメソッドから実行します。
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class BlogUniqueViewerServiceBenchmark {
+
+    /**
+     * 閲覧されるブログ数
+     */
+    @Param({"1", "1000"})
+    public int blogCount;
+
+    private BlogUniqueViewerService blogUniqueViewerService;
+
+    @Setup
+    public void setUp() {
+        blogUniqueViewerService = new BlogUniqueViewerService(null, null, Duration.ofDays(7));
+    }
+
+    @Benchmark
+    public void recordViewer() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        blogUniqueViewerService.recordViewer(random.nextLong(1_000_000), (long) random.nextInt(blogCount));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BlogUniqueViewerServiceBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
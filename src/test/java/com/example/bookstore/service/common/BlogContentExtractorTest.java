@@ -0,0 +1,46 @@
+package com.example.bookstore.service.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ブログ本文からのプレーンテキスト・抜粋の取り出しを確認するテスト
+ */
+class BlogContentExtractorTest {
+
+    @Test
+    void extractsTextNodesOnly() {
+        Map<String, Object> content = Map.of("type", "doc", "content", List.of(
+                Map.of("type", "paragraph", "content", List.of(
+                        Map.of("type", "text", "text", "今日の"),
+                        Map.of("type", "text", "text", "ライブ", "marks", List.of(Map.of("type", "bold"))))),
+                Map.of("type", "image", "attrs", Map.of("src", "https://example.com/paragraph.png")),
+                Map.of("type", "heading", "attrs", Map.of("level", 2), "content", List.of(
+                        Map.of("type", "text", "text", "セットリスト")))));
+
+        assertEquals("今日のライブ\nセットリスト", BlogContentExtractor.extractPlainText(content));
+    }
+
+    @Test
+    void nullContentIsEmpty() {
+        assertEquals("", BlogContentExtractor.extractPlainText(null));
+        assertEquals("", BlogContentExtractor.excerpt(null));
+    }
+
+    @Test
+    void excerptCollapsesWhitespace() {
+        assertEquals("一行目 二行目", BlogContentExtractor.excerpt("一行目\n\n  二行目\n"));
+    }
+
+    @Test
+    void excerptTruncatesLongText() {
+        String excerpt = BlogContentExtractor.excerpt("あ".repeat(BlogContentExtractor.EXCERPT_LENGTH + 10));
+
+        assertEquals(BlogContentExtractor.EXCERPT_LENGTH, excerpt.length());
+        assertTrue(excerpt.endsWith("…"));
+    }
+}
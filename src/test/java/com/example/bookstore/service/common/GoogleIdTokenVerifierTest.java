@@ -0,0 +1,128 @@
+package com.example.bookstore.service.common;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ローカルのJWKSスタブサーバを使用してIDトークンのオフライン検証を確認するテスト
+ */
+class GoogleIdTokenVerifierTest {
+
+    private static final String CLIENT_ID = "test-client-id";
+
+    private HttpServer jwksServer;
+
+    private final AtomicInteger jwksRequests = new AtomicInteger();
+
+    private RSAKey signingKey;
+
+    private GoogleIdTokenVerifier verifier;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        signingKey = new RSAKeyGenerator(2048).keyID("test-key").generate();
+        String jwks = new JWKSet(signingKey.toPublicJWK()).toString();
+
+        jwksServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        jwksServer.createContext("/certs", exchange -> {
+            jwksRequests.incrementAndGet();
+            byte[] body = jwks.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.getResponseHeaders().add("Cache-Control", "public, max-age=3600, must-revalidate");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(body);
+            }
+        });
+        jwksServer.start();
+
+        String jwksUri = "http://127.0.0.1:" + jwksServer.getAddress().getPort() + "/certs";
+        verifier = new GoogleIdTokenVerifier(new GoogleJwkSetSource(new RestTemplate(), jwksUri), CLIENT_ID);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jwksServer.stop(0);
+    }
+
+    @Test
+    void validTokenReturnsSubjectAndKeysAreFetchedOnce() throws Exception {
+        assertEquals("google-user-1", verifier.verifyToken(sign(signingKey, claims("google-user-1").build())));
+        assertEquals("google-user-2", verifier.verifyToken(sign(signingKey, claims("google-user-2").build())));
+        assertEquals(1, jwksRequests.get());
+    }
+
+    @Test
+    void tokenForOtherAudienceIsRejected() throws Exception {
+        String token = sign(signingKey, claims("google-user-1").audience("other-client").build());
+        assertNull(verifier.verifyToken(token));
+    }
+
+    @Test
+    void tokenFromOtherIssuerIsRejected() throws Exception {
+        String token = sign(signingKey, claims("google-user-1").issuer("https://evil.example.com").build());
+        assertNull(verifier.verifyToken(token));
+    }
+
+    @Test
+    void expiredTokenIsRejected() throws Exception {
+        String token = sign(signingKey, claims("google-user-1")
+                .expirationTime(Date.from(Instant.now().minusSeconds(600)))
+                .build());
+        assertNull(verifier.verifyToken(token));
+    }
+
+    @Test
+    void tokenSignedWithUnknownKeyIsRejected() throws Exception {
+        RSAKey otherKey = new RSAKeyGenerator(2048).keyID("test-key").generate();
+        assertNull(verifier.verifyToken(sign(otherKey, claims("google-user-1").build())));
+    }
+
+    @Test
+    void maxAgeIsReadFromCacheControl() {
+        assertEquals(3600, GoogleJwkSetSource.parseMaxAge("public, max-age=3600, must-revalidate").getSeconds());
+    }
+
+    @Test
+    void jwtFormatIsDistinguishedFromAccessToken() throws Exception {
+        assertTrue(GoogleIdTokenVerifier.isJwt(sign(signingKey, claims("google-user-1").build())));
+        assertFalse(GoogleIdTokenVerifier.isJwt("ya29.a0AfH6SMBx-opaque-access-token"));
+    }
+
+    private JWTClaimsSet.Builder claims(String subject) {
+        Instant now = Instant.now();
+        return new JWTClaimsSet.Builder()
+                .subject(subject)
+                .issuer("https://accounts.google.com")
+                .audience(CLIENT_ID)
+                .issueTime(Date.from(now))
+                .expirationTime(Date.from(now.plusSeconds(3600)));
+    }
+
+    private static String sign(RSAKey key, JWTClaimsSet claims) throws JOSEException {
+        SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(key.getKeyID()).build(), claims);
+        jwt.sign(new RSASSASigner(key));
+        return jwt.serialize();
+    }
+}
@@ -0,0 +1,296 @@
+package com.example.bookstore.service.common;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 遅延・エラーを注入できるtokeninfoスタブサーバを使用して、サーキットブレーカー、バルクヘッド、
+ * キャッシュ済み検証結果へのフォールバック、および同時検証の集約と無効なトークンのキャッシュを確認するテスト
+ */
+class GoogleTokenVerifierTest {
+
+    private static final int FAILURE_THRESHOLD = 3;
+
+    /**
+     * スタブサーバの応答
+     */
+    private enum Behavior {
+        OK, SERVER_ERROR, SLOW, INVALID_TOKEN
+    }
+
+    private HttpServer server;
+
+    private ExecutorService serverExecutor;
+
+    private final AtomicReference<Behavior> behavior = new AtomicReference<>(Behavior.OK);
+
+    private final AtomicInteger upstreamRequests = new AtomicInteger();
+
+    private final AtomicInteger concurrentRequests = new AtomicInteger();
+
+    private final AtomicInteger maxConcurrentRequests = new AtomicInteger();
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ResilientUpstream upstream;
+
+    private GoogleTokenVerifier verifier;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.createContext("/tokeninfo", this::handleTokenInfo);
+        server.start();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void circuitOpensAfterConsecutiveFailuresAndStopsCallingUpstream() {
+        createVerifier(Duration.ofMinutes(5), Duration.ofSeconds(30), 10);
+        behavior.set(Behavior.SERVER_ERROR);
+
+        for (int i = 0; i < 5; i++) {
+            assertNull(verifier.verifyToken("token-" + i));
+        }
+
+        assertEquals(FAILURE_THRESHOLD, upstreamRequests.get());
+        assertEquals(CircuitBreaker.State.OPEN, upstream.getState());
+        assertEquals(1.0, transitions("CLOSED", "OPEN"));
+    }
+
+    @Test
+    void cachedVerificationIsServedWhileUpstreamIsUnavailable() {
+        // 検証結果を常に再検証対象とする
+        createVerifier(Duration.ZERO, Duration.ofSeconds(30), 10);
+        assertEquals("user-token-1", verifier.verifyToken("token-1"));
+
+        behavior.set(Behavior.SERVER_ERROR);
+        for (int i = 0; i < FAILURE_THRESHOLD; i++) {
+            assertEquals("user-token-1", verifier.verifyToken("token-1"));
+        }
+        assertEquals(CircuitBreaker.State.OPEN, upstream.getState());
+
+        int requestsWhenOpened = upstreamRequests.get();
+        assertEquals("user-token-1", verifier.verifyToken("token-1"));
+        assertNull(verifier.verifyToken("token-2"));
+        assertEquals(requestsWhenOpened, upstreamRequests.get());
+        assertEquals(FAILURE_THRESHOLD + 1.0,
+                meterRegistry.find("google.token.verification.stale").counter().count());
+    }
+
+    @Test
+    void halfOpenProbeClosesCircuitWhenUpstreamRecovers() throws InterruptedException {
+        createVerifier(Duration.ofMinutes(5), Duration.ofMillis(200), 10);
+        openCircuit();
+
+        behavior.set(Behavior.OK);
+        Thread.sleep(300);
+        assertEquals("user-token-probe", verifier.verifyToken("token-probe"));
+
+        assertEquals(CircuitBreaker.State.CLOSED, upstream.getState());
+        assertEquals(1.0, transitions("OPEN", "HALF_OPEN"));
+        assertEquals(1.0, transitions("HALF_OPEN", "CLOSED"));
+    }
+
+    @Test
+    void failedProbeReopensCircuit() throws InterruptedException {
+        createVerifier(Duration.ofMinutes(5), Duration.ofMillis(200), 10);
+        openCircuit();
+
+        Thread.sleep(300);
+        int requestsBeforeProbe = upstreamRequests.get();
+        assertNull(verifier.verifyToken("token-probe"));
+        assertNull(verifier.verifyToken("token-after-probe"));
+
+        assertEquals(requestsBeforeProbe + 1, upstreamRequests.get());
+        assertEquals(CircuitBreaker.State.OPEN, upstream.getState());
+        assertEquals(1.0, transitions("HALF_OPEN", "OPEN"));
+    }
+
+    @Test
+    void bulkheadLimitsConcurrentCallsToSlowUpstream() throws Exception {
+        createVerifier(Duration.ofMinutes(5), Duration.ofSeconds(30), 2);
+        behavior.set(Behavior.SLOW);
+
+        ExecutorService callers = Executors.newFixedThreadPool(6);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            String token = "token-" + i;
+            results.add(callers.submit(() -> {
+                start.await();
+                return verifier.verifyToken(token);
+            }));
+        }
+        start.countDown();
+        int verified = 0;
+        for (Future<String> result : results) {
+            if (result.get() != null) {
+                verified++;
+            }
+        }
+        callers.shutdown();
+
+        assertTrue(maxConcurrentRequests.get() <= 2);
+        assertEquals(upstreamRequests.get(), verified);
+        assertTrue(meterRegistry.find("resilience.bulkhead.rejected").tag("name", "googleTokenInfo").counter().count() >= 1);
+        // バルクヘッドによる拒否は外部APIの失敗として扱わない
+        assertEquals(CircuitBreaker.State.CLOSED, upstream.getState());
+    }
+
+    @Test
+    void concurrentVerificationsOfSameTokenCallUpstreamOnce() throws Exception {
+        createVerifier(Duration.ofMinutes(5), Duration.ofSeconds(30), 10);
+        behavior.set(Behavior.SLOW);
+
+        int callerCount = 8;
+        ExecutorService callers = Executors.newFixedThreadPool(callerCount);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < callerCount; i++) {
+            results.add(callers.submit(() -> {
+                start.await();
+                return verifier.verifyToken("token-shared");
+            }));
+        }
+        start.countDown();
+        for (Future<String> result : results) {
+            assertEquals("user-token-shared", result.get());
+        }
+        callers.shutdown();
+
+        assertEquals(1, upstreamRequests.get());
+        // 問い合わせ完了後の検証はキャッシュから返す
+        assertEquals("user-token-shared", verifier.verifyToken("token-shared"));
+        assertEquals(1, upstreamRequests.get());
+    }
+
+    @Test
+    void rejectedTokenIsNotResentWithinNegativeTtl() throws InterruptedException {
+        createVerifier(Duration.ofMinutes(5), Duration.ofSeconds(30), 10, Duration.ofMillis(300));
+        behavior.set(Behavior.INVALID_TOKEN);
+
+        for (int i = 0; i < 5; i++) {
+            assertNull(verifier.verifyToken("token-rejected"));
+        }
+        assertEquals(1, upstreamRequests.get());
+        // 無効なトークンはサーキットブレーカーの失敗として扱わない
+        assertEquals(CircuitBreaker.State.CLOSED, upstream.getState());
+
+        // 保持期間を過ぎたら再度問い合わせる
+        Thread.sleep(400);
+        assertNull(verifier.verifyToken("token-rejected"));
+        assertEquals(2, upstreamRequests.get());
+    }
+
+    @Test
+    void serverErrorIsNotCachedAsRejection() {
+        createVerifier(Duration.ofMinutes(5), Duration.ofSeconds(30), 10);
+        behavior.set(Behavior.SERVER_ERROR);
+        assertNull(verifier.verifyToken("token-1"));
+
+        behavior.set(Behavior.OK);
+        assertEquals("user-token-1", verifier.verifyToken("token-1"));
+        assertEquals(2, upstreamRequests.get());
+    }
+
+    private void createVerifier(Duration maxTtl, Duration openDuration, int maxConcurrentCalls) {
+        createVerifier(maxTtl, openDuration, maxConcurrentCalls, Duration.ofSeconds(30));
+    }
+
+    private void createVerifier(Duration maxTtl, Duration openDuration, int maxConcurrentCalls, Duration negativeTtl) {
+        upstream = new ResilientUpstream("googleTokenInfo",
+                new CircuitBreaker("googleTokenInfo", meterRegistry, FAILURE_THRESHOLD, openDuration, 1),
+                new Bulkhead("googleTokenInfo", meterRegistry, maxConcurrentCalls, Duration.ZERO));
+        String tokenInfoUri = "http://127.0.0.1:" + server.getAddress().getPort() + "/tokeninfo";
+        verifier = new GoogleTokenVerifier(null, new RestTemplate(), upstream, meterRegistry, tokenInfoUri,
+                GoogleTokenVerifier.VerificationMode.ACCESS_TOKEN, 1000, maxTtl, negativeTtl);
+    }
+
+    private void openCircuit() {
+        behavior.set(Behavior.SERVER_ERROR);
+        for (int i = 0; i < FAILURE_THRESHOLD; i++) {
+            verifier.verifyToken("failing-token-" + i);
+        }
+        assertEquals(CircuitBreaker.State.OPEN, upstream.getState());
+    }
+
+    private double transitions(String from, String to) {
+        Counter counter = meterRegistry.find("resilience.circuitbreaker.transitions")
+                .tags("name", "googleTokenInfo", "from", from, "to", to)
+                .counter();
+        return counter != null ? counter.count() : 0;
+    }
+
+    private void handleTokenInfo(HttpExchange exchange) throws IOException {
+        upstreamRequests.incrementAndGet();
+        int concurrent = concurrentRequests.incrementAndGet();
+        maxConcurrentRequests.accumulateAndGet(concurrent, Math::max);
+        try {
+            String token = exchange.getRequestURI().getQuery().replace("access_token=", "");
+            switch (behavior.get()) {
+                case SERVER_ERROR -> respond(exchange, 500, "{\"error\":\"backend_error\"}");
+                case INVALID_TOKEN -> respond(exchange, 400, "{\"error\":\"invalid_token\"}");
+                case SLOW -> {
+                    sleep(300);
+                    respond(exchange, 200, tokenInfo(token));
+                }
+                default -> respond(exchange, 200, tokenInfo(token));
+            }
+        } finally {
+            concurrentRequests.decrementAndGet();
+        }
+    }
+
+    private static String tokenInfo(String token) {
+        return "{\"sub\":\"user-" + token + "\",\"exp\":\"" + Instant.now().plusSeconds(3600).getEpochSecond() + "\"}";
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(bytes);
+        }
+    }
+}
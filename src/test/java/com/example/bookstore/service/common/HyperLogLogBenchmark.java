@@ -0,0 +1,82 @@
+package com.example.bookstore.service.common;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HyperLogLogスケッチの追加・マージ・シリアライズのスループットを計測するベンチマーク
+ * シリアライズは0でないレジスタのみを格納する形式（少数の要素）と、全レジスタを格納する形式（多数の要素）の両方を計測します。
+ * 推定精度はHyperLogLogTestで確認します。mainメソッドから実行します。
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HyperLogLogBenchmark {
+
+    /**
+     * マージ・シリアライズするスケッチに追加済みの要素数
+     */
+    @Param({"100", "100000"})
+    public int cardinality;
+
+    private HyperLogLog adding;
+
+    private HyperLogLog target;
+
+    private HyperLogLog source;
+
+    private byte[] serialized;
+
+    private long nextValue;
+
+    @Setup
+    public void setUp() {
+        adding = new HyperLogLog();
+        target = new HyperLogLog();
+        source = new HyperLogLog();
+        for (long value = 0; value < cardinality; value++) {
+            target.add(value);
+            source.add(value + cardinality / 2);
+        }
+        serialized = source.toBytes();
+    }
+
+    @Benchmark
+    public void add() {
+        adding.add(nextValue++);
+    }
+
+    @Benchmark
+    public HyperLogLog merge() {
+        target.merge(source);
+        return target;
+    }
+
+    @Benchmark
+    public byte[] toBytes() {
+        return source.toBytes();
+    }
+
+    @Benchmark
+    public HyperLogLog fromBytes() {
+        return HyperLogLog.fromBytes(serialized);
+    }
+
+    @Benchmark
+    public long estimate() {
+        return source.estimate();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(HyperLogLogBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.bookstore.service.common;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * HyperLogLogスケッチの推定精度、マージ、シリアライズを確認するテスト
+ */
+class HyperLogLogTest {
+
+    /**
+     * precision=12の標準誤差（約1.6%）の3倍を許容誤差とする
+     */
+    private static final double TOLERANCE = 0.05;
+
+    @Test
+    void emptySketchEstimatesZero() {
+        assertEquals(0, new HyperLogLog().estimate());
+    }
+
+    @Test
+    void smallCardinalityIsWithinTolerance() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (long userId = 1; userId <= 100; userId++) {
+            sketch.add(userId);
+        }
+        assertEquals(100, sketch.estimate(), 100 * TOLERANCE);
+    }
+
+    @Test
+    void largeCardinalityIsWithinTolerance() {
+        for (int cardinality : new int[]{10_000, 1_000_000}) {
+            HyperLogLog sketch = new HyperLogLog();
+            for (long userId = 1; userId <= cardinality; userId++) {
+                sketch.add(userId);
+            }
+            assertEquals(cardinality, sketch.estimate(), cardinality * TOLERANCE);
+        }
+    }
+
+    @Test
+    void duplicatesAreNotCounted() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int i = 0; i < 100; i++) {
+            for (long userId = 1; userId <= 1_000; userId++) {
+                sketch.add(userId);
+            }
+        }
+        assertEquals(1_000, sketch.estimate(), 1_000 * TOLERANCE);
+    }
+
+    @Test
+    void mergeEstimatesUnion() {
+        HyperLogLog morning = new HyperLogLog();
+        HyperLogLog evening = new HyperLogLog();
+        for (long userId = 1; userId <= 60_000; userId++) {
+            morning.add(userId);
+        }
+        for (long userId = 40_001; userId <= 100_000; userId++) {
+            evening.add(userId);
+        }
+        morning.merge(evening);
+        assertEquals(100_000, morning.estimate(), 100_000 * TOLERANCE);
+    }
+
+    @Test
+    void mergeRejectsDifferentPrecision() {
+        assertThrows(IllegalArgumentException.class, () -> new HyperLogLog(12).merge(new HyperLogLog(10)));
+    }
+
+    @Test
+    void sparseSketchRoundTripsCompactly() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (long userId = 1; userId <= 50; userId++) {
+            sketch.add(userId);
+        }
+        byte[] bytes = sketch.toBytes();
+        assertTrue(bytes.length <= 2 + 50 * 3);
+        assertEquals(sketch.estimate(), HyperLogLog.fromBytes(bytes).estimate());
+    }
+
+    @Test
+    void denseSketchRoundTripsWithinFourKilobytes() {
+        HyperLogLog sketch = new HyperLogLog();
+        for (long userId = 1; userId <= 1_000_000; userId++) {
+            sketch.add(userId);
+        }
+        byte[] bytes = sketch.toBytes();
+        assertEquals(2 + 4096, bytes.length);
+        HyperLogLog restored = HyperLogLog.fromBytes(bytes);
+        assertEquals(sketch.estimate(), restored.estimate());
+        assertArrayEquals(bytes, restored.toBytes());
+    }
+}
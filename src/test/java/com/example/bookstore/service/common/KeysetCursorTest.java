@@ -0,0 +1,43 @@
+package com.example.bookstore.service.common;
+
+import com.example.bookstore.Exception.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 一覧のカーソルの変換を確認するテスト
+ */
+class KeysetCursorTest {
+
+    @Test
+    void roundTrips() {
+        KeysetCursor cursor = new KeysetCursor(LocalDateTime.of(2024, 5, 1, 12, 30, 15, 123_000_000), 42L);
+
+        assertEquals(cursor, KeysetCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void emptyCursorIsFirstPage() {
+        assertNull(KeysetCursor.decode(null));
+        assertNull(KeysetCursor.decode(""));
+    }
+
+    @Test
+    void rejectsMalformedCursor() {
+        String badTime = Base64.getUrlEncoder().encodeToString("yesterday\n1".getBytes(StandardCharsets.UTF_8));
+
+        assertThrows(InvalidCursorException.class, () -> KeysetCursor.decode("%%%"));
+        assertThrows(InvalidCursorException.class, () -> KeysetCursor.decode(badTime));
+    }
+
+    @Test
+    void clampsLimit() {
+        assertEquals(1, KeysetCursor.pageOf(0).getPageSize());
+        assertEquals(KeysetCursor.MAX_LIMIT, KeysetCursor.pageOf(10_000).getPageSize());
+    }
+}
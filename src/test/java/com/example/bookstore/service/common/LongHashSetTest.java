@@ -0,0 +1,53 @@
+package com.example.bookstore.service.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * long値のハッシュセットを確認するテスト
+ */
+class LongHashSetTest {
+
+    @Test
+    void containsAddedValuesOnly() {
+        LongHashSet set = LongHashSet.of(List.of(3L, 1L, 2L, 3L));
+
+        assertEquals(3, set.size());
+        assertTrue(set.contains(1L));
+        assertTrue(set.contains(3L));
+        assertFalse(set.contains(4L));
+        assertFalse(set.contains(0L));
+    }
+
+    @Test
+    void holdsZero() {
+        LongHashSet set = new LongHashSet(0);
+
+        assertTrue(set.add(0L));
+        assertFalse(set.add(0L));
+        assertTrue(set.contains(0L));
+        assertEquals(1, set.size());
+    }
+
+    @Test
+    void growsBeyondExpectedSize() {
+        LongHashSet set = new LongHashSet(2);
+        Set<Long> expected = new HashSet<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 10_000; i++) {
+            long value = random.nextInt(50_000);
+            assertEquals(expected.add(value), set.add(value));
+        }
+
+        assertEquals(expected.size(), set.size());
+        for (long value = 0; value < 50_000; value++) {
+            assertEquals(expected.contains(value), set.contains(value));
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.bookstore.service.common;
+
+import com.example.bookstore.service.common.UserArtistMatrix.Similarity;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ユーザ×アーティストの疎行列による類似ユーザの計算を確認するテスト
+ */
+class UserArtistMatrixTest {
+
+    @Test
+    void ranksByWeightedJaccard() {
+        UserArtistMatrix matrix = new UserArtistMatrix();
+        matrix.put(1L, List.of("a", "b"));
+        matrix.put(2L, List.of("b", "a"));
+        matrix.put(3L, List.of("a", "c"));
+        matrix.put(4L, List.of("d"));
+
+        List<Similarity> similar = matrix.topSimilar(1L, 10, 100);
+
+        double a = Math.log1p(4.0 / 3);
+        double b = Math.log1p(4.0 / 2);
+        double c = Math.log1p(4.0 / 1);
+        assertEquals(List.of(2L, 3L), similar.stream().map(Similarity::userId).toList());
+        assertEquals(1.0, similar.get(0).score(), 1e-9);
+        assertEquals(a / (a + b + c), similar.get(1).score(), 1e-9);
+        assertTrue(matrix.topSimilar(4L, 10, 100).isEmpty());
+    }
+
+    @Test
+    void keepsTopLimit() {
+        UserArtistMatrix matrix = new UserArtistMatrix();
+        matrix.put(1L, List.of("a", "b", "c"));
+        matrix.put(2L, List.of("a"));
+        matrix.put(3L, List.of("a", "b"));
+        matrix.put(4L, List.of("a", "b", "c"));
+
+        List<Similarity> similar = matrix.topSimilar(1L, 2, 100);
+
+        assertEquals(List.of(4L, 3L), similar.stream().map(Similarity::userId).toList());
+    }
+
+    @Test
+    void replacesAndRemovesUsers() {
+        UserArtistMatrix matrix = new UserArtistMatrix();
+        matrix.put(1L, List.of("a"));
+        matrix.put(2L, List.of("a"));
+        matrix.put(2L, List.of("b"));
+
+        assertTrue(matrix.topSimilar(1L, 10, 100).isEmpty());
+
+        matrix.put(3L, List.of("a"));
+        matrix.remove(3L);
+        matrix.put(1L, List.of());
+
+        assertEquals(1, matrix.size());
+        assertEquals(2L, matrix.userIds()[0]);
+    }
+}
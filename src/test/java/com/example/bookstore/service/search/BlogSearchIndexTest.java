@@ -0,0 +1,205 @@
+package com.example.bookstore.service.search;
+
+import com.example.bookstore.entity.Blog;
+import com.example.bookstore.entity.code.BlogStatus;
+import com.example.bookstore.repository.jpa.BlogRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ブログ検索インデックスの複数語による検索、並び順、カーソルによる続きの取得、いいね数の反映を確認するテスト
+ * DBは使用せず、空のインデックスを構築した後にブログを登録します（トランザクション外のため登録は即時に反映されます）。
+ */
+class BlogSearchIndexTest {
+
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+    private BlogSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        // 構築時に公開中のブログが存在しないリポジトリ
+        BlogRepository blogRepository = (BlogRepository) Proxy.newProxyInstance(BlogRepository.class.getClassLoader(),
+                new Class<?>[]{BlogRepository.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("findPublishedBlogsAfter")) {
+                        return List.of();
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        index = new BlogSearchIndex(blogRepository, null,
+                new BlogSearchResultCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(5)),
+                new SimpleMeterRegistry(), 100);
+        index.rebuild();
+    }
+
+    @Test
+    void searchIsEmptyUntilBuilt() {
+        BlogSearchIndex unbuilt = new BlogSearchIndex(null, null,
+                new BlogSearchResultCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(5)),
+                new SimpleMeterRegistry(), 100);
+
+        assertFalse(unbuilt.isReady());
+        assertTrue(unbuilt.search("live", BlogSearchIndex.SortOrder.NEWEST, 0, 10).isEmpty());
+        assertTrue(index.isReady());
+    }
+
+    @Test
+    void allTermsMustMatch() {
+        index(1, "Tokyo live report", 0, 0);
+        index(2, "Osaka live report", 1, 0);
+        index(3, "Tokyo cafe", 2, 0);
+        index(4, "東京ドームのライブ", 3, 0);
+
+        assertEquals(List.of(2L, 1L), ids("live report", BlogSearchIndex.SortOrder.NEWEST));
+        assertEquals(List.of(1L), ids("tokyo live", BlogSearchIndex.SortOrder.NEWEST));
+        assertEquals(List.of(), ids("osaka cafe", BlogSearchIndex.SortOrder.NEWEST));
+        // 英数字の単語は前方一致
+        assertEquals(List.of(3L, 1L), ids("tok", BlogSearchIndex.SortOrder.NEWEST));
+        assertEquals(List.of(4L), ids("東京 ライブ", BlogSearchIndex.SortOrder.NEWEST));
+        assertEquals(2, index.search("live report", BlogSearchIndex.SortOrder.NEWEST, 0, 1).orElseThrow().totalCount());
+    }
+
+    @Test
+    void emptyKeywordMatchesAllBlogs() {
+        index(1, "Tokyo live", 0, 0);
+        index(2, "Osaka cafe", 1, 0);
+
+        assertEquals(List.of(2L, 1L), ids("", BlogSearchIndex.SortOrder.NEWEST));
+    }
+
+    @Test
+    void resultsFollowSortOrder() {
+        index(1, "live", 2, 5);
+        index(2, "live", 0, 9);
+        index(3, "live", 1, 5);
+        // 作成日時が同じ場合はブログIDで並べる
+        index(4, "live", 1, 1);
+
+        assertEquals(List.of(1L, 4L, 3L, 2L), ids("live", BlogSearchIndex.SortOrder.NEWEST));
+        assertEquals(List.of(2L, 3L, 4L, 1L), ids("live", BlogSearchIndex.SortOrder.OLDEST));
+        assertEquals(List.of(2L, 3L, 1L, 4L), ids("live", BlogSearchIndex.SortOrder.MOST_LIKED));
+    }
+
+    @Test
+    void offsetSkipsHigherRankedBlogs() {
+        for (long id = 1; id <= 5; id++) {
+            index(id, "live", (int) id, 0);
+        }
+
+        BlogSearchIndex.SearchResult result = index.search("live", BlogSearchIndex.SortOrder.NEWEST, 1, 2).orElseThrow();
+        assertEquals(List.of(4L, 3L), result.blogIds());
+        assertEquals(5, result.totalCount());
+        assertEquals(List.of(), index.search("live", BlogSearchIndex.SortOrder.NEWEST, 5, 2).orElseThrow().blogIds());
+    }
+
+    @Test
+    void cursorContinuesEachSortOrder() {
+        for (long id = 1; id <= 7; id++) {
+            // いいね数に同数を含める
+            index(id, "live report", (int) (id % 3), id / 2);
+        }
+
+        for (BlogSearchIndex.SortOrder sort : BlogSearchIndex.SortOrder.values()) {
+            assertEquals(ids("live", sort), allPages("live", sort, 3), sort.name());
+        }
+    }
+
+    @Test
+    void cursorSurvivesEncoding() {
+        for (long id = 1; id <= 4; id++) {
+            index(id, "live", (int) id, 0);
+        }
+
+        BlogSearchIndex.CursorResult first = index.searchAfter("live", BlogSearchIndex.SortOrder.NEWEST, null, 2).orElseThrow();
+        SearchCursor decoded = SearchCursor.decode(first.nextCursor().encode(), BlogSearchIndex.SortOrder.NEWEST);
+        BlogSearchIndex.CursorResult second = index.searchAfter("live", BlogSearchIndex.SortOrder.NEWEST, decoded, 2).orElseThrow();
+
+        assertEquals(List.of(4L, 3L), first.blogIds());
+        assertEquals(List.of(2L, 1L), second.blogIds());
+        assertNull(second.nextCursor());
+        assertEquals(4, second.totalCount());
+    }
+
+    @Test
+    void adjustLikeCountReordersMostLiked() {
+        index(1, "live", 0, 3);
+        index(2, "live", 1, 2);
+        index(3, "live", 2, 1);
+        assertEquals(List.of(1L, 2L, 3L), ids("live", BlogSearchIndex.SortOrder.MOST_LIKED));
+
+        index.adjustLikeCount(3L, 5);
+        index.adjustLikeCount(1L, -2);
+        assertEquals(List.of(3L, 2L, 1L), ids("live", BlogSearchIndex.SortOrder.MOST_LIKED));
+
+        // いいね数は0未満にならない
+        index.adjustLikeCount(2L, -10);
+        assertEquals(List.of(3L, 1L, 2L), ids("live", BlogSearchIndex.SortOrder.MOST_LIKED));
+        // インデックスにないブログは無視する
+        index.adjustLikeCount(99L, 1);
+        assertEquals(3, index.search("live", BlogSearchIndex.SortOrder.MOST_LIKED, 0, 10).orElseThrow().totalCount());
+    }
+
+    @Test
+    void updateAndRemoveReplaceIndexedTerms() {
+        index(1, "Tokyo live", 0, 0);
+        index(2, "Tokyo cafe", 1, 0);
+
+        index(1, "Osaka live", 0, 0);
+        assertEquals(List.of(2L), ids("tokyo", BlogSearchIndex.SortOrder.NEWEST));
+        assertEquals(List.of(1L), ids("osaka", BlogSearchIndex.SortOrder.NEWEST));
+
+        index.remove(2L);
+        assertEquals(List.of(), ids("tokyo", BlogSearchIndex.SortOrder.NEWEST));
+
+        // 非公開にしたブログは検索対象から外す
+        index.index(blog(1, "Osaka live", 0, 0, BlogStatus.DRAFT), List.of());
+        assertEquals(List.of(), ids("osaka", BlogSearchIndex.SortOrder.NEWEST));
+    }
+
+    @Test
+    void artistNamesAreSearchable() {
+        index.index(blog(1, "Tour final", 0, 0, BlogStatus.PUBLISHED), List.of("King Gnu"));
+
+        assertEquals(List.of(1L), ids("gnu final", BlogSearchIndex.SortOrder.NEWEST));
+    }
+
+    private void index(long id, String title, int minutes, long likeCount) {
+        index.index(blog(id, title, minutes, likeCount, BlogStatus.PUBLISHED), List.of());
+    }
+
+    private static Blog blog(long id, String title, int minutes, long likeCount, BlogStatus status) {
+        return Blog.builder()
+                .id(id)
+                .title(title)
+                .plainText("")
+                .status(status)
+                .blogCreatedTime(BASE_TIME.plusMinutes(minutes))
+                .likeCount((int) likeCount)
+                .build();
+    }
+
+    private List<Long> ids(String keyword, BlogSearchIndex.SortOrder sort) {
+        return index.search(keyword, sort, 0, 100).orElseThrow().blogIds();
+    }
+
+    private List<Long> allPages(String keyword, BlogSearchIndex.SortOrder sort, int limit) {
+        List<Long> blogIds = new ArrayList<>();
+        SearchCursor cursor = null;
+        do {
+            BlogSearchIndex.CursorResult page = index.searchAfter(keyword, sort, cursor, limit).orElseThrow();
+            assertTrue(page.blogIds().size() <= limit);
+            blogIds.addAll(page.blogIds());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        return blogIds;
+    }
+}
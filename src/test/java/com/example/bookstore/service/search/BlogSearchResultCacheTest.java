@@ -0,0 +1,81 @@
+package com.example.bookstore.service.search;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 検索結果キャッシュのキー正規化と選択的な削除を確認するテスト
+ */
+class BlogSearchResultCacheTest {
+
+    private static final BlogSearchIndex.SortOrder NEWEST = BlogSearchIndex.SortOrder.NEWEST;
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private BlogSearchResultCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new BlogSearchResultCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void normalizedVariantsShareOneEntry() {
+        cache.get("ライブ", NEWEST, "page:0:10", this::load);
+        cache.get("ﾗｲﾌﾞ", NEWEST, "page:0:10", this::load);
+        cache.get("らいぶ", NEWEST, "page:0:10", this::load);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void sortAndPositionArePartOfTheKey() {
+        cache.get("live", NEWEST, "page:0:10", this::load);
+        cache.get("live", NEWEST, "page:1:10", this::load);
+        cache.get("live", BlogSearchIndex.SortOrder.OLDEST, "page:0:10", this::load);
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void onlyQueriesMatchedByChangedBlogAreInvalidated() {
+        cache.get("ライブ", NEWEST, "page:0:10", this::load);
+        cache.get("conc", NEWEST, "page:0:10", this::load);
+        cache.get("", NEWEST, "page:0:10", this::load);
+
+        cache.invalidate(TextAnalyzer.analyze("Great concert tonight"));
+
+        cache.get("ライブ", NEWEST, "page:0:10", this::load);
+        assertEquals(3, loads.get());
+        cache.get("conc", NEWEST, "page:0:10", this::load);
+        cache.get("", NEWEST, "page:0:10", this::load);
+        assertEquals(5, loads.get());
+    }
+
+    @Test
+    void resultLoadedDuringInvalidationIsNotKept() {
+        cache.get("live", NEWEST, "page:0:10", () -> {
+            cache.invalidate(TextAnalyzer.analyze("unrelated"));
+            return load();
+        });
+        cache.get("live", NEWEST, "page:0:10", this::load);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void nullResultIsNotCached() {
+        assertNull(cache.get("live", NEWEST, "page:0:10", () -> null));
+        cache.get("live", NEWEST, "page:0:10", this::load);
+        assertEquals(1, loads.get());
+    }
+
+    private BlogSearchResultCache.CachedResult load() {
+        loads.incrementAndGet();
+        return new BlogSearchResultCache.CachedResult(List.of(1L), null, false, 1);
+    }
+}
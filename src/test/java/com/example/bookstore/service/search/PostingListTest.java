@@ -0,0 +1,88 @@
+package com.example.bookstore.service.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * ポスティングリストの追加・削除と共通部分の算出を確認するテスト
+ */
+class PostingListTest {
+
+    private final PostingList list = new PostingList();
+
+    @Test
+    void addKeepsIdsSortedWithoutDuplicates() {
+        for (long id : new long[]{5, 1, 9, 3, 5, 12, 1, 7}) {
+            list.add(id);
+        }
+
+        assertArrayEquals(new long[]{1, 3, 5, 7, 9, 12}, list.toArray());
+        assertEquals(6, list.size());
+    }
+
+    @Test
+    void addGrowsBeyondInitialCapacity() {
+        for (long id = 100; id > 0; id--) {
+            list.add(id);
+        }
+
+        long[] ids = list.toArray();
+        assertEquals(100, ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            assertEquals(i + 1, ids[i]);
+        }
+    }
+
+    @Test
+    void removeDeletesOnlyExistingIds() {
+        for (long id = 1; id <= 5; id++) {
+            list.add(id);
+        }
+
+        list.remove(3);
+        list.remove(42);
+        assertArrayEquals(new long[]{1, 2, 4, 5}, list.toArray());
+
+        list.remove(1);
+        list.remove(5);
+        assertArrayEquals(new long[]{2, 4}, list.toArray());
+    }
+
+    @Test
+    void removeAllAfterShrinkingLeavesEmptyList() {
+        for (long id = 1; id <= 64; id++) {
+            list.add(id);
+        }
+        for (long id = 1; id <= 60; id++) {
+            list.remove(id);
+        }
+        assertArrayEquals(new long[]{61, 62, 63, 64}, list.toArray());
+
+        // 縮小後も追加・削除できる
+        list.add(30);
+        assertArrayEquals(new long[]{30, 61, 62, 63, 64}, list.toArray());
+        for (long id : new long[]{30, 61, 62, 63, 64}) {
+            list.remove(id);
+        }
+        assertTrue(list.isEmpty());
+        assertArrayEquals(new long[0], list.toArray());
+    }
+
+    @Test
+    void toArrayReturnsCopy() {
+        list.add(1);
+        list.toArray()[0] = 99;
+
+        assertArrayEquals(new long[]{1}, list.toArray());
+    }
+
+    @Test
+    void intersectReturnsCommonIdsInOrder() {
+        assertArrayEquals(new long[]{3, 7, 9},
+                PostingList.intersect(new long[]{1, 3, 5, 7, 9}, new long[]{2, 3, 7, 8, 9, 10}));
+        assertArrayEquals(new long[0], PostingList.intersect(new long[]{1, 2}, new long[]{3, 4}));
+        assertArrayEquals(new long[0], PostingList.intersect(new long[0], new long[]{1}));
+        assertArrayEquals(new long[]{4}, PostingList.intersect(new long[]{4}, new long[]{1, 2, 3, 4, 5}));
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.bookstore.service.search;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TextAnalyzer.analyzeのスループットを計測するベンチマーク
+ * かな・漢字・カタカナ・英数字（全角を含む）が混在するブログ本文相当のコーパスを分割し、処理したUTF-8のバイト数を
+ * bytes補助カウンタ（bytes/s）として出力します（MB/sはこの値を10^6で割った値）。
+ * mainメソッドから実行します。
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TextAnalyzerBenchmark {
+
+    /**
+     * コーパスを構成する文の断片
+     */
+    private static final String[] FRAGMENTS = {
+            "昨日は東京ドームでライブを観てきました。",
+            "セットリストは新曲中心で、アンコールの「青と夏」で会場が一体になりました。",
+            "Mrs. GREEN APPLEの2024年ツアー初日です。",
+            "チケットはFC先行で当選、座席はアリーナＢブロックでした。",
+            "開演前にグッズ列へ並び、ﾀｵﾙとTシャツを購入。",
+            "MCでは大森さんが「また会おうね」と話していて泣きそうになった。",
+            "次は大阪公演（京セラドーム）に参戦予定です！",
+            "ちなみに物販の待ち時間は約90分、会場周辺はかなり混雑していました。",
+            "YOASOBI、King Gnu、Officialヒゲ男dismなど他のアーティストの曲も最近よく聴いています。",
+            "配信ライブのアーカイブは12月31日23:59まで視聴可能とのこと。",
+            "音響がとても良く、ベースの低音がしっかり響いていた。",
+            "写真撮影OKの曲があったので、スマホで何枚か撮りました #ライブレポ",
+    };
+
+    /**
+     * 1件のブログ本文の目安の文字数
+     */
+    private static final int DOCUMENT_LENGTH = 2000;
+
+    /**
+     * 処理したバイト数（スレッド毎に集計し、補助カウンタとして出力する）
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Bytes {
+        public long bytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+        }
+    }
+
+    /**
+     * ブログ本文相当の文書（乱数のシードを固定し、毎回同じ内容とする）
+     */
+    @State(Scope.Benchmark)
+    public static class Corpus {
+        @Param({"64"})
+        public int documentCount;
+
+        private List<String> documents;
+
+        /**
+         * 全文書のUTF-8のバイト数
+         */
+        private long bytes;
+
+        @Setup
+        public void setUp() {
+            Random random = new Random(42);
+            documents = new ArrayList<>(documentCount);
+            for (int i = 0; i < documentCount; i++) {
+                StringBuilder document = new StringBuilder(DOCUMENT_LENGTH + 100);
+                while (document.length() < DOCUMENT_LENGTH) {
+                    document.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+                    if (random.nextInt(4) == 0) {
+                        document.append('\n');
+                    }
+                }
+                documents.add(document.toString());
+                bytes += document.toString().getBytes(StandardCharsets.UTF_8).length;
+            }
+        }
+    }
+
+    @Benchmark
+    public void analyze(Corpus corpus, Bytes counter, Blackhole blackhole) {
+        for (String document : corpus.documents) {
+            blackhole.consume(TextAnalyzer.analyze(document));
+        }
+        counter.bytes += corpus.bytes;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TextAnalyzerBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.bookstore.service.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 検索用の正規化と語の分割を確認するテスト
+ */
+class TextAnalyzerTest {
+
+    @Test
+    void widthCaseAndKanaVariantsAreNormalizedToSameForm() {
+        assertEquals("らいぶ2024", TextAnalyzer.normalize("ﾗｲﾌﾞ２０２４"));
+        assertEquals("らいぶ2024", TextAnalyzer.normalize("ライブ2024"));
+        assertEquals("abc", TextAnalyzer.normalize("ＡＢＣ"));
+        assertEquals("", TextAnalyzer.normalize(null));
+    }
+
+    @Test
+    void japaneseIsSplitIntoBigramsWithTrailingCharacter() {
+        assertEquals(List.of("らい", "いぶ", "ぶ"), TextAnalyzer.analyze("ライブ"));
+        assertEquals(List.of("東京", "京"), TextAnalyzer.analyze("東京"));
+    }
+
+    @Test
+    void latinIsSplitIntoWords() {
+        assertEquals(List.of("mrs", "green", "apple"), TextAnalyzer.analyze("Mrs. GREEN APPLE"));
+    }
+
+    @Test
+    void mixedScriptsAreSplitAtScriptBoundaries() {
+        assertEquals(List.of("b", "z", "のら", "らい", "いぶ", "ぶ"), TextAnalyzer.analyze("B'zのライブ"));
+        assertEquals(List.of("つあ", "あー", "ー", "2024"), TextAnalyzer.analyze("ツアー2024"));
+    }
+
+    @Test
+    void queryUsesPrefixForWordsAndSingleCharacters() {
+        assertEquals(List.of(new TextAnalyzer.QueryTerm("conc", true)), TextAnalyzer.analyzeQuery("Conc"));
+        assertEquals(List.of(new TextAnalyzer.QueryTerm("ぶ", true)), TextAnalyzer.analyzeQuery("ブ"));
+        assertEquals(List.of(new TextAnalyzer.QueryTerm("らい", false), new TextAnalyzer.QueryTerm("いぶ", false)),
+                TextAnalyzer.analyzeQuery("ﾗｲﾌﾞ"));
+    }
+
+    @Test
+    void separatorsOnlyProduceNoTerms() {
+        assertTrue(TextAnalyzer.analyze("、。 !?").isEmpty());
+        assertTrue(TextAnalyzer.analyzeQuery("  ").isEmpty());
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.bookstore.service.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 時間減衰するスコアによるランキングを確認するテスト
+ */
+class TrendingRankingTest {
+
+    private static final long HOUR = 3600;
+
+    /**
+     * 半減期1時間
+     */
+    private final TrendingRanking ranking = new TrendingRanking(Math.log(2) / HOUR, 0);
+
+    @Test
+    void newerEventsOutweighOlderOnes() {
+        ranking.add(1, 3, 0);
+        ranking.add(2, 2, HOUR);
+
+        // 1時間後にはブログ1のスコアは1.5に減衰している
+        assertEquals(List.of(2L, 1L), ranking.top(10));
+        assertEquals(1.5, ranking.score(1, HOUR), 1e-9);
+    }
+
+    @Test
+    void topReturnsHighestScoresFirst() {
+        for (long blogId = 1; blogId <= 5; blogId++) {
+            ranking.add(blogId, blogId, 0);
+        }
+
+        assertEquals(List.of(5L, 4L, 3L), ranking.top(3));
+        // 指定されたブログのみを並べ替え、ランキングにないブログは除く
+        assertEquals(List.of(4L, 2L), ranking.top(2, List.of(2L, 4L, 6L)));
+        assertEquals(List.of(3L, 1L), ranking.top(10, List.of(1L, 3L)));
+    }
+
+    @Test
+    void cancellingAllEventsRemovesBlog() {
+        ranking.add(1, 3, 0);
+        ranking.add(1, -3, 0);
+
+        assertEquals(0, ranking.size());
+        assertTrue(ranking.top(10).isEmpty());
+    }
+
+    @Test
+    void retractionLongAfterEventSubtractsOnlyDecayedContribution() {
+        // ブログ1は10時間前のいいね（重み3）と現在の閲覧（重み1）、ブログ2は現在の閲覧のみ
+        ranking.add(1, 3, 0);
+        ranking.add(1, 1, 10 * HOUR);
+        ranking.add(2, 0.5, 10 * HOUR);
+
+        // 10時間後のいいねの取り消しは、いいねの時刻の重みとして差し引く
+        ranking.add(1, -3, 0);
+
+        assertEquals(1, ranking.score(1, 10 * HOUR), 1e-9);
+        assertEquals(List.of(1L, 2L), ranking.top(10));
+    }
+
+    @Test
+    void rescaleKeepsOrderAndDropsDecayedBlogs() {
+        ranking.add(1, 100, 0);
+        ranking.add(2, 10, 0);
+        ranking.add(3, 1, 0);
+
+        // 2時間後は25、2.5、0.25
+        int dropped = ranking.rescale(2 * HOUR, 1);
+
+        assertEquals(1, dropped);
+        assertEquals(List.of(1L, 2L), ranking.top(10));
+        assertEquals(25, ranking.score(1, 2 * HOUR), 1e-9);
+
+        ranking.add(2, 30, 2 * HOUR);
+        assertEquals(List.of(2L, 1L), ranking.top(10));
+    }
+
+    @Test
+    void farFutureEventsDoNotOverflow() {
+        ranking.add(1, 1, 0);
+        ranking.add(2, 1, 1000 * HOUR);
+
+        assertEquals(List.of(2L), ranking.top(1));
+        assertEquals(1, ranking.score(2, 1000 * HOUR), 1e-9);
+    }
+
+    @Test
+    void trimKeepsHighestScores() {
+        for (long blogId = 1; blogId <= 5; blogId++) {
+            ranking.add(blogId, blogId, 0);
+        }
+        ranking.trimTo(2);
+
+        assertEquals(2, ranking.size());
+        assertEquals(List.of(5L, 4L), ranking.top(10));
+    }
+}